@@ -26,6 +26,7 @@
 import com.google.gson.JsonSyntaxException;
 import com.google.gson.internal.bind.TypeAdapters;
 import de.dytanic.cloudnet.common.document.IDocument;
+import de.dytanic.cloudnet.common.io.FileUtils;
 import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
@@ -37,6 +38,7 @@
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Base64;
@@ -47,6 +49,7 @@
 import java.util.Properties;
 import lombok.EqualsAndHashCode;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * The Gson implementation of IDocument class. It includes simple append and remove operations, file reading and writing
@@ -56,12 +59,24 @@
 public class JsonDocument implements IDocument<JsonDocument>, Cloneable {
 
   public static final JsonDocument EMPTY = newDocument();
+  /**
+   * The pretty printing serializer, only meant for files which are read and edited by humans, like configurations
+   */
   public static final Gson GSON = new GsonBuilder()
     .serializeNulls()
     .disableHtmlEscaping()
     .setPrettyPrinting()
     .registerTypeAdapterFactory(TypeAdapters.newTypeHierarchyFactory(JsonDocument.class, new JsonDocumentTypeAdapter()))
     .create();
+  /**
+   * The compact serializer for everything only read by machines, like database rows, network messages and rest
+   * responses. Documents written by it are read exactly like pretty printed ones.
+   */
+  public static final Gson COMPACT_GSON = new GsonBuilder()
+    .serializeNulls()
+    .disableHtmlEscaping()
+    .registerTypeAdapterFactory(TypeAdapters.newTypeHierarchyFactory(JsonDocument.class, new JsonDocumentTypeAdapter()))
+    .create();
   protected final JsonObject jsonObject;
 
   /**
@@ -829,6 +844,25 @@ public Character getChar(String key, Character def) {
     return this;
   }
 
+  /**
+   * Writes this document without pretty printing into the given file, should be used for files which are only read by
+   * the cloud itself and never edited by hand.
+   *
+   * @param path the file to write the document to
+   * @return the same document instance as used to call the method
+   */
+  public @NotNull JsonDocument writeCompact(@Nullable Path path) {
+    if (path != null) {
+      FileUtils.createDirectoryReported(path.getParent());
+      try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+        COMPACT_GSON.toJson(this.jsonObject, writer);
+      } catch (IOException exception) {
+        exception.printStackTrace();
+      }
+    }
+    return this;
+  }
+
   @Override
   public @NotNull JsonDocument read(@NotNull Reader reader) {
     try (BufferedReader bufferedReader = new BufferedReader(reader)) {
@@ -27,6 +27,7 @@
 import java.nio.charset.StandardCharsets;
 import java.nio.file.DirectoryStream;
 import java.nio.file.FileSystem;
+import java.nio.file.FileSystemException;
 import java.nio.file.FileSystems;
 import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
@@ -38,6 +39,7 @@
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
@@ -162,6 +164,55 @@ public static void copyFilesToDirectory(Path from, Path to, DirectoryStream.Filt
     }
   }
 
+  /**
+   * Copies all files of the given directory into the target directory. Files accepted by the link filter are hard
+   * linked instead of being copied, which falls back to copying them if the file system doesn't support hard links or
+   * the directories are located on different file systems. Existing files in the target directory are replaced rather
+   * than written to, so that files linked to another directory are never modified. Note that a linked file shares its
+   * content with the source file, writing to either of them in place changes the content of both.
+   *
+   * @param from       the directory to copy the files from
+   * @param to         the directory to copy the files to
+   * @param linkFilter the filter for the files which should be linked into the target directory
+   */
+  public static void linkFilesToDirectory(Path from, Path to, Predicate<Path> linkFilter) {
+    AtomicBoolean linksSupported = new AtomicBoolean(true);
+
+    walkFileTree(from, (root, current) -> {
+      if (!Files.isDirectory(current)) {
+        try {
+          Path target = to.resolve(from.relativize(current));
+          createDirectoryReported(target.getParent());
+          Files.deleteIfExists(target);
+
+          if (linksSupported.get() && linkFilter.test(current)) {
+            try {
+              Files.createLink(target, current);
+              return;
+            } catch (UnsupportedOperationException exception) {
+              // no need to retry linking the other files, they would fail for the same reason
+              linksSupported.set(false);
+            } catch (FileSystemException exception) {
+              // hard links can't cross file systems, every other failure is reported like a failed copy
+              if (isSameFileStore(current, target.getParent())) {
+                throw exception;
+              }
+              linksSupported.set(false);
+            }
+          }
+
+          Files.copy(current, target);
+        } catch (IOException exception) {
+          exception.printStackTrace();
+        }
+      }
+    });
+  }
+
+  private static boolean isSameFileStore(Path first, Path second) throws IOException {
+    return Files.getFileStore(first).equals(Files.getFileStore(second));
+  }
+
   public static void delete(Path file) {
     if (file == null || Files.notExists(file)) {
       return;
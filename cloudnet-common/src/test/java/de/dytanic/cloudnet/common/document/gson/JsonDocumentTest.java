@@ -17,6 +17,11 @@
 package de.dytanic.cloudnet.common.document.gson;
 
 import de.dytanic.cloudnet.common.collection.Pair;
+import de.dytanic.cloudnet.common.io.FileUtils;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -70,6 +75,27 @@ public void testProperties() {
     Assert.assertEquals(0, document.size());
   }
 
+  @Test
+  public void testCompactWrite() throws Exception {
+    Path compactFile = Paths.get("build", "compact_document.json");
+    Path prettyFile = Paths.get("build", "pretty_document.json");
+
+    try {
+      JsonDocument document = new JsonDocument("foo", "bar").append("test", new TestClass("myData"));
+      document.writeCompact(compactFile).write(prettyFile);
+
+      String compact = new String(Files.readAllBytes(compactFile), StandardCharsets.UTF_8);
+      Assert.assertEquals(document.toJson(), compact);
+      Assert.assertTrue(new String(Files.readAllBytes(prettyFile), StandardCharsets.UTF_8).contains("\n"));
+
+      Assert.assertEquals(document, JsonDocument.newDocument(compactFile));
+      Assert.assertEquals(document, JsonDocument.newDocument(prettyFile));
+    } finally {
+      FileUtils.delete(compactFile);
+      FileUtils.delete(prettyFile);
+    }
+  }
+
   private static class TestClass {
 
     private final String data;
@@ -66,6 +66,7 @@ public enum DriverAPIRequestType {
   GET_TEMPLATES(DriverAPICategory.TEMPLATE_STORAGE),
   GET_FILE_CONTENT(DriverAPICategory.TEMPLATE_STORAGE),
   CLOSE_STORAGE(DriverAPICategory.TEMPLATE_STORAGE),
+  GET_TEMPLATE_MANIFEST_DIFF(DriverAPICategory.TEMPLATE_STORAGE),
 
   // CloudServiceFactory
   CREATE_CLOUD_SERVICE_BY_CONFIGURATION(DriverAPICategory.CLOUD_SERVICE_FACTORY),
@@ -34,7 +34,12 @@ public enum RemoteDatabaseRequestType {
   DATABASE_ENTRIES(true),
   DATABASE_CLEAR(true),
   DATABASE_CLOSE(true),
-  DATABASE_COUNT_DOCUMENTS(true);
+  DATABASE_COUNT_DOCUMENTS(true),
+  DATABASE_CREATE_INDEX(true),
+  DATABASE_INSERT_BATCH(true),
+  DATABASE_STREAM(true),
+  DATABASE_SUBSCRIBE(true),
+  DATABASE_UNSUBSCRIBE(true);
 
   private final boolean databaseSpecific;
 
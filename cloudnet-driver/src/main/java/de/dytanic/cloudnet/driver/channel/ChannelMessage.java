@@ -42,6 +42,8 @@ public class ChannelMessage implements SerializableObject {
   private JsonDocument json = JsonDocument.EMPTY;
   private ProtocolBuffer buffer = ProtocolBuffer.EMPTY;
   private Collection<ChannelMessageTarget> targets;
+  private boolean batched;
+  private String coalescingKey;
 
   private ChannelMessage(@NotNull ChannelMessageSender sender) {
     this.sender = sender;
@@ -93,6 +95,27 @@ public Collection<ChannelMessageTarget> getTargets() {
     return this.targets;
   }
 
+  /**
+   * Gets if this message may be delayed for a short time to be sent together with other messages to the same network
+   * channel in one packet instead of being sent immediately.
+   *
+   * @return if this message may be sent in a batch
+   */
+  public boolean isBatched() {
+    return this.batched;
+  }
+
+  /**
+   * Gets the key of this message, which replaces all messages with the same key and channel which are still waiting to
+   * be sent in a batch to the same network channel. This is only used for batched messages.
+   *
+   * @return the key to coalesce batched messages with or null if the message shouldn't replace any other message
+   */
+  @Nullable
+  public String getCoalescingKey() {
+    return this.coalescingKey;
+  }
+
   public void send() {
     this.getMessenger().sendChannelMessage(this);
   }
@@ -129,6 +152,8 @@ public void write(@NotNull ProtocolBuffer buffer) {
     buffer.writeOptionalString(this.json != null ? this.json.toJson() : null);
     buffer.writeOptionalArray(this.buffer != null ? this.buffer.toArray() : null);
     buffer.writeObjectCollection(this.targets);
+    buffer.writeBoolean(this.batched);
+    buffer.writeOptionalString(this.coalescingKey);
   }
 
   @Override
@@ -141,6 +166,8 @@ public void read(@NotNull ProtocolBuffer buffer) {
     byte[] body = buffer.readOptionalArray();
     this.buffer = body != null ? ProtocolBuffer.wrap(body) : null;
     this.targets = buffer.readObjectCollection(ChannelMessageTarget.class);
+    this.batched = buffer.readBoolean();
+    this.coalescingKey = buffer.readOptionalString();
   }
 
   public static class Builder {
@@ -222,6 +249,27 @@ public Builder targetEnvironment(@NotNull ServiceEnvironmentType environment) {
       return this.target(new ChannelMessageTarget(environment));
     }
 
+    /**
+     * Allows this message to be sent together with other messages to the same network channel, which delays the
+     * message by at most a few milliseconds. Batched messages can't be used for queries.
+     */
+    public Builder batched() {
+      this.channelMessage.batched = true;
+      return this;
+    }
+
+    /**
+     * Sends this message in a batch which replaces every message with the same key and channel that wasn't sent yet,
+     * for example to only send the latest state of a player.
+     *
+     * @param coalescingKey the key of the message
+     */
+    public Builder coalescingKey(@NotNull String coalescingKey) {
+      this.channelMessage.batched = true;
+      this.channelMessage.coalescingKey = coalescingKey;
+      return this;
+    }
+
     public ChannelMessage build() {
       Preconditions.checkNotNull(this.channelMessage.channel, "No channel provided");
       if (this.channelMessage.targets.isEmpty()) {
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.dytanic.cloudnet.driver.channel;
+
+import de.dytanic.cloudnet.driver.network.INetworkChannel;
+import de.dytanic.cloudnet.driver.network.def.packet.PacketClientServerChannelMessageBatch;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Collects batched channel messages per network channel and sends them in one packet once the batch window elapsed or
+ * the batch is full. Messages with a coalescing key replace the queued message with the same key and channel.
+ */
+public class ChannelMessageBatcher {
+
+  public static final long DEFAULT_BATCH_WINDOW_MILLIS = Long.getLong("cloudnet.messages.batch.window", 5);
+  public static final int DEFAULT_MAX_BATCH_SIZE = Integer.getInteger("cloudnet.messages.batch.size", 256);
+
+  private final ScheduledExecutorService scheduler;
+  private final long batchWindowMillis;
+  private final int maxBatchSize;
+
+  private final Map<INetworkChannel, Batch> batches = new ConcurrentHashMap<>();
+
+  public ChannelMessageBatcher(@NotNull ScheduledExecutorService scheduler) {
+    this(scheduler, DEFAULT_BATCH_WINDOW_MILLIS, DEFAULT_MAX_BATCH_SIZE);
+  }
+
+  public ChannelMessageBatcher(@NotNull ScheduledExecutorService scheduler, long batchWindowMillis, int maxBatchSize) {
+    this.scheduler = scheduler;
+    this.batchWindowMillis = batchWindowMillis;
+    this.maxBatchSize = maxBatchSize;
+  }
+
+  /**
+   * Queues the given message to be sent to the given channel with the next batch.
+   *
+   * @param channel the channel to send the message to
+   * @param message the message to send
+   */
+  public void enqueue(@NotNull INetworkChannel channel, @NotNull ChannelMessage message) {
+    Batch batch = this.batches.computeIfAbsent(channel, Batch::new);
+
+    boolean flush = false;
+    synchronized (batch) {
+      Object key = message.getCoalescingKey() == null ? new Object()
+        : message.getChannel() + ':' + message.getCoalescingKey();
+      // remove the old message first to send the newer one in the order it was queued
+      batch.messages.remove(key);
+      batch.messages.put(key, message);
+
+      if (batch.messages.size() >= this.maxBatchSize) {
+        flush = true;
+      } else if (!batch.scheduled) {
+        batch.scheduled = true;
+        this.scheduler.schedule(() -> this.flush(batch), this.batchWindowMillis, TimeUnit.MILLISECONDS);
+      }
+    }
+
+    if (flush) {
+      this.flush(batch);
+    }
+  }
+
+  /**
+   * Sends all queued messages immediately.
+   */
+  public void flushAll() {
+    for (Batch batch : this.batches.values()) {
+      this.flush(batch);
+    }
+  }
+
+  private void flush(Batch batch) {
+    Collection<ChannelMessage> messages;
+    synchronized (batch) {
+      batch.scheduled = false;
+      if (batch.messages.isEmpty()) {
+        return;
+      }
+
+      messages = new ArrayList<>(batch.messages.values());
+      batch.messages.clear();
+      // the batch is removed while it's empty, a new one is created with the next message
+      this.batches.remove(batch.channel, batch);
+    }
+
+    if (batch.channel.isActive()) {
+      batch.channel.sendPacket(new PacketClientServerChannelMessageBatch(messages));
+    }
+  }
+
+  private static final class Batch {
+
+    private final INetworkChannel channel;
+    private final Map<Object, ChannelMessage> messages = new LinkedHashMap<>();
+    private boolean scheduled;
+
+    private Batch(INetworkChannel channel) {
+      this.channel = channel;
+    }
+  }
+
+}
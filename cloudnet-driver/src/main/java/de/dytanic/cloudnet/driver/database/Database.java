@@ -17,21 +17,41 @@
 package de.dytanic.cloudnet.driver.database;
 
 import de.dytanic.cloudnet.common.INameable;
+import de.dytanic.cloudnet.common.concurrent.CompletableTask;
 import de.dytanic.cloudnet.common.concurrent.ITask;
 import de.dytanic.cloudnet.common.document.gson.JsonDocument;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 import java.util.function.BiConsumer;
 import java.util.function.BiPredicate;
+import java.util.stream.Stream;
 import org.jetbrains.annotations.NotNull;
 
 public interface Database extends INameable, AutoCloseable {
 
+  int DEFAULT_STREAM_PAGE_SIZE = 512;
+
   boolean insert(String key, JsonDocument document);
 
   boolean update(String key, JsonDocument document);
 
+  /**
+   * Inserts all the given documents, replacing the documents which already exist with the same key. The documents are
+   * written as one batch instead of one write per document. The default implementation inserts them one by one.
+   *
+   * @param documents the documents to write mapped by their key
+   * @return if the batch was written successfully
+   */
+  default boolean insertBatch(Map<String, JsonDocument> documents) {
+    boolean success = true;
+    for (Map.Entry<String, JsonDocument> entry : documents.entrySet()) {
+      success &= this.insert(entry.getKey(), entry.getValue());
+    }
+    return success;
+  }
+
   boolean contains(String key);
 
   boolean delete(String key);
@@ -42,6 +62,20 @@ public interface Database extends INameable, AutoCloseable {
 
   List<JsonDocument> get(JsonDocument filters);
 
+  /**
+   * Declares a secondary index on the given top-level field of the documents in this database. Lookups by an indexed
+   * field through {@link #get(String, Object)} and {@link #get(JsonDocument)} are answered by the index instead of
+   * scanning all documents. Index field names are case-sensitive like the keys of the documents and may only contain
+   * up to 29 letters, digits and underscores. Declaring an index which already exists has no effect. Databases which
+   * don't support indexes keep scanning the documents, the default implementation does nothing.
+   *
+   * @param fieldName the name of the field to index
+   * @return if the index exists after the call
+   */
+  default boolean createIndex(String fieldName) {
+    return false;
+  }
+
   Collection<String> keys();
 
   Collection<JsonDocument> documents();
@@ -52,6 +86,31 @@ public interface Database extends INameable, AutoCloseable {
 
   void iterate(BiConsumer<String, JsonDocument> consumer);
 
+  /**
+   * Opens a stream over all entries of this database, sorted by their key. The entries are loaded lazily in pages of
+   * the given size, so that only a small part of the database is held in memory at a time. The stream holds resources
+   * until it is closed and should therefore be used in a try-with-resources block. The default implementation loads all
+   * entries at once.
+   *
+   * @param pageSize the amount of entries to load at once
+   * @return a stream over all entries of this database
+   */
+  @NotNull
+  default Stream<Map.Entry<String, JsonDocument>> stream(int pageSize) {
+    return new TreeMap<>(this.entries()).entrySet().stream();
+  }
+
+  /**
+   * Opens a stream over all entries of this database with the {@link #DEFAULT_STREAM_PAGE_SIZE}.
+   *
+   * @return a stream over all entries of this database
+   * @see #stream(int)
+   */
+  @NotNull
+  default Stream<Map.Entry<String, JsonDocument>> stream() {
+    return this.stream(DEFAULT_STREAM_PAGE_SIZE);
+  }
+
   void clear();
 
   long getDocumentsCount();
@@ -64,6 +123,11 @@ public interface Database extends INameable, AutoCloseable {
   @NotNull
   ITask<Boolean> updateAsync(String key, JsonDocument document);
 
+  @NotNull
+  default ITask<Boolean> insertBatchAsync(Map<String, JsonDocument> documents) {
+    return CompletableTask.supplyAsync(() -> this.insertBatch(documents));
+  }
+
   @NotNull
   ITask<Boolean> containsAsync(String key);
 
@@ -79,6 +143,11 @@ public interface Database extends INameable, AutoCloseable {
   @NotNull
   ITask<List<JsonDocument>> getAsync(JsonDocument filters);
 
+  @NotNull
+  default ITask<Boolean> createIndexAsync(String fieldName) {
+    return CompletableTask.supplyAsync(() -> this.createIndex(fieldName));
+  }
+
   @NotNull
   ITask<Collection<String>> keysAsync();
 
@@ -94,6 +163,11 @@ public interface Database extends INameable, AutoCloseable {
   @NotNull
   ITask<Void> iterateAsync(BiConsumer<String, JsonDocument> consumer);
 
+  @NotNull
+  default ITask<Stream<Map.Entry<String, JsonDocument>>> streamAsync(int pageSize) {
+    return CompletableTask.supplyAsync(() -> this.stream(pageSize));
+  }
+
   @NotNull
   ITask<Void> clearAsync();
 
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.dytanic.cloudnet.driver.database;
+
+import de.dytanic.cloudnet.common.document.gson.JsonDocument;
+import de.dytanic.cloudnet.driver.serialization.ProtocolBuffer;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.AbstractMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Converts a stream of database entries into a byte stream and back, without holding more than a single entry in
+ * memory. Every entry is written as a length-prefixed frame, the end of the entries is marked by a negative length so
+ * that a truncated transfer can be told apart from a complete one.
+ */
+@ApiStatus.Internal
+public final class DatabaseEntryCodec {
+
+  private static final int END_OF_ENTRIES = -1;
+
+  private DatabaseEntryCodec() {
+    throw new UnsupportedOperationException();
+  }
+
+  @NotNull
+  public static InputStream encode(@NotNull Stream<Map.Entry<String, JsonDocument>> entries) {
+    return new EncodingInputStream(entries);
+  }
+
+  @NotNull
+  public static Stream<Map.Entry<String, JsonDocument>> decode(@NotNull InputStream inputStream) {
+    DataInputStream dataInputStream = new DataInputStream(new BufferedInputStream(inputStream));
+
+    Iterator<Map.Entry<String, JsonDocument>> iterator = new Iterator<Map.Entry<String, JsonDocument>>() {
+
+      private Map.Entry<String, JsonDocument> next;
+      private boolean finished;
+
+      @Override
+      public boolean hasNext() {
+        if (this.next == null && !this.finished) {
+          try {
+            int length = dataInputStream.readInt();
+            if (length == END_OF_ENTRIES) {
+              this.finished = true;
+              return false;
+            }
+
+            byte[] frame = new byte[length];
+            dataInputStream.readFully(frame);
+
+            ProtocolBuffer buffer = ProtocolBuffer.wrap(frame);
+            this.next = new AbstractMap.SimpleImmutableEntry<>(buffer.readString(), buffer.readJsonDocument());
+          } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+          }
+        }
+
+        return this.next != null;
+      }
+
+      @Override
+      public Map.Entry<String, JsonDocument> next() {
+        if (!this.hasNext()) {
+          throw new NoSuchElementException();
+        }
+
+        Map.Entry<String, JsonDocument> entry = this.next;
+        this.next = null;
+        return entry;
+      }
+    };
+
+    return StreamSupport
+      .stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false)
+      .onClose(() -> {
+        try {
+          dataInputStream.close();
+        } catch (IOException exception) {
+          throw new UncheckedIOException(exception);
+        }
+      });
+  }
+
+  private static final class EncodingInputStream extends InputStream {
+
+    private final Stream<Map.Entry<String, JsonDocument>> entries;
+    private final Iterator<Map.Entry<String, JsonDocument>> iterator;
+
+    private byte[] frame = new byte[0];
+    private int position;
+    private boolean finished;
+
+    private EncodingInputStream(Stream<Map.Entry<String, JsonDocument>> entries) {
+      this.entries = entries;
+      this.iterator = entries.iterator();
+    }
+
+    @Override
+    public int read() throws IOException {
+      return this.fill() ? this.frame[this.position++] & 0xFF : -1;
+    }
+
+    @Override
+    public int read(@NotNull byte[] bytes, int offset, int length) throws IOException {
+      if (length == 0) {
+        return 0;
+      }
+
+      // fill the whole requested range if possible, the chunked packets are sized by the amount of bytes read
+      int read = 0;
+      while (read < length && this.fill()) {
+        int count = Math.min(length - read, this.frame.length - this.position);
+        System.arraycopy(this.frame, this.position, bytes, offset + read, count);
+
+        this.position += count;
+        read += count;
+      }
+
+      return read == 0 ? -1 : read;
+    }
+
+    @Override
+    public void close() {
+      this.entries.close();
+    }
+
+    private boolean fill() throws IOException {
+      while (this.position >= this.frame.length) {
+        if (this.finished) {
+          return false;
+        }
+
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        DataOutputStream dataOutputStream = new DataOutputStream(byteArrayOutputStream);
+
+        if (this.iterator.hasNext()) {
+          Map.Entry<String, JsonDocument> entry = this.iterator.next();
+          byte[] bytes = ProtocolBuffer.create().writeString(entry.getKey()).writeJsonDocument(entry.getValue())
+            .toArray();
+
+          dataOutputStream.writeInt(bytes.length);
+          dataOutputStream.write(bytes);
+        } else {
+          dataOutputStream.writeInt(END_OF_ENTRIES);
+          this.finished = true;
+        }
+
+        this.frame = byteArrayOutputStream.toByteArray();
+        this.position = 0;
+      }
+
+      return true;
+    }
+  }
+}
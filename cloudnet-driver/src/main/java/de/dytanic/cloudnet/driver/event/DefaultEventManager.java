@@ -25,14 +25,22 @@
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 public final class DefaultEventManager implements IEventManager {
 
-  private final Map<String, List<IRegisteredEventListener>> registeredListeners = new HashMap<>();
+  private static final IRegisteredEventListener[] NO_LISTENERS = new IRegisteredEventListener[0];
+
+  private final Map<String, List<IRegisteredEventListener>> registeredListeners = new ConcurrentHashMap<>();
+
+  /**
+   * The priority sorted listeners per channel and concrete event class. The table is replaced on every listener
+   * change and filled lazily, so firing an event never has to copy or sort the registered listeners.
+   */
+  private volatile Map<String, Map<Class<?>, IRegisteredEventListener[]>> dispatchTable = new ConcurrentHashMap<>();
 
   private final ListenerInvokerGenerator invokerGenerator = new ListenerInvokerGenerator();
 
@@ -52,6 +60,7 @@ public IEventManager unregisterListener(Object listener) {
       listeners.getValue().removeIf(registeredEventListener -> registeredEventListener.getInstance().equals(listener));
     }
 
+    this.invalidateDispatchTable();
     return this;
   }
 
@@ -64,6 +73,7 @@ public IEventManager unregisterListener(Class<?> listener) {
         .removeIf(registeredEventListener -> registeredEventListener.getInstance().getClass().equals(listener));
     }
 
+    this.invalidateDispatchTable();
     return this;
   }
 
@@ -77,6 +87,7 @@ public IEventManager unregisterListeners(ClassLoader classLoader) {
           .equals(classLoader));
     }
 
+    this.invalidateDispatchTable();
     return this;
   }
 
@@ -105,6 +116,7 @@ public IEventManager unregisterListeners(Class<?>... classes) {
   @Override
   public IEventManager unregisterAll() {
     this.registeredListeners.clear();
+    this.invalidateDispatchTable();
     return this;
   }
 
@@ -119,29 +131,72 @@ public <T extends Event> T callEvent(String channel, T event) {
     return event;
   }
 
+  @Override
+  public boolean hasListeners(Class<? extends Event> eventClass) {
+    Preconditions.checkNotNull(eventClass);
+
+    return this.getDispatchListeners("*", eventClass).length > 0;
+  }
 
   private void fireEvent(String channel, Event event) {
-    if (channel.equals("*")) {
-      List<IRegisteredEventListener> listeners = new ArrayList<>();
+    for (IRegisteredEventListener listener : this.getDispatchListeners(channel, event.getClass())) {
+      listener.fireEvent(event);
+    }
+  }
 
-      for (List<IRegisteredEventListener> entry : this.registeredListeners.values()) {
-        listeners.addAll(entry);
+  private IRegisteredEventListener[] getDispatchListeners(String channel, Class<?> eventClass) {
+    Map<String, Map<Class<?>, IRegisteredEventListener[]>> table = this.dispatchTable;
+
+    Map<Class<?>, IRegisteredEventListener[]> channelTable = table.get(channel);
+    if (channelTable == null) {
+      channelTable = new ConcurrentHashMap<>();
+      Map<Class<?>, IRegisteredEventListener[]> knownTable = table.putIfAbsent(channel, channelTable);
+      if (knownTable != null) {
+        channelTable = knownTable;
       }
+    }
 
-      this.fireEvent(listeners, event);
-    } else if (this.registeredListeners.containsKey(channel)) {
-      this.fireEvent(this.registeredListeners.get(channel), event);
+    IRegisteredEventListener[] listeners = channelTable.get(eventClass);
+    if (listeners == null) {
+      listeners = this.collectListeners(channel, eventClass);
+      channelTable.put(eventClass, listeners);
     }
+
+    return listeners;
   }
 
-  private void fireEvent(List<IRegisteredEventListener> listeners, Event event) {
+  private IRegisteredEventListener[] collectListeners(String channel, Class<?> eventClass) {
+    List<IRegisteredEventListener> listeners = new ArrayList<>();
+
+    if (channel.equals("*")) {
+      for (List<IRegisteredEventListener> entry : this.registeredListeners.values()) {
+        this.collectListeners(entry, eventClass, listeners);
+      }
+    } else if (this.registeredListeners.containsKey(channel)) {
+      this.collectListeners(this.registeredListeners.get(channel), eventClass, listeners);
+    }
+
+    if (listeners.isEmpty()) {
+      return NO_LISTENERS;
+    }
+
     Collections.sort(listeners);
+    return listeners.toArray(NO_LISTENERS);
+  }
 
-    for (IRegisteredEventListener listener : listeners) {
-      listener.fireEvent(event);
+  private void collectListeners(List<IRegisteredEventListener> source, Class<?> eventClass,
+    List<IRegisteredEventListener> target) {
+    for (IRegisteredEventListener listener : source) {
+      if (listener.getEventClass().isAssignableFrom(eventClass)) {
+        target.add(listener);
+      }
     }
   }
 
+  private void invalidateDispatchTable() {
+    this.dispatchTable = new ConcurrentHashMap<>();
+  }
+
   @SuppressWarnings("unchecked")
   private void registerListener0(Object listener) {
     for (Method method : listener.getClass().getMethods()) {
@@ -194,5 +249,7 @@ private void registerListener0(Object listener) {
       this.registeredListeners.computeIfAbsent(eventListener.channel(),
         key -> new CopyOnWriteArrayList<>()).add(registeredEventListener);
     }
+
+    this.invalidateDispatchTable();
   }
 }
@@ -36,6 +36,17 @@ public interface IEventManager {
 
   <T extends Event> T callEvent(String channel, T event);
 
+  /**
+   * Checks if at least one listener on any channel would be called for events of the given class. Callers may use
+   * this to skip creating an event nobody listens to on hot paths
+   *
+   * @param eventClass the concrete class of the event
+   * @return if a listener for the given event class is registered
+   */
+  default boolean hasListeners(Class<? extends Event> eventClass) {
+    return true;
+  }
+
   default <T extends Event> T callEvent(T event) {
     return this.callEvent("*", event);
   }
@@ -100,6 +100,7 @@ public boolean sendChunkedPackets(@NotNull UUID uniqueId, @NotNull JsonDocument
       .uniqueId(uniqueId)
       .header(header)
       .target(this)
+      .window(ChunkedPacketBuilder.DEFAULT_WINDOW)
       .complete()
       .isSuccess();
   }
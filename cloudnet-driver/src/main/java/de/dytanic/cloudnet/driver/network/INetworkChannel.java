@@ -88,6 +88,24 @@ boolean sendChunkedPackets(@NotNull JsonDocument header, @NotNull InputStream in
   boolean sendChunkedPackets(UUID uniqueId, @NotNull JsonDocument header, @NotNull InputStream inputStream, int channel)
     throws IOException;
 
+  /**
+   * Returns if the packet headers sent through this channel are written as typed binary key/value pairs instead of
+   * json. This is only enabled if the remote side announced that it is able to read them during the authorization,
+   * channels which don't support binary headers always return {@code false}
+   */
+  default boolean isBinaryHeaders() {
+    return false;
+  }
+
+  /**
+   * Sets if the packet headers sent through this channel should be written as typed binary key/value pairs. Incoming
+   * packets are always accepted in both formats, channels which don't support binary headers ignore this call
+   *
+   * @param binaryHeaders if binary headers should be used for outgoing packets
+   */
+  default void setBinaryHeaders(boolean binaryHeaders) {
+  }
+
   boolean isWriteable();
 
   boolean isActive();
@@ -25,6 +25,8 @@ public final class PacketConstants {
   public static final int INTERNAL_DEBUGGING_CHANNEL = 4;
   public static final int INTERNAL_DRIVER_API_CHANNEL = 5;
   public static final int INTERNAL_DATABASE_API_CHANNEL = 6;
+  public static final int INTERNAL_CHUNK_ACKNOWLEDGEMENT_CHANNEL = 19;
+  public static final int INTERNAL_DATABASE_INVALIDATION_CHANNEL = 21;
 
   // cluster
   public static final int CLUSTER_SERVICE_INFO_LIST_CHANNEL = 7;
@@ -35,11 +37,14 @@ public final class PacketConstants {
   public static final int CLUSTER_TEMPLATE_STORAGE_SYNC_CHANNEL = 12;
   public static final int CLUSTER_TEMPLATE_STORAGE_CHUNK_SYNC_CHANNEL = 13;
   public static final int CLUSTER_NODE_INFO_CHANNEL = 14;
+  public static final int CLUSTER_SERVICE_INFO_DELTA_CHANNEL = 18;
+  public static final int CLUSTER_H2_DATABASE_CHUNK_SYNC_CHANNEL = 20;
 
   // events
   public static final int SERVICE_INFO_PUBLISH_CHANNEL = 15;
   public static final int PERMISSIONS_PUBLISH_CHANNEL = 16;
   public static final int CHANNEL_MESSAGING_CHANNEL = 17;
+  public static final int CHANNEL_MESSAGING_BATCH_CHANNEL = 22;
 
   private PacketConstants() {
     throw new UnsupportedOperationException();
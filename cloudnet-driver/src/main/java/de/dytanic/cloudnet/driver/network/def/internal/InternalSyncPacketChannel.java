@@ -18,6 +18,7 @@
 
 import com.google.common.base.Preconditions;
 import de.dytanic.cloudnet.driver.network.INetworkChannel;
+import de.dytanic.cloudnet.driver.network.def.PacketConstants;
 import de.dytanic.cloudnet.driver.network.protocol.IPacket;
 import de.dytanic.cloudnet.driver.network.protocol.Packet;
 import de.dytanic.cloudnet.driver.network.protocol.chunk.ChunkedQueryResponse;
@@ -34,6 +35,8 @@
 public final class InternalSyncPacketChannel {
 
   private static final Map<UUID, SynchronizedCallback> WAITING_PACKETS = new ConcurrentHashMap<>();
+  private static final Map<UUID, BiConsumer<INetworkChannel, IPacket>> CHUNK_ACKNOWLEDGEMENT_HANDLERS =
+    new ConcurrentHashMap<>();
 
   private InternalSyncPacketChannel() {
     throw new UnsupportedOperationException();
@@ -42,6 +45,17 @@ private InternalSyncPacketChannel() {
   public static boolean handleIncomingChannel(INetworkChannel channel, Packet packet) {
     Preconditions.checkNotNull(packet);
 
+    // acknowledgements share the unique id with the chunks they belong to, the sender of a chunked query waits for a
+    // response with the same id in the waiting packets
+    if (packet.getChannel() == PacketConstants.INTERNAL_CHUNK_ACKNOWLEDGEMENT_CHANNEL) {
+      BiConsumer<INetworkChannel, IPacket> handler = CHUNK_ACKNOWLEDGEMENT_HANDLERS.get(packet.getUniqueId());
+      if (handler != null) {
+        handler.accept(channel, packet);
+      }
+
+      return true;
+    }
+
     if (WAITING_PACKETS.containsKey(packet.getUniqueId())) {
       SynchronizedCallback syncEntry = null;
 
@@ -82,6 +96,14 @@ public static void registerChunkedQueryHandler(UUID uniqueId, Consumer<ChunkedQu
     });
   }
 
+  public static void registerChunkAcknowledgementHandler(UUID uniqueId, BiConsumer<INetworkChannel, IPacket> handler) {
+    CHUNK_ACKNOWLEDGEMENT_HANDLERS.put(uniqueId, handler);
+  }
+
+  public static void removeChunkAcknowledgementHandler(UUID uniqueId) {
+    CHUNK_ACKNOWLEDGEMENT_HANDLERS.remove(uniqueId);
+  }
+
   public static void registerQueryHandler(UUID uniqueId, Consumer<IPacket> consumer) {
     registerQueryHandler(uniqueId, true, (channel, packet) -> consumer.accept(packet));
   }
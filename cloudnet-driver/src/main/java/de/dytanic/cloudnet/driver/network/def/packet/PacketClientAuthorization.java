@@ -29,7 +29,8 @@ public PacketClientAuthorization(PacketAuthorizationType packetAuthorizationType
     Preconditions.checkNotNull(packetAuthorizationType);
     Preconditions.checkNotNull(credentials);
 
-    this.header.append("authorization", packetAuthorizationType).append("credentials", credentials);
+    this.header.append("authorization", packetAuthorizationType).append("credentials", credentials)
+      .append("binaryHeaders", true);
   }
 
   public enum PacketAuthorizationType {
@@ -24,6 +24,7 @@
 import de.dytanic.cloudnet.driver.network.HostAndPort;
 import de.dytanic.cloudnet.driver.network.INetworkChannel;
 import de.dytanic.cloudnet.driver.network.INetworkChannelHandler;
+import de.dytanic.cloudnet.driver.network.netty.codec.NettyPacketEncoder;
 import de.dytanic.cloudnet.driver.network.protocol.IPacket;
 import de.dytanic.cloudnet.driver.network.protocol.IPacketListenerRegistry;
 import io.netty.channel.Channel;
@@ -63,6 +64,16 @@ public void sendPacketSync(@NotNull IPacket packet) {
     }
   }
 
+  @Override
+  public boolean isBinaryHeaders() {
+    return Boolean.TRUE.equals(this.channel.attr(NettyPacketEncoder.BINARY_HEADERS).get());
+  }
+
+  @Override
+  public void setBinaryHeaders(boolean binaryHeaders) {
+    this.channel.attr(NettyPacketEncoder.BINARY_HEADERS).set(binaryHeaders);
+  }
+
   @Override
   public boolean isWriteable() {
     return this.channel.isWritable();
@@ -74,32 +85,34 @@ public boolean isActive() {
   }
 
   private ChannelFuture writePacket(IPacket packet) {
-    NetworkChannelPacketSendEvent event = new NetworkChannelPacketSendEvent(this, packet);
-
-    CloudNetDriver.optionalInstance().ifPresent(cloudNetDriver -> cloudNetDriver.getEventManager().callEvent(event));
-
-    if (!event.isCancelled()) {
-      if (packet.isShowDebug()) {
-        CloudNetDriver.optionalInstance().ifPresent(cloudNetDriver -> {
-          if (cloudNetDriver.getLogger().getLevel() >= LogLevel.DEBUG.getLevel()) {
-            cloudNetDriver.getLogger().debug(
-              String.format(
-                "Sending packet to %s on channel %d with id %s, header=%s;body=%d",
-                this.getClientAddress().toString(),
-                packet.getChannel(),
-                packet.getUniqueId(),
-                packet.getHeader().toJson(),
-                packet.getBuffer() != null ? packet.getBuffer().readableBytes() : 0
-              )
-            );
-          }
-        });
+    CloudNetDriver driver = CloudNetDriver.getInstance();
+    // only build the event if someone listens to it, this is called for every outgoing packet
+    if (driver != null && driver.getEventManager().hasListeners(NetworkChannelPacketSendEvent.class)) {
+      NetworkChannelPacketSendEvent event = driver.getEventManager()
+        .callEvent(new NetworkChannelPacketSendEvent(this, packet));
+      if (event.isCancelled()) {
+        return null;
       }
+    }
 
-      return this.channel.writeAndFlush(packet);
+    if (packet.isShowDebug()) {
+      CloudNetDriver.optionalInstance().ifPresent(cloudNetDriver -> {
+        if (cloudNetDriver.getLogger().getLevel() >= LogLevel.DEBUG.getLevel()) {
+          cloudNetDriver.getLogger().debug(
+            String.format(
+              "Sending packet to %s on channel %d with id %s, header=%s;body=%d",
+              this.getClientAddress().toString(),
+              packet.getChannel(),
+              packet.getUniqueId(),
+              packet.getHeader().toJson(),
+              packet.getBuffer() != null ? packet.getBuffer().readableBytes() : 0
+            )
+          );
+        }
+      });
     }
 
-    return null;
+    return this.channel.writeAndFlush(packet);
   }
 
   @Override
@@ -78,6 +78,8 @@ protected JsonDocument readHeader(ByteBuf buf) {
     int length = NettyUtils.readVarInt(buf);
     if (length == 0) {
       return JsonDocument.EMPTY;
+    } else if (length == NettyPacketEncoder.BINARY_HEADER_MARKER) {
+      return ProtocolBuffer.wrap(buf).readTypedJsonDocument();
     } else {
       byte[] content = new byte[length];
       buf.readBytes(content);
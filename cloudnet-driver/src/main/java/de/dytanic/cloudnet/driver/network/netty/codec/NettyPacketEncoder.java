@@ -20,14 +20,26 @@
 import de.dytanic.cloudnet.driver.CloudNetDriver;
 import de.dytanic.cloudnet.driver.network.netty.NettyUtils;
 import de.dytanic.cloudnet.driver.network.protocol.IPacket;
+import de.dytanic.cloudnet.driver.serialization.ProtocolBuffer;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.MessageToByteEncoder;
+import io.netty.util.AttributeKey;
 import org.jetbrains.annotations.ApiStatus;
 
 @ApiStatus.Internal
 public final class NettyPacketEncoder extends MessageToByteEncoder<IPacket> {
 
+  /**
+   * Set on channels whose remote side announced during the authorization that it is able to read binary headers
+   */
+  public static final AttributeKey<Boolean> BINARY_HEADERS = AttributeKey.valueOf("cloudnet_binary_headers");
+
+  /**
+   * Written instead of the header length for binary headers, a json header can never be only one byte long
+   */
+  static final int BINARY_HEADER_MARKER = 1;
+
   @Override
   protected void encode(ChannelHandlerContext ctx, IPacket packet, ByteBuf byteBuf) {
     if (packet.isShowDebug()) {
@@ -53,7 +65,7 @@ protected void encode(ChannelHandlerContext ctx, IPacket packet, ByteBuf byteBuf
       .writeLong(packet.getUniqueId().getMostSignificantBits())
       .writeLong(packet.getUniqueId().getLeastSignificantBits());
     // header
-    this.writeHeader(packet, byteBuf);
+    this.writeHeader(packet, byteBuf, ctx != null && Boolean.TRUE.equals(ctx.channel().attr(BINARY_HEADERS).get()));
     // body
     if (packet.getBuffer() != null) {
       int amount = packet.getBuffer().readableBytes();
@@ -64,9 +76,12 @@ protected void encode(ChannelHandlerContext ctx, IPacket packet, ByteBuf byteBuf
     }
   }
 
-  private void writeHeader(IPacket packet, ByteBuf byteBuf) {
+  private void writeHeader(IPacket packet, ByteBuf byteBuf, boolean binary) {
     if (packet.getHeader() == null || packet.getHeader().isEmpty()) {
       NettyUtils.writeVarInt(byteBuf, 0);
+    } else if (binary) {
+      NettyUtils.writeVarInt(byteBuf, BINARY_HEADER_MARKER);
+      ProtocolBuffer.wrap(byteBuf).writeTypedJsonDocument(packet.getHeader());
     } else {
       NettyUtils.writeString(byteBuf, packet.getHeader().toJson());
     }
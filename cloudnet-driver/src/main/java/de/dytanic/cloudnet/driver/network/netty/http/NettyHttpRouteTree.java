@@ -0,0 +1,153 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.dytanic.cloudnet.driver.network.netty.http;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.jetbrains.annotations.ApiStatus;
+
+/**
+ * An immutable prefix tree of the registered http handlers, split into their path segments. A request only visits the
+ * branches matching its own segments instead of comparing its path with every registered handler.
+ */
+@ApiStatus.Internal
+final class NettyHttpRouteTree {
+
+  private final Node root = new Node();
+
+  public NettyHttpRouteTree(Collection<NettyHttpServer.HttpHandlerEntry> httpHandlerEntries) {
+    List<NettyHttpServer.HttpHandlerEntry> entries = new ArrayList<>(httpHandlerEntries);
+    Collections.sort(entries);
+
+    for (int order = 0; order < entries.size(); order++) {
+      this.add(new Route(entries.get(order), order));
+    }
+  }
+
+  private static boolean isParameter(String segment) {
+    return segment.startsWith("{") && segment.endsWith("}") && segment.length() > 2;
+  }
+
+  private void add(Route route) {
+    String[] segments = route.segments;
+    Node node = this.root;
+
+    // the first segment is always the empty string before the leading slash
+    for (int index = 1; index < segments.length; index++) {
+      String segment = segments[index];
+
+      if (segment.equals("*") && index == segments.length - 1) {
+        node.wildcardRoutes.add(route);
+        return;
+      }
+
+      if (segment.equals("*") || isParameter(segment)) {
+        if (node.variableChild == null) {
+          node.variableChild = new Node();
+        }
+        node = node.variableChild;
+      } else {
+        node = node.children.computeIfAbsent(segment, key -> new Node());
+      }
+    }
+
+    node.routes.add(route);
+  }
+
+  /**
+   * Finds all routes matching the given path
+   *
+   * @param pathEntries the path of the request, split at every slash
+   * @param port        the port the request was received on
+   * @return the matching routes in the order their handlers have to be called
+   */
+  public List<Route> match(String[] pathEntries, int port) {
+    List<Route> routes = new ArrayList<>();
+    this.match(this.root, pathEntries, Math.min(1, pathEntries.length), port, routes);
+
+    if (routes.size() > 1) {
+      routes.sort((first, second) -> Integer.compare(first.order, second.order));
+    }
+    return routes;
+  }
+
+  private void match(Node node, String[] pathEntries, int index, int port, List<Route> routes) {
+    if (index < pathEntries.length) {
+      this.addRoutes(node.wildcardRoutes, port, routes);
+
+      Node child = node.children.get(pathEntries[index]);
+      if (child != null) {
+        this.match(child, pathEntries, index + 1, port, routes);
+      }
+
+      if (node.variableChild != null) {
+        this.match(node.variableChild, pathEntries, index + 1, port, routes);
+      }
+    } else {
+      this.addRoutes(node.routes, port, routes);
+    }
+  }
+
+  private void addRoutes(List<Route> candidates, int port, List<Route> routes) {
+    for (Route route : candidates) {
+      if (route.httpHandlerEntry.port == null || route.httpHandlerEntry.port == port) {
+        routes.add(route);
+      }
+    }
+  }
+
+  static final class Route {
+
+    protected final NettyHttpServer.HttpHandlerEntry httpHandlerEntry;
+    protected final int order;
+
+    protected final String[] segments;
+    // the names of the path parameters by the index of their segment
+    protected final Map<Integer, String> parameters = new HashMap<>();
+
+    private Route(NettyHttpServer.HttpHandlerEntry httpHandlerEntry, int order) {
+      this.httpHandlerEntry = httpHandlerEntry;
+      this.order = order;
+      this.segments = httpHandlerEntry.path.split("/");
+
+      for (int index = 1; index < this.segments.length; index++) {
+        if (isParameter(this.segments[index])) {
+          this.parameters.put(index, this.segments[index].substring(1, this.segments[index].length() - 1));
+        }
+      }
+    }
+
+    public void putPathParameters(String[] pathEntries, Map<String, String> pathParameters) {
+      for (Map.Entry<Integer, String> parameter : this.parameters.entrySet()) {
+        pathParameters.put(parameter.getValue(), pathEntries[parameter.getKey()]);
+      }
+    }
+  }
+
+  private static final class Node {
+
+    private final Map<String, Node> children = new HashMap<>();
+    private final List<Route> routes = new ArrayList<>();
+    private final List<Route> wildcardRoutes = new ArrayList<>();
+
+    private Node variableChild;
+  }
+}
@@ -35,11 +35,13 @@
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 @ApiStatus.Internal
 public final class NettyHttpServer extends NettySSLServer implements IHttpServer {
@@ -50,12 +52,28 @@ public final class NettyHttpServer extends NettySSLServer implements IHttpServer
   protected final EventLoopGroup bossGroup = NettyUtils.newEventLoopGroup();
   protected final EventLoopGroup workerGroup = NettyUtils.newEventLoopGroup();
 
+  protected final Executor handlerExecutor;
+
+  protected volatile NettyHttpRouteTree routeTree = new NettyHttpRouteTree(this.registeredHandlers);
+
   public NettyHttpServer() throws Exception {
     this(null);
   }
 
   public NettyHttpServer(SSLConfiguration sslConfiguration) throws Exception {
+    this(sslConfiguration, null);
+  }
+
+  /**
+   * @param sslConfiguration the ssl configuration of the server or null, if ssl should be disabled
+   * @param handlerExecutor  the executor the http handlers are called on or null, if they should be called on the
+   *                         event loop of the connection. Handlers doing blocking calls should get an executor, as they
+   *                         would otherwise stall every other connection of the event loop. Requests of the same
+   *                         connection are still handled one after another.
+   */
+  public NettyHttpServer(SSLConfiguration sslConfiguration, @Nullable Executor handlerExecutor) throws Exception {
     super(sslConfiguration);
+    this.handlerExecutor = handlerExecutor;
 
     this.init();
   }
@@ -139,6 +157,7 @@ public IHttpServer registerHandler(String path, Integer port, int priority, IHtt
       }
     }
 
+    this.rebuildRouteTree();
     return this;
   }
 
@@ -147,6 +166,7 @@ public IHttpServer removeHandler(IHttpHandler handler) {
     Preconditions.checkNotNull(handler);
 
     this.registeredHandlers.removeIf(registeredHandler -> registeredHandler.httpHandler.equals(handler));
+    this.rebuildRouteTree();
 
     return this;
   }
@@ -156,6 +176,7 @@ public IHttpServer removeHandler(Class<? extends IHttpHandler> handler) {
     Preconditions.checkNotNull(handler);
 
     this.registeredHandlers.removeIf(registeredHandler -> registeredHandler.httpHandler.getClass().equals(handler));
+    this.rebuildRouteTree();
 
     return this;
   }
@@ -166,6 +187,7 @@ public IHttpServer removeHandler(ClassLoader classLoader) {
 
     this.registeredHandlers
       .removeIf(registeredHandler -> registeredHandler.httpHandler.getClass().getClassLoader().equals(classLoader));
+    this.rebuildRouteTree();
 
     return this;
   }
@@ -179,9 +201,14 @@ public Collection<IHttpHandler> getHttpHandlers() {
   @Override
   public IHttpServer clearHandlers() {
     this.registeredHandlers.clear();
+    this.rebuildRouteTree();
     return this;
   }
 
+  private synchronized void rebuildRouteTree() {
+    this.routeTree = new NettyHttpRouteTree(this.registeredHandlers);
+  }
+
   @Override
   public void close() {
     for (Pair<HostAndPort, ChannelFuture> entry : this.channelFutures.values()) {
@@ -28,6 +28,7 @@
 import de.dytanic.cloudnet.driver.network.http.websocket.IWebSocketChannel;
 import io.netty.channel.Channel;
 import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpUtil;
 import io.netty.handler.codec.http.cookie.Cookie;
 import io.netty.handler.codec.http.cookie.DefaultCookie;
 import io.netty.handler.codec.http.cookie.ServerCookieDecoder;
@@ -56,7 +57,7 @@ final class NettyHttpServerContext implements IHttpContext {
   protected final NettyHttpServerRequest httpServerRequest;
   protected final NettyHttpServerResponse httpServerResponse;
 
-  protected volatile boolean closeAfter = true;
+  protected volatile boolean closeAfter;
   protected volatile boolean cancelNext = false;
   protected volatile boolean cancelSendResponse = false;
 
@@ -70,6 +71,8 @@ public NettyHttpServerContext(NettyHttpServer nettyHttpServer, NettyHttpChannel
     this.channel = channel;
     this.httpRequest = httpRequest;
     this.nettyChannel = channel.getChannel();
+    // keep the connection open if the client asked for it, handlers may still close it
+    this.closeAfter = !HttpUtil.isKeepAlive(httpRequest);
 
     this.httpServerRequest = new NettyHttpServerRequest(this, httpRequest, pathParameters, uri);
     this.httpServerResponse = new NettyHttpServerResponse(this, httpRequest);
@@ -98,16 +101,26 @@ public IWebSocketChannel upgrade() {
         false
       );
 
-      this.nettyChannel.pipeline().remove("http-server-handler");
-
       WebSocketServerHandshaker webSocketServerHandshaker = webSocketServerHandshakerFactory
         .newHandshaker(this.httpRequest);
-      webSocketServerHandshaker.handshake(this.nettyChannel, this.httpRequest);
-
       this.webSocketServerChannel = new NettyWebSocketServerChannel(this.channel, this.nettyChannel,
         webSocketServerHandshaker);
-      this.nettyChannel.pipeline().addLast("websocket-server-channel-handler",
-        new NettyWebSocketServerChannelHandler(this.webSocketServerChannel));
+
+      // handlers may run on the http task scheduler, the pipeline has to be switched in one task of the event loop
+      // so that no frame is read before the websocket handler is added
+      Runnable upgradeTask = () -> {
+        this.nettyChannel.pipeline().remove("http-server-handler");
+        this.nettyChannel.pipeline().addLast("websocket-server-channel-handler",
+          new NettyWebSocketServerChannelHandler(this.webSocketServerChannel));
+
+        webSocketServerHandshaker.handshake(this.nettyChannel, this.httpRequest);
+      };
+
+      if (this.nettyChannel.eventLoop().inEventLoop()) {
+        upgradeTask.run();
+      } else {
+        this.nettyChannel.eventLoop().submit(upgradeTask).syncUninterruptibly();
+      }
 
       this.closeAfter(false);
     }
@@ -23,13 +23,16 @@
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.SimpleChannelInboundHandler;
 import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpUtil;
+import io.netty.util.ReferenceCountUtil;
 import java.io.IOException;
 import java.net.URI;
-import java.util.ArrayList;
-import java.util.Collections;
+import java.util.ArrayDeque;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.RejectedExecutionException;
 import org.jetbrains.annotations.ApiStatus;
 
 @ApiStatus.Internal
@@ -39,8 +42,13 @@ final class NettyHttpServerHandler extends SimpleChannelInboundHandler<HttpReque
 
   private final HostAndPort connectedAddress;
 
+  // the requests of this connection waiting for the handler executor, only accessed from the event loop
+  private final Queue<HttpRequest> pendingRequests = new ArrayDeque<>();
+
   private NettyHttpChannel channel;
 
+  private boolean handlingRequest;
+
   public NettyHttpServerHandler(NettyHttpServer nettyHttpServer, HostAndPort connectedAddress) {
     this.nettyHttpServer = nettyHttpServer;
     this.connectedAddress = connectedAddress;
@@ -54,6 +62,11 @@ public void channelActive(ChannelHandlerContext ctx) {
 
   @Override
   public void channelInactive(ChannelHandlerContext ctx) {
+    HttpRequest pendingRequest;
+    while ((pendingRequest = this.pendingRequests.poll()) != null) {
+      ReferenceCountUtil.release(pendingRequest);
+    }
+
     if (!ctx.channel().isActive() || !ctx.channel().isOpen() || !ctx.channel().isWritable()) {
       ctx.channel().close();
     }
@@ -78,7 +91,46 @@ protected void channelRead0(ChannelHandlerContext ctx, HttpRequest msg) {
       return;
     }
 
-    this.handleMessage(ctx.channel(), msg);
+    if (this.nettyHttpServer.handlerExecutor == null) {
+      this.handleMessage(ctx.channel(), msg);
+      return;
+    }
+
+    // the request is released by SimpleChannelInboundHandler as soon as this method returns
+    ReferenceCountUtil.retain(msg);
+    this.pendingRequests.add(msg);
+    this.handleNextRequest(ctx);
+  }
+
+  private void handleNextRequest(ChannelHandlerContext ctx) {
+    if (this.handlingRequest) {
+      return;
+    }
+
+    HttpRequest httpRequest = this.pendingRequests.poll();
+    if (httpRequest == null) {
+      return;
+    }
+
+    // the responses have to be sent in the order of the requests, so only one request per connection is handled
+    this.handlingRequest = true;
+
+    try {
+      this.nettyHttpServer.handlerExecutor.execute(() -> {
+        try {
+          this.handleMessage(ctx.channel(), httpRequest);
+        } finally {
+          ReferenceCountUtil.release(httpRequest);
+          ctx.channel().eventLoop().execute(() -> {
+            this.handlingRequest = false;
+            this.handleNextRequest(ctx);
+          });
+        }
+      });
+    } catch (RejectedExecutionException exception) {
+      ReferenceCountUtil.release(httpRequest);
+      ctx.channel().close();
+    }
   }
 
   private void handleMessage(Channel channel, HttpRequest httpRequest) {
@@ -93,25 +145,28 @@ private void handleMessage(Channel channel, HttpRequest httpRequest) {
     }
 
     Map<String, String> pathParameters = new HashMap<>();
-
-    List<NettyHttpServer.HttpHandlerEntry> entries = new ArrayList<>(this.nettyHttpServer.registeredHandlers);
-    Collections.sort(entries);
-
     String[] pathEntries = fullPath.split("/");
-    String[] handlerPathEntries;
 
     NettyHttpServerContext context = new NettyHttpServerContext(this.nettyHttpServer, this.channel, uri, pathParameters,
       httpRequest);
 
-    for (NettyHttpServer.HttpHandlerEntry httpHandlerEntry : entries) {
+    List<NettyHttpRouteTree.Route> routes = this.nettyHttpServer.routeTree
+      .match(pathEntries, this.connectedAddress.getPort());
+
+    for (NettyHttpRouteTree.Route route : routes) {
       if (context.cancelNext) {
         break;
       }
-      handlerPathEntries = httpHandlerEntry.path.split("/");
 
-      if (this.handleMessage0(httpHandlerEntry, context, pathParameters, fullPath, pathEntries, handlerPathEntries)) {
-        context.lastHandler = httpHandlerEntry.httpHandler;
+      route.putPathParameters(pathEntries, pathParameters);
+
+      try {
+        route.httpHandlerEntry.httpHandler.handle(fullPath, context);
+      } catch (Throwable ex) {
+        ex.printStackTrace();
       }
+
+      context.lastHandler = route.httpHandlerEntry.httpHandler;
     }
 
     if (!context.cancelSendResponse) {
@@ -120,6 +175,10 @@ private void handleMessage(Channel channel, HttpRequest httpRequest) {
         context.httpServerResponse.httpResponse.content().writeBytes("Resource not found!".getBytes());
       }
 
+      HttpUtil.setContentLength(context.httpServerResponse.httpResponse,
+        context.httpServerResponse.httpResponse.content().readableBytes());
+      HttpUtil.setKeepAlive(context.httpServerResponse.httpResponse, !context.closeAfter());
+
       ChannelFuture channelFuture = channel.writeAndFlush(context.httpServerResponse.httpResponse)
         .addListener(ChannelFutureListener.FIRE_EXCEPTION_ON_FAILURE);
 
@@ -128,60 +187,4 @@ private void handleMessage(Channel channel, HttpRequest httpRequest) {
       }
     }
   }
-
-  private boolean handleMessage0(NettyHttpServer.HttpHandlerEntry httpHandlerEntry, NettyHttpServerContext context,
-    Map<String, String> pathParameters, String fullPath, String[] pathEntries, String[] handlerPathEntries) {
-    if (httpHandlerEntry.port != null && httpHandlerEntry.port != this.connectedAddress.getPort()) {
-      return false;
-    }
-
-    if (!httpHandlerEntry.path.endsWith("*") && pathEntries.length != handlerPathEntries.length) {
-      return false;
-    }
-
-    if (pathEntries.length < handlerPathEntries.length) {
-      return false;
-    }
-
-    boolean wildCard = false;
-
-    if (!(pathEntries.length == 1 && handlerPathEntries.length == 1)) {
-      for (int index = 1; index < pathEntries.length; ++index) {
-        if (wildCard) {
-          continue;
-        }
-
-        if (index >= handlerPathEntries.length) {
-          return false;
-        }
-
-        if (handlerPathEntries[index].equals("*") && handlerPathEntries.length - 1 == index) {
-          wildCard = true;
-          continue;
-        }
-
-        if (handlerPathEntries[index].startsWith("{") && handlerPathEntries[index].endsWith("}")
-          && handlerPathEntries[index].length() > 2) {
-          String replacedString = handlerPathEntries[index].replaceFirst("\\{", "");
-          pathParameters.put(replacedString.substring(0, replacedString.length() - 1), pathEntries[index]);
-          continue;
-        }
-
-        if (handlerPathEntries[index].equals("*")) {
-          continue;
-        }
-
-        if (!handlerPathEntries[index].equals(pathEntries[index])) {
-          return false;
-        }
-      }
-    }
-
-    try {
-      httpHandlerEntry.httpHandler.handle(fullPath, context);
-    } catch (Throwable ex) {
-      ex.printStackTrace();
-    }
-    return true;
-  }
 }
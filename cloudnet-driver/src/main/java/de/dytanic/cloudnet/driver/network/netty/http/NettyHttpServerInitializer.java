@@ -19,6 +19,7 @@
 import de.dytanic.cloudnet.driver.network.HostAndPort;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelInitializer;
+import io.netty.handler.codec.http.HttpContentCompressor;
 import io.netty.handler.codec.http.HttpObjectAggregator;
 import io.netty.handler.codec.http.HttpServerCodec;
 import org.jetbrains.annotations.ApiStatus;
@@ -26,6 +27,9 @@
 @ApiStatus.Internal
 final class NettyHttpServerInitializer extends ChannelInitializer<Channel> {
 
+  // responses smaller than this are sent uncompressed, as compressing them would hardly save anything
+  private static final int COMPRESSION_THRESHOLD = 1024;
+
   private final NettyHttpServer nettyHttpServer;
 
   private final HostAndPort hostAndPort;
@@ -44,6 +48,7 @@ protected void initChannel(Channel ch) {
 
     ch.pipeline()
       .addLast("http-server-codec", new HttpServerCodec())
+      .addLast("http-content-compressor", new HttpContentCompressor(6, 15, 8, COMPRESSION_THRESHOLD))
       .addLast("http-object-aggregator", new HttpObjectAggregator(Short.MAX_VALUE))
       .addLast("http-server-handler", new NettyHttpServerHandler(this.nettyHttpServer, this.hostAndPort))
     ;
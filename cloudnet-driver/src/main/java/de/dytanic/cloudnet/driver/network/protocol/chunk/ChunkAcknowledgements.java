@@ -0,0 +1,86 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.dytanic.cloudnet.driver.network.protocol.chunk;
+
+import de.dytanic.cloudnet.driver.network.INetworkChannel;
+import de.dytanic.cloudnet.driver.network.protocol.IPacket;
+import de.dytanic.cloudnet.driver.serialization.ProtocolBuffer;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Collects the acknowledgements and resume requests the receivers of a windowed chunked transfer send back to the
+ * sender.
+ */
+final class ChunkAcknowledgements implements BiConsumer<INetworkChannel, IPacket> {
+
+  private final Map<INetworkChannel, Integer> acknowledged = new HashMap<>();
+  private final Map<INetworkChannel, Integer> resumeRequests = new HashMap<>();
+
+  @Override
+  public synchronized void accept(INetworkChannel channel, IPacket packet) {
+    ProtocolBuffer buffer = packet.getBuffer();
+    boolean success = buffer.readBoolean();
+    int chunkId = buffer.readVarInt();
+
+    // acknowledgements are cumulative but may be handled out of order by the packet dispatcher
+    if (success) {
+      this.acknowledged.merge(channel, chunkId, Math::max);
+    } else {
+      this.resumeRequests.merge(channel, chunkId, Math::min);
+    }
+
+    this.notifyAll();
+  }
+
+  synchronized int getAcknowledged(INetworkChannel channel) {
+    return this.acknowledged.getOrDefault(channel, 0);
+  }
+
+  synchronized int getLowestAcknowledged(Collection<INetworkChannel> channels) {
+    int lowest = Integer.MAX_VALUE;
+    for (INetworkChannel channel : channels) {
+      lowest = Math.min(lowest, this.acknowledged.getOrDefault(channel, 0));
+    }
+
+    return lowest;
+  }
+
+  synchronized Map<INetworkChannel, Integer> pollResumeRequests() {
+    if (this.resumeRequests.isEmpty()) {
+      return Collections.emptyMap();
+    }
+
+    Map<INetworkChannel, Integer> resumeRequests = new HashMap<>(this.resumeRequests);
+    this.resumeRequests.clear();
+    return resumeRequests;
+  }
+
+  synchronized void await(Collection<INetworkChannel> channels, int chunkId, long millis) {
+    if (this.resumeRequests.isEmpty() && this.getLowestAcknowledged(channels) < chunkId) {
+      try {
+        this.wait(millis);
+      } catch (InterruptedException exception) {
+        Thread.currentThread().interrupt();
+        throw ChunkInterrupt.INSTANCE;
+      }
+    }
+  }
+}
@@ -19,10 +19,13 @@
 import de.dytanic.cloudnet.common.document.gson.JsonDocument;
 import de.dytanic.cloudnet.driver.network.protocol.Packet;
 import de.dytanic.cloudnet.driver.serialization.ProtocolBuffer;
+import io.netty.buffer.PooledByteBufAllocator;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.util.UUID;
+import java.util.zip.CRC32;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 public class ChunkedPacket extends Packet {
 
@@ -32,9 +35,16 @@ public class ChunkedPacket extends Packet {
   private boolean end;
   private byte[] data;
   private int chunks;
+  private int checksum;
+  private int window;
 
   protected ChunkedPacket(int channel, @NotNull UUID uniqueId, @NotNull JsonDocument header, int chunkId, int chunkSize,
     int dataLength, boolean end, byte[] data, int chunks) {
+    this(channel, uniqueId, header, chunkId, chunkSize, dataLength, end, data, chunks, 0, 0);
+  }
+
+  protected ChunkedPacket(int channel, @NotNull UUID uniqueId, @NotNull JsonDocument header, int chunkId, int chunkSize,
+    int dataLength, boolean end, byte[] data, int chunks, int checksum, int window) {
     super(channel, uniqueId, header);
     this.chunkId = chunkId;
     this.chunkSize = chunkSize;
@@ -42,6 +52,8 @@ protected ChunkedPacket(int channel, @NotNull UUID uniqueId, @NotNull JsonDocume
     this.data = data;
     this.end = end;
     this.chunks = chunks;
+    this.checksum = checksum;
+    this.window = window;
   }
 
   protected ChunkedPacket(int channel, @NotNull UUID uniqueId, @NotNull JsonDocument header, ProtocolBuffer body) {
@@ -58,19 +70,26 @@ public ChunkedPacket fillBuffer() {
       return this;
     }
 
-    super.body = ProtocolBuffer.create().writeVarInt(this.chunkId);
     if (this.chunkId == 0) {
-      super.body.writeInt(this.chunkSize);
+      super.body = ProtocolBuffer.create().writeVarInt(this.chunkId).writeInt(this.chunkSize).writeVarInt(this.window);
       return this;
     }
 
-    super.body.writeBoolean(this.end);
     if (this.end) {
-      super.body.writeVarInt(this.chunks);
+      super.body = ProtocolBuffer.create().writeVarInt(this.chunkId).writeBoolean(true).writeVarInt(this.chunks)
+        .writeInt(this.checksum);
       return this;
     }
 
-    super.body.writeInt(this.dataLength).writeBytes(this.data, 0, this.dataLength);
+    // the data is copied exactly once into a pooled buffer of the final size, it is released again by clearData
+    super.body = ProtocolBuffer.wrap(PooledByteBufAllocator.DEFAULT.heapBuffer(this.dataLength + 14))
+      .writeVarInt(this.chunkId)
+      .writeBoolean(false)
+      .writeInt(this.dataLength);
+    super.body.writeBytes(this.data, 0, this.dataLength);
+    super.body.writeInt(this.checksum);
+
+    this.data = null;
     return this;
   }
 
@@ -78,20 +97,49 @@ public ChunkedPacket fillBuffer() {
     this.chunkId = super.body.readVarInt();
     if (this.chunkId == 0) {
       this.chunkSize = super.body.readInt();
+      this.window = super.body.readVarInt();
       return this;
     }
 
     this.end = super.body.readBoolean();
     if (this.end) {
       this.chunks = super.body.readVarInt();
+      this.checksum = super.body.readInt();
     }
 
     return this;
   }
 
+  /**
+   * Checks the data of this chunk against the checksum it was sent with. This has to be called before the data is
+   * read.
+   *
+   * @return if the data of this chunk is intact
+   */
+  public boolean isDataValid() {
+    int index = super.body.readerIndex();
+    int length = super.body.getInt(index);
+    if (length < 0 || super.body.readableBytes() < length + 8) {
+      return false;
+    }
+
+    CRC32 crc = new CRC32();
+    crc.update(super.body.nioBuffer(index + 4, length));
+    return (int) crc.getValue() == super.body.getInt(index + 4 + length);
+  }
+
   public void readData(@NotNull OutputStream outputStream) throws IOException {
+    this.readData(outputStream, null);
+  }
+
+  public void readData(@NotNull OutputStream outputStream, @Nullable CRC32 streamChecksum) throws IOException {
     this.dataLength = this.body.readInt();
+    if (streamChecksum != null) {
+      streamChecksum.update(this.body.nioBuffer(this.body.readerIndex(), this.dataLength));
+    }
+
     this.body.readBytes(outputStream, this.dataLength);
+    this.checksum = this.body.readInt();
   }
 
   public int getChunks() {
@@ -114,6 +162,21 @@ public byte[] getData() {
     return this.data;
   }
 
+  /**
+   * @return the crc32 of the data of this chunk or, for the end packet, of the data of the whole transfer
+   */
+  public int getChecksum() {
+    return this.checksum;
+  }
+
+  /**
+   * @return the amount of unacknowledged chunks the sender keeps in flight, 0 if the receiver doesn't have to
+   * acknowledge the chunks. Only set on the first packet of a transfer.
+   */
+  public int getWindow() {
+    return this.window;
+  }
+
   public void clearData() {
     if (super.body != null) {
       while (super.body.refCnt() > 0) {
@@ -19,23 +19,32 @@
 import com.google.common.base.Preconditions;
 import de.dytanic.cloudnet.common.document.gson.JsonDocument;
 import de.dytanic.cloudnet.driver.network.INetworkChannel;
+import de.dytanic.cloudnet.driver.network.def.internal.InternalSyncPacketChannel;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Map;
 import java.util.UUID;
 import java.util.function.Consumer;
+import java.util.zip.CRC32;
 
 public class ChunkedPacketBuilder {
 
   public static final int DEFAULT_CHUNK_SIZE = 128 * 1024;
+  public static final int DEFAULT_WINDOW = 16;
+
+  private static final long ACKNOWLEDGEMENT_TIMEOUT = 30_000;
+  private static final int MAX_RESUMES = 16;
 
   private InputStream inputStream;
   private Integer channel;
   private Consumer<ChunkedPacket> target;
+  private Collection<INetworkChannel> targetChannels;
+  private int window;
 
   private UUID uniqueId = UUID.randomUUID();
   private JsonDocument header = JsonDocument.EMPTY;
@@ -72,6 +81,7 @@ public int channel() {
 
   public ChunkedPacketBuilder target(Consumer<ChunkedPacket> target) {
     this.target = target;
+    this.targetChannels = null;
     return this;
   }
 
@@ -80,7 +90,9 @@ public ChunkedPacketBuilder target(INetworkChannel channel) {
   }
 
   public ChunkedPacketBuilder target(Collection<INetworkChannel> channels) {
-    return this.target(DefaultChunkedPacketHandler.createHandler(channels));
+    this.target(DefaultChunkedPacketHandler.createHandler(channels));
+    this.targetChannels = channels;
+    return this;
   }
 
   public ChunkedPacketBuilder uniqueId(UUID uniqueId) {
@@ -110,50 +122,190 @@ public int chunkSize() {
     return this.chunkSize;
   }
 
-  private ChunkedPacket createStartPacket(int channel, UUID uniqueId, JsonDocument header, int chunkSize) {
-    return new ChunkedPacket(channel, uniqueId, header, 0, chunkSize, chunkSize, false, new byte[0], 0);
+  /**
+   * Enables the acknowledged transfer mode. At most the given amount of chunks is sent to the receivers before they
+   * acknowledged them, which limits the memory used for the transfer on both sides. Chunks received corrupted are sent
+   * again starting with the corrupted one instead of restarting the whole transfer. Only available for channel targets.
+   *
+   * @param window the amount of unacknowledged chunks, 0 to disable acknowledgements
+   * @return the same instance as used to call the method, for chaining
+   */
+  public ChunkedPacketBuilder window(int window) {
+    Preconditions.checkArgument(window >= 0, "Window has to be positive");
+
+    this.window = window;
+    return this;
+  }
+
+  public int window() {
+    return this.window;
+  }
+
+  private ChunkedPacket createStartPacket(int channel, UUID uniqueId, JsonDocument header, int chunkSize, int window) {
+    return new ChunkedPacket(channel, uniqueId, header, 0, chunkSize, chunkSize, false, new byte[0], 0, 0, window);
   }
 
-  private ChunkedPacket createSegment(int channel, UUID uniqueId, int id, int chunkSize, int length, byte[] data) {
-    return new ChunkedPacket(channel, uniqueId, JsonDocument.EMPTY, id, chunkSize, length, false, data, 0);
+  private ChunkedPacket createSegment(int channel, UUID uniqueId, int id, int chunkSize, int length, byte[] data,
+    int checksum) {
+    return new ChunkedPacket(channel, uniqueId, JsonDocument.EMPTY, id, chunkSize, length, false, data, 0, checksum, 0)
+      .fillBuffer();
   }
 
-  private ChunkedPacket createEndPacket(int channel, UUID uniqueId, int id, int chunkSize) {
-    return new ChunkedPacket(channel, uniqueId, JsonDocument.EMPTY, id, chunkSize, 0, true, new byte[0], id - 1);
+  private ChunkedPacket createEndPacket(int channel, UUID uniqueId, int id, int chunkSize, int checksum) {
+    return new ChunkedPacket(channel, uniqueId, JsonDocument.EMPTY, id, chunkSize, 0, true, new byte[0], id - 1,
+      checksum, 0);
   }
 
   public ChunkedPacketBuilder complete() throws IOException {
     this.validate();
 
     try {
-      this.target.accept(this.createStartPacket(this.channel, this.uniqueId, this.header, this.chunkSize));
-
-      int chunkId = 1;
-
-      int read;
-      byte[] buffer = new byte[this.chunkSize];
-      while ((read = this.inputStream.read(buffer)) != -1) {
-        this.target
-          .accept(this.createSegment(this.channel, this.uniqueId, chunkId++,
-              this.chunkSize, read, Arrays.copyOf(buffer, buffer.length)));
+      if (this.window > 0) {
+        this.completeWindowed();
+      } else {
+        this.completeUnacknowledged();
       }
 
-      this.target.accept(this.createEndPacket(this.channel, this.uniqueId, chunkId, this.chunkSize));
-      this.inputStream.close();
-
       this.success = true;
     } catch (ChunkInterrupt ignored) {
+    } finally {
+      this.inputStream.close();
     }
 
     this.completed = true;
     return this;
   }
 
+  private void completeUnacknowledged() throws IOException {
+    this.target.accept(this.createStartPacket(this.channel, this.uniqueId, this.header, this.chunkSize, 0));
+
+    CRC32 streamChecksum = new CRC32();
+    CRC32 checksum = new CRC32();
+    int chunkId = 1;
+
+    // the segments copy the data into their own buffer, so the read buffer can be reused for all chunks
+    int read;
+    byte[] buffer = new byte[this.chunkSize];
+    while ((read = this.inputStream.read(buffer)) != -1) {
+      checksum.reset();
+      checksum.update(buffer, 0, read);
+      streamChecksum.update(buffer, 0, read);
+
+      this.target.accept(this.createSegment(this.channel, this.uniqueId, chunkId++, this.chunkSize, read, buffer,
+        (int) checksum.getValue()));
+    }
+
+    this.target.accept(this.createEndPacket(this.channel, this.uniqueId, chunkId, this.chunkSize,
+      (int) streamChecksum.getValue()));
+  }
+
+  private void completeWindowed() throws IOException {
+    // receivers which fall out of sync are removed from the channels and don't get the rest of the transfer
+    Collection<INetworkChannel> channels = new ArrayList<>(this.targetChannels);
+    Consumer<ChunkedPacket> target = DefaultChunkedPacketHandler.createHandler(channels);
+    ChunkAcknowledgements acknowledgements = new ChunkAcknowledgements();
+
+    InternalSyncPacketChannel.registerChunkAcknowledgementHandler(this.uniqueId, acknowledgements);
+    try {
+      target.accept(this.createStartPacket(this.channel, this.uniqueId, this.header, this.chunkSize, this.window));
+
+      // every chunk stays in its slot until all receivers acknowledged it, the slots are reused for the later chunks
+      Window window = new Window(this.window, this.chunkSize);
+      CRC32 streamChecksum = new CRC32();
+      CRC32 checksum = new CRC32();
+      int chunkId = 1;
+
+      while (true) {
+        this.awaitAcknowledgements(acknowledgements, channels, window, chunkId, chunkId - this.window);
+
+        int slot = window.slot(chunkId);
+        int read = this.inputStream.read(window.data[slot]);
+        if (read == -1) {
+          break;
+        }
+
+        checksum.reset();
+        checksum.update(window.data[slot], 0, read);
+        streamChecksum.update(window.data[slot], 0, read);
+
+        window.lengths[slot] = read;
+        window.checksums[slot] = (int) checksum.getValue();
+
+        target.accept(this.createSegment(chunkId, window));
+        ++chunkId;
+      }
+
+      this.awaitAcknowledgements(acknowledgements, channels, window, chunkId, chunkId - 1);
+      target.accept(this.createEndPacket(this.channel, this.uniqueId, chunkId, this.chunkSize,
+        (int) streamChecksum.getValue()));
+    } finally {
+      InternalSyncPacketChannel.removeChunkAcknowledgementHandler(this.uniqueId);
+    }
+  }
+
+  private void awaitAcknowledgements(ChunkAcknowledgements acknowledgements, Collection<INetworkChannel> channels,
+    Window window, int nextChunkId, int chunkId) {
+    int lowest = -1;
+    long deadline = 0;
+
+    while (true) {
+      channels.removeIf(channel -> !channel.isActive());
+      if (channels.isEmpty()) {
+        throw ChunkInterrupt.INSTANCE;
+      }
+
+      for (Map.Entry<INetworkChannel, Integer> entry : acknowledgements.pollResumeRequests().entrySet()) {
+        this.resume(entry.getKey(), entry.getValue(), channels, window, nextChunkId);
+      }
+
+      int acknowledged = acknowledgements.getLowestAcknowledged(channels);
+      if (acknowledged >= chunkId) {
+        return;
+      }
+
+      if (acknowledged != lowest) {
+        lowest = acknowledged;
+        deadline = System.currentTimeMillis() + ACKNOWLEDGEMENT_TIMEOUT;
+      } else if (System.currentTimeMillis() >= deadline) {
+        // the receivers which stopped responding are dropped, the other ones get the rest of the transfer
+        channels.removeIf(channel -> acknowledgements.getAcknowledged(channel) < chunkId);
+        continue;
+      }
+
+      acknowledgements.await(channels, chunkId, Math.max(1, deadline - System.currentTimeMillis()));
+    }
+  }
+
+  private void resume(INetworkChannel channel, int chunkId, Collection<INetworkChannel> channels, Window window,
+    int nextChunkId) {
+    if (!channels.contains(channel)) {
+      return;
+    }
+
+    if (++window.resumes > MAX_RESUMES || chunkId <= nextChunkId - 1 - this.window) {
+      // the chunk isn't in the window anymore, the receiver can't be brought back in sync
+      channels.remove(channel);
+      return;
+    }
+
+    Consumer<ChunkedPacket> target = DefaultChunkedPacketHandler.createHandler(Collections.singletonList(channel));
+    for (int id = chunkId; id < nextChunkId; id++) {
+      target.accept(this.createSegment(id, window));
+    }
+  }
+
+  private ChunkedPacket createSegment(int chunkId, Window window) {
+    int slot = window.slot(chunkId);
+    return this.createSegment(this.channel, this.uniqueId, chunkId, this.chunkSize, window.lengths[slot],
+      window.data[slot], window.checksums[slot]);
+  }
+
   private void validate() {
     Preconditions.checkNotNull(this.inputStream, "No input provided");
     Preconditions.checkNotNull(this.target, "No handler provided");
     Preconditions.checkNotNull(this.channel, "No channel provided");
     Preconditions.checkState(!this.completed, "Builder cannot be completed twice");
+    Preconditions.checkState(this.window == 0 || this.targetChannels != null, "Windowed transfers need channel targets");
   }
 
   public boolean isCompleted() {
@@ -164,4 +316,23 @@ public boolean isSuccess() {
     return this.success;
   }
 
+  private static final class Window {
+
+    private final byte[][] data;
+    private final int[] lengths;
+    private final int[] checksums;
+
+    private int resumes;
+
+    private Window(int size, int chunkSize) {
+      this.data = new byte[size][chunkSize];
+      this.lengths = new int[size];
+      this.checksums = new int[size];
+    }
+
+    private int slot(int chunkId) {
+      return (chunkId - 1) % this.data.length;
+    }
+  }
+
 }
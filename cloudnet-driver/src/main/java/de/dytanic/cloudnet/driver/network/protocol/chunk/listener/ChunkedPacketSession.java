@@ -18,7 +18,10 @@
 
 import de.dytanic.cloudnet.common.document.gson.JsonDocument;
 import de.dytanic.cloudnet.driver.network.INetworkChannel;
+import de.dytanic.cloudnet.driver.network.def.PacketConstants;
+import de.dytanic.cloudnet.driver.network.protocol.Packet;
 import de.dytanic.cloudnet.driver.network.protocol.chunk.ChunkedPacket;
+import de.dytanic.cloudnet.driver.serialization.ProtocolBuffer;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.util.ArrayList;
@@ -27,6 +30,7 @@
 import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.zip.CRC32;
 import org.jetbrains.annotations.NotNull;
 
 public class ChunkedPacketSession {
@@ -41,7 +45,10 @@ public class ChunkedPacketSession {
   private ChunkedPacket firstPacket;
   private ChunkedPacket lastPacket;
 
+  private final CRC32 streamChecksum = new CRC32();
+
   private int chunkId = 0;
+  private int window;
   private JsonDocument header = JsonDocument.EMPTY;
   private volatile boolean closed;
 
@@ -68,6 +75,10 @@ public void handleIncomingChunk(@NotNull ChunkedPacket packet) throws IOExceptio
 
     if (packet.isEnd()) {
       this.lastPacket = packet;
+    } else if (packet.getChunkId() != 0 && packet.getChunkId() < this.chunkId) {
+      // a chunk which was sent again after a resume request although it was stored already
+      packet.clearData();
+      return;
     }
 
     try {
@@ -87,33 +98,73 @@ private void storeChunk(ChunkedPacket packet) throws IOException {
     }
 
     if (packet.getChunkId() == 0) { // Ignore first packet because it has no data we need
+      this.window = packet.getWindow();
       ++this.chunkId;
       return;
     }
 
     if (packet.isEnd()) {
+      if ((int) this.streamChecksum.getValue() != packet.getChecksum()) {
+        throw new IllegalStateException(String.format("Checksum mismatch of the data of session %s after %d chunks",
+          this.sessionUniqueId, packet.getChunks()));
+      }
+
       this.close();
       return;
     }
 
+    if (!packet.isDataValid()) {
+      packet.clearData();
+
+      if (this.window > 0) {
+        // the sender still holds all unacknowledged chunks and sends them again starting with the corrupted one
+        this.acknowledge(false, this.chunkId);
+        return;
+      }
+
+      throw new IllegalStateException(
+        String.format("Received corrupted chunk %d in session %s", packet.getChunkId(), this.sessionUniqueId));
+    }
+
     ++this.chunkId;
 
     try {
-      packet.readData(this.outputStream);
+      packet.readData(this.outputStream, this.streamChecksum);
     } finally {
       this.outputStream.flush();
       packet.clearData();
     }
+
+    if (this.window > 0) {
+      this.acknowledge(true, packet.getChunkId());
+    }
+  }
+
+  private void acknowledge(boolean success, int chunkId) {
+    if (this.channel != null) {
+      this.channel.sendPacket(new Packet(PacketConstants.INTERNAL_CHUNK_ACKNOWLEDGEMENT_CHANNEL, this.sessionUniqueId,
+        JsonDocument.EMPTY, ProtocolBuffer.create().writeBoolean(success).writeVarInt(chunkId)));
+    }
   }
 
   private void checkPendingPackets() throws IOException {
-    if (!this.pendingPackets.isEmpty()) {
+    // a stored chunk may unblock chunks which were checked before it in the same pass
+    boolean stored = true;
+    while (stored && !this.pendingPackets.isEmpty()) {
+      stored = false;
+
       Iterator<ChunkedPacket> iterator = this.pendingPackets.iterator();
       while (iterator.hasNext()) {
         ChunkedPacket pending = iterator.next();
-        if (this.chunkId == pending.getChunkId() || (pending.isEnd() && this.chunkId - 1 == pending.getChunks())) {
+        if (!pending.isEnd() && pending.getChunkId() < this.chunkId) {
           iterator.remove();
+          pending.clearData();
+        } else if (this.chunkId == pending.getChunkId() || (pending.isEnd() && this.chunkId - 1 == pending.getChunks())) {
+          iterator.remove();
+
+          int chunkId = this.chunkId;
           this.storeChunk(pending);
+          stored |= this.chunkId != chunkId;
         }
       }
     }
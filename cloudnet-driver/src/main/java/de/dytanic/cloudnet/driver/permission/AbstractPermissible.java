@@ -39,6 +39,9 @@ public abstract class AbstractPermissible extends SerializableJsonDocPropertyabl
 
   protected Map<String, Collection<Permission>> groupPermissions;
 
+  @ToString.Exclude
+  private transient volatile long modificationStamp;
+
   public AbstractPermissible() {
     this.createdTime = System.currentTimeMillis();
     this.permissions = new ArrayList<>();
@@ -52,6 +55,7 @@ private boolean addPermission(Collection<Permission> permissions, Permission per
 
     permissions.removeIf(existingPermission -> existingPermission.getName().equalsIgnoreCase(permission.getName()));
     permissions.add(permission);
+    this.markModified();
 
     return true;
   }
@@ -70,8 +74,9 @@ public boolean addPermission(@NotNull String group, @NotNull Permission permissi
   public boolean removePermission(@NotNull String permission) {
     Permission exist = this.getPermission(permission);
 
-    if (exist != null) {
-      return this.permissions.remove(exist);
+    if (exist != null && this.permissions.remove(exist)) {
+      this.markModified();
+      return true;
     } else {
       return false;
     }
@@ -87,6 +92,7 @@ public boolean removePermission(@NotNull String group, @NotNull String permissio
         if (this.groupPermissions.get(group).isEmpty()) {
           this.groupPermissions.remove(group);
         }
+        this.markModified();
         return true;
       }
     }
@@ -120,12 +126,31 @@ public List<Permission> getPermissions() {
 
   public void setPermissions(List<Permission> permissions) {
     this.permissions = permissions;
+    this.markModified();
   }
 
   public Map<String, Collection<Permission>> getGroupPermissions() {
     return this.groupPermissions;
   }
 
+  /**
+   * Gets a stamp which changes every time the permissions or groups of this permissible are changed using one of its
+   * mutators. Changes made directly to the collections returned by the getters are not tracked, {@link
+   * #markModified()} has to be called after them.
+   *
+   * @return the current modification stamp of this permissible.
+   */
+  public long getModificationStamp() {
+    return this.modificationStamp;
+  }
+
+  /**
+   * Marks this permissible as modified, causing compiled permissions of it to be rebuilt on the next check.
+   */
+  public void markModified() {
+    this.modificationStamp++;
+  }
+
   @Override
   public void write(@NotNull ProtocolBuffer buffer) {
     buffer.writeLong(this.createdTime);
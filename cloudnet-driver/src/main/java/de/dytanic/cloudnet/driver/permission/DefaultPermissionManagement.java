@@ -16,15 +16,19 @@
 
 package de.dytanic.cloudnet.driver.permission;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.Iterables;
 import de.dytanic.cloudnet.common.concurrent.ITask;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -35,6 +39,11 @@
 
 public abstract class DefaultPermissionManagement implements IPermissionManagement {
 
+  private final Cache<IPermissible, CompiledPermissions> compiledPermissions = CacheBuilder.newBuilder()
+    .weakKeys()
+    .build();
+  private final AtomicLong compiledPermissionsGeneration = new AtomicLong();
+
   @Override
   public IPermissionManagement getChildPermissionManagement() {
     return null;
@@ -84,9 +93,14 @@ public boolean testPermissionUser(@Nullable IPermissionUser permissionUser) {
       return false;
     }
 
-    return this.testPermissible(permissionUser) ||
-      permissionUser.getGroups().removeIf(
-        groupInfo -> groupInfo.getTimeOutMillis() > 0 && groupInfo.getTimeOutMillis() < System.currentTimeMillis());
+    boolean result = this.testPermissible(permissionUser);
+    if (permissionUser.getGroups().removeIf(
+      groupInfo -> groupInfo.getTimeOutMillis() > 0 && groupInfo.getTimeOutMillis() < System.currentTimeMillis())) {
+      this.invalidateCompiledPermissions(permissionUser);
+      result = true;
+    }
+
+    return result;
   }
 
   @Override
@@ -101,7 +115,12 @@ public boolean testPermissible(@Nullable IPermissible permissible) {
     boolean result = permissible.getPermissions().removeIf(tester);
 
     for (Map.Entry<String, Collection<Permission>> entry : permissible.getGroupPermissions().entrySet()) {
-      result = result || entry.getValue().removeIf(tester);
+      result |= entry.getValue().removeIf(tester);
+    }
+
+    if (result) {
+      // the expired permissions were removed in place, the compiled permissions would still contain them
+      this.invalidateCompiledPermissions(permissible);
     }
 
     return result;
@@ -139,14 +158,15 @@ public Collection<IPermissionGroup> getExtendedGroups(@Nullable IPermissionGroup
   @Override
   @NotNull
   public PermissionCheckResult getPermissionResult(@NotNull IPermissible permissible, @NotNull String permission) {
-    return this.getPermissionResult(permissible, new Permission(permission));
+    return PermissionCheckResult
+      .fromPermission(this.getCompiledPermissions(permissible, null).findHighestPermission(permission, 0));
   }
 
   @Override
   @NotNull
   public PermissionCheckResult getPermissionResult(@NotNull IPermissible permissible, @NotNull Permission permission) {
-    return PermissionCheckResult
-      .fromPermission(this.findHighestPermission(this.collectAllPermissions(permissible, null), permission));
+    return PermissionCheckResult.fromPermission(this.getCompiledPermissions(permissible, null)
+      .findHighestPermission(permission.getName(), permission.getPotency()));
   }
 
   @Override
@@ -165,8 +185,8 @@ public PermissionCheckResult getPermissionResult(@NotNull IPermissible permissib
   @Override
   public @NotNull PermissionCheckResult getPermissionResult(@NotNull IPermissible permissible, @NotNull String[] groups,
     @NotNull Permission permission) {
-    return PermissionCheckResult
-      .fromPermission(this.findHighestPermission(this.collectAllPermissions(permissible, groups), permission));
+    return PermissionCheckResult.fromPermission(this.getCompiledPermissions(permissible, groups)
+      .findHighestPermission(permission.getName(), permission.getPotency()));
   }
 
   @Override
@@ -181,9 +201,10 @@ public Permission findHighestPermission(@NotNull Collection<Permission> permissi
         lastMatch = permissionEntry;
         continue;
       }
-      // searches for "perm.*"-permissions (allowing all sub permissions of the given permission name start
+      // searches for "perm.*"-permissions (allowing all permissions starting with the name before the star)
       if (permissionEntry.getName().endsWith("*")
-        && permission.getName().contains(permissionEntry.getName().replace("*", ""))
+        && permission.getName().regionMatches(true, 0, permissionEntry.getName(), 0,
+        permissionEntry.getName().length() - 1)
         && permissionEntry.compareTo(used) >= 0) {
         lastMatch = permissionEntry;
         continue;
@@ -197,6 +218,49 @@ public Permission findHighestPermission(@NotNull Collection<Permission> permissi
     return lastMatch;
   }
 
+  /**
+   * Invalidates the compiled permissions of the given permissible. If the permissible is a group, the compiled
+   * permissions of all permissibles are invalidated as every permissible may inherit from the group.
+   *
+   * @param permissible the permissible which was changed.
+   */
+  public void invalidateCompiledPermissions(@NotNull IPermissible permissible) {
+    if (permissible instanceof IPermissionGroup) {
+      this.invalidateCompiledPermissions();
+    } else {
+      this.compiledPermissions.invalidate(permissible);
+    }
+  }
+
+  /**
+   * Invalidates the compiled permissions of all permissibles, for example after a group was changed.
+   */
+  public void invalidateCompiledPermissions() {
+    // bumping the generation is cheaper than clearing the cache, outdated entries get recompiled lazily
+    this.compiledPermissionsGeneration.incrementAndGet();
+  }
+
+  @NotNull
+  private PermissionIndex getCompiledPermissions(@NotNull IPermissible permissible, @Nullable String[] groups) {
+    long generation = this.compiledPermissionsGeneration.get();
+
+    // permissibles changed in place without an update call are detected using their modification stamp
+    long stamp = permissible instanceof AbstractPermissible
+      ? ((AbstractPermissible) permissible).getModificationStamp()
+      : 0;
+
+    CompiledPermissions compiled = this.compiledPermissions.getIfPresent(permissible);
+    if (compiled != null && compiled.generation == generation && compiled.stamp == stamp
+      && Arrays.equals(compiled.groups, groups)) {
+      return compiled.index;
+    }
+
+    PermissionIndex index = PermissionIndex.compile(this.collectAllPermissions(permissible, groups));
+    this.compiledPermissions.put(permissible,
+      new CompiledPermissions(generation, stamp, groups == null ? null : groups.clone(), index));
+    return index;
+  }
+
   protected Collection<Permission> collectAllPermissions(@NotNull IPermissible permissible, @Nullable String[] groups) {
     return this.collectAllPermissionsTo(new HashSet<>(), permissible, groups);
   }
@@ -389,4 +453,19 @@ public PermissionCheckResult tryExtendedGroups(@NotNull String firstGroup, @Null
 
     return task;
   }
+
+  private static final class CompiledPermissions {
+
+    private final long generation;
+    private final long stamp;
+    private final String[] groups;
+    private final PermissionIndex index;
+
+    private CompiledPermissions(long generation, long stamp, String[] groups, PermissionIndex index) {
+      this.generation = generation;
+      this.stamp = stamp;
+      this.groups = groups;
+      this.index = index;
+    }
+  }
 }
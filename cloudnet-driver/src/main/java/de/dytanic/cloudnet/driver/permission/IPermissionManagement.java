@@ -256,7 +256,8 @@ PermissionCheckResult getPermissionResult(@NotNull IPermissible permissible, @No
 
   /**
    * Finds the highest permission (sorted by the potency) in the given {@code permissions} array using the given {@code
-   * permission} potency as the starting point.
+   * permission} potency as the starting point. Permissions ending with a {@code *} match every permission starting
+   * with the name before the star (ignoring the case), exactly like the compiled permission checks do.
    *
    * @param permissions the permissions to check through.
    * @param permission  the starting point for the check to run.
@@ -81,6 +81,7 @@ public Collection<String> getGroups() {
 
   public void setGroups(Collection<String> groups) {
     this.groups = groups;
+    this.markModified();
   }
 
   public String getPrefix() {
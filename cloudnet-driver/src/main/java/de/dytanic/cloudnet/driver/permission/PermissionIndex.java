@@ -0,0 +1,229 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.dytanic.cloudnet.driver.permission;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * An immutable, pre-compiled view of all permissions a permissible has. The permissions are split by their dots into
+ * segments and stored in a trie, which allows to resolve a permission check by walking down the segments of the
+ * requested permission once instead of testing every single permission entry.
+ * <p>
+ * Permissions ending with a {@code *} match every permission starting with the name before the star, for example
+ * {@code cloudnet.*} matches {@code cloudnet.command.create} and {@code cloud*} matches {@code cloudnet.command}. The
+ * single {@code *} permission matches everything. All comparisons are case-insensitive.
+ */
+final class PermissionIndex {
+
+  private static final PermissionIndex EMPTY = new PermissionIndex(new Node(new Builder()));
+
+  private final Node root;
+
+  private PermissionIndex(Node root) {
+    this.root = root;
+  }
+
+  @NotNull
+  public static PermissionIndex compile(@NotNull Iterable<Permission> permissions) {
+    Builder root = new Builder();
+    boolean empty = true;
+
+    for (Permission permission : permissions) {
+      String name = permission.getName();
+      if (name == null) {
+        continue;
+      }
+
+      Builder current = root;
+      int start = 0;
+      int end;
+      // walk down all segments except the last one, which decides how the permission is stored
+      while ((end = name.indexOf('.', start)) != -1) {
+        current = current.child(name.substring(start, end));
+        start = end + 1;
+      }
+
+      String lastSegment = name.substring(start);
+      if (lastSegment.endsWith("*")) {
+        current.addWildcard(lastSegment.substring(0, lastSegment.length() - 1), permission);
+      } else {
+        current.child(lastSegment).setExact(permission);
+      }
+      empty = false;
+    }
+
+    return empty ? EMPTY : new PermissionIndex(new Node(root));
+  }
+
+  /**
+   * Searches the permission with the highest potency matching the given permission name. Permissions with a lower
+   * potency (compared by their absolute value) than {@code minimumPotency} are ignored, if multiple matching
+   * permissions have the same potency, the most specific one wins.
+   *
+   * @param permission     the name of the permission to search.
+   * @param minimumPotency the potency of the requested permission.
+   * @return the best matching permission or {@code null} if no permission matches.
+   */
+  @Nullable
+  public Permission findHighestPermission(@NotNull String permission, int minimumPotency) {
+    int length = permission.length();
+    int potency = Math.abs(minimumPotency);
+    Permission best = null;
+
+    Node current = this.root;
+    int start = 0;
+
+    while (true) {
+      int end = permission.indexOf('.', start);
+      if (end == -1) {
+        end = length;
+      }
+
+      for (int i = 0; i < current.wildcardPrefixes.length; i++) {
+        String prefix = current.wildcardPrefixes[i];
+        if (prefix.length() <= end - start && permission.regionMatches(true, start, prefix, 0, prefix.length())) {
+          Permission candidate = current.wildcardPermissions[i];
+          if (Math.abs(candidate.getPotency()) >= potency) {
+            best = candidate;
+            potency = Math.abs(candidate.getPotency());
+          }
+        }
+      }
+
+      current = current.child(permission, start, end);
+      if (current == null) {
+        return best;
+      }
+
+      if (end == length) {
+        Permission candidate = current.exact;
+        return candidate != null && Math.abs(candidate.getPotency()) >= potency ? candidate : best;
+      }
+
+      start = end + 1;
+    }
+  }
+
+  private static int hash(String value, int start, int end) {
+    int hash = 0;
+    for (int i = start; i < end; i++) {
+      hash = 31 * hash + Character.toLowerCase(Character.toUpperCase(value.charAt(i)));
+    }
+    return hash;
+  }
+
+  private static boolean replaces(@Nullable Permission current, @NotNull Permission permission) {
+    return current == null || Math.abs(permission.getPotency()) > Math.abs(current.getPotency());
+  }
+
+  private static final class Node {
+
+    private final String segment;
+    private final Permission exact;
+
+    private final int[] childHashes;
+    private final Node[] children;
+
+    private final String[] wildcardPrefixes;
+    private final Permission[] wildcardPermissions;
+
+    private Node(Builder builder) {
+      this.segment = builder.segment;
+      this.exact = builder.exact;
+
+      List<Node> children = new ArrayList<>(builder.children.size());
+      for (Builder child : builder.children.values()) {
+        children.add(new Node(child));
+      }
+      children.sort(Comparator.comparingInt(node -> hash(node.segment, 0, node.segment.length())));
+
+      this.children = children.toArray(new Node[0]);
+      this.childHashes = new int[this.children.length];
+      for (int i = 0; i < this.children.length; i++) {
+        this.childHashes[i] = hash(this.children[i].segment, 0, this.children[i].segment.length());
+      }
+
+      this.wildcardPrefixes = builder.wildcards.keySet().toArray(new String[0]);
+      this.wildcardPermissions = new Permission[this.wildcardPrefixes.length];
+      for (int i = 0; i < this.wildcardPrefixes.length; i++) {
+        this.wildcardPermissions[i] = builder.wildcards.get(this.wildcardPrefixes[i]);
+      }
+    }
+
+    @Nullable
+    private Node child(String permission, int start, int end) {
+      int index = Arrays.binarySearch(this.childHashes, hash(permission, start, end));
+      if (index < 0) {
+        return null;
+      }
+      // walk back to the first child with the same hash, then test all of them
+      while (index > 0 && this.childHashes[index - 1] == this.childHashes[index]) {
+        index--;
+      }
+
+      int length = end - start;
+      for (int i = index; i < this.children.length && this.childHashes[i] == this.childHashes[index]; i++) {
+        String segment = this.children[i].segment;
+        if (segment.length() == length && permission.regionMatches(true, start, segment, 0, length)) {
+          return this.children[i];
+        }
+      }
+      return null;
+    }
+  }
+
+  private static final class Builder {
+
+    private final String segment;
+    private final Map<String, Builder> children = new HashMap<>();
+    private final Map<String, Permission> wildcards = new HashMap<>();
+
+    private Permission exact;
+
+    private Builder() {
+      this("");
+    }
+
+    private Builder(String segment) {
+      this.segment = segment;
+    }
+
+    private Builder child(String segment) {
+      return this.children.computeIfAbsent(segment.toLowerCase(Locale.ROOT), Builder::new);
+    }
+
+    private void setExact(Permission permission) {
+      if (replaces(this.exact, permission)) {
+        this.exact = permission;
+      }
+    }
+
+    private void addWildcard(String prefix, Permission permission) {
+      if (replaces(this.wildcards.get(prefix.toLowerCase(Locale.ROOT)), permission)) {
+        this.wildcards.put(prefix.toLowerCase(Locale.ROOT), permission);
+      }
+    }
+  }
+}
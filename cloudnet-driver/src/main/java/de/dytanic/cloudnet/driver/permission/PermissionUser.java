@@ -85,6 +85,20 @@ public String getHashedPassword() {
     return this.hashedPassword;
   }
 
+  @Override
+  public IPermissionUser addGroup(@NotNull String group, long timeOutMillis) {
+    IPermissionUser.super.addGroup(group, timeOutMillis);
+    this.markModified();
+    return this;
+  }
+
+  @Override
+  public IPermissionUser removeGroup(@NotNull String group) {
+    IPermissionUser.super.removeGroup(group);
+    this.markModified();
+    return this;
+  }
+
   @Override
   public void write(@NotNull ProtocolBuffer buffer) {
     super.write(buffer);
@@ -16,6 +16,12 @@
 
 package de.dytanic.cloudnet.driver.serialization;
 
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.internal.LazilyParsedNumber;
 import de.dytanic.cloudnet.common.document.gson.JsonDocument;
 import de.dytanic.cloudnet.driver.network.netty.NettyUtils;
 import de.dytanic.cloudnet.driver.serialization.json.SerializableJsonDocument;
@@ -42,12 +48,25 @@
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 public class DefaultProtocolBuffer extends ProtocolBuffer {
 
+  private static final byte TYPE_NULL = 0;
+  private static final byte TYPE_TRUE = 1;
+  private static final byte TYPE_FALSE = 2;
+  private static final byte TYPE_INT = 3;
+  private static final byte TYPE_LONG = 4;
+  private static final byte TYPE_FLOAT = 5;
+  private static final byte TYPE_DOUBLE = 6;
+  private static final byte TYPE_NUMBER = 7;
+  private static final byte TYPE_STRING = 8;
+  private static final byte TYPE_OBJECT = 9;
+  private static final byte TYPE_ARRAY = 10;
+
   private final ByteBuf wrapped;
 
   public DefaultProtocolBuffer(ByteBuf wrapped) {
@@ -246,6 +265,114 @@ public ProtocolBuffer writeOptionalJsonDocument(@Nullable JsonDocument document)
     return this;
   }
 
+  @Override
+  public @NotNull JsonDocument readTypedJsonDocument() {
+    JsonDocument document = new JsonDocument();
+    this.readJsonObject(document.toJsonObject());
+    return document;
+  }
+
+  @Override
+  public ProtocolBuffer writeTypedJsonDocument(@NotNull JsonDocument document) {
+    this.writeJsonObject(document.toJsonObject());
+    return this;
+  }
+
+  private void writeJsonObject(JsonObject jsonObject) {
+    this.writeVarInt(jsonObject.size());
+    for (Map.Entry<String, JsonElement> entry : jsonObject.entrySet()) {
+      this.writeString(entry.getKey());
+      this.writeJsonElement(entry.getValue());
+    }
+  }
+
+  private void readJsonObject(JsonObject target) {
+    int size = this.readVarInt();
+    for (int i = 0; i < size; i++) {
+      target.add(this.readString(), this.readJsonElement());
+    }
+  }
+
+  private void writeJsonElement(JsonElement element) {
+    if (element == null || element.isJsonNull()) {
+      this.writeByte(TYPE_NULL);
+    } else if (element.isJsonObject()) {
+      this.writeByte(TYPE_OBJECT);
+      this.writeJsonObject(element.getAsJsonObject());
+    } else if (element.isJsonArray()) {
+      JsonArray array = element.getAsJsonArray();
+      this.writeByte(TYPE_ARRAY);
+      this.writeVarInt(array.size());
+      for (JsonElement arrayElement : array) {
+        this.writeJsonElement(arrayElement);
+      }
+    } else {
+      JsonPrimitive primitive = element.getAsJsonPrimitive();
+      if (primitive.isBoolean()) {
+        this.writeByte(primitive.getAsBoolean() ? TYPE_TRUE : TYPE_FALSE);
+      } else if (primitive.isNumber()) {
+        Number number = primitive.getAsNumber();
+        if (number instanceof Integer || number instanceof Short || number instanceof Byte) {
+          this.writeByte(TYPE_INT);
+          this.writeVarInt(number.intValue());
+        } else if (number instanceof Long) {
+          this.writeByte(TYPE_LONG);
+          this.writeVarLong(number.longValue());
+        } else if (number instanceof Float) {
+          this.writeByte(TYPE_FLOAT);
+          this.writeFloat(number.floatValue());
+        } else if (number instanceof Double) {
+          this.writeByte(TYPE_DOUBLE);
+          this.writeDouble(number.doubleValue());
+        } else {
+          // lazily parsed or big numbers, keep the exact representation
+          this.writeByte(TYPE_NUMBER);
+          this.writeString(number.toString());
+        }
+      } else {
+        this.writeByte(TYPE_STRING);
+        this.writeString(primitive.getAsString());
+      }
+    }
+  }
+
+  private JsonElement readJsonElement() {
+    byte type = this.readByte();
+    switch (type) {
+      case TYPE_NULL:
+        return JsonNull.INSTANCE;
+      case TYPE_TRUE:
+        return new JsonPrimitive(true);
+      case TYPE_FALSE:
+        return new JsonPrimitive(false);
+      case TYPE_INT:
+        return new JsonPrimitive(this.readVarInt());
+      case TYPE_LONG:
+        return new JsonPrimitive(this.readVarLong());
+      case TYPE_FLOAT:
+        return new JsonPrimitive(this.readFloat());
+      case TYPE_DOUBLE:
+        return new JsonPrimitive(this.readDouble());
+      case TYPE_NUMBER:
+        return new JsonPrimitive(new LazilyParsedNumber(this.readString()));
+      case TYPE_STRING:
+        return new JsonPrimitive(this.readString());
+      case TYPE_OBJECT:
+        JsonObject jsonObject = new JsonObject();
+        this.readJsonObject(jsonObject);
+        return jsonObject;
+      case TYPE_ARRAY:
+        int size = this.readVarInt();
+        JsonArray array = new JsonArray(size);
+        for (int i = 0; i < size; i++) {
+          array.add(this.readJsonElement());
+        }
+        return array;
+      default:
+        throw new IllegalStateException("Unknown json element type " + type);
+    }
+  }
+
   @Override
   public <T extends SerializableObject> @NotNull T readObject(@NotNull Class<T> objectClass) {
     try {
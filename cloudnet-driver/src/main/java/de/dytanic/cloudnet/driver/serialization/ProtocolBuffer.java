@@ -113,6 +113,18 @@ public static ProtocolBuffer wrap(ByteBuf buf) {
 
   public abstract ProtocolBuffer writeOptionalJsonDocument(@Nullable JsonDocument document);
 
+  /**
+   * Reads a document written by {@link #writeTypedJsonDocument(JsonDocument)} without going through the json parser
+   */
+  @NotNull
+  public abstract JsonDocument readTypedJsonDocument();
+
+  /**
+   * Writes the given document as typed key/value pairs instead of its json representation, which is smaller and
+   * cheaper to read for documents with mostly primitive values
+   */
+  public abstract ProtocolBuffer writeTypedJsonDocument(@NotNull JsonDocument document);
+
   @NotNull
   public abstract <T extends SerializableObject> T readObject(@NotNull Class<T> objectClass);
 
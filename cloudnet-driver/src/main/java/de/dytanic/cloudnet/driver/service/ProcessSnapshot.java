@@ -22,16 +22,21 @@
 import java.lang.management.ClassLoadingMXBean;
 import java.lang.management.ManagementFactory;
 import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.stream.Collectors;
+import java.util.EnumMap;
+import java.util.Map;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
 import org.jetbrains.annotations.NotNull;
 
 /**
  * A snapshot of a process in the Cloud which provides information about the cpu and memory usage, the running threads
- * and the pid.
+ * and the pid. The snapshots which are published periodically only contain the amount of threads per state, the list
+ * of all threads is only collected on demand using {@link #self(boolean)}.
  */
 @ToString
 @EqualsAndHashCode
@@ -40,8 +45,17 @@ public class ProcessSnapshot implements SerializableObject {
   private static final ProcessSnapshot EMPTY = new ProcessSnapshot(-1, -1, -1, -1, -1, -1, Collections.emptyList(), -1,
     -1);
 
+  private static final long SAMPLE_CACHE_MILLIS = Long.getLong("cloudnet.process-snapshot.cache-millis", 500);
+
+  private static final MemoryMXBean MEMORY_MX_BEAN = ManagementFactory.getMemoryMXBean();
+  private static final ClassLoadingMXBean CLASS_LOADING_MX_BEAN = ManagementFactory.getClassLoadingMXBean();
+  private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+
   private static final int ownPID;
 
+  private static volatile ProcessSnapshot lastSample;
+  private static volatile long lastSampleTime;
+
   static {
     String runtimeName = ManagementFactory.getRuntimeMXBean().getName();
     int index = runtimeName.indexOf('@');
@@ -68,12 +82,24 @@ public class ProcessSnapshot implements SerializableObject {
 
   private Collection<ThreadSnapshot> threads;
 
+  private int threadCount;
+  private int daemonThreadCount;
+  private Map<Thread.State, Integer> threadStates;
+
   private double cpuUsage;
 
   private int pid;
 
   public ProcessSnapshot(long heapUsageMemory, long noHeapUsageMemory, long maxHeapMemory, int currentLoadedClassCount,
     long totalLoadedClassCount, long unloadedClassCount, Collection<ThreadSnapshot> threads, double cpuUsage, int pid) {
+    this(heapUsageMemory, noHeapUsageMemory, maxHeapMemory, currentLoadedClassCount, totalLoadedClassCount,
+      unloadedClassCount, threads, threads.size(), (int) threads.stream().filter(ThreadSnapshot::isDaemon).count(),
+      countThreadStates(threads), cpuUsage, pid);
+  }
+
+  public ProcessSnapshot(long heapUsageMemory, long noHeapUsageMemory, long maxHeapMemory, int currentLoadedClassCount,
+    long totalLoadedClassCount, long unloadedClassCount, Collection<ThreadSnapshot> threads, int threadCount,
+    int daemonThreadCount, Map<Thread.State, Integer> threadStates, double cpuUsage, int pid) {
     this.heapUsageMemory = heapUsageMemory;
     this.noHeapUsageMemory = noHeapUsageMemory;
     this.maxHeapMemory = maxHeapMemory;
@@ -81,6 +107,9 @@ public ProcessSnapshot(long heapUsageMemory, long noHeapUsageMemory, long maxHea
     this.totalLoadedClassCount = totalLoadedClassCount;
     this.unloadedClassCount = unloadedClassCount;
     this.threads = threads;
+    this.threadCount = threadCount;
+    this.daemonThreadCount = daemonThreadCount;
+    this.threadStates = threadStates;
     this.cpuUsage = cpuUsage;
     this.pid = pid;
   }
@@ -98,31 +127,96 @@ public static ProcessSnapshot empty() {
   }
 
   /**
-   * Creates a new snapshot with information about the current process.
+   * Gets a snapshot with information about the current process without the list of all threads. The snapshot is
+   * cached for a short time, so that calling this method frequently doesn't sample the process every time.
    *
-   * @return a new {@link ProcessSnapshot}
+   * @return a {@link ProcessSnapshot} of the current process
    */
   public static ProcessSnapshot self() {
-    MemoryMXBean memoryMXBean = ManagementFactory.getMemoryMXBean();
-    ClassLoadingMXBean classLoadingMXBean = ManagementFactory.getClassLoadingMXBean();
+    ProcessSnapshot snapshot = lastSample;
+    long now = System.currentTimeMillis();
+
+    if (snapshot == null || now - lastSampleTime >= SAMPLE_CACHE_MILLIS) {
+      snapshot = sample(false);
+      lastSample = snapshot;
+      lastSampleTime = now;
+    }
+
+    return snapshot;
+  }
+
+  /**
+   * Gets a snapshot with information about the current process.
+   *
+   * @param includeThreads if the snapshot should contain the list of all threads, which always creates a new snapshot
+   * @return a {@link ProcessSnapshot} of the current process
+   */
+  public static ProcessSnapshot self(boolean includeThreads) {
+    return includeThreads ? sample(true) : self();
+  }
+
+  /**
+   * Creates a new snapshot with information about the current process. The thread counts are read from the {@link
+   * ThreadMXBean} without capturing the stack trace of any thread.
+   *
+   * @param includeThreads if the snapshot should contain the list of all threads
+   * @return a new {@link ProcessSnapshot}
+   */
+  public static ProcessSnapshot sample(boolean includeThreads) {
+    Map<Thread.State, Integer> threadStates = new EnumMap<>(Thread.State.class);
+    for (ThreadInfo threadInfo : THREAD_MX_BEAN.getThreadInfo(THREAD_MX_BEAN.getAllThreadIds(), 0)) {
+      if (threadInfo != null) {
+        threadStates.merge(threadInfo.getThreadState(), 1, Integer::sum);
+      }
+    }
 
     return new ProcessSnapshot(
-      memoryMXBean.getHeapMemoryUsage().getUsed(),
-      memoryMXBean.getNonHeapMemoryUsage().getUsed(),
-      memoryMXBean.getHeapMemoryUsage().getMax(),
-      classLoadingMXBean.getLoadedClassCount(),
-      classLoadingMXBean.getTotalLoadedClassCount(),
-      classLoadingMXBean.getUnloadedClassCount(),
-      Thread.getAllStackTraces().keySet()
-        .stream().map(
-        thread -> new ThreadSnapshot(thread.getId(), thread.getName(), thread.getState(), thread.isDaemon(),
-          thread.getPriority()))
-        .collect(Collectors.toList()),
+      MEMORY_MX_BEAN.getHeapMemoryUsage().getUsed(),
+      MEMORY_MX_BEAN.getNonHeapMemoryUsage().getUsed(),
+      MEMORY_MX_BEAN.getHeapMemoryUsage().getMax(),
+      CLASS_LOADING_MX_BEAN.getLoadedClassCount(),
+      CLASS_LOADING_MX_BEAN.getTotalLoadedClassCount(),
+      CLASS_LOADING_MX_BEAN.getUnloadedClassCount(),
+      includeThreads ? listThreads() : Collections.emptyList(),
+      THREAD_MX_BEAN.getThreadCount(),
+      THREAD_MX_BEAN.getDaemonThreadCount(),
+      threadStates,
       CPUUsageResolver.getProcessCPUUsage(),
       getOwnPID()
     );
   }
 
+  private static Collection<ThreadSnapshot> listThreads() {
+    ThreadGroup rootGroup = Thread.currentThread().getThreadGroup();
+    while (rootGroup.getParent() != null) {
+      rootGroup = rootGroup.getParent();
+    }
+
+    Thread[] threads = new Thread[rootGroup.activeCount() + 16];
+    int count;
+    while ((count = rootGroup.enumerate(threads, true)) == threads.length) {
+      threads = new Thread[threads.length * 2];
+    }
+
+    Collection<ThreadSnapshot> snapshots = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      Thread thread = threads[i];
+      snapshots.add(new ThreadSnapshot(thread.getId(), thread.getName(), thread.getState(), thread.isDaemon(),
+        thread.getPriority()));
+    }
+    return snapshots;
+  }
+
+  private static Map<Thread.State, Integer> countThreadStates(Collection<ThreadSnapshot> threads) {
+    Map<Thread.State, Integer> threadStates = new EnumMap<>(Thread.State.class);
+    for (ThreadSnapshot thread : threads) {
+      if (thread.getThreadState() != null) {
+        threadStates.merge(thread.getThreadState(), 1, Integer::sum);
+      }
+    }
+    return threadStates;
+  }
+
   /**
    * Gets the PID of the current process or -1 if it couldn't be fetched.
    */
@@ -154,8 +248,35 @@ public long getUnloadedClassCount() {
     return this.unloadedClassCount;
   }
 
+  /**
+   * Gets the list of all threads of the process. Since 3.4.0 the list is empty unless the snapshot was explicitly
+   * created with the threads using {@link #self(boolean)}, which means that it is always empty for the snapshots
+   * published with the service infos. Use {@link #getThreadCount()} or {@link #getThreadStates()} instead.
+   *
+   * @return the threads of the process
+   */
   public Collection<ThreadSnapshot> getThreads() {
-    return this.threads;
+    return this.threads == null ? Collections.emptyList() : this.threads;
+  }
+
+  public int getThreadCount() {
+    // snapshots of older versions only contain the list of threads
+    return this.threadStates == null ? this.getThreads().size() : this.threadCount;
+  }
+
+  public int getDaemonThreadCount() {
+    return this.threadStates == null
+      ? (int) this.getThreads().stream().filter(ThreadSnapshot::isDaemon).count()
+      : this.daemonThreadCount;
+  }
+
+  /**
+   * Gets the amount of threads per state.
+   *
+   * @return the amount of threads of every state which has at least one thread
+   */
+  public Map<Thread.State, Integer> getThreadStates() {
+    return this.threadStates == null ? countThreadStates(this.getThreads()) : this.threadStates;
   }
 
   public double getCpuUsage() {
@@ -174,7 +295,16 @@ public void write(@NotNull ProtocolBuffer buffer) {
     buffer.writeInt(this.currentLoadedClassCount);
     buffer.writeLong(this.totalLoadedClassCount);
     buffer.writeLong(this.unloadedClassCount);
-    buffer.writeObjectCollection(this.threads);
+    buffer.writeObjectCollection(this.getThreads());
+    buffer.writeVarInt(this.getThreadCount());
+    buffer.writeVarInt(this.getDaemonThreadCount());
+
+    Map<Thread.State, Integer> threadStates = this.getThreadStates();
+    buffer.writeVarInt(threadStates.size());
+    for (Map.Entry<Thread.State, Integer> entry : threadStates.entrySet()) {
+      buffer.writeEnumConstant(entry.getKey());
+      buffer.writeVarInt(entry.getValue());
+    }
     buffer.writeDouble(this.cpuUsage);
     buffer.writeInt(this.pid);
   }
@@ -188,6 +318,13 @@ public void read(@NotNull ProtocolBuffer buffer) {
     this.totalLoadedClassCount = buffer.readLong();
     this.unloadedClassCount = buffer.readLong();
     this.threads = buffer.readObjectCollection(ThreadSnapshot.class);
+    this.threadCount = buffer.readVarInt();
+    this.daemonThreadCount = buffer.readVarInt();
+    int threadStateCount = buffer.readVarInt();
+    this.threadStates = new EnumMap<>(Thread.State.class);
+    for (int i = 0; i < threadStateCount; i++) {
+      this.threadStates.put(buffer.readEnumConstant(Thread.State.class), buffer.readVarInt());
+    }
     this.cpuUsage = buffer.readDouble();
     this.pid = buffer.readInt();
   }
@@ -26,11 +26,14 @@
 import de.dytanic.cloudnet.driver.serialization.ProtocolBuffer;
 import de.dytanic.cloudnet.driver.serialization.SerializableObject;
 import de.dytanic.cloudnet.driver.serialization.json.SerializableJsonDocPropertyable;
+import de.dytanic.cloudnet.driver.service.property.DefaultJsonServiceProperty;
 import de.dytanic.cloudnet.driver.service.property.ServiceProperty;
+import de.dytanic.cloudnet.driver.service.property.ServicePropertyCache;
 import java.lang.reflect.Type;
 import java.util.Optional;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
+import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -56,6 +59,9 @@ public class ServiceInfoSnapshot extends SerializableJsonDocPropertyable impleme
 
   protected ServiceConfiguration configuration;
 
+  @ToString.Exclude
+  private transient volatile ServicePropertyCache propertyCache;
+
   public ServiceInfoSnapshot(long creationTime, HostAndPort address, long connectedTime, ServiceLifeCycle lifeCycle,
     ProcessSnapshot processSnapshot, ServiceConfiguration configuration) {
     this(creationTime, address, connectedTime, lifeCycle, processSnapshot, JsonDocument.newDocument(), configuration);
@@ -140,6 +146,31 @@ public <T> Optional<T> getProperty(@NotNull ServiceProperty<T> property) {
     return property.get(this);
   }
 
+  /**
+   * Gets the numeric value of the given property as an int. Json properties are read from the property cache of this
+   * snapshot without boxing the value into an optional, which should be preferred for properties like the online count
+   * of a service which are read very often.
+   *
+   * @param property the property to get the value of
+   * @param def      the value to return if this service has no such property
+   * @return the value of the property or the given default value
+   */
+  public int getIntProperty(@NotNull ServiceProperty<Integer> property, int def) {
+    if (property instanceof DefaultJsonServiceProperty) {
+      return ((DefaultJsonServiceProperty<Integer>) property).getInt(this, def);
+    }
+    return property.get(this).orElse(def);
+  }
+
+  @ApiStatus.Internal
+  public @NotNull ServicePropertyCache getPropertyCache() {
+    ServicePropertyCache cache = this.propertyCache;
+    if (cache == null) {
+      this.propertyCache = cache = new ServicePropertyCache();
+    }
+    return cache;
+  }
+
   public <T> void setProperty(@NotNull ServiceProperty<T> property, @Nullable T value) {
     property.set(this, value);
   }
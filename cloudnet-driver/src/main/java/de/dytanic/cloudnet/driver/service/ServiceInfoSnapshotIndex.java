@@ -0,0 +1,299 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.dytanic.cloudnet.driver.service;
+
+import com.google.common.base.Preconditions;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A collection of service info snapshots which are indexed by their name, task, groups, environment and lifecycle, so
+ * the lookups of the general cloud service provider don't have to iterate over all services.
+ */
+public class ServiceInfoSnapshotIndex {
+
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  private final Map<UUID, ServiceInfoSnapshot> services = new HashMap<>();
+  private final Map<String, UUID> servicesByName = new HashMap<>();
+  private final Map<String, Set<UUID>> servicesByTask = new HashMap<>();
+  private final Map<String, Set<UUID>> servicesByGroup = new HashMap<>();
+  private final Map<ServiceEnvironmentType, Set<UUID>> servicesByEnvironment = new EnumMap<>(
+    ServiceEnvironmentType.class);
+  private final Map<ServiceLifeCycle, Set<UUID>> servicesByLifeCycle = new EnumMap<>(ServiceLifeCycle.class);
+
+  private static String lowerCase(String value) {
+    return value.toLowerCase(Locale.ROOT);
+  }
+
+  /**
+   * Adds the given snapshot to this index or replaces the snapshot with the same unique id.
+   *
+   * @param snapshot the snapshot to add
+   * @return the replaced snapshot or null if there was none
+   */
+  public @Nullable ServiceInfoSnapshot put(@NotNull ServiceInfoSnapshot snapshot) {
+    Preconditions.checkNotNull(snapshot);
+
+    this.lock.writeLock().lock();
+    try {
+      ServiceInfoSnapshot previous = this.services.put(snapshot.getServiceId().getUniqueId(), snapshot);
+      if (previous != null) {
+        this.unindex(previous);
+      }
+      this.index(snapshot);
+
+      return previous;
+    } finally {
+      this.lock.writeLock().unlock();
+    }
+  }
+
+  public @Nullable ServiceInfoSnapshot remove(@NotNull UUID uniqueId) {
+    this.lock.writeLock().lock();
+    try {
+      ServiceInfoSnapshot previous = this.services.remove(uniqueId);
+      if (previous != null) {
+        this.unindex(previous);
+      }
+
+      return previous;
+    } finally {
+      this.lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Replaces all snapshots of this index with the given snapshots.
+   *
+   * @param snapshots the new snapshots of this index
+   */
+  public void replaceAll(@NotNull Collection<ServiceInfoSnapshot> snapshots) {
+    this.lock.writeLock().lock();
+    try {
+      this.clear();
+      for (ServiceInfoSnapshot snapshot : snapshots) {
+        this.put(snapshot);
+      }
+    } finally {
+      this.lock.writeLock().unlock();
+    }
+  }
+
+  public void clear() {
+    this.lock.writeLock().lock();
+    try {
+      this.services.clear();
+      this.servicesByName.clear();
+      this.servicesByTask.clear();
+      this.servicesByGroup.clear();
+      this.servicesByEnvironment.clear();
+      this.servicesByLifeCycle.clear();
+    } finally {
+      this.lock.writeLock().unlock();
+    }
+  }
+
+  private void index(ServiceInfoSnapshot snapshot) {
+    ServiceId serviceId = snapshot.getServiceId();
+
+    this.servicesByName.put(lowerCase(serviceId.getName()), serviceId.getUniqueId());
+    this.servicesByTask.computeIfAbsent(lowerCase(serviceId.getTaskName()), task -> new LinkedHashSet<>())
+      .add(serviceId.getUniqueId());
+    this.servicesByEnvironment.computeIfAbsent(serviceId.getEnvironment(), environment -> new LinkedHashSet<>())
+      .add(serviceId.getUniqueId());
+    this.servicesByLifeCycle.computeIfAbsent(snapshot.getLifeCycle(), lifeCycle -> new LinkedHashSet<>())
+      .add(serviceId.getUniqueId());
+
+    for (String group : this.getGroups(snapshot)) {
+      this.servicesByGroup.computeIfAbsent(group, g -> new LinkedHashSet<>()).add(serviceId.getUniqueId());
+    }
+  }
+
+  private void unindex(ServiceInfoSnapshot snapshot) {
+    ServiceId serviceId = snapshot.getServiceId();
+
+    this.servicesByName.remove(lowerCase(serviceId.getName()), serviceId.getUniqueId());
+    this.unindex(this.servicesByTask, lowerCase(serviceId.getTaskName()), serviceId.getUniqueId());
+    this.unindex(this.servicesByEnvironment, serviceId.getEnvironment(), serviceId.getUniqueId());
+    this.unindex(this.servicesByLifeCycle, snapshot.getLifeCycle(), serviceId.getUniqueId());
+
+    for (String group : this.getGroups(snapshot)) {
+      this.unindex(this.servicesByGroup, group, serviceId.getUniqueId());
+    }
+  }
+
+  private String[] getGroups(ServiceInfoSnapshot snapshot) {
+    String[] groups = snapshot.getConfiguration().getGroups();
+    return groups == null ? new String[0] : groups;
+  }
+
+  private <K> void unindex(Map<K, Set<UUID>> index, K key, UUID uniqueId) {
+    Set<UUID> uniqueIds = index.get(key);
+    if (uniqueIds != null && uniqueIds.remove(uniqueId) && uniqueIds.isEmpty()) {
+      index.remove(key);
+    }
+  }
+
+  public @Nullable ServiceInfoSnapshot get(@NotNull UUID uniqueId) {
+    this.lock.readLock().lock();
+    try {
+      return this.services.get(uniqueId);
+    } finally {
+      this.lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Gets the snapshot of the service with the given name, ignoring the case of the name.
+   *
+   * @param name the name of the service
+   * @return the snapshot or null if there is no service with the given name
+   */
+  public @Nullable ServiceInfoSnapshot getByName(@NotNull String name) {
+    this.lock.readLock().lock();
+    try {
+      UUID uniqueId = this.servicesByName.get(lowerCase(name));
+      return uniqueId == null ? null : this.services.get(uniqueId);
+    } finally {
+      this.lock.readLock().unlock();
+    }
+  }
+
+  public @NotNull Collection<UUID> getUniqueIds() {
+    this.lock.readLock().lock();
+    try {
+      return new ArrayList<>(this.services.keySet());
+    } finally {
+      this.lock.readLock().unlock();
+    }
+  }
+
+  public @NotNull Collection<ServiceInfoSnapshot> getAll() {
+    this.lock.readLock().lock();
+    try {
+      return new ArrayList<>(this.services.values());
+    } finally {
+      this.lock.readLock().unlock();
+    }
+  }
+
+  public @NotNull Collection<ServiceInfoSnapshot> getAll(@NotNull Predicate<ServiceInfoSnapshot> filter) {
+    this.lock.readLock().lock();
+    try {
+      Collection<ServiceInfoSnapshot> snapshots = new ArrayList<>();
+      for (ServiceInfoSnapshot snapshot : this.services.values()) {
+        if (filter.test(snapshot)) {
+          snapshots.add(snapshot);
+        }
+      }
+
+      return snapshots;
+    } finally {
+      this.lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Gets the snapshots of all services of the given task, ignoring the case of the task name.
+   *
+   * @param taskName the name of the task
+   * @return the snapshots of the services of the task
+   */
+  public @NotNull Collection<ServiceInfoSnapshot> getByTask(@NotNull String taskName) {
+    return this.resolve(this.servicesByTask, lowerCase(taskName));
+  }
+
+  public @NotNull Collection<ServiceInfoSnapshot> getByGroup(@NotNull String group) {
+    return this.resolve(this.servicesByGroup, group);
+  }
+
+  public @NotNull Collection<ServiceInfoSnapshot> getByEnvironment(@NotNull ServiceEnvironmentType environment) {
+    return this.resolve(this.servicesByEnvironment, environment);
+  }
+
+  public @NotNull Collection<ServiceInfoSnapshot> getByLifeCycle(@NotNull ServiceLifeCycle lifeCycle) {
+    return this.resolve(this.servicesByLifeCycle, lifeCycle);
+  }
+
+  public int size() {
+    this.lock.readLock().lock();
+    try {
+      return this.services.size();
+    } finally {
+      this.lock.readLock().unlock();
+    }
+  }
+
+  public int countByGroup(@NotNull String group) {
+    this.lock.readLock().lock();
+    try {
+      Set<UUID> uniqueIds = this.servicesByGroup.get(group);
+      return uniqueIds == null ? 0 : uniqueIds.size();
+    } finally {
+      this.lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Counts the services of the given task. Unlike {@link #getByTask(String)} the case of the task name is respected.
+   *
+   * @param taskName the name of the task
+   * @return the amount of services of the task
+   */
+  public int countByTask(@NotNull String taskName) {
+    int amount = 0;
+    for (ServiceInfoSnapshot snapshot : this.getByTask(taskName)) {
+      if (snapshot.getServiceId().getTaskName().equals(taskName)) {
+        amount++;
+      }
+    }
+
+    return amount;
+  }
+
+  private <K> Collection<ServiceInfoSnapshot> resolve(Map<K, Set<UUID>> index, K key) {
+    this.lock.readLock().lock();
+    try {
+      Set<UUID> uniqueIds = index.get(key);
+      if (uniqueIds == null) {
+        return new ArrayList<>();
+      }
+
+      Collection<ServiceInfoSnapshot> snapshots = new ArrayList<>(uniqueIds.size());
+      for (UUID uniqueId : uniqueIds) {
+        snapshots.add(this.services.get(uniqueId));
+      }
+
+      return snapshots;
+    } finally {
+      this.lock.readLock().unlock();
+    }
+  }
+}
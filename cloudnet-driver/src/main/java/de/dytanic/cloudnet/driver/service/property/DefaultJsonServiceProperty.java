@@ -17,10 +17,12 @@
 package de.dytanic.cloudnet.driver.service.property;
 
 import com.google.common.base.Preconditions;
+import de.dytanic.cloudnet.common.document.gson.JsonDocument;
 import de.dytanic.cloudnet.driver.service.ServiceInfoSnapshot;
 import java.lang.reflect.Type;
 import java.util.Optional;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 public class DefaultJsonServiceProperty<T> implements ServiceProperty<T> {
 
@@ -64,11 +66,41 @@ public DefaultJsonServiceProperty<T> forbidModification() {
   @NotNull
   @Override
   public Optional<T> get(@NotNull ServiceInfoSnapshot serviceInfoSnapshot) {
-    if (!serviceInfoSnapshot.getProperties().contains(this.key)) {
-      return Optional.empty();
-    }
-    return Optional.ofNullable(this.type != null ? serviceInfoSnapshot.getProperties().get(this.key, this.type)
-      : serviceInfoSnapshot.getProperties().get(this.key, this.classType));
+    return Optional.ofNullable(this.getValue(serviceInfoSnapshot));
+  }
+
+  /**
+   * Gets the value of this property like {@link #get(ServiceInfoSnapshot)}, but without wrapping it into an optional.
+   *
+   * @param serviceInfoSnapshot the serviceInfoSnapshot to get the property
+   * @return the value of this property or null if the service has no such property
+   */
+  @Nullable
+  @SuppressWarnings("unchecked")
+  public T getValue(@NotNull ServiceInfoSnapshot serviceInfoSnapshot) {
+    return (T) serviceInfoSnapshot.getPropertyCache().get(this, serviceInfoSnapshot.getProperties());
+  }
+
+  /**
+   * Gets the numeric value of this property as an int. Cached values are read without any boxing or optional.
+   *
+   * @param serviceInfoSnapshot the serviceInfoSnapshot to get the property
+   * @param def                 the value to return if the service has no such property or the value isn't a number
+   * @return the value of this property or the given default value
+   */
+  public int getInt(@NotNull ServiceInfoSnapshot serviceInfoSnapshot, int def) {
+    Object value = serviceInfoSnapshot.getPropertyCache().get(this, serviceInfoSnapshot.getProperties());
+    return value instanceof Number ? ((Number) value).intValue() : def;
+  }
+
+  @NotNull
+  String getKey() {
+    return this.key;
+  }
+
+  @Nullable
+  T decode(@NotNull JsonDocument properties) {
+    return this.type != null ? properties.get(this.key, this.type) : properties.get(this.key, this.classType);
   }
 
   @Override
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.dytanic.cloudnet.driver.service.property;
+
+import com.google.gson.JsonElement;
+import de.dytanic.cloudnet.common.document.gson.JsonDocument;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Memoizes the decoded values of the json properties of one service info snapshot. A cached value is bound to the json
+ * element it was decoded from, every change of the property (or a replaced properties document) puts a new element
+ * into the document and therefore invalidates the value.
+ * <p>
+ * Only values of json primitives are cached, as they are immutable and decode to immutable values. Objects and arrays
+ * are decoded on every call, so callers can still freely modify the returned collections.
+ */
+@ApiStatus.Internal
+public final class ServicePropertyCache {
+
+  private final Map<DefaultJsonServiceProperty<?>, CachedValue> values = new ConcurrentHashMap<>();
+
+  @Nullable
+  @SuppressWarnings("deprecation")
+  Object get(@NotNull DefaultJsonServiceProperty<?> property, @NotNull JsonDocument properties) {
+    JsonElement element = properties.toJsonObject().get(property.getKey());
+    if (element == null || element.isJsonNull()) {
+      return null;
+    }
+    if (!element.isJsonPrimitive()) {
+      return property.decode(properties);
+    }
+
+    CachedValue cachedValue = this.values.get(property);
+    if (cachedValue != null && cachedValue.element == element) {
+      return cachedValue.value;
+    }
+
+    Object value = property.decode(properties);
+    this.values.put(property, new CachedValue(element, value));
+    return value;
+  }
+
+  private static final class CachedValue {
+
+    private final JsonElement element;
+    private final Object value;
+
+    public CachedValue(JsonElement element, Object value) {
+      this.element = element;
+      this.value = value;
+    }
+  }
+}
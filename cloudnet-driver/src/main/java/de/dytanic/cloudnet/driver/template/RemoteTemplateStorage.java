@@ -326,7 +326,8 @@ private ITask<IPacket> sendChunks(DriverAPIRequestType requestType, InputStream
     ChunkedPacketBuilder builder = ChunkedPacketBuilder
       .newBuilder(PacketConstants.CLUSTER_TEMPLATE_STORAGE_CHUNK_SYNC_CHANNEL, inputStream)
       .header(header.append("type", requestType).append("template", template))
-      .target(CloudNetDriver.getInstance().getNetworkClient().getChannels());
+      .target(CloudNetDriver.getInstance().getNetworkClient().getChannels())
+      .window(ChunkedPacketBuilder.DEFAULT_WINDOW);
 
     ITask<IPacket> task = null;
     if (query) {
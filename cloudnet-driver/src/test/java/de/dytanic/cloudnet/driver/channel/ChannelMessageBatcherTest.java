@@ -0,0 +1,128 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.dytanic.cloudnet.driver.channel;
+
+import de.dytanic.cloudnet.driver.DriverEnvironment;
+import de.dytanic.cloudnet.driver.network.INetworkChannel;
+import de.dytanic.cloudnet.driver.network.def.PacketConstants;
+import de.dytanic.cloudnet.driver.network.protocol.IPacket;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.stream.Collectors;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ChannelMessageBatcherTest {
+
+  @Test
+  public void testBatchingAndCoalescing() {
+    List<IPacket> packets = new ArrayList<>();
+    INetworkChannel channel = this.channel(packets);
+
+    ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    try {
+      ChannelMessageBatcher batcher = new ChannelMessageBatcher(scheduler, 60_000, 3);
+
+      batcher.enqueue(channel, this.message("a", "1"));
+      batcher.enqueue(channel, this.message("b", "2"));
+      batcher.enqueue(channel, this.message("a", "3"));
+      Assert.assertTrue(packets.isEmpty());
+
+      batcher.flushAll();
+      Assert.assertEquals(1, packets.size());
+      Assert.assertEquals(PacketConstants.CHANNEL_MESSAGING_BATCH_CHANNEL, packets.get(0).getChannel());
+
+      List<ChannelMessage> messages = new ArrayList<>(
+        packets.get(0).getBuffer().readObjectCollection(ChannelMessage.class));
+      Assert.assertEquals(2, messages.size());
+      Assert.assertEquals("2", messages.get(0).getMessage());
+      Assert.assertEquals("3", messages.get(1).getMessage());
+      Assert.assertEquals("a", messages.get(1).getCoalescingKey());
+      Assert.assertTrue(messages.get(1).isBatched());
+
+      // a full batch is sent without waiting for the batch window
+      for (int i = 0; i < 3; i++) {
+        batcher.enqueue(channel, this.message("key-" + i, String.valueOf(i)));
+      }
+      Assert.assertEquals(2, packets.size());
+      Assert.assertEquals("0,1,2", packets.get(1).getBuffer().readObjectCollection(ChannelMessage.class).stream()
+        .map(ChannelMessage::getMessage)
+        .collect(Collectors.joining(",")));
+    } finally {
+      scheduler.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testFlushAllOnShutdown() {
+    List<IPacket> firstPackets = new ArrayList<>();
+    List<IPacket> secondPackets = new ArrayList<>();
+    INetworkChannel firstChannel = this.channel(firstPackets);
+    INetworkChannel secondChannel = this.channel(secondPackets);
+
+    ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    ChannelMessageBatcher batcher = new ChannelMessageBatcher(scheduler, 60_000, 256);
+
+    batcher.enqueue(firstChannel, this.message("a", "1"));
+    batcher.enqueue(secondChannel, this.message("b", "2"));
+    batcher.enqueue(secondChannel, this.message("c", "3"));
+
+    // the scheduled flush never runs once the scheduler is stopped, the node and wrapper flush before closing
+    scheduler.shutdownNow();
+    batcher.flushAll();
+
+    Assert.assertEquals(1, firstPackets.size());
+    Assert.assertEquals(1, secondPackets.size());
+    Assert.assertEquals(2, secondPackets.get(0).getBuffer().readObjectCollection(ChannelMessage.class).size());
+
+    // nothing is left to be sent again
+    batcher.flushAll();
+    Assert.assertEquals(1, firstPackets.size());
+    Assert.assertEquals(1, secondPackets.size());
+  }
+
+  private INetworkChannel channel(List<IPacket> packets) {
+    return (INetworkChannel) Proxy.newProxyInstance(this.getClass().getClassLoader(),
+      new Class<?>[]{INetworkChannel.class}, (proxy, method, args) -> {
+        switch (method.getName()) {
+          case "sendPacket":
+            packets.add((IPacket) args[0]);
+            return null;
+          case "isActive":
+            return true;
+          case "hashCode":
+            return System.identityHashCode(proxy);
+          case "equals":
+            return proxy == args[0];
+          default:
+            return null;
+        }
+      });
+  }
+
+  private ChannelMessage message(String coalescingKey, String message) {
+    return ChannelMessage.builder(new ChannelMessageSender("Test", DriverEnvironment.CLOUDNET))
+      .channel("test-channel")
+      .message(message)
+      .coalescingKey(coalescingKey)
+      .build();
+  }
+
+}
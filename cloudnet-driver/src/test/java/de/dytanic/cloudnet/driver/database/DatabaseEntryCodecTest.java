@@ -0,0 +1,77 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.dytanic.cloudnet.driver.database;
+
+import de.dytanic.cloudnet.common.document.gson.JsonDocument;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DatabaseEntryCodecTest {
+
+  @Test
+  public void testEncodeDecode() throws Exception {
+    AtomicBoolean closed = new AtomicBoolean();
+    Stream<Map.Entry<String, JsonDocument>> entries = IntStream.range(0, 1000)
+      .mapToObj(i -> new AbstractMap.SimpleImmutableEntry<>(String.valueOf(i), new JsonDocument("val", i)))
+      .map(entry -> (Map.Entry<String, JsonDocument>) entry)
+      .onClose(() -> closed.set(true));
+
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    try (InputStream inputStream = DatabaseEntryCodec.encode(entries)) {
+      byte[] buffer = new byte[4096];
+      int read;
+      while ((read = inputStream.read(buffer)) != -1) {
+        outputStream.write(buffer, 0, read);
+      }
+    }
+    Assert.assertTrue(closed.get());
+
+    try (Stream<Map.Entry<String, JsonDocument>> stream = DatabaseEntryCodec
+      .decode(new ByteArrayInputStream(outputStream.toByteArray()))) {
+      List<Map.Entry<String, JsonDocument>> decoded = stream.collect(Collectors.toList());
+
+      Assert.assertEquals(1000, decoded.size());
+      Assert.assertEquals("999", decoded.get(999).getKey());
+      Assert.assertEquals(999, decoded.get(999).getValue().getInt("val"));
+    }
+  }
+
+  @Test(expected = UncheckedIOException.class)
+  public void testTruncatedTransfer() throws Exception {
+    InputStream inputStream = DatabaseEntryCodec.encode(Stream.of(
+      new AbstractMap.SimpleImmutableEntry<>("key", new JsonDocument("val", 1))
+    ));
+
+    byte[] buffer = new byte[1024];
+    int read = inputStream.read(buffer);
+
+    // the end marker is missing, the stream has to fail instead of silently returning too few entries
+    DatabaseEntryCodec.decode(new ByteArrayInputStream(Arrays.copyOf(buffer, read - 4))).count();
+  }
+}
@@ -75,6 +75,32 @@ public void testEventPriority() {
     Assert.assertEquals("value_789", testEvent.value);
   }
 
+  @Test
+  public void testDispatchTable() {
+    IEventManager eventManager = new DefaultEventManager();
+    Assert.assertFalse(eventManager.hasListeners(TestEvent.class));
+
+    ListenerTest2 listener = new ListenerTest2();
+    eventManager.registerListener(listener);
+    Assert.assertTrue(eventManager.hasListeners(TestEvent.class));
+    Assert.assertFalse(eventManager.hasListeners(OtherTestEvent.class));
+
+    // listeners for TestEvent must not be called for unrelated events
+    OtherTestEvent otherTestEvent = new OtherTestEvent();
+    Assert.assertSame(otherTestEvent, eventManager.callEvent(otherTestEvent));
+
+    eventManager.unregisterListener(listener);
+    Assert.assertFalse(eventManager.hasListeners(TestEvent.class));
+
+    TestEvent testEvent = new TestEvent("value_123");
+    eventManager.callEvent(testEvent);
+    Assert.assertEquals("value_123", testEvent.value);
+  }
+
+  public static final class OtherTestEvent extends Event {
+
+  }
+
   public static final class TestEvent extends Event {
 
     public String value;
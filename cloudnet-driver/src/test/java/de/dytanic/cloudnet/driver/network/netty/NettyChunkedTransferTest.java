@@ -0,0 +1,120 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.dytanic.cloudnet.driver.network.netty;
+
+import de.dytanic.cloudnet.common.document.gson.JsonDocument;
+import de.dytanic.cloudnet.driver.network.HostAndPort;
+import de.dytanic.cloudnet.driver.network.INetworkChannel;
+import de.dytanic.cloudnet.driver.network.INetworkChannelHandler;
+import de.dytanic.cloudnet.driver.network.INetworkClient;
+import de.dytanic.cloudnet.driver.network.INetworkServer;
+import de.dytanic.cloudnet.driver.network.def.internal.InternalSyncPacketChannel;
+import de.dytanic.cloudnet.driver.network.netty.client.NettyNetworkClient;
+import de.dytanic.cloudnet.driver.network.netty.server.NettyNetworkServer;
+import de.dytanic.cloudnet.driver.network.protocol.IPacket;
+import de.dytanic.cloudnet.driver.network.protocol.Packet;
+import de.dytanic.cloudnet.driver.network.protocol.chunk.ChunkedPacketBuilder;
+import de.dytanic.cloudnet.driver.network.protocol.chunk.listener.ChunkedPacketListener;
+import de.dytanic.cloudnet.driver.network.protocol.chunk.listener.ChunkedPacketSession;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class NettyChunkedTransferTest {
+
+  @Test
+  public void testWindowedTransferResumesCorruptedChunk() throws Exception {
+    INetworkServer networkServer = new NettyNetworkServer(TestNetworkChannelHandler::new);
+    INetworkClient networkClient = new NettyNetworkClient(TestNetworkChannelHandler::new);
+
+    ByteArrayOutputStream received = new ByteArrayOutputStream();
+    CountDownLatch completed = new CountDownLatch(1);
+    AtomicBoolean corrupted = new AtomicBoolean();
+
+    ChunkedPacketListener listener = new ChunkedPacketListener() {
+      @Override
+      protected @NotNull OutputStream createOutputStream(@NotNull UUID sessionUniqueId,
+        @NotNull Map<String, Object> properties) {
+        return received;
+      }
+
+      @Override
+      protected void handleComplete(@NotNull ChunkedPacketSession session) {
+        completed.countDown();
+      }
+    };
+
+    networkServer.getPacketRegistry().addListener(20, (channel, packet) -> {
+      // flips the last data byte of the third chunk once, the receiver has to request it again
+      if (packet.getBuffer().readableBytes() > 1024 && packet.getBuffer().getByte(0) == 3
+        && corrupted.compareAndSet(false, true)) {
+        int index = packet.getBuffer().writerIndex() - 5;
+        packet.getBuffer().setByte(index, ~packet.getBuffer().getByte(index));
+      }
+
+      listener.handle(channel, packet);
+    });
+
+    HostAndPort address = new HostAndPort("127.0.0.1", NettyTestUtil.generateRandomPort());
+
+    Assert.assertTrue(networkServer.addListener(address));
+    Assert.assertTrue(networkClient.connect(address));
+
+    byte[] data = new byte[4 * 1024 * 1024 + 123];
+    new Random().nextBytes(data);
+
+    ChunkedPacketBuilder builder = ChunkedPacketBuilder.newBuilder(20, new ByteArrayInputStream(data))
+      .header(JsonDocument.newDocument("test", "test"))
+      .chunkSize(64 * 1024)
+      .target(networkClient.getFirstChannel())
+      .window(4)
+      .complete();
+
+    Assert.assertTrue(builder.isSuccess());
+    Assert.assertTrue(completed.await(10, TimeUnit.SECONDS));
+    Assert.assertTrue(corrupted.get());
+    Assert.assertArrayEquals(data, received.toByteArray());
+
+    networkClient.close();
+    networkServer.close();
+  }
+
+  private static final class TestNetworkChannelHandler implements INetworkChannelHandler {
+
+    @Override
+    public void handleChannelInitialize(INetworkChannel channel) {
+    }
+
+    @Override
+    public boolean handlePacketReceive(INetworkChannel channel, Packet packet) {
+      return !InternalSyncPacketChannel.handleIncomingChannel(channel, packet);
+    }
+
+    @Override
+    public void handleChannelClose(INetworkChannel channel) {
+    }
+  }
+}
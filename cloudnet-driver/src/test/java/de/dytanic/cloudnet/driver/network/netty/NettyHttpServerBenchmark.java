@@ -0,0 +1,111 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.dytanic.cloudnet.driver.network.netty;
+
+import de.dytanic.cloudnet.driver.network.http.IHttpHandler;
+import de.dytanic.cloudnet.driver.network.http.IHttpServer;
+import de.dytanic.cloudnet.driver.network.netty.http.NettyHttpServer;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures the requests per second of the http server with the routes of the rest module. Every handler blocks for a
+ * millisecond, like the database and cluster calls of the rest handlers do. Run with {@code handler-threads} as first
+ * argument, 0 to call the handlers on the event loop.
+ */
+public final class NettyHttpServerBenchmark {
+
+  private static final String[] REST_ROUTES = {
+    "/api/v1", "/api/v1/auth", "/api/v1/logout", "/api/v1/ping", "/api/v1/status", "/api/v1/command",
+    "/api/v1/modules", "/api/v1/cluster", "/api/v1/cluster/{node}", "/api/v1/services", "/api/v1/services/{uuid}",
+    "/api/v1/services/{uuid}/{operation}", "/api/v1/tasks", "/api/v1/tasks/{name}", "/api/v1/groups",
+    "/api/v1/groups/{name}", "/api/v1/db/{name}", "/api/v1/db/{name}/{key}", "/api/v1/local_templates",
+    "/api/v1/local_templates/{prefix}/{name}", "/api/v1/local_templates/{prefix}/{name}/files",
+    "/api/v1/local_templates/{prefix}/{name}/files/*"
+  };
+
+  private static final int CLIENTS = 32;
+  private static final long DURATION_MILLIS = 10_000;
+
+  public static void main(String[] args) throws Exception {
+    int handlerThreads = args.length > 0 ? Integer.parseInt(args[0]) : 16;
+    int port = NettyTestUtil.generateRandomPort();
+
+    ExecutorService handlerExecutor = handlerThreads > 0 ? Executors.newFixedThreadPool(handlerThreads) : null;
+    IHttpServer httpServer = new NettyHttpServer(null, handlerExecutor);
+
+    httpServer.registerHandler("/api/v1/*", IHttpHandler.PRIORITY_HIGH, (path, context) -> {
+    });
+    for (String route : REST_ROUTES) {
+      httpServer.registerHandler(route, (path, context) -> {
+        try {
+          Thread.sleep(1);
+        } catch (InterruptedException exception) {
+          Thread.currentThread().interrupt();
+        }
+
+        context.response().statusCode(200).body("{\"success\":true}").context().cancelNext();
+      });
+    }
+
+    httpServer.addListener(port);
+
+    AtomicLong requests = new AtomicLong();
+    long end = System.currentTimeMillis() + DURATION_MILLIS;
+    ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+
+    for (int i = 0; i < CLIENTS; i++) {
+      clients.execute(() -> {
+        byte[] buffer = new byte[1024];
+
+        while (System.currentTimeMillis() < end) {
+          try {
+            HttpURLConnection connection = (HttpURLConnection) new URL(
+              "http://127.0.0.1:" + port + "/api/v1/services/" + requests.get() + "/start").openConnection();
+
+            // reading the whole body returns the connection to the keep-alive cache of the jdk
+            try (InputStream inputStream = connection.getInputStream()) {
+              while (inputStream.read(buffer) != -1) {
+                continue;
+              }
+            }
+
+            requests.incrementAndGet();
+          } catch (Exception exception) {
+            exception.printStackTrace();
+          }
+        }
+      });
+    }
+
+    clients.shutdown();
+    clients.awaitTermination(DURATION_MILLIS * 2, TimeUnit.MILLISECONDS);
+
+    System.out.printf("handler threads: %d, requests per second: %d%n", handlerThreads,
+      requests.get() * 1000 / DURATION_MILLIS);
+
+    httpServer.close();
+    if (handlerExecutor != null) {
+      handlerExecutor.shutdownNow();
+    }
+  }
+}
@@ -19,11 +19,18 @@
 import de.dytanic.cloudnet.driver.network.http.IHttpServer;
 import de.dytanic.cloudnet.driver.network.netty.http.NettyHttpServer;
 import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStream;
 import java.net.HttpURLConnection;
+import java.net.Socket;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.GZIPInputStream;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -139,4 +146,100 @@ public void testHttpServerWithWildCard() throws Exception {
     httpURLConnection.disconnect();
     httpServer.close();
   }
+
+  @Test
+  public void testHttpServerRoutingKeepAliveAndCompression() throws Exception {
+    int port = NettyTestUtil.generateRandomPort();
+    ExecutorService executorService = Executors.newFixedThreadPool(2);
+
+    IHttpServer httpServer = new NettyHttpServer(null, executorService);
+
+    httpServer.registerHandler("/api/*", (path, context) -> context.response().header("Wildcard", "true"));
+    httpServer.registerHandler("/api/{name}", (path, context) -> context
+      .response()
+      .header("Content-Type", "text/plain")
+      .body(this.repeat(context.request().pathParameters().get("name"), 1000))
+      .statusCode(200)
+      .context()
+      .cancelNext()
+    );
+    httpServer.registerHandler("/api/{name}/info", (path, context) -> context
+      .response()
+      .body("info " + context.request().pathParameters().get("name"))
+      .statusCode(200)
+    );
+
+    Assert.assertTrue(httpServer.addListener(port));
+
+    HttpURLConnection httpURLConnection = (HttpURLConnection) new URL("http://localhost:" + port + "/api/test")
+      .openConnection();
+    httpURLConnection.setRequestProperty("Accept-Encoding", "gzip");
+    httpURLConnection.connect();
+
+    Assert.assertEquals(200, httpURLConnection.getResponseCode());
+    Assert.assertEquals("true", httpURLConnection.getHeaderField("Wildcard"));
+    Assert.assertEquals("gzip", httpURLConnection.getHeaderField("Content-Encoding"));
+
+    try (InputStream inputStream = new GZIPInputStream(httpURLConnection.getInputStream())) {
+      Assert.assertEquals(this.repeat("test", 1000), new String(this.readFully(inputStream), StandardCharsets.UTF_8));
+    }
+
+    httpURLConnection.disconnect();
+
+    // both requests are sent over the same connection
+    try (Socket socket = new Socket("localhost", port)) {
+      for (String name : new String[]{"first", "second"}) {
+        socket.getOutputStream().write(("GET /api/" + name + "/info HTTP/1.1\r\nHost: localhost\r\n\r\n")
+          .getBytes(StandardCharsets.UTF_8));
+        socket.getOutputStream().flush();
+
+        Assert.assertEquals("info " + name, this.readResponseBody(socket.getInputStream()));
+      }
+    }
+
+    httpServer.close();
+    executorService.shutdownNow();
+  }
+
+  private String readResponseBody(InputStream inputStream) throws IOException {
+    ByteArrayOutputStream headers = new ByteArrayOutputStream();
+    while (!headers.toString("UTF-8").endsWith("\r\n\r\n")) {
+      headers.write(inputStream.read());
+    }
+
+    int contentLength = 0;
+    for (String header : headers.toString("UTF-8").split("\r\n")) {
+      if (header.toLowerCase().startsWith("content-length:")) {
+        contentLength = Integer.parseInt(header.substring("content-length:".length()).trim());
+      }
+    }
+
+    byte[] body = new byte[contentLength];
+    for (int read = 0; read < contentLength; ) {
+      read += inputStream.read(body, read, contentLength - read);
+    }
+
+    return new String(body, StandardCharsets.UTF_8);
+  }
+
+  private byte[] readFully(InputStream inputStream) throws IOException {
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    byte[] buffer = new byte[1024];
+
+    int read;
+    while ((read = inputStream.read(buffer)) != -1) {
+      outputStream.write(buffer, 0, read);
+    }
+
+    return outputStream.toByteArray();
+  }
+
+  private String repeat(String text, int times) {
+    StringBuilder builder = new StringBuilder(text.length() * times);
+    for (int i = 0; i < times; i++) {
+      builder.append(text);
+    }
+
+    return builder.toString();
+  }
 }
@@ -20,6 +20,7 @@
 import de.dytanic.cloudnet.driver.network.protocol.Packet;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
@@ -58,4 +59,30 @@ public void testEncoderDecoder() {
     Assert
       .assertEquals("Test_Nachricht", new String(((Packet) packets.get(1)).getBodyAsArray(), StandardCharsets.UTF_8));
   }
+
+  @Test
+  public void testBinaryHeaderEncoderDecoder() {
+    EmbeddedChannel channel = new EmbeddedChannel(new NettyPacketEncoder(), new NettyPacketDecoder());
+    channel.attr(NettyPacketEncoder.BINARY_HEADERS).set(true);
+
+    JsonDocument header = new JsonDocument()
+      .append("val", true)
+      .append("name", "Lobby-1")
+      .append("count", 12);
+    Assert.assertTrue(channel.writeOutbound(new Packet(4, header, "body".getBytes(StandardCharsets.UTF_8))));
+
+    ByteBuf encoded = channel.readOutbound();
+    // the binary header must be smaller than the json representation
+    Assert.assertTrue(encoded.readableBytes() < 1 + 16 + 1 + header.toJson().length() + 1 + 4);
+    Assert.assertTrue(channel.writeInbound(encoded));
+
+    Packet packet = channel.readInbound();
+    Assert.assertEquals(4, packet.getChannel());
+    Assert.assertTrue(packet.getHeader().getBoolean("val"));
+    Assert.assertEquals("Lobby-1", packet.getHeader().getString("name"));
+    Assert.assertEquals(12, packet.getHeader().getInt("count"));
+    Assert.assertEquals("body", new String(packet.getBodyAsArray(), StandardCharsets.UTF_8));
+
+    channel.finishAndReleaseAll();
+  }
 }
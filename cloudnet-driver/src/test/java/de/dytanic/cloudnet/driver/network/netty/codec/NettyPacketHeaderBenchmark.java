@@ -0,0 +1,101 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.dytanic.cloudnet.driver.network.netty.codec;
+
+import de.dytanic.cloudnet.common.document.gson.JsonDocument;
+import de.dytanic.cloudnet.driver.network.protocol.Packet;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares encoding and decoding a typical query response packet with a json header to the same packet with a binary
+ * header.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NettyPacketHeaderBenchmark {
+
+  private EmbeddedChannel jsonChannel;
+  private EmbeddedChannel binaryChannel;
+
+  private JsonDocument header;
+  private byte[] body;
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(NettyPacketHeaderBenchmark.class.getSimpleName()).build()).run();
+  }
+
+  @Setup
+  public void setup() {
+    this.jsonChannel = new EmbeddedChannel(new NettyPacketEncoder(), new NettyPacketDecoder());
+
+    this.binaryChannel = new EmbeddedChannel(new NettyPacketEncoder(), new NettyPacketDecoder());
+    this.binaryChannel.attr(NettyPacketEncoder.BINARY_HEADERS).set(true);
+
+    this.header = new JsonDocument()
+      .append("message", "get_service_info_snapshot")
+      .append("uniqueId", UUID.randomUUID().toString())
+      .append("online", true)
+      .append("count", 1500);
+    this.body = "body".getBytes(StandardCharsets.UTF_8);
+  }
+
+  @TearDown
+  public void tearDown() {
+    this.jsonChannel.finishAndReleaseAll();
+    this.binaryChannel.finishAndReleaseAll();
+  }
+
+  @Benchmark
+  public Object jsonHeader() {
+    return this.roundTrip(this.jsonChannel);
+  }
+
+  @Benchmark
+  public Object binaryHeader() {
+    return this.roundTrip(this.binaryChannel);
+  }
+
+  private Object roundTrip(EmbeddedChannel channel) {
+    channel.writeOutbound(new Packet(4, this.header, this.body));
+    ByteBuf encoded = channel.readOutbound();
+
+    channel.writeInbound(encoded);
+    return channel.readInbound();
+  }
+}
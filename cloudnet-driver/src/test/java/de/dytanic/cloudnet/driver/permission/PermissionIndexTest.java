@@ -0,0 +1,49 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.dytanic.cloudnet.driver.permission;
+
+import java.util.Arrays;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PermissionIndexTest {
+
+  @Test
+  public void testFindHighestPermission() {
+    Permission exact = new Permission("cloudnet.command.create", 5);
+    Permission wildcard = new Permission("cloudnet.command.*", 10);
+    Permission partial = new Permission("cloud*", -1);
+    Permission star = new Permission("*", 1);
+
+    PermissionIndex index = PermissionIndex.compile(Arrays.asList(exact, wildcard, partial, star));
+
+    Assert.assertSame(wildcard, index.findHighestPermission("cloudnet.command.create", 0));
+    Assert.assertSame(wildcard, index.findHighestPermission("CloudNet.Command.Delete", 0));
+    Assert.assertNull(index.findHighestPermission("cloudnet.command.create", 11));
+    Assert.assertSame(star, index.findHighestPermission("cloudnet.command", 0));
+    Assert.assertSame(star, index.findHighestPermission("bukkit.command.help", 0));
+    Assert.assertNull(index.findHighestPermission("bukkit.command.help", 2));
+
+    index = PermissionIndex.compile(Arrays.asList(exact, partial));
+
+    Assert.assertSame(exact, index.findHighestPermission("cloudnet.command.create", 0));
+    Assert.assertSame(partial, index.findHighestPermission("cloudnet.command.delete", 0));
+    Assert.assertSame(partial, index.findHighestPermission("cloud", 0));
+    Assert.assertNull(index.findHighestPermission("clou", 0));
+    Assert.assertNull(index.findHighestPermission("other.cloudnet", 0));
+  }
+}
@@ -23,6 +23,8 @@
 
 import de.dytanic.cloudnet.common.document.gson.JsonDocument;
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.UUID;
 import org.junit.Test;
 
 public class ProtocolBufferTest {
@@ -77,4 +79,33 @@ public void testProtocolBuffer() {
 
   }
 
+  @Test
+  public void testTypedJsonDocument() {
+    JsonDocument document = JsonDocument.newDocument("string", "value")
+      .append("int", -12)
+      .append("long", Long.MAX_VALUE)
+      .append("double", 1.5D)
+      .append("float", 2.25F)
+      .append("boolean", true)
+      .append("uuid", UUID.fromString("fdef0011-1c58-40c8-bfef-0bdcb1495938"))
+      .append("list", Arrays.asList("a", "b"))
+      .appendNull("null")
+      .append("document", JsonDocument.newDocument("nested", 5));
+
+    ProtocolBuffer out = ProtocolBuffer.create().writeTypedJsonDocument(document);
+    JsonDocument in = ProtocolBuffer.wrap(out.toArray()).readTypedJsonDocument();
+
+    assertEquals(document.toJsonObject(), in.toJsonObject());
+    assertEquals("value", in.getString("string"));
+    assertEquals(-12, in.getInt("int"));
+    assertEquals(Long.MAX_VALUE, in.getLong("long"));
+    assertEquals(1.5D, in.getDouble("double"), 0D);
+    assertEquals(2.25F, in.getFloat("float"), 0F);
+    assertTrue(in.getBoolean("boolean"));
+    assertEquals(UUID.fromString("fdef0011-1c58-40c8-bfef-0bdcb1495938"), in.get("uuid", UUID.class));
+    assertEquals(2, in.getJsonArray("list").size());
+    assertTrue(in.get("null").isJsonNull());
+    assertEquals(5, in.getDocument("document").getInt("nested"));
+  }
+
 }
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.dytanic.cloudnet.driver.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Collectors;
+
+/**
+ * Measures the cost of a process snapshot with a high amount of threads, compared to listing the threads using {@link
+ * Thread#getAllStackTraces()} like the snapshots did before. Run with the amount of threads to start as first argument.
+ */
+public final class ProcessSnapshotBenchmark {
+
+  private static final int ITERATIONS = 200;
+
+  public static void main(String[] args) throws Exception {
+    int threadCount = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+
+    CountDownLatch stopLatch = new CountDownLatch(1);
+    Collection<Thread> threads = new ArrayList<>(threadCount);
+    for (int i = 0; i < threadCount; i++) {
+      Thread thread = new Thread(() -> sleepDeep(stopLatch, 32), "Benchmark thread #" + i);
+      thread.setDaemon(true);
+      thread.start();
+      threads.add(thread);
+    }
+
+    try {
+      for (int round = 0; round < 3; round++) {
+        System.out.printf("getAllStackTraces: %.1f us/snapshot%n", measure(() -> Thread.getAllStackTraces().keySet()
+          .stream()
+          .map(thread -> new ThreadSnapshot(thread.getId(), thread.getName(), thread.getState(), thread.isDaemon(),
+            thread.getPriority()))
+          .collect(Collectors.toList())));
+        System.out.printf("sample(false):     %.1f us/snapshot%n", measure(() -> ProcessSnapshot.sample(false)));
+        System.out.printf("sample(true):      %.1f us/snapshot%n", measure(() -> ProcessSnapshot.sample(true)));
+        System.out.printf("self():            %.1f us/snapshot%n", measure(ProcessSnapshot::self));
+      }
+    } finally {
+      stopLatch.countDown();
+      for (Thread thread : threads) {
+        thread.join();
+      }
+    }
+  }
+
+  private static double measure(Runnable snapshot) {
+    long start = System.nanoTime();
+    for (int i = 0; i < ITERATIONS; i++) {
+      snapshot.run();
+    }
+    return (System.nanoTime() - start) / 1000D / ITERATIONS;
+  }
+
+  private static void sleepDeep(CountDownLatch stopLatch, int depth) {
+    // gives every thread a realistic stack depth, which has to be walked by getAllStackTraces
+    if (depth > 0) {
+      sleepDeep(stopLatch, depth - 1);
+      return;
+    }
+
+    try {
+      stopLatch.await();
+    } catch (InterruptedException exception) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+}
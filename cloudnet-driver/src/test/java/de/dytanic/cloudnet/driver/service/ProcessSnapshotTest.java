@@ -0,0 +1,62 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.dytanic.cloudnet.driver.service;
+
+import de.dytanic.cloudnet.common.document.gson.JsonDocument;
+import de.dytanic.cloudnet.driver.serialization.ProtocolBuffer;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ProcessSnapshotTest {
+
+  @Test
+  public void testThreadSampling() {
+    ProcessSnapshot snapshot = ProcessSnapshot.sample(false);
+
+    Assert.assertTrue(snapshot.getThreads().isEmpty());
+    Assert.assertTrue(snapshot.getThreadCount() > 0);
+    Assert.assertTrue(snapshot.getDaemonThreadCount() <= snapshot.getThreadCount());
+    Assert.assertTrue(snapshot.getThreadStates().get(Thread.State.RUNNABLE) > 0);
+
+    ProcessSnapshot fullSnapshot = ProcessSnapshot.self(true);
+    Assert.assertTrue(fullSnapshot.getThreads().stream()
+      .anyMatch(thread -> thread.getId() == Thread.currentThread().getId()));
+  }
+
+  @Test
+  public void testSnapshotIsCached() {
+    Assert.assertSame(ProcessSnapshot.self(), ProcessSnapshot.self());
+  }
+
+  @Test
+  public void testLegacySnapshot() {
+    // snapshots of older wrappers only contain the list of threads
+    ProcessSnapshot legacySnapshot = JsonDocument.newDocument("{\"threads\":["
+      + "{\"id\":1,\"name\":\"main\",\"threadState\":\"RUNNABLE\",\"daemon\":false,\"priority\":5},"
+      + "{\"id\":2,\"name\":\"gc\",\"threadState\":\"WAITING\",\"daemon\":true,\"priority\":5}]}")
+      .toInstanceOf(ProcessSnapshot.class);
+
+    ProtocolBuffer buffer = ProtocolBuffer.create();
+    buffer.writeObject(legacySnapshot);
+    ProcessSnapshot snapshot = buffer.readObject(ProcessSnapshot.class);
+
+    Assert.assertEquals(2, snapshot.getThreadCount());
+    Assert.assertEquals(1, snapshot.getDaemonThreadCount());
+    Assert.assertEquals(1, (int) snapshot.getThreadStates().get(Thread.State.WAITING));
+  }
+
+}
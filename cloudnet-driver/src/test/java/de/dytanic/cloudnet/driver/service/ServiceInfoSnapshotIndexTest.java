@@ -0,0 +1,90 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.dytanic.cloudnet.driver.service;
+
+import de.dytanic.cloudnet.driver.network.HostAndPort;
+import java.util.Arrays;
+import java.util.UUID;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ServiceInfoSnapshotIndexTest {
+
+  private static ServiceInfoSnapshot snapshot(UUID uniqueId, String task, int id, ServiceEnvironmentType environment,
+    ServiceLifeCycle lifeCycle, String... groups) {
+    return new ServiceInfoSnapshot(
+      System.currentTimeMillis(),
+      new HostAndPort("127.0.0.1", 25565),
+      -1,
+      lifeCycle,
+      ProcessSnapshot.empty(),
+      new ServiceConfiguration(
+        new ServiceId(uniqueId, "Node-1", task, id, environment),
+        "jvm",
+        true,
+        false,
+        groups,
+        new ServiceRemoteInclusion[0],
+        new ServiceTemplate[0],
+        new ServiceDeployment[0],
+        new ProcessConfiguration(environment, 512, Arrays.asList("j", "v", "m")),
+        25565
+      )
+    );
+  }
+
+  @Test
+  public void testIndexLookups() {
+    UUID lobby1 = UUID.randomUUID();
+    UUID lobby2 = UUID.randomUUID();
+    UUID proxy = UUID.randomUUID();
+
+    ServiceInfoSnapshotIndex index = new ServiceInfoSnapshotIndex();
+    index.put(snapshot(lobby1, "Lobby", 1, ServiceEnvironmentType.MINECRAFT_SERVER, ServiceLifeCycle.RUNNING,
+      "Lobby", "Global-Server"));
+    index.put(snapshot(lobby2, "Lobby", 2, ServiceEnvironmentType.MINECRAFT_SERVER, ServiceLifeCycle.PREPARED,
+      "Lobby", "Global-Server"));
+    index.put(snapshot(proxy, "Proxy", 1, ServiceEnvironmentType.BUNGEECORD, ServiceLifeCycle.RUNNING, "Proxy"));
+
+    Assert.assertEquals(3, index.size());
+    Assert.assertEquals(lobby2, index.getByName("lobby-2").getServiceId().getUniqueId());
+    Assert.assertEquals(2, index.getByTask("LOBBY").size());
+    Assert.assertEquals(0, index.countByTask("LOBBY"));
+    Assert.assertEquals(2, index.countByTask("Lobby"));
+    Assert.assertEquals(2, index.countByGroup("Global-Server"));
+    Assert.assertEquals(1, index.getByEnvironment(ServiceEnvironmentType.BUNGEECORD).size());
+    Assert.assertEquals(2, index.getByLifeCycle(ServiceLifeCycle.RUNNING).size());
+
+    // the indexes follow the changed groups and lifecycle of an updated snapshot
+    index.put(snapshot(lobby2, "Lobby", 2, ServiceEnvironmentType.MINECRAFT_SERVER, ServiceLifeCycle.RUNNING,
+      "Lobby"));
+    Assert.assertEquals(1, index.countByGroup("Global-Server"));
+    Assert.assertEquals(3, index.getByLifeCycle(ServiceLifeCycle.RUNNING).size());
+    Assert.assertTrue(index.getByLifeCycle(ServiceLifeCycle.PREPARED).isEmpty());
+
+    Assert.assertNotNull(index.remove(lobby1));
+    Assert.assertNull(index.getByName("Lobby-1"));
+    Assert.assertEquals(1, index.getByTask("Lobby").size());
+    Assert.assertEquals(0, index.countByGroup("Global-Server"));
+    Assert.assertTrue(index.getByGroup("Global-Server").isEmpty());
+
+    index.replaceAll(Arrays.asList(
+      snapshot(proxy, "Proxy", 1, ServiceEnvironmentType.BUNGEECORD, ServiceLifeCycle.RUNNING, "Proxy")));
+    Assert.assertEquals(1, index.size());
+    Assert.assertTrue(index.getByTask("Lobby").isEmpty());
+  }
+}
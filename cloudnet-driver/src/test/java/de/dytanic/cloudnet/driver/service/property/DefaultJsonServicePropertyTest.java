@@ -0,0 +1,103 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.dytanic.cloudnet.driver.service.property;
+
+import com.google.gson.reflect.TypeToken;
+import de.dytanic.cloudnet.driver.network.HostAndPort;
+import de.dytanic.cloudnet.driver.service.ProcessConfiguration;
+import de.dytanic.cloudnet.driver.service.ProcessSnapshot;
+import de.dytanic.cloudnet.driver.service.ServiceConfiguration;
+import de.dytanic.cloudnet.driver.service.ServiceDeployment;
+import de.dytanic.cloudnet.driver.service.ServiceEnvironmentType;
+import de.dytanic.cloudnet.driver.service.ServiceId;
+import de.dytanic.cloudnet.driver.service.ServiceInfoSnapshot;
+import de.dytanic.cloudnet.driver.service.ServiceLifeCycle;
+import de.dytanic.cloudnet.driver.service.ServiceRemoteInclusion;
+import de.dytanic.cloudnet.driver.service.ServiceTemplate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.UUID;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DefaultJsonServicePropertyTest {
+
+  private static final ServiceProperty<Integer> ONLINE_COUNT = DefaultJsonServiceProperty
+    .createFromClass("Online-Count", Integer.class);
+  private static final ServiceProperty<String> MOTD = DefaultJsonServiceProperty
+    .createFromClass("Motd", String.class);
+  private static final ServiceProperty<Collection<String>> PLUGINS = DefaultJsonServiceProperty
+    .createFromType("Plugins", new TypeToken<Collection<String>>() {
+    }.getType());
+
+  private static ServiceInfoSnapshot snapshot() {
+    return new ServiceInfoSnapshot(
+      System.currentTimeMillis(),
+      new HostAndPort("127.0.0.1", 25565),
+      -1,
+      ServiceLifeCycle.RUNNING,
+      ProcessSnapshot.empty(),
+      new ServiceConfiguration(
+        new ServiceId(UUID.randomUUID(), "Node-1", "Lobby", 1, ServiceEnvironmentType.MINECRAFT_SERVER),
+        "jvm",
+        true,
+        false,
+        new String[0],
+        new ServiceRemoteInclusion[0],
+        new ServiceTemplate[0],
+        new ServiceDeployment[0],
+        new ProcessConfiguration(ServiceEnvironmentType.MINECRAFT_SERVER, 512, Arrays.asList("j", "v", "m")),
+        25565
+      )
+    );
+  }
+
+  @Test
+  public void testMemoizedProperties() {
+    ServiceInfoSnapshot snapshot = snapshot();
+
+    Assert.assertFalse(snapshot.getProperty(MOTD).isPresent());
+    Assert.assertEquals(-1, snapshot.getIntProperty(ONLINE_COUNT, -1));
+
+    snapshot.getProperties().append("Motd", "Hello world").append("Online-Count", 1000);
+
+    String motd = snapshot.getProperty(MOTD).orElse(null);
+    Assert.assertEquals("Hello world", motd);
+    Assert.assertSame(motd, snapshot.getProperty(MOTD).orElse(null));
+    Assert.assertSame(snapshot.getProperty(ONLINE_COUNT).orElse(null), snapshot.getProperty(ONLINE_COUNT).orElse(null));
+    Assert.assertEquals(1000, snapshot.getIntProperty(ONLINE_COUNT, -1));
+
+    // changing a property invalidates the cached value
+    snapshot.getProperties().append("Online-Count", 1001);
+    Assert.assertEquals(1001, snapshot.getIntProperty(ONLINE_COUNT, -1));
+    snapshot.getProperties().remove("Online-Count");
+    Assert.assertEquals(-1, snapshot.getIntProperty(ONLINE_COUNT, -1));
+  }
+
+  @Test
+  public void testMutableValuesAreNotShared() {
+    ServiceInfoSnapshot snapshot = snapshot();
+    snapshot.getProperties().append("Plugins", Arrays.asList("a", "b"));
+
+    Collection<String> plugins = snapshot.getProperty(PLUGINS).orElse(null);
+    Assert.assertNotNull(plugins);
+    Assert.assertEquals(2, plugins.size());
+
+    plugins.clear();
+    Assert.assertEquals(2, snapshot.getProperty(PLUGINS).map(Collection::size).orElse(0).intValue());
+  }
+}
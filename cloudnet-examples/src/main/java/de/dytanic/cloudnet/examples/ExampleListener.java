@@ -66,7 +66,10 @@ public void handleServiceConnected(CloudServiceConnectNetworkEvent event) {
     processSnapshot.getNoHeapUsageMemory();
     processSnapshot.getHeapUsageMemory();
     processSnapshot.getMaxHeapMemory();
+    processSnapshot.getThreadCount();
+    processSnapshot.getThreadStates();
 
+    // the list of all threads is only available in snapshots created with ProcessSnapshot.self(true)
     for (ThreadSnapshot threadSnapshot : processSnapshot.getThreads()) {
       threadSnapshot.getName();
       threadSnapshot.isDaemon();
@@ -57,7 +57,7 @@ public static String getVersion(ServiceInfoSnapshot serviceInfoSnapshot) {
    */
   @Deprecated
   public static int getOnlineCount(ServiceInfoSnapshot serviceInfoSnapshot) {
-    return serviceInfoSnapshot.getProperty(BridgeServiceProperty.ONLINE_COUNT).orElse(0);
+    return serviceInfoSnapshot.getIntProperty(BridgeServiceProperty.ONLINE_COUNT, 0);
   }
 
   /**
@@ -66,7 +66,7 @@ public static int getOnlineCount(ServiceInfoSnapshot serviceInfoSnapshot) {
    */
   @Deprecated
   public static int getMaxPlayers(ServiceInfoSnapshot serviceInfoSnapshot) {
-    return serviceInfoSnapshot.getProperty(BridgeServiceProperty.MAX_PLAYERS).orElse(0);
+    return serviceInfoSnapshot.getIntProperty(BridgeServiceProperty.MAX_PLAYERS, 0);
   }
 
   /**
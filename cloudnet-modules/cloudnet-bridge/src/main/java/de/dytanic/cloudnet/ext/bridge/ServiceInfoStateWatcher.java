@@ -52,6 +52,25 @@ public void includeExistingServices() {
 
   protected abstract boolean shouldShowFullServices();
 
+  /**
+   * Called whenever the state of a watched service was put into {@link #services}, before {@link #handleUpdate()} is
+   * fired. Implementations can use this to keep their own indexes of the watched services current.
+   *
+   * @param serviceInfoSnapshot the updated service
+   * @param serviceInfoState    the new state of the service
+   */
+  protected void handleServiceUpdate(@NotNull ServiceInfoSnapshot serviceInfoSnapshot,
+    @NotNull ServiceInfoState serviceInfoState) {
+  }
+
+  /**
+   * Called whenever a watched service was removed from {@link #services}, before {@link #handleUpdate()} is fired.
+   *
+   * @param serviceInfoSnapshot the removed service
+   */
+  protected void handleServiceRemove(@NotNull ServiceInfoSnapshot serviceInfoSnapshot) {
+  }
+
   private void putService(ServiceInfoSnapshot serviceInfoSnapshot, ServiceInfoState serviceInfoState) {
     this.putService(serviceInfoSnapshot, serviceInfoState, true);
   }
@@ -64,6 +83,7 @@ private void putService(ServiceInfoSnapshot serviceInfoSnapshot, ServiceInfoStat
 
     this.services
       .put(serviceInfoSnapshot.getServiceId().getUniqueId(), new Pair<>(serviceInfoSnapshot, serviceInfoState));
+    this.handleServiceUpdate(serviceInfoSnapshot, serviceInfoState);
 
     if (fireUpdate) {
       this.handleUpdate();
@@ -106,6 +126,7 @@ public void handle(CloudServiceUnregisterEvent event) {
     }
 
     this.services.remove(serviceInfoSnapshot.getServiceId().getUniqueId());
+    this.handleServiceRemove(serviceInfoSnapshot);
     this.handleUpdate();
   }
 
@@ -162,7 +183,7 @@ protected String replaceServiceInfo(@NotNull String input, @Nullable String grou
     input = input.replace("%port%", String.valueOf(serviceInfoSnapshot.getConfiguration().getPort()));
     input = input.replace("%cpu_usage%",
       CPUUsageResolver.CPU_USAGE_OUTPUT_FORMAT.format(serviceInfoSnapshot.getProcessSnapshot().getCpuUsage()));
-    input = input.replace("%threads%", String.valueOf(serviceInfoSnapshot.getProcessSnapshot().getThreads().size()));
+    input = input.replace("%threads%", String.valueOf(serviceInfoSnapshot.getProcessSnapshot().getThreadCount()));
 
     input = input.replace("%online%",
       (serviceInfoSnapshot.getProperties().contains("Online") && serviceInfoSnapshot.getProperties()
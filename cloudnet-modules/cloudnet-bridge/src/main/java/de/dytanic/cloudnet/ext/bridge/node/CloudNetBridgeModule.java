@@ -87,6 +87,10 @@ public void writeConfiguration(BridgeConfiguration bridgeConfiguration) {
 
   @ModuleTask(order = 36, event = ModuleLifeCycle.STARTED)
   public void initNodePlayerManager() {
+    // offline players are looked up by their name, see NodePlayerManager#getOfflinePlayers(String)
+    // filling the index of a large player database must not block the startup, lookups scan until it is done
+    this.nodePlayerManager.getDatabase().createIndexAsync("name").fireExceptionOnFailure();
+
     super.getCloudNet().getServicesRegistry()
       .registerService(IPlayerManager.class, "NodePlayerManager", this.nodePlayerManager);
 
@@ -20,6 +20,7 @@
 import static de.dytanic.cloudnet.command.sub.SubCommandArgumentTypes.dynamicString;
 import static de.dytanic.cloudnet.command.sub.SubCommandArgumentTypes.exactStringIgnoreCase;
 
+import com.google.common.collect.Iterators;
 import com.google.common.primitives.Longs;
 import de.dytanic.cloudnet.CloudNet;
 import de.dytanic.cloudnet.command.ICommandSender;
@@ -29,9 +30,10 @@
 import de.dytanic.cloudnet.driver.service.ServiceInfoSnapshot;
 import de.dytanic.cloudnet.driver.util.ColumnTextFormatter;
 import de.dytanic.cloudnet.driver.util.PrefixedMessageMapper;
+import de.dytanic.cloudnet.ext.bridge.node.player.NodePlayerManager;
+import de.dytanic.cloudnet.ext.bridge.player.CloudOfflinePlayer;
 import de.dytanic.cloudnet.ext.bridge.player.ICloudOfflinePlayer;
 import de.dytanic.cloudnet.ext.bridge.player.ICloudPlayer;
-import de.dytanic.cloudnet.ext.bridge.player.IPlayerManager;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
@@ -39,16 +41,19 @@
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
+import java.util.Iterator;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public final class CommandPlayers extends SubCommandHandler {
 
   private static final long MAX_REGISTERED_PLAYERS_FOR_COMPLETION = 50;
   private static final long MAX_ONLINE_PLAYERS_FOR_COMPLETION = 50;
+  private static final int REGISTERED_PAGE_SIZE = 100;
   private static final DateFormat DATE_FORMAT = new SimpleDateFormat("dd.MM.yyyy HH:mm:ss");
 
-  public CommandPlayers(IPlayerManager playerManager) {
+  public CommandPlayers(NodePlayerManager playerManager) {
     super(
       SubCommandBuilder.create()
 
@@ -133,12 +138,17 @@ public CommandPlayers(IPlayerManager playerManager) {
               return;
             }
 
-            String[] messages = ColumnTextFormatter.mapToEqual(playerManager.getRegisteredPlayers(), ' ',
-              new PrefixedMessageMapper<>("- ", player -> player.getUniqueId() + " (" + player.getName() + ")"),
-              new PrefixedMessageMapper<>(" | Last login: ",
-                player -> DATE_FORMAT.format(new Date(player.getLastLoginTimeMillis())))
-            );
-            sender.sendMessage(messages);
+            try (Stream<CloudOfflinePlayer> stream = playerManager.streamRegisteredPlayers()) {
+              Iterator<List<CloudOfflinePlayer>> pages = Iterators.partition(stream.iterator(), REGISTERED_PAGE_SIZE);
+              while (pages.hasNext()) {
+                String[] messages = ColumnTextFormatter.mapToEqual(pages.next(), ' ',
+                  new PrefixedMessageMapper<>("- ", player -> player.getUniqueId() + " (" + player.getName() + ")"),
+                  new PrefixedMessageMapper<>(" | Last login: ",
+                    player -> DATE_FORMAT.format(new Date(player.getLastLoginTimeMillis())))
+                );
+                sender.sendMessage(messages);
+              }
+            }
           },
           subCommand -> subCommand.enableProperties().appendUsage("| --force"),
           anyStringIgnoreCase("registered", "all")
@@ -164,9 +174,7 @@ public CommandPlayers(IPlayerManager playerManager) {
             LanguageManager.getMessage("module-bridge-command-players-player-not-registered"),
             name -> !playerManager.getOfflinePlayers(name).isEmpty(),
             () -> playerManager.getRegisteredCount() <= MAX_REGISTERED_PLAYERS_FOR_COMPLETION ?
-              playerManager.getRegisteredPlayers().stream()
-                .map(ICloudOfflinePlayer::getName)
-                .collect(Collectors.toList()) :
+              registeredNames(playerManager) :
               null
           )
         )
@@ -187,9 +195,7 @@ public CommandPlayers(IPlayerManager playerManager) {
             LanguageManager.getMessage("module-bridge-command-players-player-not-registered"),
             name -> !playerManager.getOfflinePlayers(name).isEmpty(),
             () -> playerManager.getRegisteredCount() <= MAX_REGISTERED_PLAYERS_FOR_COMPLETION ?
-              playerManager.getRegisteredPlayers().stream()
-                .map(ICloudOfflinePlayer::getName)
-                .collect(Collectors.toList()) :
+              registeredNames(playerManager) :
               null
           ),
           anyStringIgnoreCase("delete", "del")
@@ -276,6 +282,12 @@ public CommandPlayers(IPlayerManager playerManager) {
     this.description = LanguageManager.getMessage("module-bridge-command-players-description");
   }
 
+  private static List<String> registeredNames(NodePlayerManager playerManager) {
+    try (Stream<CloudOfflinePlayer> stream = playerManager.streamRegisteredPlayers()) {
+      return stream.map(ICloudOfflinePlayer::getName).collect(Collectors.toList());
+    }
+  }
+
   private static void displayPlayer(ICommandSender sender, ICloudOfflinePlayer cloudOfflinePlayer) {
     if (cloudOfflinePlayer == null) {
       return;
@@ -26,8 +26,8 @@ public class BridgeServiceListCommandListener {
   public void handleCommand(ServiceListCommandEvent event) {
     event.addParameter(
       serviceInfoSnapshot -> serviceInfoSnapshot.getProperty(BridgeServiceProperty.IS_ONLINE).orElse(false) ?
-        "Players: " + serviceInfoSnapshot.getProperty(BridgeServiceProperty.ONLINE_COUNT).orElse(0) + "/"
-          + serviceInfoSnapshot.getProperty(BridgeServiceProperty.MAX_PLAYERS).orElse(0) :
+        "Players: " + serviceInfoSnapshot.getIntProperty(BridgeServiceProperty.ONLINE_COUNT, 0) + "/"
+          + serviceInfoSnapshot.getIntProperty(BridgeServiceProperty.MAX_PLAYERS, 0) :
         null);
     event.addParameter(
       serviceInfoSnapshot -> serviceInfoSnapshot.getProperty(BridgeServiceProperty.IS_IN_GAME).orElse(false) ? "Ingame"
@@ -34,7 +34,9 @@
 import de.dytanic.cloudnet.ext.bridge.player.ICloudOfflinePlayer;
 import de.dytanic.cloudnet.ext.bridge.player.ICloudPlayer;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public final class PlayerManagerListener {
 
@@ -226,7 +228,17 @@ public void handleQuery(ChannelMessageReceiveEvent event) {
       }
       break;
       case "get_offline_players": {
-        event.createBinaryResponse().writeObjectCollection(this.nodePlayerManager.getRegisteredPlayers());
+        // same wire format as writeObjectCollection, but without collecting the whole table first
+        ProtocolBuffer players = ProtocolBuffer.create();
+        try (Stream<CloudOfflinePlayer> stream = this.nodePlayerManager.streamRegisteredPlayers()) {
+          int count = 0;
+          for (Iterator<CloudOfflinePlayer> iterator = stream.iterator(); iterator.hasNext(); count++) {
+            players.writeObject(iterator.next());
+          }
+          event.createBinaryResponse().writeVarInt(count).writeBytes(players);
+        } finally {
+          players.release();
+        }
       }
       break;
       default:
@@ -54,6 +54,7 @@
 import java.util.concurrent.locks.Lock;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -204,11 +205,19 @@ public ICloudOfflinePlayer getOfflinePlayer(@NotNull UUID uniqueId) {
 
   @Override
   public List<? extends ICloudOfflinePlayer> getRegisteredPlayers() {
-    List<CloudOfflinePlayer> cloudOfflinePlayers = new ArrayList<>();
-
-    this.getDatabase().iterate((s, jsonDocument) -> cloudOfflinePlayers.add(this.parseOfflinePlayer(jsonDocument)));
+    try (Stream<CloudOfflinePlayer> stream = this.streamRegisteredPlayers()) {
+      return stream.collect(Collectors.toList());
+    }
+  }
 
-    return cloudOfflinePlayers;
+  /**
+   * Streams all registered players directly from the database without loading the whole table into memory. The
+   * returned stream holds database resources and must be closed by the caller.
+   *
+   * @return a lazy stream of all registered players
+   */
+  public @NotNull Stream<CloudOfflinePlayer> streamRegisteredPlayers() {
+    return this.getDatabase().stream().map(entry -> this.parseOfflinePlayer(entry.getValue()));
   }
 
   private CloudOfflinePlayer parseOfflinePlayer(JsonDocument jsonDocument) {
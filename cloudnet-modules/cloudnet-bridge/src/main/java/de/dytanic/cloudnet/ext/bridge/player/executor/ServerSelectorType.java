@@ -23,10 +23,10 @@
 
 public enum ServerSelectorType {
 
-  HIGHEST_PLAYERS((o1, o2) -> Integer.compare(o1.getProperty(BridgeServiceProperty.ONLINE_COUNT).orElse(0),
-    o2.getProperty(BridgeServiceProperty.ONLINE_COUNT).orElse(0))),
-  LOWEST_PLAYERS((o1, o2) -> Integer.compare(o2.getProperty(BridgeServiceProperty.ONLINE_COUNT).orElse(0),
-    o1.getProperty(BridgeServiceProperty.ONLINE_COUNT).orElse(0))),
+  HIGHEST_PLAYERS((o1, o2) -> Integer.compare(o1.getIntProperty(BridgeServiceProperty.ONLINE_COUNT, 0),
+    o2.getIntProperty(BridgeServiceProperty.ONLINE_COUNT, 0))),
+  LOWEST_PLAYERS((o1, o2) -> Integer.compare(o2.getIntProperty(BridgeServiceProperty.ONLINE_COUNT, 0),
+    o1.getIntProperty(BridgeServiceProperty.ONLINE_COUNT, 0))),
   RANDOM(Comparator.comparingInt(value -> ThreadLocalRandom.current().nextInt(2) - 1));
 
   private final Comparator<ServiceInfoSnapshot> comparator;
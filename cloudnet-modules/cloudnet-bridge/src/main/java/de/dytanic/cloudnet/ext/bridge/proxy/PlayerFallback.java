@@ -41,7 +41,7 @@ public ServiceInfoSnapshot getTarget() {
 
 
   public int getOnlineCount() {
-    return this.targetServiceInfoSnapshot.getProperty(BridgeServiceProperty.ONLINE_COUNT).orElse(-1);
+    return this.targetServiceInfoSnapshot.getIntProperty(BridgeServiceProperty.ONLINE_COUNT, -1);
   }
 
   @Override
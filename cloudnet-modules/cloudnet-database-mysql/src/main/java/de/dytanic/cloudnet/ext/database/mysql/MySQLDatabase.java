@@ -17,6 +17,8 @@
 package de.dytanic.cloudnet.ext.database.mysql;
 
 import de.dytanic.cloudnet.database.sql.SQLDatabase;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.ExecutorService;
 
 public final class MySQLDatabase extends SQLDatabase {
@@ -25,6 +27,20 @@ public MySQLDatabase(MySQLDatabaseProvider databaseProvider, String name, Execut
     super(databaseProvider, name, executorService);
   }
 
+  @Override
+  protected String createUpsertQuery(List<String> columns) {
+    StringBuilder updates = new StringBuilder();
+    for (String column : columns.subList(1, columns.size())) {
+      if (updates.length() > 0) {
+        updates.append(',');
+      }
+      updates.append(column).append("=VALUES(").append(column).append(')');
+    }
+
+    return String.format("INSERT INTO `%s` (%s) VALUES (%s) ON DUPLICATE KEY UPDATE %s",
+      this.name, String.join(",", columns), String.join(", ", Collections.nCopies(columns.size(), "?")), updates);
+  }
+
   @Override
   public boolean isSynced() {
     return true;
@@ -57,7 +57,8 @@ public boolean init() {
     this.hikariDataSource.setJdbcUrl(
       "jdbc:mysql://" + endpoint.getAddress().getHost() + ":" + endpoint.getAddress().getPort() + "/" + endpoint
         .getDatabase() +
-        String.format("?useSSL=%b&trustServerCertificate=%b", endpoint.isUseSsl(), endpoint.isUseSsl())
+        String.format("?useSSL=%b&trustServerCertificate=%b&rewriteBatchedStatements=true", endpoint.isUseSsl(),
+          endpoint.isUseSsl())
     );
 
     //base configuration
@@ -159,7 +160,7 @@ public int executeUpdate(String query, Object... objects) {
       PreparedStatement preparedStatement = connection.prepareStatement(query)) {
       int i = 1;
       for (Object object : objects) {
-        preparedStatement.setString(i++, object.toString());
+        preparedStatement.setString(i++, object == null ? null : object.toString());
       }
 
       return preparedStatement.executeUpdate();
@@ -171,16 +172,66 @@ public int executeUpdate(String query, Object... objects) {
     return -1;
   }
 
+  @Override
+  public int[] executeBatch(String query, Collection<Object[]> parameters) {
+    Preconditions.checkNotNull(query);
+    Preconditions.checkNotNull(parameters);
+
+    if (parameters.isEmpty()) {
+      return new int[0];
+    }
+
+    try (Connection connection = this.getConnection();
+      PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+      connection.setAutoCommit(false);
+
+      try {
+        for (Object[] objects : parameters) {
+          int i = 1;
+          for (Object object : objects) {
+            preparedStatement.setString(i++, object == null ? null : object.toString());
+          }
+
+          preparedStatement.addBatch();
+        }
+
+        // the statements are rewritten into multi-row statements by the driver, the transaction makes the batch atomic
+        int[] result = preparedStatement.executeBatch();
+        connection.commit();
+
+        return result;
+      } catch (SQLException exception) {
+        connection.rollback();
+        throw exception;
+      } finally {
+        connection.setAutoCommit(true);
+      }
+
+    } catch (SQLException exception) {
+      exception.printStackTrace();
+    }
+
+    return null;
+  }
+
   public <T> T executeQuery(String query, IThrowableCallback<ResultSet, T> callback, Object... objects) {
+    return this.executeQuery(query, 0, callback, objects);
+  }
+
+  @Override
+  public <T> T executeQuery(String query, int fetchSize, IThrowableCallback<ResultSet, T> callback,
+    Object... objects) {
     Preconditions.checkNotNull(query);
     Preconditions.checkNotNull(callback);
     Preconditions.checkNotNull(objects);
 
     try (Connection connection = this.getConnection();
       PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+      preparedStatement.setFetchSize(fetchSize);
+
       int i = 1;
       for (Object object : objects) {
-        preparedStatement.setString(i++, object.toString());
+        preparedStatement.setString(i++, object == null ? null : object.toString());
       }
 
       try (ResultSet resultSet = preparedStatement.executeQuery()) {
@@ -205,13 +205,13 @@ private void updateInventory(CloudNPC cloudNPC, List<Pair<ServiceInfoSnapshot, S
   private void updateInfoLine(CloudNPC cloudNPC, List<ServiceInfoSnapshot> services) {
     String onlinePlayers = String.valueOf(
       services.stream()
-        .mapToInt(serviceInfoSnapshot -> serviceInfoSnapshot.getProperty(BridgeServiceProperty.ONLINE_COUNT).orElse(0))
+        .mapToInt(serviceInfoSnapshot -> serviceInfoSnapshot.getIntProperty(BridgeServiceProperty.ONLINE_COUNT, 0))
         .sum()
     );
 
     String maxPlayers = String.valueOf(
       services.stream()
-        .mapToInt(serviceInfoSnapshot -> serviceInfoSnapshot.getProperty(BridgeServiceProperty.MAX_PLAYERS).orElse(0))
+        .mapToInt(serviceInfoSnapshot -> serviceInfoSnapshot.getIntProperty(BridgeServiceProperty.MAX_PLAYERS, 0))
         .sum()
     );
 
@@ -97,7 +97,7 @@ public void handleNPCInteract(PlayerNPCInteractEvent event) {
               case DIRECT_CONNECT_LOWEST_PLAYERS:
                 targetServiceName = services.stream()
                   .min(Comparator.comparingInt(
-                    service -> service.getProperty(BridgeServiceProperty.ONLINE_COUNT).orElse(0)
+                    service -> service.getIntProperty(BridgeServiceProperty.ONLINE_COUNT, 0)
                   ))
                   .map(ServiceInfoSnapshot::getName)
                   .orElse(null);
@@ -105,7 +105,7 @@ public void handleNPCInteract(PlayerNPCInteractEvent event) {
               case DIRECT_CONNECT_HIGHEST_PLAYERS:
                 targetServiceName = services.stream()
                   .max(Comparator.comparingInt(
-                    service -> service.getProperty(BridgeServiceProperty.ONLINE_COUNT).orElse(0)
+                    service -> service.getIntProperty(BridgeServiceProperty.ONLINE_COUNT, 0)
                   ))
                   .map(ServiceInfoSnapshot::getName)
                   .orElse(null);
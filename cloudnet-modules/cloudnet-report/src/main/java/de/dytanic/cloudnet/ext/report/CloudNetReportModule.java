@@ -36,8 +36,10 @@
 import de.dytanic.cloudnet.driver.module.ModuleRepository;
 import de.dytanic.cloudnet.driver.module.ModuleTask;
 import de.dytanic.cloudnet.driver.module.driver.DriverModule;
+import de.dytanic.cloudnet.driver.service.ProcessSnapshot;
 import de.dytanic.cloudnet.driver.service.ServiceInfoSnapshot;
 import de.dytanic.cloudnet.driver.service.ServiceTask;
+import de.dytanic.cloudnet.driver.service.ThreadSnapshot;
 import de.dytanic.cloudnet.ext.report.command.CommandPaste;
 import de.dytanic.cloudnet.ext.report.command.CommandReport;
 import de.dytanic.cloudnet.ext.report.listener.CloudNetReportListener;
@@ -257,7 +259,17 @@ public String createPasteContentNode(Properties properties) {
       .append(CloudNet.getInstance().getCurrentNetworkClusterNodeInfoSnapshot().getMaxMemory())
       .append("MB")
       .append('\n');
-    builder.append("Threads: ").append(Thread.getAllStackTraces().keySet().size()).append('\n');
+    // published snapshots only contain the amount of threads, the report collects the complete list
+    ProcessSnapshot processSnapshot = ProcessSnapshot.self(true);
+    builder.append("Threads: ").append(processSnapshot.getThreadCount()).append('\n');
+    for (ThreadSnapshot threadSnapshot : processSnapshot.getThreads()) {
+      builder.append("  #").append(threadSnapshot.getId())
+        .append(" \"").append(threadSnapshot.getName()).append("\" ")
+        .append(threadSnapshot.getThreadState())
+        .append(" priority=").append(threadSnapshot.getPriority())
+        .append(threadSnapshot.isDaemon() ? " daemon" : "")
+        .append('\n');
+    }
     builder.append("Heap usage: ")
       .append(memoryMXBean.getHeapMemoryUsage().getUsed() / 1048576)
       .append("/")
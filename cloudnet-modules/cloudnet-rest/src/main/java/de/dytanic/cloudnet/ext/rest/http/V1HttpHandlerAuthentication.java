@@ -41,7 +41,6 @@ public void handle(String path, IHttpContext context) throws Exception {
           .statusCode(HttpResponseCode.HTTP_MOVED_TEMP)
           .header("Location", context.request().queryParameters().get("redirect").iterator().next())
           .context()
-          .closeAfter(true)
           .cancelNext();
       } else {
         context
@@ -51,7 +50,6 @@ public void handle(String path, IHttpContext context) throws Exception {
           .body(new JsonDocument("success", true).append("userUniqueId", HTTP_SESSION.getUser(context).getUniqueId())
             .toByteArray())
           .context()
-          .closeAfter(true)
           .cancelNext();
       }
     } else {
@@ -60,7 +58,6 @@ public void handle(String path, IHttpContext context) throws Exception {
         .statusCode(HttpResponseCode.HTTP_UNAUTHORIZED)
         .header("WWW-Authenticate", "Basic realm=\"CloudNet-REST-v1\"")
         .context()
-        .closeAfter(true)
         .cancelNext();
     }
 
@@ -49,7 +49,6 @@ public void handleGet(String path, IHttpContext context) {
               .append("nodeInfoSnapshot", nodeServer.getNodeInfoSnapshot()))
             .collect(Collectors.toList())))
         .context()
-        .closeAfter(true)
         .cancelNext()
       ;
     } else {
@@ -67,7 +66,6 @@ public void handleGet(String path, IHttpContext context) {
               .append("nodeInfoSnapshot", nodeServer.getNodeInfoSnapshot()))
             .collect(Collectors.toList())))
         .context()
-        .closeAfter(true)
         .cancelNext()
       ;
     }
@@ -56,13 +56,12 @@ public void handlePost(String path, IHttpContext context) {
           .body(new JsonDocument("receivedMessages", commandSender.getWrittenMessages().toArray(new String[0]))
             .toByteArray())
           .context()
-          .closeAfter(true)
           .cancelNext()
         ;
         return;
       }
     }
 
-    this.send400Response(context, "userUniqueId not found or command not exists").closeAfter(true).cancelNext();
+    this.send400Response(context, "userUniqueId not found or command not exists").cancelNext();
   }
 }
@@ -70,7 +70,6 @@ public void handleGet(String path, IHttpContext context) {
         .response()
         .body(GSON.toJson(database.get(new JsonDocument(queryFilters))))
         .context()
-        .closeAfter(true)
         .cancelNext();
     }
   }
@@ -84,7 +83,6 @@ public void handlePost(String path, IHttpContext context) {
       .header("Content-Type", "application/json")
       .statusCode(HttpResponseCode.HTTP_OK)
       .context()
-      .closeAfter(true)
       .cancelNext();
 
     if (context.request().pathParameters().containsKey("key")) {
@@ -116,7 +114,6 @@ public void handleDelete(String path, IHttpContext context) {
       .header("Content-Type", "application/json")
       .statusCode(HttpResponseCode.HTTP_OK)
       .context()
-      .closeAfter(true)
       .cancelNext();
 
     if (context.request().pathParameters().containsKey("key")) {
@@ -55,7 +55,6 @@ public void handleGet(String path, IHttpContext context) {
               .contains(context.request().pathParameters().get("name")))
             .findFirst().orElse(null))).toByteArray())
         .context()
-        .closeAfter(true)
         .cancelNext()
       ;
     } else {
@@ -69,7 +68,6 @@ public void handleGet(String path, IHttpContext context) {
               groupConfiguration.getName()))
           .collect(Collectors.toList())))
         .context()
-        .closeAfter(true)
         .cancelNext()
       ;
     }
@@ -56,7 +56,6 @@ public void handleGet(String path, IHttpContext context) {
                 "attachment; filename=\"" + serviceTemplate.getPrefix() + "." + serviceTemplate.getName() + ".zip\"")
               .body(ByteStreams.toByteArray(stream))
               .context()
-              .closeAfter(true)
               .cancelNext();
             return;
           }
@@ -69,7 +68,6 @@ public void handleGet(String path, IHttpContext context) {
         .response()
         .statusCode(HttpResponseCode.HTTP_NOT_FOUND)
         .context()
-        .closeAfter(true)
         .cancelNext();
       return;
     }
@@ -80,7 +78,6 @@ public void handleGet(String path, IHttpContext context) {
       .header("Content-Type", "application/json")
       .body(GSON.toJson(CloudNetDriver.getInstance().getLocalTemplateStorage().getTemplates()))
       .context()
-      .closeAfter(true)
       .cancelNext();
   }
 
@@ -106,7 +103,6 @@ public void handleDelete(String path, IHttpContext context) {
         .response()
         .statusCode(HttpResponseCode.HTTP_OK)
         .context()
-        .closeAfter(true)
         .cancelNext()
       ;
 
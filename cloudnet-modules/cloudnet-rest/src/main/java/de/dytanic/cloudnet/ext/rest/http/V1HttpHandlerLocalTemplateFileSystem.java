@@ -74,7 +74,6 @@ public void handleGet(String path, IHttpContext context) throws IOException {
           .header("Content-Type", "application/json")
           .body(GSON.toJson(files))
           .context()
-          .closeAfter(true)
           .cancelNext();
       } else {
         context
@@ -84,7 +83,6 @@ public void handleGet(String path, IHttpContext context) throws IOException {
           .header("Content-Disposition", "attachment; filename=\"" + info.getName() + "\"")
           .body(FileUtils.toByteArray(serviceTemplate.storage().newInputStream(this.parsePath(path))))
           .context()
-          .closeAfter(true)
           .cancelNext();
       }
 
@@ -112,7 +110,6 @@ public void handlePost(String path, IHttpContext context) throws IOException {
         .header("Content-Type", "application/json")
         .body(new JsonDocument("success", true).toByteArray())
         .context()
-        .closeAfter(true)
         .cancelNext();
 
     } else {
@@ -145,7 +142,6 @@ public void handleDelete(String path, IHttpContext context) throws IOException {
         .header("Content-Type", "application/json")
         .body(new JsonDocument("success", true).toByteArray())
         .context()
-        .closeAfter(true)
         .cancelNext();
 
     } else {
@@ -172,7 +168,6 @@ private void send404Response(IHttpContext context, String reason) {
       .header("Content-Type", "application/json")
       .body(new JsonDocument("reason", reason).toByteArray())
       .context()
-      .closeAfter(true)
       .cancelNext()
     ;
   }
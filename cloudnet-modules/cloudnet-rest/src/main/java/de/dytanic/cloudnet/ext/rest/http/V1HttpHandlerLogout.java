@@ -45,7 +45,6 @@ public void handle(String path, IHttpContext context) throws Exception {
       .response()
       .statusCode(HttpResponseCode.HTTP_OK)
       .context()
-      .closeAfter(true)
       .cancelNext();
   }
 }
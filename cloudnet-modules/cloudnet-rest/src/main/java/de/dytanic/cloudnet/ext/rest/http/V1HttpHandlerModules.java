@@ -71,7 +71,6 @@ public void handleGet(String path, IHttpContext context) {
                 moduleConfiguration.getVersion());
           }).collect(Collectors.toList())))
         .context()
-        .closeAfter(true)
         .cancelNext()
       ;
     }
@@ -39,7 +39,6 @@ public void handleGet(String path, IHttpContext context) {
       .body(new JsonDocument("success", true).toByteArray())
       .statusCode(200)
       .context()
-      .closeAfter(true)
       .cancelNext();
   }
 }
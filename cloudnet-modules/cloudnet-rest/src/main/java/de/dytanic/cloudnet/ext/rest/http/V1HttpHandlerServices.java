@@ -57,7 +57,6 @@ public void handleGet(String path, IHttpContext context) {
           .response()
           .statusCode(HttpResponseCode.HTTP_NOT_FOUND)
           .context()
-          .closeAfter(true)
           .cancelNext()
         ;
 
@@ -147,7 +146,6 @@ public void handleGet(String path, IHttpContext context) {
       }
 
       context
-        .closeAfter(true)
         .cancelNext()
       ;
       return;
@@ -175,7 +173,6 @@ public void handleGet(String path, IHttpContext context) {
         }).collect(Collectors.toList())))
       .statusCode(200)
       .context()
-      .closeAfter(true)
       .cancelNext()
     ;
   }
@@ -35,7 +35,6 @@ public void handleGet(String path, IHttpContext context) throws Exception {
           .header("Content-Type", "text/plain")
           .body(FileUtils.toByteArray(inputStream))
           .context()
-          .closeAfter(true)
           .cancelNext()
         ;
       }
@@ -62,7 +62,6 @@ public void handleGet(String path, IHttpContext context) {
       )
       .statusCode(200)
       .context()
-      .closeAfter(true)
       .cancelNext()
     ;
   }
@@ -56,7 +56,6 @@ public void handleGet(String path, IHttpContext context) {
               .contains(context.request().pathParameters().get("name")))
             .findFirst().orElse(null)).toByteArray())
         .context()
-        .closeAfter(true)
         .cancelNext()
       ;
     } else {
@@ -70,7 +69,6 @@ public void handleGet(String path, IHttpContext context) {
               serviceTask.getName()))
           .collect(Collectors.toList())))
         .context()
-        .closeAfter(true)
         .cancelNext()
       ;
     }
@@ -105,7 +103,6 @@ public void handlePost(String path, IHttpContext context) {
       .response()
       .statusCode(status)
       .context()
-      .closeAfter(true)
       .cancelNext();
   }
 
@@ -126,7 +123,6 @@ public void handleDelete(String path, IHttpContext context) {
       .response()
       .statusCode(HttpResponseCode.HTTP_OK)
       .context()
-      .closeAfter(true)
       .cancelNext();
   }
 }
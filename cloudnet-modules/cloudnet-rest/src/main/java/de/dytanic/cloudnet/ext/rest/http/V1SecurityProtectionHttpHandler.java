@@ -38,7 +38,6 @@ public void handle(String path, IHttpContext context) throws Exception {
         .statusCode(HttpResponseCode.HTTP_MOVED_TEMP)
         .header("Location", "/api/v1/auth?redirect=" + context.request().uri())
         .context()
-        .closeAfter(true)
         .cancelNext();
     }
   }
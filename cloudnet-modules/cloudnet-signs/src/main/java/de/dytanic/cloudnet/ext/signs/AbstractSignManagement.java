@@ -24,22 +24,26 @@
 import de.dytanic.cloudnet.driver.event.events.channel.ChannelMessageReceiveEvent;
 import de.dytanic.cloudnet.driver.service.ServiceEnvironmentType;
 import de.dytanic.cloudnet.driver.service.ServiceInfoSnapshot;
-import de.dytanic.cloudnet.driver.service.ServiceTemplate;
 import de.dytanic.cloudnet.ext.bridge.ServiceInfoStateWatcher;
 import de.dytanic.cloudnet.ext.signs.configuration.SignConfiguration;
 import de.dytanic.cloudnet.ext.signs.configuration.SignConfigurationProvider;
 import de.dytanic.cloudnet.ext.signs.configuration.entry.SignConfigurationEntry;
 import de.dytanic.cloudnet.ext.signs.configuration.entry.SignConfigurationTaskEntry;
+import de.dytanic.cloudnet.ext.signs.configuration.entry.SignLayoutConfiguration;
 import de.dytanic.cloudnet.wrapper.Wrapper;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import org.jetbrains.annotations.NotNull;
@@ -49,8 +53,6 @@ public abstract class AbstractSignManagement extends ServiceInfoStateWatcher {
 
   private static final Comparator<Pair<ServiceInfoSnapshot, ServiceInfoStateWatcher.ServiceInfoState>> ENTRY_NAME_COMPARATOR
     = Comparator.comparing(entry -> entry.getFirst().getName());
-  private static final Comparator<Pair<ServiceInfoSnapshot, ServiceInfoStateWatcher.ServiceInfoState>> ENTRY_STATE_COMPARATOR
-    = Comparator.comparingInt(entry -> entry.getSecond().getPriority());
 
   protected final Set<Sign> signs;
   private final AtomicInteger[] indexes = new AtomicInteger[]{
@@ -58,6 +60,16 @@ public abstract class AbstractSignManagement extends ServiceInfoStateWatcher {
     new AtomicInteger(-1) //search
   };
 
+  private final SignServiceBuckets serviceBuckets = new SignServiceBuckets();
+
+  // what was last sent to updateSignNext for each sign, used to skip repaints which wouldn't change anything
+  private final Map<Sign, RenderedSign> renderedSigns = new ConcurrentHashMap<>();
+  private final AtomicBoolean signUpdateScheduled = new AtomicBoolean();
+  private final Object renderLock = new Object();
+
+  private volatile SignConfiguration cachedSignConfiguration;
+  private volatile SignConfigurationEntry cachedSignConfigurationEntry;
+
   public AbstractSignManagement() {
     Collection<Sign> signsFromNode = this.getSignsFromNode();
     this.signs = signsFromNode == null ? new HashSet<>() : signsFromNode.stream()
@@ -95,7 +107,23 @@ protected abstract void updateSignNext(@NotNull Sign sign, @NotNull SignLayout s
 
   @Override
   protected void handleUpdate() {
-    this.updateSigns();
+    this.scheduleSignUpdate();
+  }
+
+  @Override
+  protected void handleServiceUpdate(@NotNull ServiceInfoSnapshot serviceInfoSnapshot,
+    @NotNull ServiceInfoStateWatcher.ServiceInfoState serviceInfoState) {
+    if (serviceInfoState == ServiceInfoStateWatcher.ServiceInfoState.STOPPED) {
+      this.handleServiceRemove(serviceInfoSnapshot);
+      return;
+    }
+
+    this.serviceBuckets.put(serviceInfoSnapshot, serviceInfoState);
+  }
+
+  @Override
+  protected void handleServiceRemove(@NotNull ServiceInfoSnapshot serviceInfoSnapshot) {
+    this.serviceBuckets.remove(serviceInfoSnapshot.getServiceId().getUniqueId());
   }
 
   @Override
@@ -127,6 +155,10 @@ public void handle(ChannelMessageReceiveEvent event) {
       case SignConstants.SIGN_CHANNEL_UPDATE_SIGN_CONFIGURATION: {
         SignConfiguration signConfiguration = event.getData().get("signConfiguration", SignConfiguration.TYPE);
         SignConfigurationProvider.setLocal(signConfiguration);
+
+        // the layouts may have changed, every sign has to be painted again
+        this.renderedSigns.clear();
+        this.scheduleSignUpdate();
       }
       break;
       case SignConstants.SIGN_CHANNEL_ADD_SIGN_MESSAGE: {
@@ -159,7 +191,8 @@ public void handle(ChannelMessageReceiveEvent event) {
   public boolean addSign(@NotNull Sign sign) {
     if (Arrays.asList(Wrapper.getInstance().getServiceConfiguration().getGroups()).contains(sign.getProvidedGroup())) {
       this.signs.add(sign);
-      CloudNetDriver.getInstance().getTaskExecutor().execute(this::updateSigns);
+      this.renderedSigns.remove(sign);
+      this.scheduleSignUpdate();
       return true;
     }
     return false;
@@ -173,70 +206,83 @@ public boolean addSign(@NotNull Sign sign) {
   public void removeSign(@NotNull Sign sign) {
     this.signs.stream()
       .filter(filterSign -> filterSign.getSignId() == sign.getSignId())
-      .findFirst().ifPresent(signEntry -> this.signs.remove(signEntry));
+      .findFirst().ifPresent(signEntry -> {
+        this.signs.remove(signEntry);
+        this.renderedSigns.remove(signEntry);
+      });
+
+    this.scheduleSignUpdate();
+  }
 
-    CloudNetDriver.getInstance().getTaskExecutor().execute(this::updateSigns);
+  /**
+   * Schedules a reassignment of all signs, multiple calls before the reassignment ran are coalesced into one
+   */
+  protected void scheduleSignUpdate() {
+    if (this.signUpdateScheduled.compareAndSet(false, true)) {
+      CloudNetDriver.getInstance().getTaskExecutor().execute(this::updateSigns);
+    }
   }
 
+  /**
+   * Assigns the watched services to the signs and repaints every sign whose layout or service has changed
+   */
   public void updateSigns() {
+    this.signUpdateScheduled.set(false);
+
     SignConfigurationEntry signConfiguration = this.getOwnSignConfigurationEntry();
     if (signConfiguration == null) {
       return;
     }
 
-    List<Sign> signs = new ArrayList<>(this.signs);
-    Collections.sort(signs);
+    synchronized (this.renderLock) {
+      List<Sign> signs = new ArrayList<>(this.signs);
+      Collections.sort(signs);
 
-    List<Pair<ServiceInfoSnapshot, ServiceInfoStateWatcher.ServiceInfoState>> entries = super.services.values().stream()
-      .filter(pair -> pair.getSecond() != ServiceInfoStateWatcher.ServiceInfoState.STOPPED)
-      .sorted(ENTRY_NAME_COMPARATOR)
-      .collect(Collectors.toList());
+      this.renderedSigns.keySet().retainAll(signs);
 
-    for (Sign sign : signs) {
-      this.updateSign(sign, signConfiguration, entries);
+      SignAssignment assignment = new SignAssignment();
+      for (Sign sign : signs) {
+        this.updateSign(sign, signConfiguration, assignment);
+      }
     }
   }
 
-  private void updateSign(Sign sign,
-    SignConfigurationEntry signConfiguration,
-    List<Pair<ServiceInfoSnapshot, ServiceInfoStateWatcher.ServiceInfoState>> entries) {
-
-    Optional<Pair<ServiceInfoSnapshot, ServiceInfoStateWatcher.ServiceInfoState>> optionalEntry = entries.stream()
-      .filter(entry -> {
-        boolean access = Arrays.asList(entry.getFirst().getConfiguration().getGroups()).contains(sign.getTargetGroup());
+  private void updateSign(Sign sign, SignConfigurationEntry signConfiguration, SignAssignment assignment) {
+    Pair<ServiceInfoSnapshot, ServiceInfoStateWatcher.ServiceInfoState> entry = null;
 
-        if (sign.getTemplatePath() != null) {
-          boolean condition = false;
-
-          for (ServiceTemplate template : entry.getFirst().getConfiguration().getTemplates()) {
-            if (sign.getTemplatePath().equals(template.getTemplatePath())) {
-              condition = true;
-              break;
-            }
-          }
-
-          access = condition;
-        }
-
-        return access;
-      })
-      .max(ENTRY_STATE_COMPARATOR);
+    for (Pair<ServiceInfoSnapshot, ServiceInfoStateWatcher.ServiceInfoState> candidate : this
+      .getCandidates(sign, assignment)) {
+      if (!assignment.assignedServices.contains(candidate.getFirst().getServiceId().getUniqueId())
+        && (entry == null || candidate.getSecond().getPriority() > entry.getSecond().getPriority())) {
+        entry = candidate;
+      }
+    }
 
-    if (optionalEntry.isPresent()) {
-      Pair<ServiceInfoSnapshot, ServiceInfoStateWatcher.ServiceInfoState> entry = optionalEntry.get();
+    if (entry != null) {
+      assignment.assignedServices.add(entry.getFirst().getServiceId().getUniqueId());
 
       sign.setServiceInfoSnapshot(entry.getFirst());
       this.applyState(sign, signConfiguration, entry.getFirst(), entry.getSecond());
-
-      entries.remove(entry);
     } else {
-      sign.setServiceInfoSnapshot(null);
+      this.applyState(sign, signConfiguration, null, ServiceInfoStateWatcher.ServiceInfoState.STOPPED);
+    }
+  }
 
-      if (!signConfiguration.getSearchLayouts().getSignLayouts().isEmpty()) {
-        this
-          .updateSignNext(sign, signConfiguration.getSearchLayouts().getSignLayouts().get(this.indexes[1].get()), null);
-      }
+  private List<Pair<ServiceInfoSnapshot, ServiceInfoStateWatcher.ServiceInfoState>> getCandidates(Sign sign,
+    SignAssignment assignment) {
+    boolean templateSign = sign.getTemplatePath() != null;
+    String key = templateSign ? sign.getTemplatePath() : sign.getTargetGroup();
+
+    if (key == null) {
+      return Collections.emptyList();
     }
+
+    return (templateSign ? assignment.templateCandidates : assignment.groupCandidates).computeIfAbsent(key, ignored -> {
+      List<Pair<ServiceInfoSnapshot, ServiceInfoStateWatcher.ServiceInfoState>> candidates = new ArrayList<>(
+        templateSign ? this.serviceBuckets.getTemplateBucket(key) : this.serviceBuckets.getGroupBucket(key));
+      candidates.sort(ENTRY_NAME_COMPARATOR);
+      return candidates;
+    });
   }
 
   private void applyState(Sign sign, SignConfigurationEntry signConfiguration, ServiceInfoSnapshot serviceInfoSnapshot,
@@ -245,19 +291,15 @@ private void applyState(Sign sign, SignConfigurationEntry signConfiguration, Ser
       case STOPPED: {
         sign.setServiceInfoSnapshot(null);
 
-        if (!signConfiguration.getSearchLayouts().getSignLayouts().isEmpty()) {
-          this.updateSignNext(sign, signConfiguration.getSearchLayouts().getSignLayouts().get(this.indexes[1].get()),
-            null);
-        }
+        this.renderSign(sign, this.getAnimationFrame(signConfiguration.getSearchLayouts(), this.indexes[1]), null,
+          state);
       }
       break;
       case STARTING: {
         sign.setServiceInfoSnapshot(null);
 
-        if (!signConfiguration.getStartingLayouts().getSignLayouts().isEmpty()) {
-          this.updateSignNext(sign, signConfiguration.getStartingLayouts().getSignLayouts().get(this.indexes[0].get()),
-            serviceInfoSnapshot);
-        }
+        this.renderSign(sign, this.getAnimationFrame(signConfiguration.getStartingLayouts(), this.indexes[0]),
+          serviceInfoSnapshot, state);
       }
       break;
       case EMPTY_ONLINE: {
@@ -274,7 +316,7 @@ private void applyState(Sign sign, SignConfigurationEntry signConfiguration, Ser
           signLayout = signConfiguration.getDefaultEmptyLayout();
         }
 
-        this.updateSignNext(sign, signLayout, serviceInfoSnapshot);
+        this.renderSign(sign, signLayout, serviceInfoSnapshot, state);
       }
       break;
       case ONLINE: {
@@ -291,7 +333,7 @@ private void applyState(Sign sign, SignConfigurationEntry signConfiguration, Ser
           signLayout = signConfiguration.getDefaultOnlineLayout();
         }
 
-        this.updateSignNext(sign, signLayout, serviceInfoSnapshot);
+        this.renderSign(sign, signLayout, serviceInfoSnapshot, state);
       }
       break;
       case FULL_ONLINE: {
@@ -308,7 +350,7 @@ private void applyState(Sign sign, SignConfigurationEntry signConfiguration, Ser
           signLayout = signConfiguration.getDefaultFullLayout();
         }
 
-        this.updateSignNext(sign, signLayout, serviceInfoSnapshot);
+        this.renderSign(sign, signLayout, serviceInfoSnapshot, state);
       }
       break;
       default:
@@ -316,6 +358,59 @@ private void applyState(Sign sign, SignConfigurationEntry signConfiguration, Ser
     }
   }
 
+  private void renderSign(Sign sign, SignLayout signLayout, ServiceInfoSnapshot serviceInfoSnapshot,
+    ServiceInfoStateWatcher.ServiceInfoState state) {
+    if (signLayout == null) {
+      this.renderedSigns.remove(sign);
+      return;
+    }
+
+    RenderedSign previous = this.renderedSigns.put(sign, new RenderedSign(signLayout, serviceInfoSnapshot, state));
+
+    // snapshots are replaced on every service update, so an identical snapshot means identical placeholders
+    if (previous == null || previous.signLayout != signLayout || previous.serviceInfoSnapshot != serviceInfoSnapshot) {
+      this.updateSignNext(sign, signLayout, serviceInfoSnapshot);
+    }
+  }
+
+  /**
+   * Repaints the signs which are currently showing an animation of the given state with the current frame
+   *
+   * @param state {@link ServiceInfoStateWatcher.ServiceInfoState#STARTING} for the starting animation or {@link
+   *              ServiceInfoStateWatcher.ServiceInfoState#STOPPED} for the searching animation
+   */
+  private void updateAnimatedSigns(ServiceInfoStateWatcher.ServiceInfoState state) {
+    SignConfigurationEntry signConfiguration = this.getOwnSignConfigurationEntry();
+    if (signConfiguration == null) {
+      return;
+    }
+
+    SignLayout signLayout = state == ServiceInfoStateWatcher.ServiceInfoState.STARTING
+      ? this.getAnimationFrame(signConfiguration.getStartingLayouts(), this.indexes[0])
+      : this.getAnimationFrame(signConfiguration.getSearchLayouts(), this.indexes[1]);
+    if (signLayout == null) {
+      return;
+    }
+
+    synchronized (this.renderLock) {
+      for (Map.Entry<Sign, RenderedSign> entry : this.renderedSigns.entrySet()) {
+        if (entry.getValue().state == state) {
+          this.renderSign(entry.getKey(), signLayout, entry.getValue().serviceInfoSnapshot, state);
+        }
+      }
+    }
+  }
+
+  @Nullable
+  private SignLayout getAnimationFrame(SignLayoutConfiguration layoutConfiguration, AtomicInteger index) {
+    if (layoutConfiguration == null || layoutConfiguration.getSignLayouts().isEmpty()) {
+      return null;
+    }
+
+    List<SignLayout> signLayouts = layoutConfiguration.getSignLayouts();
+    return signLayouts.get(Math.max(index.get(), 0) % signLayouts.size());
+  }
+
   private SignConfigurationTaskEntry getValidSignConfigurationTaskEntryFromSignConfigurationEntry(
     SignConfigurationEntry entry, String targetTask) {
     return entry.getTaskLayouts().stream()
@@ -329,11 +424,20 @@ private SignConfigurationTaskEntry getValidSignConfigurationTaskEntryFromSignCon
   }
 
   public SignConfigurationEntry getOwnSignConfigurationEntry() {
-    return SignConfigurationProvider.load().getConfigurations().stream()
-      .filter(signConfigurationEntry -> Arrays.asList(Wrapper.getInstance().getServiceConfiguration().getGroups())
-        .contains(signConfigurationEntry.getTargetGroup()))
-      .findFirst()
-      .orElse(null);
+    SignConfiguration signConfiguration = SignConfigurationProvider.load();
+
+    // the entry only has to be looked up again if the configuration was replaced
+    if (signConfiguration != this.cachedSignConfiguration) {
+      this.cachedSignConfigurationEntry = signConfiguration == null ? null : signConfiguration.getConfigurations()
+        .stream()
+        .filter(signConfigurationEntry -> Arrays.asList(Wrapper.getInstance().getServiceConfiguration().getGroups())
+          .contains(signConfigurationEntry.getTargetGroup()))
+        .findFirst()
+        .orElse(null);
+      this.cachedSignConfiguration = signConfiguration;
+    }
+
+    return this.cachedSignConfigurationEntry;
   }
 
 
@@ -421,7 +525,8 @@ protected void executeStartingTask() {
       this.runTaskLater(this::executeStartingTask, 20);
     }
 
-    CloudNetDriver.getInstance().getTaskExecutor().execute(this::updateSigns);
+    CloudNetDriver.getInstance().getTaskExecutor()
+      .execute(() -> this.updateAnimatedSigns(ServiceInfoStateWatcher.ServiceInfoState.STARTING));
   }
 
   protected void executeSearchingTask() {
@@ -449,7 +554,8 @@ protected void executeSearchingTask() {
       this.runTaskLater(this::executeSearchingTask, 20);
     }
 
-    CloudNetDriver.getInstance().getTaskExecutor().execute(this::updateSigns);
+    CloudNetDriver.getInstance().getTaskExecutor()
+      .execute(() -> this.updateAnimatedSigns(ServiceInfoStateWatcher.ServiceInfoState.STOPPED));
   }
 
   public AtomicInteger[] getIndexes() {
@@ -466,4 +572,27 @@ public Set<Sign> getSigns() {
     return new HashSet<>(this.signs);
   }
 
+  private static final class RenderedSign {
+
+    private final SignLayout signLayout;
+    private final ServiceInfoSnapshot serviceInfoSnapshot;
+    private final ServiceInfoStateWatcher.ServiceInfoState state;
+
+    private RenderedSign(SignLayout signLayout, ServiceInfoSnapshot serviceInfoSnapshot,
+      ServiceInfoStateWatcher.ServiceInfoState state) {
+      this.signLayout = signLayout;
+      this.serviceInfoSnapshot = serviceInfoSnapshot;
+      this.state = state;
+    }
+  }
+
+  private static final class SignAssignment {
+
+    private final Map<String, List<Pair<ServiceInfoSnapshot, ServiceInfoStateWatcher.ServiceInfoState>>>
+      groupCandidates = new HashMap<>();
+    private final Map<String, List<Pair<ServiceInfoSnapshot, ServiceInfoStateWatcher.ServiceInfoState>>>
+      templateCandidates = new HashMap<>();
+    private final Set<UUID> assignedServices = new HashSet<>();
+  }
+
 }
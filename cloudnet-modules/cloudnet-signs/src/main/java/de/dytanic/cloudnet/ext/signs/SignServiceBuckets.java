@@ -0,0 +1,116 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.dytanic.cloudnet.ext.signs;
+
+import de.dytanic.cloudnet.common.collection.Pair;
+import de.dytanic.cloudnet.driver.service.ServiceInfoSnapshot;
+import de.dytanic.cloudnet.driver.service.ServiceTemplate;
+import de.dytanic.cloudnet.ext.bridge.ServiceInfoStateWatcher;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The services which are not stopped, bucketed by their groups and template paths so that a sign only has to look at
+ * the services it may display.
+ */
+final class SignServiceBuckets {
+
+  private final Map<String, Map<UUID, Pair<ServiceInfoSnapshot, ServiceInfoStateWatcher.ServiceInfoState>>>
+    groupBuckets = new ConcurrentHashMap<>();
+  private final Map<String, Map<UUID, Pair<ServiceInfoSnapshot, ServiceInfoStateWatcher.ServiceInfoState>>>
+    templateBuckets = new ConcurrentHashMap<>();
+  // the snapshot each service was bucketed with, an update may change its groups and templates
+  private final Map<UUID, ServiceInfoSnapshot> bucketedSnapshots = new ConcurrentHashMap<>();
+
+  public void put(@NotNull ServiceInfoSnapshot serviceInfoSnapshot,
+    @NotNull ServiceInfoStateWatcher.ServiceInfoState serviceInfoState) {
+    UUID uniqueId = serviceInfoSnapshot.getServiceId().getUniqueId();
+    Pair<ServiceInfoSnapshot, ServiceInfoStateWatcher.ServiceInfoState> entry = new Pair<>(serviceInfoSnapshot,
+      serviceInfoState);
+
+    Set<String> groups = new HashSet<>();
+    Collections.addAll(groups, serviceInfoSnapshot.getConfiguration().getGroups());
+    Set<String> templatePaths = new HashSet<>();
+    for (ServiceTemplate template : serviceInfoSnapshot.getConfiguration().getTemplates()) {
+      templatePaths.add(template.getTemplatePath());
+    }
+
+    // the service is dropped from the buckets it no longer belongs to first, so no sign keeps showing it there
+    ServiceInfoSnapshot previousSnapshot = this.bucketedSnapshots.put(uniqueId, serviceInfoSnapshot);
+    if (previousSnapshot != null) {
+      this.removeFromBuckets(uniqueId, previousSnapshot, groups, templatePaths);
+    }
+
+    for (String group : groups) {
+      this.groupBuckets.computeIfAbsent(group, key -> new ConcurrentHashMap<>()).put(uniqueId, entry);
+    }
+    for (String templatePath : templatePaths) {
+      this.templateBuckets.computeIfAbsent(templatePath, key -> new ConcurrentHashMap<>()).put(uniqueId, entry);
+    }
+  }
+
+  public void remove(@NotNull UUID uniqueId) {
+    ServiceInfoSnapshot previousSnapshot = this.bucketedSnapshots.remove(uniqueId);
+    if (previousSnapshot != null) {
+      this.removeFromBuckets(uniqueId, previousSnapshot, Collections.emptySet(), Collections.emptySet());
+    }
+  }
+
+  private void removeFromBuckets(UUID uniqueId, ServiceInfoSnapshot previousSnapshot, Set<String> keptGroups,
+    Set<String> keptTemplatePaths) {
+    for (String group : previousSnapshot.getConfiguration().getGroups()) {
+      if (!keptGroups.contains(group)) {
+        this.removeFromBucket(this.groupBuckets, group, uniqueId);
+      }
+    }
+
+    for (ServiceTemplate template : previousSnapshot.getConfiguration().getTemplates()) {
+      if (!keptTemplatePaths.contains(template.getTemplatePath())) {
+        this.removeFromBucket(this.templateBuckets, template.getTemplatePath(), uniqueId);
+      }
+    }
+  }
+
+  private void removeFromBucket(
+    Map<String, Map<UUID, Pair<ServiceInfoSnapshot, ServiceInfoStateWatcher.ServiceInfoState>>> buckets, String key,
+    UUID uniqueId) {
+    Map<UUID, Pair<ServiceInfoSnapshot, ServiceInfoStateWatcher.ServiceInfoState>> bucket = buckets.get(key);
+    if (bucket != null) {
+      bucket.remove(uniqueId);
+    }
+  }
+
+  public @NotNull Collection<Pair<ServiceInfoSnapshot, ServiceInfoStateWatcher.ServiceInfoState>> getGroupBucket(
+    @NotNull String group) {
+    Map<UUID, Pair<ServiceInfoSnapshot, ServiceInfoStateWatcher.ServiceInfoState>> bucket = this.groupBuckets
+      .get(group);
+    return bucket == null ? Collections.emptyList() : bucket.values();
+  }
+
+  public @NotNull Collection<Pair<ServiceInfoSnapshot, ServiceInfoStateWatcher.ServiceInfoState>> getTemplateBucket(
+    @NotNull String templatePath) {
+    Map<UUID, Pair<ServiceInfoSnapshot, ServiceInfoStateWatcher.ServiceInfoState>> bucket = this.templateBuckets
+      .get(templatePath);
+    return bucket == null ? Collections.emptyList() : bucket.values();
+  }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.dytanic.cloudnet.ext.signs;
+
+import de.dytanic.cloudnet.driver.network.HostAndPort;
+import de.dytanic.cloudnet.driver.service.ProcessConfiguration;
+import de.dytanic.cloudnet.driver.service.ProcessSnapshot;
+import de.dytanic.cloudnet.driver.service.ServiceConfiguration;
+import de.dytanic.cloudnet.driver.service.ServiceDeployment;
+import de.dytanic.cloudnet.driver.service.ServiceEnvironmentType;
+import de.dytanic.cloudnet.driver.service.ServiceId;
+import de.dytanic.cloudnet.driver.service.ServiceInfoSnapshot;
+import de.dytanic.cloudnet.driver.service.ServiceLifeCycle;
+import de.dytanic.cloudnet.driver.service.ServiceRemoteInclusion;
+import de.dytanic.cloudnet.driver.service.ServiceTemplate;
+import de.dytanic.cloudnet.ext.bridge.ServiceInfoStateWatcher;
+import java.util.Arrays;
+import java.util.UUID;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SignServiceBucketsTest {
+
+  private static ServiceInfoSnapshot snapshot(UUID uniqueId, String[] groups, ServiceTemplate... templates) {
+    return new ServiceInfoSnapshot(
+      System.currentTimeMillis(),
+      new HostAndPort("127.0.0.1", 25565),
+      -1,
+      ServiceLifeCycle.RUNNING,
+      ProcessSnapshot.empty(),
+      new ServiceConfiguration(
+        new ServiceId(uniqueId, "Node-1", "Lobby", 1, ServiceEnvironmentType.MINECRAFT_SERVER),
+        "jvm",
+        true,
+        false,
+        groups,
+        new ServiceRemoteInclusion[0],
+        templates,
+        new ServiceDeployment[0],
+        new ProcessConfiguration(ServiceEnvironmentType.MINECRAFT_SERVER, 512, Arrays.asList("j", "v", "m")),
+        25565
+      )
+    );
+  }
+
+  @Test
+  public void testChangedGroupsAndTemplates() {
+    UUID uniqueId = UUID.randomUUID();
+    ServiceTemplate lobby = new ServiceTemplate("Lobby", "default", "local");
+    ServiceTemplate event = new ServiceTemplate("Lobby", "event", "local");
+
+    SignServiceBuckets buckets = new SignServiceBuckets();
+    buckets.put(snapshot(uniqueId, new String[]{"Lobby", "Global"}, lobby),
+      ServiceInfoStateWatcher.ServiceInfoState.ONLINE);
+
+    Assert.assertEquals(1, buckets.getGroupBucket("Lobby").size());
+    Assert.assertEquals(1, buckets.getGroupBucket("Global").size());
+    Assert.assertEquals(1, buckets.getTemplateBucket("Lobby/default").size());
+
+    // the service left the group "Global" and switched its template, the old buckets must not keep it
+    buckets.put(snapshot(uniqueId, new String[]{"Lobby"}, event), ServiceInfoStateWatcher.ServiceInfoState.FULL_ONLINE);
+
+    Assert.assertTrue(buckets.getGroupBucket("Global").isEmpty());
+    Assert.assertTrue(buckets.getTemplateBucket("Lobby/default").isEmpty());
+    Assert.assertEquals(1, buckets.getTemplateBucket("Lobby/event").size());
+    Assert.assertEquals(ServiceInfoStateWatcher.ServiceInfoState.FULL_ONLINE,
+      buckets.getGroupBucket("Lobby").iterator().next().getSecond());
+
+    buckets.remove(uniqueId);
+    Assert.assertTrue(buckets.getGroupBucket("Lobby").isEmpty());
+    Assert.assertTrue(buckets.getTemplateBucket("Lobby/event").isEmpty());
+  }
+}
@@ -31,6 +31,9 @@
 import de.dytanic.cloudnet.ext.smart.listener.CloudNetTickListener;
 import de.dytanic.cloudnet.ext.smart.listener.CloudServiceListener;
 import de.dytanic.cloudnet.ext.smart.listener.TaskDefaultSmartConfigListener;
+import de.dytanic.cloudnet.ext.smart.scaling.PlayerCountHistory;
+import de.dytanic.cloudnet.ext.smart.scaling.ScalingPolicies;
+import de.dytanic.cloudnet.ext.smart.scaling.ScalingPolicy;
 import de.dytanic.cloudnet.ext.smart.template.TemplateInstaller;
 import de.dytanic.cloudnet.ext.smart.util.SmartServiceTaskConfig;
 import de.dytanic.cloudnet.module.NodeCloudNetModule;
@@ -38,9 +41,11 @@
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Random;
 import java.util.UUID;
@@ -52,12 +57,21 @@ public final class CloudNetSmartModule extends NodeCloudNetModule {
 
   private static final Random RANDOM = new Random();
 
+  private static final int PLAYER_COUNT_HISTORY_SIZE = 300;
+
   private static CloudNetSmartModule instance;
 
   private final Map<UUID, CloudNetServiceSmartProfile> providedSmartServices = new ConcurrentHashMap<>();
 
+  private final Map<String, ScalingPolicy> scalingPolicies = new ConcurrentHashMap<>();
+  private final Map<String, PlayerCountHistory> playerCountHistories = new ConcurrentHashMap<>();
+
   public CloudNetSmartModule() {
     instance = this;
+
+    this.registerScalingPolicy("reactive", ScalingPolicies.REACTIVE);
+    this.registerScalingPolicy("ewma", ScalingPolicies.ewma(0.3));
+    this.registerScalingPolicy("holt", ScalingPolicies.holt(0.5, 0.2));
   }
 
   public static CloudNetSmartModule getInstance() {
@@ -223,6 +237,32 @@ private int applyDynamicMemory(int maxMemory, ServiceConfiguration serviceConfig
     return maxMemory;
   }
 
+  /**
+   * Registers a scaling policy which can be selected by its name in the smart config of a task
+   *
+   * @param name   the case insensitive name of the policy
+   * @param policy the policy to register
+   */
+  public void registerScalingPolicy(String name, ScalingPolicy policy) {
+    this.scalingPolicies.put(name.toLowerCase(Locale.ROOT), policy);
+  }
+
+  public void unregisterScalingPolicy(String name) {
+    this.scalingPolicies.remove(name.toLowerCase(Locale.ROOT));
+  }
+
+  public ScalingPolicy getScalingPolicy(String name) {
+    return name == null ? null : this.scalingPolicies.get(name.toLowerCase(Locale.ROOT));
+  }
+
+  public Map<String, ScalingPolicy> getScalingPolicies() {
+    return Collections.unmodifiableMap(this.scalingPolicies);
+  }
+
+  public PlayerCountHistory getPlayerCountHistory(String taskName) {
+    return this.playerCountHistories
+      .computeIfAbsent(taskName, name -> new PlayerCountHistory(PLAYER_COUNT_HISTORY_SIZE));
+  }
 
   public Map<UUID, CloudNetServiceSmartProfile> getProvidedSmartServices() {
     return this.providedSmartServices;
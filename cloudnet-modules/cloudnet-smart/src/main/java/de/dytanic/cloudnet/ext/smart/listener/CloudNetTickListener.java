@@ -27,11 +27,19 @@
 import de.dytanic.cloudnet.ext.bridge.BridgeServiceProperty;
 import de.dytanic.cloudnet.ext.smart.CloudNetServiceSmartProfile;
 import de.dytanic.cloudnet.ext.smart.CloudNetSmartModule;
+import de.dytanic.cloudnet.ext.smart.scaling.PlayerCountHistory;
+import de.dytanic.cloudnet.ext.smart.scaling.ScalingPolicy;
 import de.dytanic.cloudnet.ext.smart.util.SmartServiceTaskConfig;
 import de.dytanic.cloudnet.service.ICloudService;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -41,6 +49,8 @@ public final class CloudNetTickListener {
 
   private final Collection<UUID> newInstanceDelay = new CopyOnWriteArrayList<>();
 
+  private final Collection<String> predictedInstanceDelay = ConcurrentHashMap.newKeySet();
+
   private final AtomicInteger ticksPerSecond = new AtomicInteger();
 
   @EventListener
@@ -56,35 +66,124 @@ public void handle(CloudNetTickEvent event) {
   }
 
   private void handleSmartTasksConfigItems() {
+    Map<String, TaskLoad> taskLoads = this.collectTaskLoads();
+
     CloudNet.getInstance().getServiceTaskProvider().getPermanentServiceTasks().stream()
       .filter(CloudNetSmartModule.getInstance()::hasSmartServiceTaskConfig)
       .sorted(Comparator.comparingInt(
         serviceTask -> CloudNetSmartModule.getInstance().getSmartServiceTaskConfig(serviceTask).getPriority()))
       .forEachOrdered(serviceTask -> {
+        TaskLoad taskLoad = taskLoads.computeIfAbsent(serviceTask.getName().toLowerCase(Locale.ROOT),
+          name -> new TaskLoad());
+        PlayerCountHistory history = CloudNetSmartModule.getInstance().getPlayerCountHistory(serviceTask.getName());
+        history.record(taskLoad.onlinePlayers);
+
         if (serviceTask.canStartServices() && CloudNet.getInstance().canStartServices(serviceTask)) {
 
           SmartServiceTaskConfig smartTask = CloudNetSmartModule.getInstance().getSmartServiceTaskConfig(serviceTask);
 
-          this.autoGeneratePreparedServices(smartTask, serviceTask);
-          this.launchEmptyServices(smartTask, serviceTask);
+          this.autoGeneratePreparedServices(smartTask, serviceTask, taskLoad, history);
+          this.launchEmptyServices(smartTask, serviceTask, taskLoad);
+          this.launchPredictedServices(smartTask, serviceTask, taskLoad, history);
         }
       });
   }
 
-  private void launchEmptyServices(SmartServiceTaskConfig task, ServiceTask serviceTask) {
+  /**
+   * Collects the load of all tasks in a single pass over the services, instead of scanning every service for each task.
+   * The loads are mapped by the lowercase name of the task, the task names of services are case-insensitive
+   */
+  private Map<String, TaskLoad> collectTaskLoads() {
+    Map<String, TaskLoad> taskLoads = new HashMap<>();
+
+    Collection<ServiceInfoSnapshot> services = CloudNet.getInstance().getCloudServiceProvider().getCloudServices();
+
+    for (ServiceInfoSnapshot serviceInfoSnapshot : services) {
+      TaskLoad taskLoad = taskLoads.computeIfAbsent(
+        serviceInfoSnapshot.getServiceId().getTaskName().toLowerCase(Locale.ROOT), name -> new TaskLoad());
+      taskLoad.services++;
+
+      switch (serviceInfoSnapshot.getLifeCycle()) {
+        case RUNNING: {
+          taskLoad.runningServices.add(serviceInfoSnapshot);
+
+          if (serviceInfoSnapshot.getProperty(BridgeServiceProperty.IS_ONLINE).orElse(false)) {
+            taskLoad.onlineServices++;
+            taskLoad.onlinePlayers += serviceInfoSnapshot.getIntProperty(BridgeServiceProperty.ONLINE_COUNT, 0);
+            taskLoad.maxPlayers += serviceInfoSnapshot.getIntProperty(BridgeServiceProperty.MAX_PLAYERS, 0);
+          }
+        }
+        break;
+        case PREPARED:
+        case DEFINED:
+          taskLoad.preparedServices++;
+          break;
+        default:
+          break;
+      }
+    }
+
+    return taskLoads;
+  }
+
+  /**
+   * Calculates the amount of services the task will need according to its scaling policy
+   *
+   * @return the required services or -1, if the task has no scaling policy or there is no online service yet to take
+   * the max players from
+   */
+  private int getPredictedServices(SmartServiceTaskConfig task, TaskLoad taskLoad, PlayerCountHistory history,
+    int horizon) {
+    ScalingPolicy scalingPolicy = CloudNetSmartModule.getInstance().getScalingPolicy(task.getScalingPolicy());
+
+    if (scalingPolicy == null || taskLoad.onlineServices <= 0) {
+      return -1;
+    }
+
+    double playersPerService = ((double) taskLoad.maxPlayers / taskLoad.onlineServices)
+      * task.getPercentOfPlayersForANewServiceByInstance() / 100D;
+    return scalingPolicy.getRequiredServices(history, horizon, playersPerService);
+  }
+
+  private void launchPredictedServices(SmartServiceTaskConfig task, ServiceTask serviceTask, TaskLoad taskLoad,
+    PlayerCountHistory history) {
+    int missingServices = this.getPredictedServices(task, taskLoad, history, task.getScalingForecastSeconds())
+      - taskLoad.runningServices.size();
+
+    if (task.getMaxServiceCount() > 0) {
+      // the prepared services can always be started, new ones only until the max service count is reached
+      missingServices = Math.min(missingServices,
+        taskLoad.preparedServices + Math.max(0, task.getMaxServiceCount() - taskLoad.services));
+    }
+
+    // the started services need some time until they show up as running, don't start them twice
+    if (missingServices <= 0 || !CloudNet.getInstance().canStartServices(serviceTask)
+      || !this.predictedInstanceDelay.add(serviceTask.getName())) {
+      return;
+    }
+
+    for (int i = 0; i < missingServices; i++) {
+      this.startService(serviceTask.getName());
+    }
+
+    CloudNetDriver.getInstance().getTaskExecutor().schedule(
+      () -> this.predictedInstanceDelay.remove(serviceTask.getName()),
+      Math.max(1, task.getScalingForecastSeconds()),
+      TimeUnit.SECONDS
+    );
+  }
+
+  private void launchEmptyServices(SmartServiceTaskConfig task, ServiceTask serviceTask, TaskLoad taskLoad) {
     if (task.getMinNonFullServices() <= 0) {
       return;
     }
 
-    long nonFullServices = CloudNet.getInstance().getCloudServiceProvider().getCloudServices()
-      .stream()
-      .filter(serviceInfoSnapshot -> serviceInfoSnapshot.getLifeCycle() == ServiceLifeCycle.RUNNING)
-      .filter(serviceInfoSnapshot -> serviceInfoSnapshot.getServiceId().getTaskName().equals(serviceTask.getName()))
+    long nonFullServices = taskLoad.runningServices.stream()
       .filter(serviceInfoSnapshot ->
         !serviceInfoSnapshot.getProperty(BridgeServiceProperty.IS_ONLINE).orElse(false) ||
           this.getPercentOf(
-            serviceInfoSnapshot.getProperty(BridgeServiceProperty.ONLINE_COUNT).orElse(0),
-            serviceInfoSnapshot.getProperty(BridgeServiceProperty.MAX_PLAYERS).orElse(0)
+            serviceInfoSnapshot.getIntProperty(BridgeServiceProperty.ONLINE_COUNT, 0),
+            serviceInfoSnapshot.getIntProperty(BridgeServiceProperty.MAX_PLAYERS, 0)
           ) < task.getPercentOfPlayersForANewServiceByInstance()
       ).count();
 
@@ -99,17 +198,15 @@ private void launchEmptyServices(SmartServiceTaskConfig task, ServiceTask servic
     }
   }
 
-  private void autoGeneratePreparedServices(SmartServiceTaskConfig task, ServiceTask serviceTask) {
-    long preparedServices = CloudNetDriver.getInstance().getCloudServiceProvider()
-      .getCloudServices(serviceTask.getName()).stream()
-      .filter(serviceInfoSnapshot -> serviceInfoSnapshot.getLifeCycle() == ServiceLifeCycle.PREPARED ||
-        serviceInfoSnapshot.getLifeCycle() == ServiceLifeCycle.DEFINED)
-      .count();
+  private void autoGeneratePreparedServices(SmartServiceTaskConfig task, ServiceTask serviceTask, TaskLoad taskLoad,
+    PlayerCountHistory history) {
+    // pre-warm the services which are needed after the ones started for the current forecast
+    int preparedServices = Math.max(task.getPreparedServices(),
+      this.getPredictedServices(task, taskLoad, history, task.getScalingForecastSeconds() * 2)
+        - taskLoad.runningServices.size());
 
-    if (task.getPreparedServices() > 0 && preparedServices < task.getPreparedServices()) {
-      if (preparedServices < task.getPreparedServices()) {
-        CloudNet.getInstance().getCloudServiceFactory().createCloudService(serviceTask);
-      }
+    if (preparedServices > 0 && taskLoad.preparedServices < preparedServices) {
+      CloudNet.getInstance().getCloudServiceFactory().createCloudService(serviceTask);
     }
   }
 
@@ -238,4 +335,15 @@ private boolean isIngameService0(String text) {
 
     return text.contains("ingame") || text.contains("running") || text.contains("playing");
   }
+
+  private static final class TaskLoad {
+
+    private final List<ServiceInfoSnapshot> runningServices = new ArrayList<>();
+
+    private int services;
+    private int preparedServices;
+    private int onlineServices;
+    private int onlinePlayers;
+    private int maxPlayers;
+  }
 }
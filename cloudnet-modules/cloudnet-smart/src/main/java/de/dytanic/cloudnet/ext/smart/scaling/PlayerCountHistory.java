@@ -0,0 +1,71 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.dytanic.cloudnet.ext.smart.scaling;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * A rolling time series of the online players of a task, one sample is recorded per second
+ */
+public final class PlayerCountHistory {
+
+  private final double[] samples;
+
+  private int head;
+  private int size;
+
+  public PlayerCountHistory(int capacity) {
+    Preconditions.checkArgument(capacity > 0, "capacity has to be positive");
+    this.samples = new double[capacity];
+  }
+
+  public synchronized void record(double onlinePlayers) {
+    this.samples[this.head] = onlinePlayers;
+    this.head = (this.head + 1) % this.samples.length;
+
+    if (this.size < this.samples.length) {
+      this.size++;
+    }
+  }
+
+  /**
+   * @return a copy of the recorded samples, ordered from the oldest to the latest one
+   */
+  public synchronized double[] getSamples() {
+    double[] samples = new double[this.size];
+    int start = (this.head - this.size + this.samples.length) % this.samples.length;
+
+    for (int i = 0; i < this.size; i++) {
+      samples[i] = this.samples[(start + i) % this.samples.length];
+    }
+
+    return samples;
+  }
+
+  public synchronized void clear() {
+    this.head = 0;
+    this.size = 0;
+  }
+
+  public synchronized int size() {
+    return this.size;
+  }
+
+  public int getCapacity() {
+    return this.samples.length;
+  }
+}
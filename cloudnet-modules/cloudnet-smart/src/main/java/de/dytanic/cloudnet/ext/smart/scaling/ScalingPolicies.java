@@ -0,0 +1,83 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.dytanic.cloudnet.ext.smart.scaling;
+
+import com.google.common.base.Preconditions;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Contains the scaling policies which are registered by default
+ */
+public final class ScalingPolicies {
+
+  /**
+   * Uses the latest sample as forecast, which reacts to the load like the percentage based start of new services
+   */
+  public static final ScalingPolicy REACTIVE = (samples, horizon) -> samples[samples.length - 1];
+
+  private ScalingPolicies() {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Creates a policy which forecasts the exponentially weighted moving average of the samples. This smooths out short
+   * spikes, but follows a steady growth with a delay.
+   *
+   * @param alpha the weight of the latest sample, between 0 (exclusive) and 1 (inclusive)
+   * @return the created policy
+   */
+  @NotNull
+  public static ScalingPolicy ewma(double alpha) {
+    Preconditions.checkArgument(alpha > 0 && alpha <= 1, "alpha has to be in (0, 1]");
+
+    return (samples, horizon) -> {
+      double level = samples[0];
+      for (int i = 1; i < samples.length; i++) {
+        level = alpha * samples[i] + (1 - alpha) * level;
+      }
+
+      return level;
+    };
+  }
+
+  /**
+   * Creates a policy using Holt's linear trend method, which extrapolates the smoothed trend of the samples over the
+   * horizon and therefore anticipates a steady growth.
+   *
+   * @param alpha the smoothing factor of the level, between 0 (exclusive) and 1 (inclusive)
+   * @param beta  the smoothing factor of the trend, between 0 (exclusive) and 1 (inclusive)
+   * @return the created policy
+   */
+  @NotNull
+  public static ScalingPolicy holt(double alpha, double beta) {
+    Preconditions.checkArgument(alpha > 0 && alpha <= 1, "alpha has to be in (0, 1]");
+    Preconditions.checkArgument(beta > 0 && beta <= 1, "beta has to be in (0, 1]");
+
+    return (samples, horizon) -> {
+      double level = samples[0];
+      double trend = samples.length > 1 ? samples[1] - samples[0] : 0;
+
+      for (int i = 1; i < samples.length; i++) {
+        double previousLevel = level;
+        level = alpha * samples[i] + (1 - alpha) * (level + trend);
+        trend = beta * (level - previousLevel) + (1 - beta) * trend;
+      }
+
+      return level + horizon * trend;
+    };
+  }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.dytanic.cloudnet.ext.smart.scaling;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Forecasts the player count of a task, used by the smart module to start and prepare services before the players
+ * arrive. Policies are registered by name in the {@link de.dytanic.cloudnet.ext.smart.CloudNetSmartModule} and
+ * selected per task through {@link de.dytanic.cloudnet.ext.smart.util.SmartServiceTaskConfig#getScalingPolicy()}.
+ */
+@FunctionalInterface
+public interface ScalingPolicy {
+
+  /**
+   * Forecasts the online players of a task
+   *
+   * @param samples the recorded player counts, ordered from the oldest to the latest one, one sample per second
+   * @param horizon the amount of seconds after the latest sample the forecast is for
+   * @return the forecasted amount of online players
+   */
+  double forecast(@NotNull double[] samples, int horizon);
+
+  /**
+   * Calculates the amount of services a task needs to handle the forecasted player count
+   *
+   * @param history           the player count history of the task
+   * @param horizon           the amount of seconds the forecast is for
+   * @param playersPerService the amount of players a single service should handle
+   * @return the required amount of services, 0 if there is nothing to forecast from
+   */
+  default int getRequiredServices(@NotNull PlayerCountHistory history, int horizon, double playersPerService) {
+    double[] samples = history.getSamples();
+    if (samples.length == 0 || playersPerService <= 0) {
+      return 0;
+    }
+
+    return (int) Math.ceil(Math.max(0, this.forecast(samples, horizon)) / playersPerService);
+  }
+}
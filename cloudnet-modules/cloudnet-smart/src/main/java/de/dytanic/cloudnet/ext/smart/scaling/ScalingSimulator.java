@@ -0,0 +1,190 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.dytanic.cloudnet.ext.smart.scaling;
+
+import com.google.common.base.Preconditions;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import lombok.ToString;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Replays a recorded player count trace against a scaling policy offline, to compare how different policies would
+ * have handled the same load. Every second the simulator asks the policy for the required amount of services, starts
+ * the missing ones, which are ready after the configured start delay, and stops one service if there are too many.
+ */
+public final class ScalingSimulator {
+
+  private final int playersPerService;
+  private final int percentOfPlayersForANewService;
+  private final int startDelaySeconds;
+  private final int forecastSeconds;
+  private final int minServices;
+  private final int historySize;
+
+  /**
+   * @param playersPerService              the max players of a single service
+   * @param percentOfPlayersForANewService the percentage of the max players a service should be filled up to
+   * @param startDelaySeconds              the seconds a service needs until players can join it
+   * @param forecastSeconds                the seconds ahead the policy should forecast the player count
+   * @param minServices                    the amount of services which is always running
+   * @param historySize                    the amount of samples the policy gets to see
+   */
+  public ScalingSimulator(int playersPerService, int percentOfPlayersForANewService, int startDelaySeconds,
+    int forecastSeconds, int minServices, int historySize) {
+    Preconditions.checkArgument(playersPerService > 0, "playersPerService has to be positive");
+    Preconditions.checkArgument(percentOfPlayersForANewService > 0, "percentOfPlayersForANewService has to be positive");
+
+    this.playersPerService = playersPerService;
+    this.percentOfPlayersForANewService = percentOfPlayersForANewService;
+    this.startDelaySeconds = Math.max(0, startDelaySeconds);
+    this.forecastSeconds = Math.max(0, forecastSeconds);
+    this.minServices = Math.max(0, minServices);
+    this.historySize = historySize;
+  }
+
+  /**
+   * Reads a recorded trace with one player count per line, lines containing multiple comma separated columns (like
+   * {@code timestamp,players}) use the last column. Empty lines and lines starting with {@code #} are skipped.
+   *
+   * @param path the path of the trace
+   * @return the player count for every second of the trace
+   * @throws IOException if the trace can't be read
+   */
+  @NotNull
+  public static double[] readTrace(@NotNull Path path) throws IOException {
+    List<String> lines = Files.readAllLines(path, StandardCharsets.UTF_8);
+    List<Double> samples = new ArrayList<>(lines.size());
+
+    for (String line : lines) {
+      line = line.trim();
+      if (line.isEmpty() || line.startsWith("#")) {
+        continue;
+      }
+
+      String[] columns = line.split(",");
+      samples.add(Double.parseDouble(columns[columns.length - 1].trim()));
+    }
+
+    return samples.stream().mapToDouble(Double::doubleValue).toArray();
+  }
+
+  @NotNull
+  public SimulationResult simulate(@NotNull ScalingPolicy policy, @NotNull double[] trace) {
+    PlayerCountHistory history = new PlayerCountHistory(this.historySize);
+    double usablePlayersPerService = this.playersPerService * this.percentOfPlayersForANewService / 100D;
+
+    // the second each service is ready to accept players, ordered by the start of the service
+    LinkedList<Integer> services = new LinkedList<>();
+    SimulationResult result = new SimulationResult(trace.length);
+
+    for (int second = 0; second < trace.length; second++) {
+      double players = trace[second];
+      history.record(players);
+
+      int readyServices = 0;
+      for (int readyAt : services) {
+        if (readyAt <= second) {
+          readyServices++;
+        }
+      }
+
+      double capacity = (double) readyServices * this.playersPerService;
+      if (players > capacity) {
+        result.overloadedSeconds++;
+        result.unservedPlayerSeconds += players - capacity;
+      }
+
+      int requiredServices = Math.max(this.minServices,
+        policy.getRequiredServices(history, this.forecastSeconds, usablePlayersPerService));
+
+      if (requiredServices > services.size()) {
+        for (int i = services.size(); i < requiredServices; i++) {
+          services.add(second + this.startDelaySeconds);
+          result.startedServices++;
+        }
+      } else if (requiredServices < services.size()) {
+        services.removeLast();
+        result.stoppedServices++;
+      }
+
+      result.serviceSeconds += services.size();
+      result.maxServices = Math.max(result.maxServices, services.size());
+    }
+
+    return result;
+  }
+
+  @ToString
+  public static final class SimulationResult {
+
+    private final int seconds;
+
+    private int overloadedSeconds;
+    private double unservedPlayerSeconds;
+    private long serviceSeconds;
+    private int startedServices;
+    private int stoppedServices;
+    private int maxServices;
+
+    private SimulationResult(int seconds) {
+      this.seconds = seconds;
+    }
+
+    public int getSeconds() {
+      return this.seconds;
+    }
+
+    /**
+     * @return the seconds in which more players were online than the ready services could handle
+     */
+    public int getOverloadedSeconds() {
+      return this.overloadedSeconds;
+    }
+
+    /**
+     * @return the sum of the players exceeding the capacity of the ready services over all seconds
+     */
+    public double getUnservedPlayerSeconds() {
+      return this.unservedPlayerSeconds;
+    }
+
+    /**
+     * @return the sum of the started services over all seconds, a measure for the resources a policy needs
+     */
+    public long getServiceSeconds() {
+      return this.serviceSeconds;
+    }
+
+    public int getStartedServices() {
+      return this.startedServices;
+    }
+
+    public int getStoppedServices() {
+      return this.stoppedServices;
+    }
+
+    public int getMaxServices() {
+      return this.maxServices;
+    }
+  }
+}
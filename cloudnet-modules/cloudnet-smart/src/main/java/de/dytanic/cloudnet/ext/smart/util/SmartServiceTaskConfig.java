@@ -46,6 +46,9 @@ public class SmartServiceTaskConfig implements Comparable<SmartServiceTaskConfig
 
   protected int maxServiceCount = -1;
 
+  protected String scalingPolicy = "none";
+  protected int scalingForecastSeconds = 30;
+
   public SmartServiceTaskConfig(
     int priority, boolean directTemplatesAndInclusionsSetup, int preparedServices, boolean dynamicMemoryAllocation,
     int dynamicMemoryAllocationRange, int percentOfPlayersToCheckShouldAutoStopTheServiceInFuture,
@@ -179,4 +182,20 @@ public int getMaxServiceCount() {
   public void setMaxServiceCount(int maxServiceCount) {
     this.maxServiceCount = maxServiceCount;
   }
+
+  public String getScalingPolicy() {
+    return this.scalingPolicy;
+  }
+
+  public void setScalingPolicy(String scalingPolicy) {
+    this.scalingPolicy = scalingPolicy;
+  }
+
+  public int getScalingForecastSeconds() {
+    return this.scalingForecastSeconds;
+  }
+
+  public void setScalingForecastSeconds(int scalingForecastSeconds) {
+    this.scalingForecastSeconds = scalingForecastSeconds;
+  }
 }
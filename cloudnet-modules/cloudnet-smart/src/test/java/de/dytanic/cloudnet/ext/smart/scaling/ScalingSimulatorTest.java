@@ -0,0 +1,63 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.dytanic.cloudnet.ext.smart.scaling;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public final class ScalingSimulatorTest {
+
+  @Test
+  public void testPlayerCountHistory() {
+    PlayerCountHistory history = new PlayerCountHistory(3);
+
+    for (int i = 1; i <= 5; i++) {
+      history.record(i);
+    }
+
+    Assert.assertEquals(3, history.size());
+    Assert.assertArrayEquals(new double[]{3, 4, 5}, history.getSamples(), 0);
+  }
+
+  @Test
+  public void testPolicies() {
+    double[] samples = {10, 20, 30, 40, 50};
+
+    Assert.assertEquals(50, ScalingPolicies.REACTIVE.forecast(samples, 10), 0);
+    Assert.assertEquals(50, ScalingPolicies.ewma(1).forecast(samples, 10), 0);
+    Assert.assertEquals(150, ScalingPolicies.holt(1, 1).forecast(samples, 10), 0.0001);
+  }
+
+  @Test
+  public void testForecastingPolicyScalesEarlier() {
+    // the players ramp up by 2 each second for 5 minutes and stay there for another 5 minutes
+    double[] trace = new double[600];
+    for (int second = 0; second < trace.length; second++) {
+      trace[second] = Math.min(second, 300) * 2;
+    }
+
+    ScalingSimulator simulator = new ScalingSimulator(50, 100, 30, 30, 1, 60);
+
+    ScalingSimulator.SimulationResult reactive = simulator.simulate(ScalingPolicies.REACTIVE, trace);
+    ScalingSimulator.SimulationResult holt = simulator.simulate(ScalingPolicies.holt(0.5, 0.2), trace);
+
+    Assert.assertEquals(trace.length, reactive.getSeconds());
+    Assert.assertTrue(reactive.getOverloadedSeconds() > 0);
+    Assert.assertTrue(holt.getOverloadedSeconds() < reactive.getOverloadedSeconds());
+    Assert.assertTrue(holt.getUnservedPlayerSeconds() < reactive.getUnservedPlayerSeconds());
+  }
+}
@@ -21,9 +21,13 @@
 import de.dytanic.cloudnet.driver.network.HostAndPort;
 import de.dytanic.cloudnet.ext.storage.ftp.client.FTPCredentials;
 import de.dytanic.cloudnet.ext.storage.ftp.client.FTPType;
+import de.dytanic.cloudnet.ext.storage.ftp.storage.AbstractFTPStorage;
+import de.dytanic.cloudnet.ext.storage.ftp.storage.FTPTemplateCache;
 import de.dytanic.cloudnet.ext.storage.ftp.storage.queue.FTPQueueStorage;
 import de.dytanic.cloudnet.module.NodeCloudNetModule;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 
 public final class CloudNetStorageFTPModule extends NodeCloudNetModule {
 
@@ -43,6 +47,8 @@ public void initConfiguration() {
     super.getConfig().getString("username", "root");
     super.getConfig().getString("password", "password");
     super.getConfig().getString("baseDirectory", "/home/cloudnet");
+    super.getConfig().getInt("connections", 4);
+    super.getConfig().getBoolean("templateCache", false);
 
     super.saveConfig();
   }
@@ -60,12 +66,21 @@ public void registerStorage() {
     String storageName = super.getConfig().getString("storage");
     FTPCredentials credentials = super.getConfig().toInstanceOf(FTPCredentials.class);
 
-    this.templateStorage = new FTPQueueStorage(ftpType.createNewTemplateStorage(storageName, credentials));
+    int connectionCount = Math.max(1, super.getConfig().getInt("connections", 4));
+    List<AbstractFTPStorage> connections = new ArrayList<>(connectionCount);
+    // every connection is a separate login, for sftp this means a separate ssh session per connection
+    for (int i = 0; i < connectionCount; i++) {
+      connections.add(ftpType.createNewTemplateStorage(storageName, credentials));
+    }
+
+    FTPTemplateCache templateCache = super.getConfig().getBoolean("templateCache", false)
+      ? new FTPTemplateCache(super.getModuleWrapper().getDataDirectory().resolve("cache").resolve(storageName))
+      : null;
+
+    this.templateStorage = new FTPQueueStorage(connections, templateCache);
     super.registerTemplateStorage(storageName, this.templateStorage);
 
-    Thread ftpQueueThread = new Thread(this.templateStorage, "FTP queue worker");
-    ftpQueueThread.setDaemon(true);
-    ftpQueueThread.start();
+    this.templateStorage.start();
   }
 
   @ModuleTask(event = ModuleLifeCycle.STOPPED)
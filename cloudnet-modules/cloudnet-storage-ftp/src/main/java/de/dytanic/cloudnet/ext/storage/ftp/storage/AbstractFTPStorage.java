@@ -16,9 +16,17 @@
 
 package de.dytanic.cloudnet.ext.storage.ftp.storage;
 
+import de.dytanic.cloudnet.common.io.FileUtils;
+import de.dytanic.cloudnet.driver.service.ServiceTemplate;
 import de.dytanic.cloudnet.driver.template.defaults.DefaultSyncTemplateStorage;
 import de.dytanic.cloudnet.ext.storage.ftp.client.FTPCredentials;
 import de.dytanic.cloudnet.ext.storage.ftp.client.FTPType;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import org.jetbrains.annotations.NotNull;
 
 public abstract class AbstractFTPStorage extends DefaultSyncTemplateStorage {
 
@@ -44,6 +52,32 @@ public abstract class AbstractFTPStorage extends DefaultSyncTemplateStorage {
 
   public abstract void completeDataTransfer();
 
+  /**
+   * Downloads a single file of the given template to the given local path, replacing the local file if it exists.
+   *
+   * @param template the template the file is located in
+   * @param path     the path of the file relative to the template
+   * @param target   the local file to write to
+   * @return if the remote file exists and was downloaded
+   * @throws IOException if the transfer failed
+   */
+  public boolean downloadFile(@NotNull ServiceTemplate template, @NotNull String path, @NotNull Path target)
+    throws IOException {
+    InputStream inputStream = this.newInputStream(template, path);
+    if (inputStream == null) {
+      return false;
+    }
+
+    try {
+      FileUtils.createDirectoryReported(target.getParent());
+      Files.copy(inputStream, target, StandardCopyOption.REPLACE_EXISTING);
+    } finally {
+      inputStream.close();
+      this.completeDataTransfer();
+    }
+    return true;
+  }
+
   @Override
   public String getName() {
     return this.name;
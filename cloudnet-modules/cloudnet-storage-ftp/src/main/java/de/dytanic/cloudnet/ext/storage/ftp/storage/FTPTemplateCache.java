@@ -0,0 +1,198 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.dytanic.cloudnet.ext.storage.ftp.storage;
+
+import de.dytanic.cloudnet.common.document.gson.JsonDocument;
+import de.dytanic.cloudnet.common.io.FileUtils;
+import de.dytanic.cloudnet.driver.service.ServiceTemplate;
+import de.dytanic.cloudnet.driver.template.FileInfo;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A node local copy of the templates of a ftp storage. Every cached template keeps a manifest with the size and the
+ * last modification time of the remote files, so that only files which changed on the remote server have to be
+ * downloaded again before a template is copied into a service.
+ */
+public class FTPTemplateCache {
+
+  private final Path baseDirectory;
+  private final Map<ServiceTemplate, Map<String, CachedFile>> manifests = new ConcurrentHashMap<>();
+  private final Map<ServiceTemplate, ReadWriteLock> locks = new ConcurrentHashMap<>();
+  private final Map<ServiceTemplate, Long> generations = new ConcurrentHashMap<>();
+
+  public FTPTemplateCache(@NotNull Path baseDirectory) {
+    this.baseDirectory = baseDirectory;
+  }
+
+  /**
+   * Compares the given remote listing with the manifest of the cached template and removes all cached files which are
+   * no longer present on the remote server.
+   *
+   * @param template    the template to check
+   * @param remoteFiles the deep listing of the remote template
+   * @return all remote files which have to be downloaded into the cache again
+   */
+  @NotNull
+  public Collection<FileInfo> getOutdatedFiles(@NotNull ServiceTemplate template, @NotNull FileInfo[] remoteFiles) {
+    Map<String, CachedFile> manifest = this.getManifest(template);
+    Map<String, FileInfo> remote = this.indexFiles(remoteFiles);
+    Path directory = this.getTemplateDirectory(template);
+
+    for (String path : manifest.keySet()) {
+      if (!remote.containsKey(path)) {
+        FileUtils.delete(directory.resolve(path));
+      }
+    }
+
+    Collection<FileInfo> outdatedFiles = new ArrayList<>();
+    for (Map.Entry<String, FileInfo> entry : remote.entrySet()) {
+      CachedFile cachedFile = manifest.get(entry.getKey());
+
+      if (cachedFile == null || !cachedFile.matches(entry.getValue())
+        || !Files.exists(directory.resolve(entry.getKey()))) {
+        outdatedFiles.add(entry.getValue());
+      }
+    }
+
+    return outdatedFiles;
+  }
+
+  /**
+   * Gets the current generation of the given template, which changes every time the template is invalidated.
+   *
+   * @param template the template to get the generation of
+   * @return the current generation of the template
+   */
+  public long getGeneration(@NotNull ServiceTemplate template) {
+    return this.generations.getOrDefault(template, 0L);
+  }
+
+  /**
+   * Replaces the manifest of the given template after all outdated files were downloaded into the cache. The manifest
+   * is not replaced if the template was invalidated since the remote listing was taken.
+   *
+   * @param template    the template which was updated
+   * @param remoteFiles the deep listing of the remote template the cache now represents
+   * @param generation  the generation of the template when the remote listing was taken
+   * @return if the manifest was replaced
+   */
+  public synchronized boolean update(@NotNull ServiceTemplate template, @NotNull FileInfo[] remoteFiles,
+    long generation) {
+    if (this.getGeneration(template) != generation) {
+      return false;
+    }
+
+    Map<String, CachedFile> manifest = new HashMap<>();
+    JsonDocument document = JsonDocument.newDocument();
+
+    for (Map.Entry<String, FileInfo> entry : this.indexFiles(remoteFiles).entrySet()) {
+      CachedFile cachedFile = new CachedFile(entry.getValue().getSize(), entry.getValue().getLastModified());
+
+      manifest.put(entry.getKey(), cachedFile);
+      document.append(entry.getKey(), cachedFile);
+    }
+
+    this.manifests.put(template, manifest);
+    document.writeCompact(this.getManifestFile(template));
+    return true;
+  }
+
+  /**
+   * Drops the cached copy of the given template, for example because the template was modified by this node.
+   *
+   * @param template the template to invalidate
+   */
+  public synchronized void invalidate(@NotNull ServiceTemplate template) {
+    this.generations.merge(template, 1L, Long::sum);
+    this.manifests.put(template, new HashMap<>());
+    FileUtils.deleteFileReported(this.getManifestFile(template));
+  }
+
+  @NotNull
+  public ReadWriteLock getLock(@NotNull ServiceTemplate template) {
+    return this.locks.computeIfAbsent(template, ignored -> new ReentrantReadWriteLock());
+  }
+
+  @NotNull
+  public Path getTemplateDirectory(@NotNull ServiceTemplate template) {
+    return this.baseDirectory.resolve("templates").resolve(template.getPrefix()).resolve(template.getName());
+  }
+
+  @NotNull
+  public Path getBaseDirectory() {
+    return this.baseDirectory;
+  }
+
+  private Map<String, CachedFile> getManifest(ServiceTemplate template) {
+    return this.manifests.computeIfAbsent(template, key -> {
+      Map<String, CachedFile> manifest = new HashMap<>();
+
+      Path manifestFile = this.getManifestFile(key);
+      if (Files.exists(manifestFile)) {
+        JsonDocument document = JsonDocument.newDocument(manifestFile);
+        for (String path : document.keys()) {
+          manifest.put(path, document.get(path, CachedFile.class));
+        }
+      }
+
+      return manifest;
+    });
+  }
+
+  private Map<String, FileInfo> indexFiles(FileInfo[] files) {
+    Map<String, FileInfo> index = new HashMap<>(files.length);
+
+    for (FileInfo file : files) {
+      if (file != null && !file.isDirectory()) {
+        String path = file.getPath().startsWith("/") ? file.getPath().substring(1) : file.getPath();
+        index.put(path, file);
+      }
+    }
+
+    return index;
+  }
+
+  private Path getManifestFile(ServiceTemplate template) {
+    return this.baseDirectory.resolve("manifests").resolve(template.getPrefix())
+      .resolve(template.getName() + ".json");
+  }
+
+  private static final class CachedFile {
+
+    private final long size;
+    private final long lastModified;
+
+    private CachedFile(long size, long lastModified) {
+      this.size = size;
+      this.lastModified = lastModified;
+    }
+
+    private boolean matches(FileInfo fileInfo) {
+      return this.size == fileInfo.getSize() && this.lastModified == fileInfo.getLastModified();
+    }
+  }
+
+}
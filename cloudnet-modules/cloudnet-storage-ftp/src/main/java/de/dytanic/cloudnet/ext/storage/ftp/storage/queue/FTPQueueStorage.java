@@ -16,62 +16,96 @@
 
 package de.dytanic.cloudnet.ext.storage.ftp.storage.queue;
 
+import com.google.common.base.Preconditions;
 import de.dytanic.cloudnet.common.concurrent.CompletableTask;
 import de.dytanic.cloudnet.common.concurrent.CompletedTask;
 import de.dytanic.cloudnet.common.concurrent.ITask;
-import de.dytanic.cloudnet.common.concurrent.function.ThrowableSupplier;
+import de.dytanic.cloudnet.common.concurrent.function.ThrowableFunction;
+import de.dytanic.cloudnet.common.io.FileUtils;
 import de.dytanic.cloudnet.driver.service.ServiceTemplate;
 import de.dytanic.cloudnet.driver.template.FileInfo;
 import de.dytanic.cloudnet.driver.template.TemplateStorage;
 import de.dytanic.cloudnet.driver.template.defaults.DefaultAsyncTemplateStorage;
 import de.dytanic.cloudnet.ext.storage.ftp.storage.AbstractFTPStorage;
+import de.dytanic.cloudnet.ext.storage.ftp.storage.FTPTemplateCache;
 import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-public class FTPQueueStorage extends DefaultAsyncTemplateStorage implements Runnable, TemplateStorage {
+/**
+ * Executes all operations of a ftp storage on a pool of connections. Every connection is driven by its own worker
+ * thread polling the shared task queue, templates are copied by downloading their files in parallel into the node local
+ * {@link FTPTemplateCache} if one is given.
+ */
+public class FTPQueueStorage extends DefaultAsyncTemplateStorage implements TemplateStorage {
 
   private static final long EMPTY_QUEUE_TOLERANCE_SECONDS = 5;
 
-  private final AbstractFTPStorage executingStorage;
+  private final List<AbstractFTPStorage> connections;
+  private final FTPTemplateCache templateCache;
   @NotNull
-  private final BlockingQueue<ITask<?>> ftpTaskQueue = new LinkedBlockingQueue<>();
-  private boolean opened = true;
+  private final BlockingQueue<FTPTask<?>> ftpTaskQueue = new LinkedBlockingQueue<>();
+  private volatile boolean opened = true;
 
   public FTPQueueStorage(AbstractFTPStorage executingStorage) {
-    this.executingStorage = executingStorage;
+    this(Collections.singletonList(executingStorage), null);
   }
 
-  @Override
-  public void run() {
+  public FTPQueueStorage(@NotNull List<AbstractFTPStorage> connections, @Nullable FTPTemplateCache templateCache) {
+    Preconditions.checkArgument(!connections.isEmpty(), "At least one connection is required");
+
+    this.connections = connections;
+    this.templateCache = templateCache;
+  }
+
+  /**
+   * Starts one daemon worker thread for every connection of this storage.
+   */
+  public void start() {
+    for (int i = 0; i < this.connections.size(); i++) {
+      AbstractFTPStorage connection = this.connections.get(i);
+
+      Thread workerThread = new Thread(() -> this.processTasks(connection), "FTP queue worker #" + (i + 1));
+      workerThread.setDaemon(true);
+      workerThread.start();
+    }
+  }
+
+  private void processTasks(AbstractFTPStorage connection) {
     while (!Thread.currentThread().isInterrupted() && this.opened) {
       try {
-        ITask<?> nextFTPTask = this.ftpTaskQueue.poll(EMPTY_QUEUE_TOLERANCE_SECONDS, TimeUnit.SECONDS);
+        FTPTask<?> nextFTPTask = this.ftpTaskQueue.poll(EMPTY_QUEUE_TOLERANCE_SECONDS, TimeUnit.SECONDS);
 
-        boolean ftpAvailable = this.executingStorage.isAvailable();
+        boolean ftpAvailable = connection.isAvailable();
 
         if (nextFTPTask == null) {
           if (ftpAvailable) {
-            this.executingStorage.close();
+            connection.close();
           }
         } else {
-          if (!ftpAvailable && !this.executingStorage.connect()) {
+          if (!ftpAvailable && !connection.connect()) {
             nextFTPTask.cancel(true);
           }
 
-          nextFTPTask.call();
+          nextFTPTask.call(connection);
         }
+      } catch (InterruptedException exception) {
+        Thread.currentThread().interrupt();
       } catch (Exception exception) {
         exception.printStackTrace();
       }
@@ -80,86 +114,170 @@ public void run() {
 
   }
 
-  private <V> ITask<V> addTask(FTPTask<V> task) {
+  private <V> FTPTask<V> addTask(FTPTask<V> task) {
     this.ftpTaskQueue.add(task);
     return task;
   }
 
+  private <V> FTPTask<V> addModifyingTask(ServiceTemplate template,
+    ThrowableFunction<AbstractFTPStorage, V, Exception> function) {
+    return this.addTask(new FTPTask<>(storage -> {
+      try {
+        return function.apply(storage);
+      } finally {
+        this.invalidateCache(template);
+      }
+    }));
+  }
+
+  private void invalidateCache(ServiceTemplate template) {
+    if (this.templateCache != null) {
+      this.templateCache.invalidate(template);
+    }
+  }
+
   @Override
   public void close() throws IOException {
     this.opened = false;
-    this.executingStorage.close();
+
+    for (AbstractFTPStorage connection : this.connections) {
+      connection.close();
+    }
   }
 
   @Override
   public @NotNull ITask<Boolean> deployAsync(@NotNull Path directory, @NotNull ServiceTemplate target,
     @Nullable Predicate<Path> fileFilter) {
-    return this.addTask(new FTPTask<>(() -> this.executingStorage.deploy(directory, target, fileFilter)));
+    return this.addModifyingTask(target, storage -> storage.deploy(directory, target, fileFilter));
   }
 
   @Override
   public @NotNull ITask<Boolean> deployAsync(@NotNull InputStream inputStream, @NotNull ServiceTemplate target) {
-    return this.addTask(new FTPTask<>(() -> this.executingStorage.deploy(inputStream, target)));
+    return this.addModifyingTask(target, storage -> storage.deploy(inputStream, target));
   }
 
   @Override
   public @NotNull ITask<Boolean> copyAsync(@NotNull ServiceTemplate template, @NotNull Path directory) {
-    return this.addTask(new FTPTask<>(() -> this.executingStorage.copy(template, directory)));
+    if (this.templateCache == null) {
+      return this.addTask(new FTPTask<>(storage -> storage.copy(template, directory)));
+    }
+    return CompletableTask.supplyAsync(() -> this.copyFromCache(template, directory));
   }
 
   public boolean copy(@NotNull ServiceTemplate template, @NotNull Path directory) {
-    ITask<Boolean> ftpTask = new FTPTask<>(() -> this.executingStorage.copy(template, directory));
-    this.ftpTaskQueue.add(ftpTask);
+    if (this.templateCache == null) {
+      ITask<Boolean> ftpTask = this.addTask(new FTPTask<>(storage -> storage.copy(template, directory)));
+      return Boolean.TRUE.equals(ftpTask.getDef(false));
+    }
+    return this.copyFromCache(template, directory);
+  }
+
+  private boolean copyFromCache(ServiceTemplate template, Path directory) {
+    ReadWriteLock lock = this.templateCache.getLock(template);
+
+    lock.writeLock().lock();
+    try {
+      if (!this.updateCache(template)) {
+        return false;
+      }
+      // downgrade the lock, so that other services of the template can be copied at the same time
+      lock.readLock().lock();
+    } finally {
+      lock.writeLock().unlock();
+    }
+
+    try {
+      FileUtils.createDirectoryReported(directory);
+      FileUtils.copyFilesToDirectory(this.templateCache.getTemplateDirectory(template), directory);
+      return true;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private boolean updateCache(ServiceTemplate template) {
+    long generation = this.templateCache.getGeneration(template);
+
+    FileInfo[] remoteFiles = this.addTask(new FTPTask<>(storage -> storage.listFiles(template, "", true))).getDef(null);
+    if (remoteFiles == null) {
+      return false;
+    }
+
+    Path cacheDirectory = this.templateCache.getTemplateDirectory(template);
+    Collection<FTPTask<Boolean>> downloads = new ArrayList<>();
+
+    for (FileInfo file : this.templateCache.getOutdatedFiles(template, remoteFiles)) {
+      String path = file.getPath().startsWith("/") ? file.getPath().substring(1) : file.getPath();
+      downloads.add(this.addTask(new FTPTask<>(storage -> storage.downloadFile(template, path,
+        cacheDirectory.resolve(path)))));
+    }
+
+    boolean success = true;
+    for (FTPTask<Boolean> download : downloads) {
+      success &= Boolean.TRUE.equals(download.getDef(false));
+    }
 
-    return ftpTask.getDef(false);
+    if (!success) {
+      this.templateCache.invalidate(template);
+      return false;
+    }
+
+    this.templateCache.update(template, remoteFiles, generation);
+    return true;
   }
 
   @Override
   public @NotNull ITask<InputStream> zipTemplateAsync(@NotNull ServiceTemplate template) {
-    return this.addTask(new FTPTask<>(() -> this.executingStorage.zipTemplate(template)));
+    return this.addTask(new FTPTask<>(storage -> storage.zipTemplate(template)));
   }
 
   @Override
   public @NotNull ITask<Boolean> deleteAsync(@NotNull ServiceTemplate template) {
-    return this.addTask(new FTPTask<>(() -> this.executingStorage.delete(template)));
+    return this.addModifyingTask(template, storage -> storage.delete(template));
   }
 
   @Override
   public @NotNull ITask<Boolean> createAsync(@NotNull ServiceTemplate template) {
-    return this.addTask(new FTPTask<>(() -> this.executingStorage.create(template)));
+    return this.addModifyingTask(template, storage -> storage.create(template));
   }
 
   @Override
   public @NotNull ITask<Boolean> hasAsync(@NotNull ServiceTemplate template) {
-    return this.addTask(new FTPTask<>(() -> this.executingStorage.has(template)));
+    return this.addTask(new FTPTask<>(storage -> storage.has(template)));
   }
 
   @Override
   public @NotNull ITask<OutputStream> appendOutputStreamAsync(@NotNull ServiceTemplate template, @NotNull String path) {
     return CompletableTask.supplyAsync(() -> this
-      .createDataTransfer(() -> this.executingStorage.appendOutputStream(template, path),
+      .createDataTransfer(template, true, storage -> storage.appendOutputStream(template, path),
         CloseableTask::toOutputStream));
   }
 
   @Override
   public @NotNull ITask<OutputStream> newOutputStreamAsync(@NotNull ServiceTemplate template, @NotNull String path) {
     return CompletableTask.supplyAsync(() -> this
-      .createDataTransfer(() -> this.executingStorage.newOutputStream(template, path), CloseableTask::toOutputStream));
+      .createDataTransfer(template, true, storage -> storage.newOutputStream(template, path),
+        CloseableTask::toOutputStream));
   }
 
-  private <C extends Closeable, S> S createDataTransfer(ThrowableSupplier<C, IOException> streamSupplier,
+  private <C extends Closeable, S> S createDataTransfer(ServiceTemplate template, boolean modifying,
+    ThrowableFunction<AbstractFTPStorage, C, IOException> streamSupplier,
     Function<CloseableTask<C>, S> streamMapper) throws IOException {
     CompletableTask<CloseableTask<C>> task = new CompletableTask<>();
 
-    FTPTask<Void> ftpTask = new FTPTask<>(() -> {
-      C c = streamSupplier.get();
+    FTPTask<Void> ftpTask = new FTPTask<>(storage -> {
+      C c = streamSupplier.apply(storage);
       CloseableTask<C> resultStream = new CloseableTask<>(c);
 
       task.complete(resultStream);
 
       resultStream.get();
 
-      this.executingStorage.completeDataTransfer();
+      storage.completeDataTransfer();
+
+      if (modifying) {
+        this.invalidateCache(template);
+      }
 
       return null;
     }, task::call);
@@ -180,44 +298,45 @@ private <C extends Closeable, S> S createDataTransfer(ThrowableSupplier<C, IOExc
 
   @Override
   public @NotNull ITask<Boolean> createFileAsync(@NotNull ServiceTemplate template, @NotNull String path) {
-    return this.addTask(new FTPTask<>(() -> this.executingStorage.createFile(template, path)));
+    return this.addModifyingTask(template, storage -> storage.createFile(template, path));
   }
 
   @Override
   public @NotNull ITask<Boolean> createDirectoryAsync(@NotNull ServiceTemplate template, @NotNull String path) {
-    return this.addTask(new FTPTask<>(() -> this.executingStorage.createDirectory(template, path)));
+    return this.addModifyingTask(template, storage -> storage.createDirectory(template, path));
   }
 
   @Override
   public @NotNull ITask<Boolean> hasFileAsync(@NotNull ServiceTemplate template, @NotNull String path) {
-    return this.addTask(new FTPTask<>(() -> this.executingStorage.hasFile(template, path)));
+    return this.addTask(new FTPTask<>(storage -> storage.hasFile(template, path)));
   }
 
   @Override
   public @NotNull ITask<Boolean> deleteFileAsync(@NotNull ServiceTemplate template, @NotNull String path) {
-    return this.addTask(new FTPTask<>(() -> this.executingStorage.deleteFile(template, path)));
+    return this.addModifyingTask(template, storage -> storage.deleteFile(template, path));
   }
 
   @Override
   public @NotNull ITask<InputStream> newInputStreamAsync(@NotNull ServiceTemplate template, @NotNull String path) {
     return CompletableTask.supplyAsync(() -> this
-      .createDataTransfer(() -> this.executingStorage.newInputStream(template, path), CloseableTask::toInputStream));
+      .createDataTransfer(template, false, storage -> storage.newInputStream(template, path),
+        CloseableTask::toInputStream));
   }
 
   @Override
   public @NotNull ITask<FileInfo> getFileInfoAsync(@NotNull ServiceTemplate template, @NotNull String path) {
-    return this.addTask(new FTPTask<>(() -> this.executingStorage.getFileInfo(template, path)));
+    return this.addTask(new FTPTask<>(storage -> storage.getFileInfo(template, path)));
   }
 
   @Override
   public @NotNull ITask<FileInfo[]> listFilesAsync(@NotNull ServiceTemplate template, @NotNull String dir,
     boolean deep) {
-    return this.addTask(new FTPTask<>(() -> this.executingStorage.listFiles(template, dir, deep)));
+    return this.addTask(new FTPTask<>(storage -> storage.listFiles(template, dir, deep)));
   }
 
   @Override
   public @NotNull ITask<Collection<ServiceTemplate>> getTemplatesAsync() {
-    return this.addTask(new FTPTask<>(this.executingStorage::getTemplates));
+    return this.addTask(new FTPTask<>(AbstractFTPStorage::getTemplates));
   }
 
   @Override
@@ -231,7 +350,16 @@ private <C extends Closeable, S> S createDataTransfer(ThrowableSupplier<C, IOExc
   }
 
   public AbstractFTPStorage getExecutingStorage() {
-    return this.executingStorage;
+    return this.connections.get(0);
+  }
+
+  public List<AbstractFTPStorage> getConnections() {
+    return this.connections;
+  }
+
+  @Nullable
+  public FTPTemplateCache getTemplateCache() {
+    return this.templateCache;
   }
 
   public boolean isOpened() {
@@ -240,6 +368,6 @@ public boolean isOpened() {
 
   @Override
   public String getName() {
-    return this.executingStorage.getName();
+    return this.getExecutingStorage().getName();
   }
 }
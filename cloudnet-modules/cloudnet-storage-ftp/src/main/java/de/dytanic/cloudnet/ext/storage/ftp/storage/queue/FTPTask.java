@@ -17,25 +17,37 @@
 package de.dytanic.cloudnet.ext.storage.ftp.storage.queue;
 
 import de.dytanic.cloudnet.common.concurrent.ListenableTask;
+import de.dytanic.cloudnet.common.concurrent.function.ThrowableFunction;
+import de.dytanic.cloudnet.ext.storage.ftp.storage.AbstractFTPStorage;
 import java.util.Optional;
 import java.util.concurrent.Callable;
 
 class FTPTask<V> extends ListenableTask<V> {
 
+  private final StorageCallable<V> callable;
   private Exception exception;
 
-  FTPTask(Callable<V> callable) {
-    super(callable);
+  FTPTask(ThrowableFunction<AbstractFTPStorage, V, Exception> function) {
+    this(new StorageCallable<>(function));
+  }
 
-    super.onFailure(throwable -> this.exception = (Exception) throwable);
+  FTPTask(ThrowableFunction<AbstractFTPStorage, V, Exception> function, Runnable finishedRunnable) {
+    this(new StorageCallable<>(function));
+
+    super.onComplete(ignored -> finishedRunnable.run());
+    super.onCancelled(ignored -> finishedRunnable.run());
   }
 
-  FTPTask(Callable<V> callable, Runnable finishedRunnable) {
+  private FTPTask(StorageCallable<V> callable) {
     super(callable);
+    this.callable = callable;
 
     super.onFailure(throwable -> this.exception = (Exception) throwable);
-    super.onComplete(ignored -> finishedRunnable.run());
-    super.onCancelled(ignored -> finishedRunnable.run());
+  }
+
+  V call(AbstractFTPStorage storage) {
+    this.callable.storage = storage;
+    return super.call();
   }
 
   @Override
@@ -59,4 +71,19 @@ Exception getException() {
     return this.exception;
   }
 
+  private static final class StorageCallable<V> implements Callable<V> {
+
+    private final ThrowableFunction<AbstractFTPStorage, V, Exception> function;
+    private volatile AbstractFTPStorage storage;
+
+    private StorageCallable(ThrowableFunction<AbstractFTPStorage, V, Exception> function) {
+      this.function = function;
+    }
+
+    @Override
+    public V call() throws Exception {
+      return this.function.apply(this.storage);
+    }
+  }
+
 }
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.dytanic.cloudnet.ext.storage.ftp.storage;
+
+import de.dytanic.cloudnet.common.io.FileUtils;
+import de.dytanic.cloudnet.driver.service.ServiceTemplate;
+import de.dytanic.cloudnet.driver.template.FileInfo;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.Collections;
+import org.junit.Assert;
+import org.junit.Test;
+
+public final class FTPTemplateCacheTest {
+
+  private static final ServiceTemplate TEMPLATE = new ServiceTemplate("Lobby", "default", "ftp");
+
+  @Test
+  public void testOutdatedFiles() throws Exception {
+    Path directory = Paths.get("build/ftp_template_cache");
+    try {
+      FTPTemplateCache cache = new FTPTemplateCache(directory);
+      Path templateDirectory = cache.getTemplateDirectory(TEMPLATE);
+
+      FileInfo[] remoteFiles = {
+        this.remoteFile("/plugins", true, 0, 1000),
+        this.remoteFile("/plugins/test.jar", false, 3, 1000),
+        this.remoteFile("/server.properties", false, 9, 1000)
+      };
+      Assert.assertEquals(2, cache.getOutdatedFiles(TEMPLATE, remoteFiles).size());
+
+      this.createCachedFile(templateDirectory.resolve("plugins/test.jar"));
+      this.createCachedFile(templateDirectory.resolve("server.properties"));
+      Assert.assertTrue(cache.update(TEMPLATE, remoteFiles, cache.getGeneration(TEMPLATE)));
+      Assert.assertTrue(cache.getOutdatedFiles(TEMPLATE, remoteFiles).isEmpty());
+
+      // the manifest has to survive a restart of the node
+      cache = new FTPTemplateCache(directory);
+      Assert.assertTrue(cache.getOutdatedFiles(TEMPLATE, remoteFiles).isEmpty());
+
+      FileInfo[] changedFiles = {
+        this.remoteFile("/plugins/test.jar", false, 4, 2000)
+      };
+      Collection<FileInfo> outdatedFiles = cache.getOutdatedFiles(TEMPLATE, changedFiles);
+      Assert.assertEquals(Collections.singletonList("/plugins/test.jar"),
+        Collections.singletonList(outdatedFiles.iterator().next().getPath()));
+      Assert.assertTrue(Files.notExists(templateDirectory.resolve("server.properties")));
+
+      long generation = cache.getGeneration(TEMPLATE);
+      cache.invalidate(TEMPLATE);
+      Assert.assertFalse(cache.update(TEMPLATE, changedFiles, generation));
+      Assert.assertEquals(2, cache.getOutdatedFiles(TEMPLATE, remoteFiles).size());
+    } finally {
+      FileUtils.delete(directory);
+    }
+  }
+
+  private FileInfo remoteFile(String path, boolean directory, long size, long lastModified) {
+    return new FileInfo(path, path.substring(path.lastIndexOf('/') + 1), directory, false, -1, lastModified,
+      lastModified, size);
+  }
+
+  private void createCachedFile(Path path) throws Exception {
+    Files.createDirectories(path.getParent());
+    Files.write(path, new byte[0]);
+  }
+
+}
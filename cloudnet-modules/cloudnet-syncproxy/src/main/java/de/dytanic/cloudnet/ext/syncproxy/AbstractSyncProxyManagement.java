@@ -66,7 +66,7 @@ protected String getServiceStateChangeMessage(String key, ServiceInfoSnapshot se
   protected void updateServiceOnlineCount(ServiceInfoSnapshot serviceInfoSnapshot) {
     this.onlineCountCache.put(
       serviceInfoSnapshot.getServiceId().getUniqueId(),
-      serviceInfoSnapshot.getProperty(BridgeServiceProperty.ONLINE_COUNT).orElse(0)
+      serviceInfoSnapshot.getIntProperty(BridgeServiceProperty.ONLINE_COUNT, 0)
     );
     this.updateTabList();
   }
@@ -55,6 +55,7 @@
 import de.dytanic.cloudnet.wrapper.network.NetworkClientChannelHandler;
 import de.dytanic.cloudnet.wrapper.network.listener.PacketServerAuthorizationResponseListener;
 import de.dytanic.cloudnet.wrapper.network.listener.PacketServerChannelMessageListener;
+import de.dytanic.cloudnet.wrapper.network.listener.PacketServerDatabaseInvalidationListener;
 import de.dytanic.cloudnet.wrapper.network.listener.PacketServerServiceInfoPublisherListener;
 import de.dytanic.cloudnet.wrapper.network.listener.PacketServerSetGlobalLogLevelListener;
 import de.dytanic.cloudnet.wrapper.network.listener.PacketServerUpdatePermissionsListener;
@@ -163,14 +164,20 @@ public final class Wrapper extends CloudNetDriver implements DriverAPIUser {
       .addListener(PacketConstants.SERVICE_INFO_PUBLISH_CHANNEL, new PacketServerServiceInfoPublisherListener());
     this.networkClient.getPacketRegistry()
       .addListener(PacketConstants.PERMISSIONS_PUBLISH_CHANNEL, new PacketServerUpdatePermissionsListener());
+    PacketServerChannelMessageListener channelMessageListener = new PacketServerChannelMessageListener();
     this.networkClient.getPacketRegistry()
-      .addListener(PacketConstants.CHANNEL_MESSAGING_CHANNEL, new PacketServerChannelMessageListener());
+      .addListener(PacketConstants.CHANNEL_MESSAGING_CHANNEL, channelMessageListener);
+    this.networkClient.getPacketRegistry()
+      .addListener(PacketConstants.CHANNEL_MESSAGING_BATCH_CHANNEL, channelMessageListener);
 
     this.networkClient.getPacketRegistry()
       .addListener(PacketConstants.INTERNAL_DEBUGGING_CHANNEL, new PacketServerSetGlobalLogLevelListener());
 
     this.networkClient.getPacketRegistry()
       .addListener(PacketConstants.INTERNAL_DRIVER_API_CHANNEL, new PacketServerWrapperDriverAPIListener());
+
+    this.networkClient.getPacketRegistry().addListener(PacketConstants.INTERNAL_DATABASE_INVALIDATION_CHANNEL,
+      new PacketServerDatabaseInvalidationListener());
     //-
 
     this.moduleProvider.setModuleDirectoryPath(Paths.get(".wrapper", "modules"));
@@ -212,6 +219,10 @@ public synchronized void start() throws Exception {
       throw new IllegalStateException("authorization response is: denied");
     }
 
+    if (this.generalCloudServiceProvider instanceof WrapperGeneralCloudServiceProvider) {
+      ((WrapperGeneralCloudServiceProvider) this.generalCloudServiceProvider).init();
+    }
+
     Runtime.getRuntime().addShutdownHook(new Thread(this::stop));
 
     if (!this.startApplication()) {
@@ -222,6 +233,11 @@ public synchronized void start() throws Exception {
   @Override
   public void stop() {
     try {
+      // the batched channel messages would be lost with the connection
+      if (this.messenger instanceof WrapperMessenger) {
+        ((WrapperMessenger) this.messenger).getBatcher().flushAll();
+      }
+
       this.networkClient.close();
       this.logger.close();
     } catch (Exception exception) {
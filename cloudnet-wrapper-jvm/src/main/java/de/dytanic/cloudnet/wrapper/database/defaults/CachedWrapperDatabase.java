@@ -0,0 +1,250 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.dytanic.cloudnet.wrapper.database.defaults;
+
+import de.dytanic.cloudnet.common.concurrent.CompletedTask;
+import de.dytanic.cloudnet.common.concurrent.ITask;
+import de.dytanic.cloudnet.common.document.gson.JsonDocument;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A database which caches the documents and keys it received from the node. The cached values are dropped after the
+ * configured time, when the least recently used entries exceed the maximum size or when the entry is changed by this
+ * service or, if the database is subscribed, by any other component.
+ */
+public class CachedWrapperDatabase extends WrapperDatabase {
+
+  private final DefaultWrapperDatabaseProvider databaseProvider;
+  private final int maxSize;
+  private final long timeToLiveMillis;
+  private final boolean subscribed;
+
+  private final Map<String, CacheEntry> entries;
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+
+  private Collection<String> keys;
+  private long keysExpiration;
+  // incremented on every invalidation, responses of queries which were sent before are not cached
+  private long generation;
+
+  public CachedWrapperDatabase(String name, DefaultWrapperDatabaseProvider databaseProvider, int maxSize,
+    long timeToLiveMillis, boolean subscribed) {
+    super(name, databaseProvider);
+    this.databaseProvider = databaseProvider;
+    this.maxSize = maxSize;
+    this.timeToLiveMillis = timeToLiveMillis;
+    this.subscribed = subscribed;
+    this.entries = new LinkedHashMap<String, CacheEntry>(16, 0.75F, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, CacheEntry> eldest) {
+        return this.size() > maxSize;
+      }
+    };
+  }
+
+  @Override
+  @NotNull
+  public ITask<JsonDocument> getAsync(String key) {
+    CacheEntry entry = this.getEntry(key);
+    if (entry != null) {
+      return CompletedTask.create(entry.document == null ? null : entry.document.clone());
+    }
+
+    long generation = this.getGeneration();
+    return super.getAsync(key).map(document -> {
+      this.putEntry(key, document == null ? null : document.clone(), generation);
+      return document;
+    });
+  }
+
+  @Override
+  @NotNull
+  public ITask<Boolean> containsAsync(String key) {
+    CacheEntry entry = this.getEntry(key);
+    if (entry != null) {
+      return CompletedTask.create(entry.document != null);
+    }
+
+    long generation = this.getGeneration();
+    return super.containsAsync(key).map(contains -> {
+      if (contains != null && !contains) {
+        this.putEntry(key, null, generation);
+      }
+      return contains;
+    });
+  }
+
+  @Override
+  @NotNull
+  public ITask<Collection<String>> keysAsync() {
+    synchronized (this.entries) {
+      if (this.keys != null && (this.timeToLiveMillis <= 0 || this.keysExpiration > System.currentTimeMillis())) {
+        this.hits.incrementAndGet();
+        return CompletedTask.create(new ArrayList<>(this.keys));
+      }
+    }
+
+    this.misses.incrementAndGet();
+    long generation = this.getGeneration();
+    return super.keysAsync().map(keys -> {
+      synchronized (this.entries) {
+        if (keys != null && generation == this.generation) {
+          this.keys = new ArrayList<>(keys);
+          this.keysExpiration = System.currentTimeMillis() + this.timeToLiveMillis;
+        }
+      }
+      return keys;
+    });
+  }
+
+  @Override
+  @NotNull
+  public ITask<Boolean> insertAsync(String key, JsonDocument document) {
+    this.invalidate(key);
+    return super.insertAsync(key, document).map(success -> this.invalidate(key, success));
+  }
+
+  @Override
+  @NotNull
+  public ITask<Boolean> insertBatchAsync(Map<String, JsonDocument> documents) {
+    this.invalidate(null);
+    return super.insertBatchAsync(documents).map(success -> this.invalidate(null, success));
+  }
+
+  @Override
+  @NotNull
+  public ITask<Boolean> updateAsync(String key, JsonDocument document) {
+    this.invalidate(key);
+    return super.updateAsync(key, document).map(success -> this.invalidate(key, success));
+  }
+
+  @Override
+  @NotNull
+  public ITask<Boolean> deleteAsync(String key) {
+    this.invalidate(key);
+    return super.deleteAsync(key).map(success -> this.invalidate(key, success));
+  }
+
+  @Override
+  @NotNull
+  public ITask<Void> clearAsync() {
+    this.invalidate(null);
+    return super.clearAsync().map(result -> this.invalidate(null, result));
+  }
+
+  @Override
+  public void close() {
+    this.databaseProvider.removeCachedDatabase(this);
+    this.invalidate(null);
+    super.close();
+  }
+
+  /**
+   * Drops the cached document with the given key and the cached keys of this database.
+   *
+   * @param key the key of the changed document or null to drop all cached documents
+   */
+  public void invalidate(@Nullable String key) {
+    synchronized (this.entries) {
+      this.generation++;
+      this.keys = null;
+
+      if (key == null) {
+        this.entries.clear();
+      } else {
+        this.entries.remove(key);
+      }
+    }
+  }
+
+  private <T> T invalidate(String key, T result) {
+    // the value may have been cached again while the node was executing the operation
+    this.invalidate(key);
+    return result;
+  }
+
+  private CacheEntry getEntry(String key) {
+    synchronized (this.entries) {
+      CacheEntry entry = this.entries.get(key);
+      if (entry != null && this.timeToLiveMillis > 0 && entry.expiration <= System.currentTimeMillis()) {
+        this.entries.remove(key);
+        entry = null;
+      }
+
+      (entry == null ? this.misses : this.hits).incrementAndGet();
+      return entry;
+    }
+  }
+
+  private void putEntry(String key, JsonDocument document, long generation) {
+    synchronized (this.entries) {
+      if (generation == this.generation) {
+        this.entries.put(key, new CacheEntry(document, System.currentTimeMillis() + this.timeToLiveMillis));
+      }
+    }
+  }
+
+  private long getGeneration() {
+    synchronized (this.entries) {
+      return this.generation;
+    }
+  }
+
+  public int getMaxSize() {
+    return this.maxSize;
+  }
+
+  public long getTimeToLiveMillis() {
+    return this.timeToLiveMillis;
+  }
+
+  public boolean isSubscribed() {
+    return this.subscribed;
+  }
+
+  public long getHits() {
+    return this.hits.get();
+  }
+
+  public long getMisses() {
+    return this.misses.get();
+  }
+
+  public int getCachedEntriesCount() {
+    synchronized (this.entries) {
+      return this.entries.size();
+    }
+  }
+
+  private static final class CacheEntry {
+
+    private final JsonDocument document;
+    private final long expiration;
+
+    private CacheEntry(JsonDocument document, long expiration) {
+      this.document = document;
+      this.expiration = expiration;
+    }
+  }
+}
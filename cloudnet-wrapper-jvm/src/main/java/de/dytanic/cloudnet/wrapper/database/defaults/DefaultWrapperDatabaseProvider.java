@@ -16,24 +16,78 @@
 
 package de.dytanic.cloudnet.wrapper.database.defaults;
 
+import com.google.common.base.Preconditions;
 import de.dytanic.cloudnet.common.concurrent.ITask;
 import de.dytanic.cloudnet.driver.CloudNetDriver;
 import de.dytanic.cloudnet.driver.api.RemoteDatabaseRequestType;
 import de.dytanic.cloudnet.driver.network.protocol.IPacket;
+import de.dytanic.cloudnet.driver.network.protocol.chunk.ChunkedQueryResponse;
 import de.dytanic.cloudnet.driver.serialization.ProtocolBuffer;
 import de.dytanic.cloudnet.wrapper.database.IDatabase;
 import de.dytanic.cloudnet.wrapper.database.IDatabaseProvider;
 import de.dytanic.cloudnet.wrapper.network.packet.PacketClientDatabaseAction;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import org.jetbrains.annotations.NotNull;
 
 public class DefaultWrapperDatabaseProvider implements IDatabaseProvider {
 
+  private final Map<String, CachedWrapperDatabase> cachedDatabases = new ConcurrentHashMap<>();
+
   @Override
   public IDatabase getDatabase(String name) {
-    return new WrapperDatabase(name, this);
+    CachedWrapperDatabase cachedDatabase = this.cachedDatabases.get(name);
+    return cachedDatabase != null ? cachedDatabase : new WrapperDatabase(name, this);
+  }
+
+  /**
+   * Gets a database which caches the documents it received from the node. The cache is shared by all callers, so all
+   * of them have to request it with the same bounds. A subscribed database is informed by the node about every change
+   * of its entries, otherwise changes of other services are only visible after the time to live of the cached entries.
+   *
+   * @param name       the name of the database
+   * @param maxSize    the maximum amount of cached documents
+   * @param timeToLive the time after which cached documents are requested again, 0 to keep them until they're changed
+   * @param timeUnit   the unit of the time to live
+   * @param subscribe  whether the node should inform this service about changes of the database
+   * @return the cached database
+   * @throws IllegalArgumentException if the database is already cached with different parameters
+   */
+  public CachedWrapperDatabase getCachedDatabase(String name, int maxSize, long timeToLive, TimeUnit timeUnit,
+    boolean subscribe) {
+    long timeToLiveMillis = timeUnit.toMillis(timeToLive);
+    CachedWrapperDatabase database = new CachedWrapperDatabase(name, this, maxSize, timeToLiveMillis, subscribe);
+
+    CachedWrapperDatabase cachedDatabase = this.cachedDatabases.putIfAbsent(name, database);
+    if (cachedDatabase != null) {
+      Preconditions.checkArgument(cachedDatabase.getMaxSize() == maxSize
+          && cachedDatabase.getTimeToLiveMillis() == timeToLiveMillis && cachedDatabase.isSubscribed() == subscribe,
+        "Database %s is already cached with different parameters", name);
+      return cachedDatabase;
+    }
+
+    if (subscribe) {
+      this.executeQuery(RemoteDatabaseRequestType.DATABASE_SUBSCRIBE, buffer -> buffer.writeString(name));
+    }
+    return database;
+  }
+
+  void removeCachedDatabase(CachedWrapperDatabase database) {
+    if (this.cachedDatabases.remove(database.getName(), database) && database.isSubscribed()) {
+      this.executeQuery(RemoteDatabaseRequestType.DATABASE_UNSUBSCRIBE,
+        buffer -> buffer.writeString(database.getName()));
+    }
+  }
+
+  public void handleInvalidation(String name, String key) {
+    CachedWrapperDatabase cachedDatabase = this.cachedDatabases.get(name);
+    if (cachedDatabase != null) {
+      cachedDatabase.invalidate(key);
+    }
   }
 
   @Override
@@ -77,4 +131,10 @@ ITask<IPacket> executeQuery(RemoteDatabaseRequestType requestType, Consumer<Prot
       .sendQueryAsync(new PacketClientDatabaseAction(requestType, modifier));
   }
 
+  ITask<ChunkedQueryResponse> executeChunkedQuery(RemoteDatabaseRequestType requestType,
+    Consumer<ProtocolBuffer> modifier) {
+    return CloudNetDriver.getInstance().getNetworkClient().getFirstChannel()
+      .sendChunkedPacketQuery(new PacketClientDatabaseAction(requestType, modifier));
+  }
+
 }
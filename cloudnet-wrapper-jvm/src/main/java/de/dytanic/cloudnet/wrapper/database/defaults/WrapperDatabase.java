@@ -20,6 +20,7 @@
 import de.dytanic.cloudnet.common.concurrent.ListenableTask;
 import de.dytanic.cloudnet.common.document.gson.JsonDocument;
 import de.dytanic.cloudnet.driver.api.RemoteDatabaseRequestType;
+import de.dytanic.cloudnet.driver.database.DatabaseEntryCodec;
 import de.dytanic.cloudnet.driver.serialization.ProtocolBuffer;
 import de.dytanic.cloudnet.wrapper.database.IDatabase;
 import java.util.ArrayList;
@@ -28,9 +29,12 @@
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.BiConsumer;
 import java.util.function.BiPredicate;
+import java.util.stream.Stream;
 import org.jetbrains.annotations.NotNull;
 
 public class WrapperDatabase implements IDatabase {
@@ -62,6 +66,11 @@ public boolean update(String key, JsonDocument document) {
     return this.updateAsync(key, document).getDef(false);
   }
 
+  @Override
+  public boolean insertBatch(Map<String, JsonDocument> documents) {
+    return this.insertBatchAsync(documents).getDef(false);
+  }
+
   @Override
   public boolean contains(String key) {
     return this.containsAsync(key).getDef(false);
@@ -87,6 +96,11 @@ public List<JsonDocument> get(JsonDocument filters) {
     return this.getAsync(filters).getDef(Collections.emptyList());
   }
 
+  @Override
+  public boolean createIndex(String fieldName) {
+    return this.createIndexAsync(fieldName).getDef(false);
+  }
+
   @Override
   public Collection<String> keys() {
     return this.keysAsync().getDef(Collections.emptyList());
@@ -112,6 +126,23 @@ public void iterate(BiConsumer<String, JsonDocument> consumer) {
     this.iterateAsync(consumer).getDef(null);
   }
 
+  @Override
+  public @NotNull Stream<Map.Entry<String, JsonDocument>> stream(int pageSize) {
+    try {
+      Stream<Map.Entry<String, JsonDocument>> stream = this.streamAsync(pageSize).get(5, TimeUnit.MINUTES);
+      // an empty stream would look like an empty database, the caller has to notice the failed transfer
+      if (stream == null) {
+        throw new IllegalStateException("Unable to stream the entries of database " + this.name);
+      }
+      return stream;
+    } catch (InterruptedException exception) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while streaming the entries of database " + this.name, exception);
+    } catch (ExecutionException | TimeoutException exception) {
+      throw new IllegalStateException("Unable to stream the entries of database " + this.name, exception);
+    }
+  }
+
   @Override
   public void clear() {
     this.clearAsync().getDef(null);
@@ -137,6 +168,18 @@ public ITask<Boolean> insertAsync(String key, JsonDocument document) {
     ).map(packet -> packet.getBuffer().readBoolean());
   }
 
+  @Override
+  @NotNull
+  public ITask<Boolean> insertBatchAsync(Map<String, JsonDocument> documents) {
+    return this.databaseProvider.executeQuery(
+      RemoteDatabaseRequestType.DATABASE_INSERT_BATCH,
+      buffer -> {
+        this.writeDefaults(buffer).writeVarInt(documents.size());
+        documents.forEach((key, document) -> buffer.writeString(key).writeJsonDocument(document));
+      }
+    ).map(packet -> packet.getBuffer().readBoolean());
+  }
+
   @Override
   @NotNull
   public ITask<Boolean> containsAsync(String key) {
@@ -191,6 +234,15 @@ public ITask<List<JsonDocument>> getAsync(JsonDocument filters) {
     ).map(packet -> this.asJsonDocumentList(packet.getBuffer()));
   }
 
+  @Override
+  @NotNull
+  public ITask<Boolean> createIndexAsync(String fieldName) {
+    return this.databaseProvider.executeQuery(
+      RemoteDatabaseRequestType.DATABASE_CREATE_INDEX,
+      buffer -> this.writeDefaults(buffer).writeString(fieldName)
+    ).map(packet -> packet.getBuffer().readBoolean());
+  }
+
   @Override
   @NotNull
   public ITask<Collection<String>> keysAsync() {
@@ -262,6 +314,16 @@ public ITask<Void> iterateAsync(BiConsumer<String, JsonDocument> consumer) {
     return task;
   }
 
+  @Override
+  @NotNull
+  public ITask<Stream<Map.Entry<String, JsonDocument>>> streamAsync(int pageSize) {
+    // the entries are cached in a temporary file by the chunked transfer and decoded lazily from there
+    return this.databaseProvider.executeChunkedQuery(
+      RemoteDatabaseRequestType.DATABASE_STREAM,
+      buffer -> this.writeDefaults(buffer).writeVarInt(pageSize)
+    ).map(response -> DatabaseEntryCodec.decode(response.getInputStream()));
+  }
+
   @Override
   @NotNull
   public ITask<Void> clearAsync() {
@@ -39,6 +39,9 @@ public PacketServerAuthorizationResponseListener(ReentrantLock lock, Condition c
   public void handle(INetworkChannel channel, IPacket packet) {
     if (packet.getHeader().contains("access") && packet.getHeader().contains("text")) {
       this.result = packet.getHeader().getBoolean("access");
+      if (this.result) {
+        channel.setBinaryHeaders(packet.getHeader().getBoolean("binaryHeaders"));
+      }
 
       try {
         this.lock.lock();
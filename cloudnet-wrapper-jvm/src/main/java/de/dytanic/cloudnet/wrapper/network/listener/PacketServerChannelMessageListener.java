@@ -21,6 +21,7 @@
 import de.dytanic.cloudnet.driver.channel.ChannelMessage;
 import de.dytanic.cloudnet.driver.event.events.channel.ChannelMessageReceiveEvent;
 import de.dytanic.cloudnet.driver.network.INetworkChannel;
+import de.dytanic.cloudnet.driver.network.def.PacketConstants;
 import de.dytanic.cloudnet.driver.network.protocol.IPacket;
 import de.dytanic.cloudnet.driver.network.protocol.IPacketListener;
 import de.dytanic.cloudnet.driver.network.protocol.Packet;
@@ -30,6 +31,13 @@ public final class PacketServerChannelMessageListener implements IPacketListener
 
   @Override
   public void handle(INetworkChannel channel, IPacket packet) {
+    if (packet.getChannel() == PacketConstants.CHANNEL_MESSAGING_BATCH_CHANNEL) {
+      for (ChannelMessage message : packet.getBuffer().readObjectCollection(ChannelMessage.class)) {
+        CloudNetDriver.getInstance().getEventManager().callEvent(new ChannelMessageReceiveEvent(message, false));
+      }
+      return;
+    }
+
     ChannelMessage message = packet.getBuffer().readObject(ChannelMessage.class);
     boolean query = packet.getBuffer().readBoolean();
 
@@ -30,6 +30,7 @@
 import de.dytanic.cloudnet.driver.network.protocol.IPacket;
 import de.dytanic.cloudnet.driver.network.protocol.IPacketListener;
 import de.dytanic.cloudnet.driver.service.ServiceInfoSnapshot;
+import de.dytanic.cloudnet.wrapper.provider.service.WrapperGeneralCloudServiceProvider;
 
 public final class PacketServerServiceInfoPublisherListener implements IPacketListener {
 
@@ -39,6 +40,12 @@ public void handle(INetworkChannel channel, IPacket packet) {
     PacketClientServerServiceInfoPublisher.PublisherType publisherType = packet.getBuffer()
       .readEnumConstant(PacketClientServerServiceInfoPublisher.PublisherType.class);
 
+    // the local registry is updated first, so the listeners of the events see the same state
+    if (CloudNetDriver.getInstance().getCloudServiceProvider() instanceof WrapperGeneralCloudServiceProvider) {
+      ((WrapperGeneralCloudServiceProvider) CloudNetDriver.getInstance().getCloudServiceProvider())
+        .handleServiceUpdate(publisherType, serviceInfoSnapshot);
+    }
+
     switch (publisherType) {
       case UPDATE:
         this.invoke0(new CloudServiceInfoUpdateEvent(serviceInfoSnapshot));
@@ -39,6 +39,7 @@ public PermissionCacheListener(WrapperPermissionManagement permissionManagement)
   @EventListener
   public void handle(PermissionUpdateUserEvent event) {
     IPermissionUser user = event.getPermissionUser();
+    this.permissionManagement.invalidateCompiledPermissions(user);
     if (this.permissionManagement.getCachedPermissionUsers().containsKey(user.getUniqueId())) {
       this.permissionManagement.getCachedPermissionUsers().put(user.getUniqueId(), user);
     }
@@ -51,23 +52,27 @@ public void handle(PermissionDeleteUserEvent event) {
 
   @EventListener
   public void handle(PermissionAddGroupEvent event) {
+    this.permissionManagement.invalidateCompiledPermissions();
     this.permissionManagement.getCachedPermissionGroups()
       .put(event.getPermissionGroup().getName(), event.getPermissionGroup());
   }
 
   @EventListener
   public void handle(PermissionUpdateGroupEvent event) {
+    this.permissionManagement.invalidateCompiledPermissions();
     this.permissionManagement.getCachedPermissionGroups()
       .put(event.getPermissionGroup().getName(), event.getPermissionGroup());
   }
 
   @EventListener
   public void handle(PermissionDeleteGroupEvent event) {
+    this.permissionManagement.invalidateCompiledPermissions();
     this.permissionManagement.getCachedPermissionGroups().remove(event.getPermissionGroup().getName());
   }
 
   @EventListener
   public void handle(PermissionSetGroupsEvent event) {
+    this.permissionManagement.invalidateCompiledPermissions();
     this.permissionManagement.getCachedPermissionGroups().clear();
 
     for (IPermissionGroup permissionGroup : event.getGroups()) {
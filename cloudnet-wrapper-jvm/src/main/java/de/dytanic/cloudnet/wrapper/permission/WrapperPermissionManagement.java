@@ -76,6 +76,7 @@ public boolean reload() {
 
       this.permissionGroupLocks.clear();
       this.permissionGroupCache.invalidateAll();
+      this.invalidateCompiledPermissions();
 
       if (permissionGroups != null) {
         for (IPermissionGroup group : permissionGroups) {
@@ -121,6 +122,7 @@ public ITask<IPermissionUser> addUserAsync(@NotNull IPermissionUser permissionUs
   @Override
   @NotNull
   public ITask<Void> updateUserAsync(@NotNull IPermissionUser permissionUser) {
+    this.invalidateCompiledPermissions(permissionUser);
     return this.executeDriverAPIMethod(
       DriverAPIRequestType.PERMISSION_MANAGEMENT_UPDATE_USER,
       buffer -> buffer.writeObject(permissionUser),
@@ -301,6 +303,7 @@ public ITask<IPermissionGroup> addGroupAsync(@NotNull IPermissionGroup permissio
   @Override
   @NotNull
   public ITask<Void> updateGroupAsync(@NotNull IPermissionGroup permissionGroup) {
+    this.invalidateCompiledPermissions(permissionGroup);
     return this.executeVoidDriverAPIMethod(
       DriverAPIRequestType.PERMISSION_MANAGEMENT_UPDATE_GROUP,
       buffer -> buffer.writeObject(permissionGroup)
@@ -18,6 +18,8 @@
 
 import de.dytanic.cloudnet.common.concurrent.ITask;
 import de.dytanic.cloudnet.driver.channel.ChannelMessage;
+import de.dytanic.cloudnet.driver.channel.ChannelMessageBatcher;
+import de.dytanic.cloudnet.driver.network.INetworkChannel;
 import de.dytanic.cloudnet.driver.network.def.packet.PacketClientServerChannelMessage;
 import de.dytanic.cloudnet.driver.provider.CloudMessenger;
 import de.dytanic.cloudnet.driver.provider.DefaultMessenger;
@@ -29,13 +31,21 @@
 public class WrapperMessenger extends DefaultMessenger implements CloudMessenger {
 
   private final Wrapper wrapper;
+  private final ChannelMessageBatcher batcher;
 
   public WrapperMessenger(Wrapper wrapper) {
     this.wrapper = wrapper;
+    this.batcher = new ChannelMessageBatcher(wrapper.getTaskExecutor());
   }
 
   @Override
   public void sendChannelMessage(@NotNull ChannelMessage channelMessage) {
+    INetworkChannel channel = this.wrapper.getNetworkClient().getFirstChannel();
+    if (channelMessage.isBatched() && channel != null) {
+      this.batcher.enqueue(channel, channelMessage);
+      return;
+    }
+
     this.wrapper.getNetworkClient().sendPacket(new PacketClientServerChannelMessage(channelMessage, false));
   }
 
@@ -48,4 +58,7 @@ public void sendChannelMessage(@NotNull ChannelMessage channelMessage) {
         : packet.getBuffer().readObjectCollection(ChannelMessage.class));
   }
 
+  public ChannelMessageBatcher getBatcher() {
+    return this.batcher;
+  }
 }
@@ -17,15 +17,22 @@
 package de.dytanic.cloudnet.wrapper.provider.service;
 
 import com.google.common.base.Preconditions;
+import de.dytanic.cloudnet.common.collection.Pair;
+import de.dytanic.cloudnet.common.concurrent.CompletedTask;
 import de.dytanic.cloudnet.common.concurrent.ITask;
 import de.dytanic.cloudnet.driver.api.DriverAPIRequestType;
 import de.dytanic.cloudnet.driver.api.DriverAPIUser;
 import de.dytanic.cloudnet.driver.network.INetworkChannel;
+import de.dytanic.cloudnet.driver.network.def.packet.PacketClientServerServiceInfoPublisher.PublisherType;
 import de.dytanic.cloudnet.driver.provider.service.GeneralCloudServiceProvider;
 import de.dytanic.cloudnet.driver.service.ServiceEnvironmentType;
 import de.dytanic.cloudnet.driver.service.ServiceInfoSnapshot;
+import de.dytanic.cloudnet.driver.service.ServiceInfoSnapshotIndex;
+import de.dytanic.cloudnet.driver.service.ServiceLifeCycle;
 import de.dytanic.cloudnet.wrapper.Wrapper;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 import org.jetbrains.annotations.NotNull;
@@ -34,11 +41,60 @@
 public class WrapperGeneralCloudServiceProvider implements GeneralCloudServiceProvider, DriverAPIUser {
 
   private final Wrapper wrapper;
+  private final ServiceInfoSnapshotIndex serviceIndex = new ServiceInfoSnapshotIndex();
+
+  private volatile boolean initialized;
+  private List<Pair<PublisherType, ServiceInfoSnapshot>> pendingUpdates;
 
   public WrapperGeneralCloudServiceProvider(Wrapper wrapper) {
     this.wrapper = wrapper;
   }
 
+  /**
+   * Requests all services from the node once, afterwards the services are kept up to date by the published service
+   * updates and all lookups of this provider are answered locally. Until then, the node is asked for every lookup.
+   */
+  public void init() {
+    synchronized (this.serviceIndex) {
+      this.pendingUpdates = new ArrayList<>();
+    }
+
+    Collection<ServiceInfoSnapshot> snapshots = this.executeDriverAPIMethod(
+      DriverAPIRequestType.GET_CLOUD_SERVICES,
+      packet -> packet.getBuffer().readObjectCollection(ServiceInfoSnapshot.class)
+    ).get(5, TimeUnit.SECONDS, null);
+
+    synchronized (this.serviceIndex) {
+      if (snapshots != null) {
+        this.serviceIndex.replaceAll(snapshots);
+        // the updates which were received in the meantime are newer than or equal to the requested snapshots
+        for (Pair<PublisherType, ServiceInfoSnapshot> update : this.pendingUpdates) {
+          this.applyServiceUpdate(update.getFirst(), update.getSecond());
+        }
+        this.initialized = true;
+      }
+      this.pendingUpdates = null;
+    }
+  }
+
+  public void handleServiceUpdate(@NotNull PublisherType type, @NotNull ServiceInfoSnapshot snapshot) {
+    synchronized (this.serviceIndex) {
+      if (this.pendingUpdates != null) {
+        this.pendingUpdates.add(new Pair<>(type, snapshot));
+      } else if (this.initialized) {
+        this.applyServiceUpdate(type, snapshot);
+      }
+    }
+  }
+
+  private void applyServiceUpdate(PublisherType type, ServiceInfoSnapshot snapshot) {
+    if (type == PublisherType.UNREGISTER) {
+      this.serviceIndex.remove(snapshot.getServiceId().getUniqueId());
+    } else {
+      this.serviceIndex.put(snapshot);
+    }
+  }
+
   @Override
   public Collection<UUID> getServicesAsUniqueId() {
     return this.getServicesAsUniqueIdAsync().get(5, TimeUnit.SECONDS, null);
@@ -100,6 +156,10 @@ public int getServicesCountByTask(@NotNull String taskName) {
   @Override
   @NotNull
   public ITask<Collection<UUID>> getServicesAsUniqueIdAsync() {
+    if (this.initialized) {
+      return CompletedTask.create(this.serviceIndex.getUniqueIds());
+    }
+
     return this.executeDriverAPIMethod(
       DriverAPIRequestType.GET_SERVICES_AS_UNIQUE_ID,
       packet -> packet.getBuffer().readUUIDCollection()
@@ -109,6 +169,10 @@ public ITask<Collection<UUID>> getServicesAsUniqueIdAsync() {
   @Override
   @NotNull
   public ITask<ServiceInfoSnapshot> getCloudServiceByNameAsync(@NotNull String name) {
+    if (this.initialized) {
+      return CompletedTask.create(this.serviceIndex.getByName(name));
+    }
+
     return this.executeDriverAPIMethod(
       DriverAPIRequestType.GET_CLOUD_SERVICE_BY_NAME,
       buffer -> buffer.writeString(name),
@@ -119,6 +183,10 @@ public ITask<ServiceInfoSnapshot> getCloudServiceByNameAsync(@NotNull String nam
   @Override
   @NotNull
   public ITask<Collection<ServiceInfoSnapshot>> getCloudServicesAsync() {
+    if (this.initialized) {
+      return CompletedTask.create(this.serviceIndex.getAll());
+    }
+
     return this.executeDriverAPIMethod(
       DriverAPIRequestType.GET_CLOUD_SERVICES,
       packet -> packet.getBuffer().readObjectCollection(ServiceInfoSnapshot.class)
@@ -128,6 +196,10 @@ public ITask<Collection<ServiceInfoSnapshot>> getCloudServicesAsync() {
   @Override
   @NotNull
   public ITask<Collection<ServiceInfoSnapshot>> getStartedCloudServicesAsync() {
+    if (this.initialized) {
+      return CompletedTask.create(this.serviceIndex.getByLifeCycle(ServiceLifeCycle.RUNNING));
+    }
+
     return this.executeDriverAPIMethod(
       DriverAPIRequestType.GET_STARTED_CLOUD_SERVICES,
       packet -> packet.getBuffer().readObjectCollection(ServiceInfoSnapshot.class)
@@ -137,6 +209,10 @@ public ITask<Collection<ServiceInfoSnapshot>> getStartedCloudServicesAsync() {
   @Override
   @NotNull
   public ITask<Collection<ServiceInfoSnapshot>> getCloudServicesAsync(@NotNull String taskName) {
+    if (this.initialized) {
+      return CompletedTask.create(this.serviceIndex.getByTask(taskName));
+    }
+
     return this.executeDriverAPIMethod(
       DriverAPIRequestType.GET_CLOUD_SERVICES_BY_SERVICE_TASK,
       buffer -> buffer.writeString(taskName),
@@ -148,6 +224,9 @@ public ITask<Collection<ServiceInfoSnapshot>> getCloudServicesAsync(@NotNull Str
   @NotNull
   public ITask<Collection<ServiceInfoSnapshot>> getCloudServicesAsync(@NotNull ServiceEnvironmentType environment) {
     Preconditions.checkNotNull(environment);
+    if (this.initialized) {
+      return CompletedTask.create(this.serviceIndex.getByEnvironment(environment));
+    }
 
     return this.executeDriverAPIMethod(
       DriverAPIRequestType.GET_CLOUD_SERVICES_BY_ENVIRONMENT,
@@ -159,6 +238,10 @@ public ITask<Collection<ServiceInfoSnapshot>> getCloudServicesAsync(@NotNull Ser
   @Override
   @NotNull
   public ITask<Collection<ServiceInfoSnapshot>> getCloudServicesByGroupAsync(@NotNull String group) {
+    if (this.initialized) {
+      return CompletedTask.create(this.serviceIndex.getByGroup(group));
+    }
+
     return this.executeDriverAPIMethod(
       DriverAPIRequestType.GET_CLOUD_SERVICES_BY_GROUP,
       buffer -> buffer.writeString(group),
@@ -169,6 +252,10 @@ public ITask<Collection<ServiceInfoSnapshot>> getCloudServicesByGroupAsync(@NotN
   @Override
   @NotNull
   public ITask<Integer> getServicesCountAsync() {
+    if (this.initialized) {
+      return CompletedTask.create(this.serviceIndex.size());
+    }
+
     return this.executeDriverAPIMethod(
       DriverAPIRequestType.GET_SERVICES_COUNT,
       packet -> packet.getBuffer().readInt()
@@ -178,6 +265,10 @@ public ITask<Integer> getServicesCountAsync() {
   @Override
   @NotNull
   public ITask<Integer> getServicesCountByGroupAsync(@NotNull String group) {
+    if (this.initialized) {
+      return CompletedTask.create(this.serviceIndex.countByGroup(group));
+    }
+
     return this.executeDriverAPIMethod(
       DriverAPIRequestType.GET_SERVICES_COUNT_BY_GROUP,
       buffer -> buffer.writeString(group),
@@ -188,6 +279,10 @@ public ITask<Integer> getServicesCountByGroupAsync(@NotNull String group) {
   @Override
   @NotNull
   public ITask<Integer> getServicesCountByTaskAsync(@NotNull String taskName) {
+    if (this.initialized) {
+      return CompletedTask.create(this.serviceIndex.countByTask(taskName));
+    }
+
     return this.executeDriverAPIMethod(
       DriverAPIRequestType.GET_SERVICES_COUNT_BY_TASK,
       buffer -> buffer.writeString(taskName),
@@ -198,6 +293,10 @@ public ITask<Integer> getServicesCountByTaskAsync(@NotNull String taskName) {
   @Override
   @NotNull
   public ITask<ServiceInfoSnapshot> getCloudServiceAsync(@NotNull UUID uniqueId) {
+    if (this.initialized) {
+      return CompletedTask.create(this.serviceIndex.get(uniqueId));
+    }
+
     return this.executeDriverAPIMethod(
       DriverAPIRequestType.GET_CLOUD_SERVICE_BY_UNIQUE_ID,
       buffer -> buffer.writeUUID(uniqueId),
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.dytanic.cloudnet.wrapper.database.defaults;
+
+import de.dytanic.cloudnet.common.concurrent.CompletableTask;
+import de.dytanic.cloudnet.common.concurrent.ITask;
+import de.dytanic.cloudnet.common.document.gson.JsonDocument;
+import de.dytanic.cloudnet.driver.api.RemoteDatabaseRequestType;
+import de.dytanic.cloudnet.driver.network.protocol.IPacket;
+import de.dytanic.cloudnet.driver.network.protocol.Packet;
+import de.dytanic.cloudnet.driver.serialization.ProtocolBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CachedWrapperDatabaseTest {
+
+  @Test
+  public void testCachedDocuments() {
+    QueryRecordingProvider provider = new QueryRecordingProvider();
+    CachedWrapperDatabase database = new CachedWrapperDatabase("test", provider, 16, 0, false);
+
+    ITask<JsonDocument> task = database.getAsync("a");
+    provider.respond(0, new JsonDocument("val", 1));
+    Assert.assertEquals(1, task.getDef(null).getInt("val"));
+
+    // the second lookup is answered from the cache
+    Assert.assertEquals(1, database.getAsync("a").getDef(null).getInt("val"));
+    Assert.assertEquals(1, provider.queries.size());
+    Assert.assertEquals(1, database.getHits());
+    Assert.assertEquals(1, database.getMisses());
+
+    database.invalidate("a");
+    database.getAsync("a");
+    Assert.assertEquals(2, provider.queries.size());
+  }
+
+  @Test
+  public void testInvalidationWhileReading() {
+    QueryRecordingProvider provider = new QueryRecordingProvider();
+    CachedWrapperDatabase database = new CachedWrapperDatabase("test", provider, 16, 0, true);
+
+    // the entry is changed while the node is answering the query with the old document
+    ITask<JsonDocument> task = database.getAsync("a");
+    database.invalidate("a");
+    provider.respond(0, new JsonDocument("val", 1));
+
+    Assert.assertEquals(1, task.getDef(null).getInt("val"));
+    Assert.assertEquals(0, database.getCachedEntriesCount());
+
+    // the response of a query sent after the invalidation is cached again
+    task = database.getAsync("a");
+    provider.respond(1, new JsonDocument("val", 2));
+    Assert.assertEquals(2, task.getDef(null).getInt("val"));
+    Assert.assertEquals(1, database.getCachedEntriesCount());
+  }
+
+  @Test
+  public void testTimeToLive() throws InterruptedException {
+    QueryRecordingProvider provider = new QueryRecordingProvider();
+    CachedWrapperDatabase database = new CachedWrapperDatabase("test", provider, 16, 20, false);
+
+    database.getAsync("a");
+    provider.respond(0, new JsonDocument("val", 1));
+    database.getAsync("a");
+    Assert.assertEquals(1, provider.queries.size());
+
+    Thread.sleep(50);
+
+    database.getAsync("a");
+    Assert.assertEquals(2, provider.queries.size());
+  }
+
+  @Test
+  public void testMaxSize() {
+    QueryRecordingProvider provider = new QueryRecordingProvider();
+    CachedWrapperDatabase database = new CachedWrapperDatabase("test", provider, 2, 0, false);
+
+    for (String key : new String[]{"a", "b"}) {
+      database.getAsync(key);
+      provider.respond(provider.queries.size() - 1, new JsonDocument("key", key));
+    }
+
+    // "a" is used again, so "b" is the least recently used entry
+    database.getAsync("a");
+    database.getAsync("c");
+    provider.respond(provider.queries.size() - 1, new JsonDocument("key", "c"));
+
+    Assert.assertEquals(2, database.getCachedEntriesCount());
+    Assert.assertEquals(3, provider.queries.size());
+
+    database.getAsync("a");
+    Assert.assertEquals(3, provider.queries.size());
+    database.getAsync("b");
+    Assert.assertEquals(4, provider.queries.size());
+  }
+
+  @Test
+  public void testGetCachedDatabase() {
+    QueryRecordingProvider provider = new QueryRecordingProvider();
+
+    CachedWrapperDatabase database = provider.getCachedDatabase("test", 16, 1, TimeUnit.MINUTES, true);
+    Assert.assertSame(database, provider.getCachedDatabase("test", 16, 60, TimeUnit.SECONDS, true));
+    Assert.assertSame(database, provider.getDatabase("test"));
+
+    // the database is subscribed only once
+    Assert.assertEquals(1, provider.queries.size());
+    Assert.assertEquals(RemoteDatabaseRequestType.DATABASE_SUBSCRIBE, provider.requestTypes.get(0));
+
+    try {
+      provider.getCachedDatabase("test", 32, 1, TimeUnit.MINUTES, true);
+      Assert.fail("A database cached with different parameters has to be rejected");
+    } catch (IllegalArgumentException ignored) {
+    }
+
+    database.close();
+    Assert.assertEquals(RemoteDatabaseRequestType.DATABASE_UNSUBSCRIBE, provider.requestTypes.get(1));
+    Assert.assertNotSame(database, provider.getDatabase("test"));
+  }
+
+  private static final class QueryRecordingProvider extends DefaultWrapperDatabaseProvider {
+
+    private final List<RemoteDatabaseRequestType> requestTypes = new ArrayList<>();
+    private final List<CompletableTask<IPacket>> queries = new ArrayList<>();
+
+    @Override
+    ITask<IPacket> executeQuery(RemoteDatabaseRequestType requestType, Consumer<ProtocolBuffer> modifier) {
+      CompletableTask<IPacket> task = new CompletableTask<>();
+      this.requestTypes.add(requestType);
+      this.queries.add(task);
+      return task;
+    }
+
+    private void respond(int query, JsonDocument document) {
+      this.queries.get(query).complete(new Packet(-1, ProtocolBuffer.create().writeOptionalJsonDocument(document)));
+    }
+  }
+}
@@ -47,7 +47,6 @@
 import de.dytanic.cloudnet.common.concurrent.ITask;
 import de.dytanic.cloudnet.common.concurrent.ITaskScheduler;
 import de.dytanic.cloudnet.common.concurrent.ListenableTask;
-import de.dytanic.cloudnet.common.document.gson.JsonDocument;
 import de.dytanic.cloudnet.common.io.FileUtils;
 import de.dytanic.cloudnet.common.language.LanguageManager;
 import de.dytanic.cloudnet.common.logging.ILogger;
@@ -60,11 +59,11 @@
 import de.dytanic.cloudnet.console.IConsole;
 import de.dytanic.cloudnet.console.util.HeaderReader;
 import de.dytanic.cloudnet.database.AbstractDatabaseProvider;
+import de.dytanic.cloudnet.database.DatabaseSubscriptionManager;
 import de.dytanic.cloudnet.database.DefaultDatabaseHandler;
 import de.dytanic.cloudnet.database.h2.H2DatabaseProvider;
 import de.dytanic.cloudnet.driver.CloudNetDriver;
 import de.dytanic.cloudnet.driver.DriverEnvironment;
-import de.dytanic.cloudnet.driver.database.Database;
 import de.dytanic.cloudnet.driver.module.DefaultPersistableModuleDependencyLoader;
 import de.dytanic.cloudnet.driver.module.IModuleWrapper;
 import de.dytanic.cloudnet.driver.network.HostAndPort;
@@ -109,10 +108,11 @@
 import de.dytanic.cloudnet.network.listener.cluster.PacketServerClusterNodeInfoUpdateListener;
 import de.dytanic.cloudnet.network.listener.cluster.PacketServerDeployLocalTemplateListener;
 import de.dytanic.cloudnet.network.listener.cluster.PacketServerH2DatabaseListener;
+import de.dytanic.cloudnet.network.listener.cluster.PacketServerH2DatabaseSyncChunkListener;
+import de.dytanic.cloudnet.network.listener.cluster.PacketServerH2DatabaseSyncOfferListener;
 import de.dytanic.cloudnet.network.listener.cluster.PacketServerServiceInfoPublisherListener;
 import de.dytanic.cloudnet.network.listener.cluster.PacketServerSetGlobalServiceInfoListListener;
 import de.dytanic.cloudnet.network.listener.cluster.PacketServerSetGroupConfigurationListListener;
-import de.dytanic.cloudnet.network.listener.cluster.PacketServerSetH2DatabaseDataListener;
 import de.dytanic.cloudnet.network.listener.cluster.PacketServerSetPermissionDataListener;
 import de.dytanic.cloudnet.network.listener.cluster.PacketServerSetServiceTaskListListener;
 import de.dytanic.cloudnet.network.listener.cluster.PacketServerSyncTemplateStorageChunkListener;
@@ -121,7 +121,6 @@
 import de.dytanic.cloudnet.network.listener.driver.PacketServerDriverAPIListener;
 import de.dytanic.cloudnet.network.packet.PacketServerClusterNodeInfoUpdate;
 import de.dytanic.cloudnet.network.packet.PacketServerSetGroupConfigurationList;
-import de.dytanic.cloudnet.network.packet.PacketServerSetH2DatabaseData;
 import de.dytanic.cloudnet.network.packet.PacketServerSetPermissionData;
 import de.dytanic.cloudnet.network.packet.PacketServerSetServiceTaskList;
 import de.dytanic.cloudnet.permission.DefaultDatabasePermissionManagement;
@@ -151,7 +150,6 @@
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -184,6 +182,9 @@ public final class CloudNet extends CloudNetDriver {
     Paths.get(System.getProperty("cloudnet.registry.global.path", "local/registry")));
 
   private final ITaskScheduler networkTaskScheduler = new DefaultTaskScheduler();
+  // the http handlers do blocking database and cluster calls, they must not run on the event loop
+  private final ITaskScheduler httpTaskScheduler = new DefaultTaskScheduler(
+    Integer.getInteger("cloudnet.http.handler-threads", 16));
 
   private final List<String> commandLineArguments;
   private final Properties commandLineProperties;
@@ -197,6 +198,7 @@ public final class CloudNet extends CloudNetDriver {
 
   private final DefaultInstallation defaultInstallation = new DefaultInstallation();
   private final ServiceVersionProvider serviceVersionProvider = new ServiceVersionProvider();
+  private final DatabaseSubscriptionManager databaseSubscriptionManager = new DatabaseSubscriptionManager();
 
   private INetworkClient networkClient;
   private INetworkServer networkServer;
@@ -285,7 +287,8 @@ public synchronized void start() throws Exception {
       NetworkServerChannelHandlerImpl::new
     );
     this.httpServer = new NettyHttpServer(
-      this.config.getClientSslConfig().isEnabled() ? this.config.getWebSslConfig().toSslConfiguration() : null);
+      this.config.getClientSslConfig().isEnabled() ? this.config.getWebSslConfig().toSslConfiguration() : null,
+      this.httpTaskScheduler);
 
     this.initPacketRegistryListeners();
     this.clusterNodeServerProvider.setClusterServers(this.config.getClusterConfig());
@@ -361,6 +364,11 @@ public void reload() {
     this.getConfigurationRegistry().load();
     this.clusterNodeServerProvider.setClusterServers(this.config.getClusterConfig());
 
+    TemplateStorage localTemplateStorage = this.getTemplateStorage(ServiceTemplate.LOCAL_STORAGE);
+    if (localTemplateStorage instanceof LocalTemplateStorage) {
+      ((LocalTemplateStorage) localTemplateStorage).setLinkPatterns(this.config.getTemplateLinkPatterns());
+    }
+
     this.serviceTaskProvider.reload();
     this.groupConfigurationProvider.reload();
 
@@ -401,6 +409,11 @@ public void stop() {
         }
       }
 
+      // the batched channel messages would be lost with the connections
+      if (this.messenger instanceof NodeMessenger) {
+        ((NodeMessenger) this.messenger).getBatcher().flushAll();
+      }
+
       this.logger.info(LanguageManager.getMessage("stop-network-client"));
       this.networkClient.close();
 
@@ -409,6 +422,7 @@ public void stop() {
 
       this.logger.info(LanguageManager.getMessage("stop-http-server"));
       this.httpServer.close();
+      this.httpTaskScheduler.shutdown();
 
       this.networkTaskScheduler.shutdown();
 
@@ -839,35 +853,11 @@ public void publishPermissionGroupUpdates(Collection<IPermissionGroup> permissio
   }
 
   public void publishH2DatabaseDataToCluster(INetworkChannel channel) {
-    if (channel != null) {
-      if (this.databaseProvider instanceof H2DatabaseProvider) {
-        Map<String, Map<String, JsonDocument>> map = this.allocateDatabaseData();
-
-        channel.sendPacket(new PacketServerSetH2DatabaseData(map, NetworkUpdateType.ADD));
-
-        for (Map.Entry<String, Map<String, JsonDocument>> entry : map.entrySet()) {
-          entry.getValue().clear();
-        }
-
-        map.clear();
-      }
+    if (channel != null && this.databaseProvider instanceof H2DatabaseProvider) {
+      ((H2DatabaseProvider) this.databaseProvider).getReplicator().synchronize(channel);
     }
   }
 
-  private Map<String, Map<String, JsonDocument>> allocateDatabaseData() {
-    Map<String, Map<String, JsonDocument>> map = new HashMap<>();
-
-    for (String name : this.databaseProvider.getDatabaseNames()) {
-      if (!map.containsKey(name)) {
-        map.put(name, new HashMap<>());
-      }
-      Database database = this.databaseProvider.getDatabase(name);
-      map.get(name).putAll(database.entries());
-    }
-
-    return map;
-  }
-
   public void registerClusterPacketRegistryListeners(IPacketListenerRegistry registry, boolean client) {
     if (client) {
       registry
@@ -875,8 +865,12 @@ public void registerClusterPacketRegistryListeners(IPacketListenerRegistry regis
     }
 
     registry.addListener(PacketConstants.SERVICE_INFO_PUBLISH_CHANNEL, new PacketServerServiceInfoPublisherListener());
+    registry.addListener(PacketConstants.CLUSTER_SERVICE_INFO_DELTA_CHANNEL,
+      new PacketServerServiceInfoPublisherListener());
     registry.addListener(PacketConstants.PERMISSIONS_PUBLISH_CHANNEL, new PacketServerUpdatePermissionsListener());
-    registry.addListener(PacketConstants.CHANNEL_MESSAGING_CHANNEL, new PacketServerChannelMessageListener(false));
+    PacketServerChannelMessageListener channelMessageListener = new PacketServerChannelMessageListener(false);
+    registry.addListener(PacketConstants.CHANNEL_MESSAGING_CHANNEL, channelMessageListener);
+    registry.addListener(PacketConstants.CHANNEL_MESSAGING_BATCH_CHANNEL, channelMessageListener);
 
     registry.addListener(PacketConstants.CLUSTER_SERVICE_INFO_LIST_CHANNEL,
       new PacketServerSetGlobalServiceInfoListListener());
@@ -894,7 +888,9 @@ public void registerClusterPacketRegistryListeners(IPacketListenerRegistry regis
 
     registry.addListener(PacketConstants.INTERNAL_H2_DATABASE_UPDATE_MODULE, new PacketServerH2DatabaseListener());
     registry
-      .addListener(PacketConstants.INTERNAL_H2_DATABASE_UPDATE_MODULE, new PacketServerSetH2DatabaseDataListener());
+      .addListener(PacketConstants.INTERNAL_H2_DATABASE_UPDATE_MODULE, new PacketServerH2DatabaseSyncOfferListener());
+    registry.addListener(PacketConstants.CLUSTER_H2_DATABASE_CHUNK_SYNC_CHANNEL,
+      new PacketServerH2DatabaseSyncChunkListener());
 
     registry.addListener(PacketConstants.INTERNAL_DEBUGGING_CHANNEL, new PacketServerSetGlobalLogLevelListener(false));
 
@@ -1013,10 +1009,14 @@ private void setDefaultRegistryEntries() {
   }
 
   private void registerDefaultServices() {
+    LocalTemplateStorage localTemplateStorage = new LocalTemplateStorage(
+      Paths.get(System.getProperty("cloudnet.storage.local", "local/templates")));
+    localTemplateStorage.setLinkPatterns(this.config.getTemplateLinkPatterns());
+
     this.servicesRegistry.registerService(
       TemplateStorage.class,
       LocalTemplateStorage.LOCAL_TEMPLATE_STORAGE,
-      new LocalTemplateStorage(Paths.get(System.getProperty("cloudnet.storage.local", "local/templates")))
+      localTemplateStorage
     );
 
     this.servicesRegistry.registerService(
@@ -1131,6 +1131,10 @@ public IHttpServer getHttpServer() {
     return this.databaseProvider;
   }
 
+  public DatabaseSubscriptionManager getDatabaseSubscriptionManager() {
+    return this.databaseSubscriptionManager;
+  }
+
   public NetworkClusterNodeInfoSnapshot getLastNetworkClusterNodeInfoSnapshot() {
     return this.clusterNodeServerProvider.getSelfNode().getLastNodeInfoSnapshot();
   }
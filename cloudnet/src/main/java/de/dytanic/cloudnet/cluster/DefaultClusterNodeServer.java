@@ -39,6 +39,7 @@ public class DefaultClusterNodeServer extends DefaultNodeServer implements IClus
   private final CloudServiceFactory cloudServiceFactory;
 
   private INetworkChannel channel;
+  private volatile boolean serviceInfoDeltas;
 
   protected DefaultClusterNodeServer(DefaultClusterNodeServerProvider provider, NetworkClusterNode nodeInfo) {
     this.provider = provider;
@@ -139,6 +140,16 @@ public void setChannel(@NotNull INetworkChannel channel) {
     this.channel = channel;
   }
 
+  @Override
+  public boolean isServiceInfoDeltas() {
+    return this.serviceInfoDeltas;
+  }
+
+  @Override
+  public void setServiceInfoDeltas(boolean serviceInfoDeltas) {
+    this.serviceInfoDeltas = serviceInfoDeltas;
+  }
+
   @Override
   public INetworkChannel getNetworkChannel() {
     return this.channel;
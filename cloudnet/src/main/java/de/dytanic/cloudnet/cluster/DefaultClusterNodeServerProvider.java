@@ -135,6 +135,7 @@ public void deployTemplateInCluster(@NotNull ServiceTemplate serviceTemplate, @N
         ChunkedPacketBuilder.newBuilder(PacketConstants.CLUSTER_TEMPLATE_DEPLOY_CHANNEL, inputStream)
           .header(header)
           .target(channels)
+          .window(ChunkedPacketBuilder.DEFAULT_WINDOW)
           .complete();
       } catch (IOException exception) {
         exception.printStackTrace();
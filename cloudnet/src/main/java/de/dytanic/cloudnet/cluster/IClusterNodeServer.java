@@ -43,6 +43,19 @@ public interface IClusterNodeServer extends NodeServer, AutoCloseable {
 
   boolean isAcceptableConnection(@NotNull INetworkChannel channel, @NotNull String nodeId);
 
+  /**
+   * Gets if the node announced during the authorization that it is able to apply service info deltas. Nodes running an
+   * older version only understand full service info snapshots.
+   *
+   * @return if service info updates can be sent as deltas to this node
+   */
+  default boolean isServiceInfoDeltas() {
+    return false;
+  }
+
+  default void setServiceInfoDeltas(boolean serviceInfoDeltas) {
+  }
+
   @Override
   default boolean isAvailable() {
     return this.getChannel() != null;
@@ -18,6 +18,7 @@
 
 import static de.dytanic.cloudnet.command.sub.SubCommandArgumentTypes.anyStringIgnoreCase;
 import static de.dytanic.cloudnet.command.sub.SubCommandArgumentTypes.dynamicString;
+import static de.dytanic.cloudnet.command.sub.SubCommandArgumentTypes.positiveInteger;
 
 import de.dytanic.cloudnet.CloudNet;
 import de.dytanic.cloudnet.command.ConsoleCommandSender;
@@ -136,6 +137,35 @@ public CommandScreen() {
           )
         )
 
+        .generateCommand(
+          (subCommand, sender, command, args, commandLine, properties, internalProperties) -> {
+            String name = (String) args.argument("local service name").get();
+            int lines = (int) args.argument("lines").get();
+
+            ServiceInfoSnapshot serviceInfoSnapshot = CloudNet.getInstance().getCloudServiceByNameOrUniqueId(name);
+            ICloudService cloudService = serviceInfoSnapshot == null ? null : CloudNet.getInstance()
+              .getCloudServiceManager().getCloudService(serviceInfoSnapshot.getServiceId().getUniqueId());
+
+            if (cloudService == null) {
+              return;
+            }
+
+            for (String input : cloudService.getServiceConsoleLogCache().getLogMessages(lines)) {
+              sender.sendMessage("[" + cloudService.getServiceId().getName() + "] " + input);
+            }
+          },
+          anyStringIgnoreCase("history", "h"),
+          dynamicString(
+            "local service name",
+            () -> CloudNet.getInstance().getCloudServiceManager().getLocalCloudServices()
+              .stream()
+              .map(ICloudService::getServiceId)
+              .map(ServiceId::getName)
+              .collect(Collectors.toList())
+          ),
+          positiveInteger("lines")
+        )
+
         .generateCommand(
           (subCommand, sender, command, args, commandLine, properties, internalProperties) -> {
             String line = (String) args.argument("command").get();
@@ -356,7 +356,7 @@ private static void display(ICommandSender sender, ServiceInfoSnapshot serviceIn
       "PID: " + serviceInfoSnapshot.getProcessSnapshot().getPid(),
       "CPU usage: " + CPUUsageResolver.CPU_USAGE_OUTPUT_FORMAT
         .format(serviceInfoSnapshot.getProcessSnapshot().getCpuUsage()) + "%",
-      "Threads: " + serviceInfoSnapshot.getProcessSnapshot().getThreads().size(),
+      "Threads: " + serviceInfoSnapshot.getProcessSnapshot().getThreadCount(),
       "Heap usage: " + (serviceInfoSnapshot.getProcessSnapshot().getHeapUsageMemory() / 1048576) + "/" +
         (serviceInfoSnapshot.getProcessSnapshot().getMaxHeapMemory() / 1048576) + "MB",
       "Loaded classes: " + serviceInfoSnapshot.getProcessSnapshot().getCurrentLoadedClassCount(),
@@ -98,6 +98,10 @@ public interface IConfiguration {
 
   void setProcessTerminationTimeoutSeconds(int processTerminationTimeoutSeconds);
 
+  Collection<String> getTemplateLinkPatterns();
+
+  void setTemplateLinkPatterns(Collection<String> templateLinkPatterns);
+
   enum DefaultJVMFlags {
     NONE(Collections.emptyList()),
     DYTANIC(Arrays.asList(
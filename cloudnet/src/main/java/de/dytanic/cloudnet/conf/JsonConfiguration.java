@@ -83,6 +83,8 @@ public final class JsonConfiguration implements IConfiguration {
 
   private int processTerminationTimeoutSeconds;
 
+  private Collection<String> templateLinkPatterns;
+
   @Override
   public boolean isFileExists() {
     return Files.exists(CONFIG_FILE_PATH);
@@ -161,6 +163,7 @@ public void load() {
         "java"
     );
     this.processTerminationTimeoutSeconds = this.document.getInt("processTerminationTimeoutSeconds", 5);
+    this.templateLinkPatterns = this.document.get("templateLinkPatterns", SET_STRING, new HashSet<>());
 
     this.hostAddress = this.document.getString("hostAddress", address);
     this.connectHostAddress = this.document.getString("connectHostAddress", this.hostAddress);
@@ -198,6 +201,7 @@ public void save() {
       .append("maxMemory", this.maxMemory)
       .append("jvmCommand", this.jvmCommand)
       .append("processTerminationTimeoutSeconds", this.processTerminationTimeoutSeconds)
+      .append("templateLinkPatterns", this.templateLinkPatterns)
       .append("maxServiceConsoleLogCacheSize", this.maxServiceConsoleLogCacheSize)
       .append("printErrorStreamLinesFromServices", this.printErrorStreamLinesFromServices)
       .append("maxCPUUsageToStartServices", this.maxCPUUsageToStartServices)
@@ -382,6 +386,19 @@ public void setProcessTerminationTimeoutSeconds(int processTerminationTimeoutSec
     this.processTerminationTimeoutSeconds = processTerminationTimeoutSeconds;
   }
 
+  @Override
+  public Collection<String> getTemplateLinkPatterns() {
+    return this.templateLinkPatterns;
+  }
+
+  @Override
+  public void setTemplateLinkPatterns(Collection<String> templateLinkPatterns) {
+    Preconditions.checkNotNull(templateLinkPatterns);
+
+    this.templateLinkPatterns = templateLinkPatterns;
+    this.save();
+  }
+
   public String getDefaultHostAddress() {
     return this.defaultHostAddress;
   }
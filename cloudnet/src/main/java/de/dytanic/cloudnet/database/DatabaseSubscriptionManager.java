@@ -0,0 +1,66 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.dytanic.cloudnet.database;
+
+import de.dytanic.cloudnet.driver.network.INetworkChannel;
+import de.dytanic.cloudnet.network.packet.PacketServerDatabaseInvalidation;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Keeps track of the services which cache the entries of a database. These services are informed about every change
+ * of the database, so they can invalidate their cached entries.
+ */
+public final class DatabaseSubscriptionManager {
+
+  private final Map<String, Collection<INetworkChannel>> subscriptions = new ConcurrentHashMap<>();
+
+  public void subscribe(@NotNull INetworkChannel channel, @NotNull String name) {
+    this.subscriptions.computeIfAbsent(name, n -> ConcurrentHashMap.newKeySet()).add(channel);
+  }
+
+  public void unsubscribe(@NotNull INetworkChannel channel, @NotNull String name) {
+    this.subscriptions.computeIfPresent(name, (n, channels) -> {
+      channels.remove(channel);
+      return channels.isEmpty() ? null : channels;
+    });
+  }
+
+  /**
+   * Informs all subscribed services that the given entry of the database was changed.
+   *
+   * @param name the name of the database
+   * @param key  the key of the changed entry or null if the whole database was changed
+   */
+  public void invalidate(@NotNull String name, @Nullable String key) {
+    Collection<INetworkChannel> channels = this.subscriptions.get(name);
+    if (channels == null) {
+      return;
+    }
+
+    channels.removeIf(channel -> !channel.isActive());
+    if (!channels.isEmpty()) {
+      PacketServerDatabaseInvalidation packet = new PacketServerDatabaseInvalidation(name, key);
+      for (INetworkChannel channel : channels) {
+        channel.sendPacket(packet);
+      }
+    }
+  }
+}
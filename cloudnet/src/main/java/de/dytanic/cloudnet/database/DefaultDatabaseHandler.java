@@ -19,6 +19,7 @@
 import de.dytanic.cloudnet.CloudNet;
 import de.dytanic.cloudnet.common.document.gson.JsonDocument;
 import de.dytanic.cloudnet.database.h2.H2Database;
+import de.dytanic.cloudnet.database.h2.H2DatabaseProvider;
 import de.dytanic.cloudnet.driver.CloudNetDriver;
 import de.dytanic.cloudnet.driver.database.Database;
 import de.dytanic.cloudnet.event.database.DatabaseClearEntriesEvent;
@@ -35,9 +36,7 @@ public void handleInsert(Database database, String key, JsonDocument document) {
       .callEvent(new DatabaseInsertEntryEvent((IDatabase) database, key, document));
 
     if (database instanceof H2Database) {
-      CloudNet.getInstance().getClusterNodeServerProvider().sendPacket(
-        new PacketServerH2Database(PacketServerH2Database.OperationType.INSERT, database.getName(), key, document)
-      );
+      this.publishOperation((H2Database) database, PacketServerH2Database.OperationType.INSERT, key, document);
     }
   }
 
@@ -47,9 +46,7 @@ public void handleUpdate(Database database, String key, JsonDocument document) {
       .callEvent(new DatabaseUpdateEntryEvent((IDatabase) database, key, document));
 
     if (database instanceof H2Database) {
-      CloudNet.getInstance().getClusterNodeServerProvider().sendPacket(
-        new PacketServerH2Database(PacketServerH2Database.OperationType.UPDATE, database.getName(), key, document)
-      );
+      this.publishOperation((H2Database) database, PacketServerH2Database.OperationType.UPDATE, key, document);
     }
   }
 
@@ -58,9 +55,7 @@ public void handleDelete(Database database, String key) {
     CloudNetDriver.getInstance().getEventManager().callEvent(new DatabaseDeleteEntryEvent((IDatabase) database, key));
 
     if (database instanceof H2Database) {
-      CloudNet.getInstance().getClusterNodeServerProvider().sendPacket(
-        new PacketServerH2Database(PacketServerH2Database.OperationType.DELETE, database.getName(), key, null)
-      );
+      this.publishOperation((H2Database) database, PacketServerH2Database.OperationType.DELETE, key, null);
     }
   }
 
@@ -69,9 +64,19 @@ public void handleClear(Database database) {
     CloudNetDriver.getInstance().getEventManager().callEvent(new DatabaseClearEntriesEvent((IDatabase) database));
 
     if (database instanceof H2Database) {
-      CloudNet.getInstance().getClusterNodeServerProvider().sendPacket(
-        new PacketServerH2Database(PacketServerH2Database.OperationType.CLEAR, database.getName(), null, null)
-      );
+      this.publishOperation((H2Database) database, PacketServerH2Database.OperationType.CLEAR, null, null);
     }
   }
+
+  @Override
+  public void handleWritten(Database database, String key) {
+    // the subscribers may only fetch the entry again after it was written
+    CloudNet.getInstance().getDatabaseSubscriptionManager().invalidate(database.getName(), key);
+  }
+
+  private void publishOperation(H2Database database, PacketServerH2Database.OperationType operationType, String key,
+    JsonDocument document) {
+    ((H2DatabaseProvider) database.getDatabaseProvider()).getReplicator()
+      .publish(database.getName(), operationType, key, document);
+  }
 }
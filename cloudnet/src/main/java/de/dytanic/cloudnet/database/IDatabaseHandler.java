@@ -29,4 +29,13 @@ public interface IDatabaseHandler {
 
   void handleClear(Database database);
 
+  /**
+   * Called after the given entry was written successfully, the other methods are called before the entry is written.
+   *
+   * @param database the database the entry was written to
+   * @param key      the key of the entry or null if the database was cleared
+   */
+  default void handleWritten(Database database, String key) {
+  }
+
 }
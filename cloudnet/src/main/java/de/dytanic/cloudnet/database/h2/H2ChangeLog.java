@@ -0,0 +1,163 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.dytanic.cloudnet.database.h2;
+
+import de.dytanic.cloudnet.common.document.gson.JsonDocument;
+import de.dytanic.cloudnet.network.packet.PacketServerH2Database.OperationType;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Keeps the latest operations which were executed on the h2 databases of this node. Every database has its own
+ * sequence, other nodes remember the last sequence they received from this node and only request the operations they
+ * missed when they reconnect, as long as these are still retained by this log.
+ */
+public final class H2ChangeLog {
+
+  public static final int DEFAULT_CAPACITY = Integer.getInteger("cloudnet.database.h2.changelog.capacity", 8192);
+
+  private final UUID uniqueId = UUID.randomUUID();
+  private final Map<String, DatabaseLog> databaseLogs = new ConcurrentHashMap<>();
+  private final int capacity;
+
+  public H2ChangeLog() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  public H2ChangeLog(int capacity) {
+    this.capacity = capacity;
+  }
+
+  /**
+   * Gets the unique id of this log. The sequences of a log are only meaningful together with its unique id, because
+   * they start again when the node restarts.
+   *
+   * @return the unique id of this log
+   */
+  public @NotNull UUID getUniqueId() {
+    return this.uniqueId;
+  }
+
+  public @NotNull Operation append(@NotNull String name, @NotNull OperationType type, @Nullable String key,
+    @Nullable JsonDocument document) {
+    return this.databaseLogs.computeIfAbsent(name, n -> new DatabaseLog()).append(name, type, key, document);
+  }
+
+  public long getSequence(@NotNull String name) {
+    DatabaseLog databaseLog = this.databaseLogs.get(name);
+    return databaseLog == null ? 0 : databaseLog.getSequence();
+  }
+
+  /**
+   * Gets all operations of the given database which were executed after the given sequence.
+   *
+   * @param name     the name of the database
+   * @param sequence the last sequence which is already known
+   * @return the operations in the order of their execution or null if some of them are no longer retained
+   */
+  public @Nullable List<Operation> getOperationsAfter(@NotNull String name, long sequence) {
+    DatabaseLog databaseLog = this.databaseLogs.get(name);
+    return databaseLog == null ? (sequence == 0 ? new ArrayList<>() : null) : databaseLog.getOperationsAfter(sequence);
+  }
+
+  public static final class Operation {
+
+    private final String name;
+    private final long sequence;
+    private final OperationType type;
+    private final String key;
+    private final JsonDocument document;
+
+    public Operation(@NotNull String name, long sequence, @NotNull OperationType type, @Nullable String key,
+      @Nullable JsonDocument document) {
+      this.name = name;
+      this.sequence = sequence;
+      this.type = type;
+      this.key = key;
+      this.document = document;
+    }
+
+    public @NotNull String getName() {
+      return this.name;
+    }
+
+    public long getSequence() {
+      return this.sequence;
+    }
+
+    public @NotNull OperationType getType() {
+      return this.type;
+    }
+
+    public @Nullable String getKey() {
+      return this.key;
+    }
+
+    public @Nullable JsonDocument getDocument() {
+      return this.document;
+    }
+  }
+
+  private final class DatabaseLog {
+
+    private final Deque<Operation> operations = new ArrayDeque<>();
+    private long sequence;
+
+    public synchronized Operation append(String name, OperationType type, String key, JsonDocument document) {
+      Operation operation = new Operation(name, ++this.sequence, type, key, document);
+      if (H2ChangeLog.this.capacity > 0) {
+        if (this.operations.size() >= H2ChangeLog.this.capacity) {
+          this.operations.pollFirst();
+        }
+        this.operations.addLast(operation);
+      }
+
+      return operation;
+    }
+
+    public synchronized long getSequence() {
+      return this.sequence;
+    }
+
+    public synchronized List<Operation> getOperationsAfter(long sequence) {
+      if (sequence > this.sequence) {
+        return null;
+      }
+
+      Operation first = this.operations.peekFirst();
+      if (sequence < this.sequence && (first == null || first.getSequence() > sequence + 1)) {
+        return null;
+      }
+
+      List<Operation> operations = new ArrayList<>((int) (this.sequence - sequence));
+      for (Operation operation : this.operations) {
+        if (operation.getSequence() > sequence) {
+          operations.add(operation);
+        }
+      }
+
+      return operations;
+    }
+  }
+}
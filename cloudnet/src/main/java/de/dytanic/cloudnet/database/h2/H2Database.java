@@ -16,17 +16,175 @@
 
 package de.dytanic.cloudnet.database.h2;
 
+import de.dytanic.cloudnet.common.document.gson.JsonDocument;
 import de.dytanic.cloudnet.database.sql.SQLDatabase;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ExecutorService;
+import org.jetbrains.annotations.NotNull;
 
 public final class H2Database extends SQLDatabase {
 
+  private final H2DatabaseProvider h2DatabaseProvider;
+
   public H2Database(H2DatabaseProvider databaseProvider, String name, ExecutorService executorService) {
     super(databaseProvider, name, executorService);
+    this.h2DatabaseProvider = databaseProvider;
+  }
+
+  @Override
+  protected String createUpsertQuery(List<String> columns) {
+    return String.format("MERGE INTO `%s` (%s) KEY (%s) VALUES (%s)",
+      this.name, String.join(",", columns), TABLE_COLUMN_KEY, String.join(", ", Collections.nCopies(columns.size(), "?")));
+  }
+
+  @Override
+  public boolean insertOrUpdate(String key, JsonDocument document) {
+    LiveOperations liveOperations = this.h2DatabaseProvider.getLiveOperations(this.name);
+    if (liveOperations == null) {
+      return super.insertOrUpdate(key, document);
+    }
+
+    synchronized (liveOperations) {
+      liveOperations.documents.put(key, document);
+      return super.insertOrUpdate(key, document);
+    }
+  }
+
+  @Override
+  public boolean insertOrUpdateBatch(Map<String, JsonDocument> documents) {
+    LiveOperations liveOperations = this.h2DatabaseProvider.getLiveOperations(this.name);
+    if (liveOperations == null) {
+      return super.insertOrUpdateBatch(documents);
+    }
+
+    synchronized (liveOperations) {
+      liveOperations.documents.putAll(documents);
+      return super.insertOrUpdateBatch(documents);
+    }
+  }
+
+  @Override
+  public boolean delete0(String key) {
+    LiveOperations liveOperations = this.h2DatabaseProvider.getLiveOperations(this.name);
+    if (liveOperations == null) {
+      return super.delete0(key);
+    }
+
+    synchronized (liveOperations) {
+      liveOperations.documents.put(key, null);
+      return super.delete0(key);
+    }
+  }
+
+  @Override
+  public void clear0() {
+    LiveOperations liveOperations = this.h2DatabaseProvider.getLiveOperations(this.name);
+    if (liveOperations == null) {
+      super.clear0();
+      return;
+    }
+
+    synchronized (liveOperations) {
+      liveOperations.documents.clear();
+      liveOperations.cleared = true;
+      super.clear0();
+    }
+  }
+
+  /**
+   * Replaces all entries of this database by the given snapshot of the same database on another node. The operations
+   * recorded since {@link H2DatabaseProvider#recordLiveOperations(String)} may be missing in the snapshot, they are
+   * applied again after it and the recording is stopped.
+   * <p>
+   * The snapshot is written in batches without blocking the local writes, which only wait while the recorded
+   * operations are replayed. Entries which were already written locally are skipped.
+   *
+   * @param entries   the entries of the snapshot
+   * @param batchSize the amount of entries which are inserted at once
+   */
+  public void applySnapshot(@NotNull Iterator<Map.Entry<String, JsonDocument>> entries, int batchSize) {
+    LiveOperations liveOperations = this.h2DatabaseProvider.getLiveOperations(this.name);
+    if (liveOperations == null) {
+      this.writeSnapshot(entries, batchSize, null);
+      this.h2DatabaseProvider.handleSnapshotApplied(this.name);
+      return;
+    }
+
+    try {
+      this.writeSnapshot(entries, batchSize, liveOperations);
+
+      // a local write may have happened between filtering a batch and writing it, so the recorded state wins
+      synchronized (liveOperations) {
+        if (liveOperations.cleared) {
+          super.clear0();
+        }
+
+        Map<String, JsonDocument> upserts = new HashMap<>();
+        for (Map.Entry<String, JsonDocument> entry : liveOperations.documents.entrySet()) {
+          if (entry.getValue() == null) {
+            super.delete0(entry.getKey());
+          } else {
+            upserts.put(entry.getKey(), entry.getValue());
+          }
+        }
+        if (!upserts.isEmpty()) {
+          super.insertOrUpdateBatch(upserts);
+        }
+
+        this.h2DatabaseProvider.stopRecordingLiveOperations(this.name);
+      }
+
+      this.h2DatabaseProvider.handleSnapshotApplied(this.name);
+    } finally {
+      this.h2DatabaseProvider.stopRecordingLiveOperations(this.name);
+    }
+  }
+
+  private void writeSnapshot(Iterator<Map.Entry<String, JsonDocument>> entries, int batchSize,
+    LiveOperations liveOperations) {
+    super.clear0();
+
+    Map<String, JsonDocument> batch = new HashMap<>(batchSize);
+    while (entries.hasNext()) {
+      Map.Entry<String, JsonDocument> entry = entries.next();
+      batch.put(entry.getKey(), entry.getValue());
+
+      if (batch.size() >= batchSize || !entries.hasNext()) {
+        if (liveOperations != null) {
+          synchronized (liveOperations) {
+            if (liveOperations.cleared) {
+              batch.clear();
+            } else {
+              batch.keySet().removeAll(liveOperations.documents.keySet());
+            }
+          }
+        }
+
+        if (!batch.isEmpty()) {
+          super.insertOrUpdateBatch(batch);
+          batch.clear();
+        }
+      }
+    }
   }
 
   @Override
   public boolean isSynced() {
     return false;
   }
+
+  /**
+   * The operations which were applied to a database while a snapshot of it is received, mapped by the key of the
+   * entry. A null document marks a deleted entry.
+   */
+  static final class LiveOperations {
+
+    private final Map<String, JsonDocument> documents = new LinkedHashMap<>();
+    private boolean cleared;
+  }
 }
@@ -31,8 +31,16 @@
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
 import org.h2.Driver;
+import org.jetbrains.annotations.NotNull;
 
 public final class H2DatabaseProvider extends SQLDatabaseProvider {
 
@@ -44,6 +52,13 @@ public final class H2DatabaseProvider extends SQLDatabaseProvider {
 
   protected final Path h2dbFile;
   protected final boolean runsInCluster;
+  protected final H2ChangeLog changeLog = new H2ChangeLog();
+  protected final H2DatabaseReplicator replicator = new H2DatabaseReplicator(this);
+  protected final Map<UUID, Map<String, Long>> receivedSequences = new ConcurrentHashMap<>();
+  private final Map<String, H2Database.LiveOperations> liveOperations = new ConcurrentHashMap<>();
+  private final Collection<String> deletedDatabases = ConcurrentHashMap.newKeySet();
+  private final Collection<String> localDatabases = ConcurrentHashMap.newKeySet();
+  private final Collection<Consumer<String>> snapshotListeners = new CopyOnWriteArrayList<>();
   protected Connection connection;
 
   public H2DatabaseProvider(String h2File, boolean runsInCluster) {
@@ -81,6 +96,7 @@ public H2Database getDatabase(String name) {
     this.removedOutdatedEntries();
 
     if (!this.cachedDatabaseInstances.contains(name)) {
+      this.deletedDatabases.remove(name.toUpperCase(Locale.ROOT));
       this.cachedDatabaseInstances
         .add(name, System.currentTimeMillis() + NEW_CREATION_DELAY, new H2Database(this, name, super.executorService));
     }
@@ -97,6 +113,9 @@ public boolean deleteDatabase(String name) {
     }
 
     this.cachedDatabaseInstances.remove(name);
+    if (!this.isLocalDatabase(name)) {
+      this.deletedDatabases.add(name.toUpperCase(Locale.ROOT));
+    }
 
     try (PreparedStatement preparedStatement = this.connection
       .prepareStatement("DROP TABLE IF EXISTS `" + name + "`")) {
@@ -128,9 +147,95 @@ public String getName() {
     return "h2";
   }
 
+  /**
+   * Gets the names of the databases which were deleted on this node and not created again since then. Other nodes
+   * only delete their databases which are not offered for a synchronization if they are contained in here.
+   *
+   * @return the upper-case names of the deleted databases, just like the names of the tables
+   */
+  public Collection<String> getDeletedDatabases() {
+    return new ArrayList<>(this.deletedDatabases);
+  }
+
+  /**
+   * Marks the database with the given name as local to this node. Operations on a local database are neither
+   * replicated to the other nodes nor offered during a synchronization, every node maintains its local databases on its
+   * own.
+   *
+   * @param name the name of the database
+   */
+  public void addLocalDatabase(@NotNull String name) {
+    this.localDatabases.add(name.toUpperCase(Locale.ROOT));
+  }
+
+  public boolean isLocalDatabase(@NotNull String name) {
+    return this.localDatabases.contains(name.toUpperCase(Locale.ROOT));
+  }
+
+  /**
+   * Adds a listener which is called with the name of a database after its entries were replaced by a snapshot of the
+   * same database on another node, for example to rebuild local databases derived from it.
+   *
+   * @param listener the listener to call with the name of the database
+   */
+  public void addSnapshotListener(@NotNull Consumer<String> listener) {
+    this.snapshotListeners.add(listener);
+  }
+
+  void handleSnapshotApplied(String name) {
+    for (Consumer<String> listener : this.snapshotListeners) {
+      listener.accept(name);
+    }
+  }
+
+  public H2ChangeLog getChangeLog() {
+    return this.changeLog;
+  }
+
+  public H2DatabaseReplicator getReplicator() {
+    return this.replicator;
+  }
+
+  /**
+   * Gets the last sequence of the given database which was received from the change log of another node.
+   *
+   * @param changeLogId the unique id of the change log of the other node
+   * @param name        the name of the database
+   * @return the last received sequence or -1 if nothing was received from the change log yet
+   */
+  public long getReceivedSequence(UUID changeLogId, String name) {
+    Map<String, Long> sequences = this.receivedSequences.get(changeLogId);
+    return sequences == null ? -1 : sequences.getOrDefault(name, -1L);
+  }
+
+  public void updateReceivedSequence(UUID changeLogId, String name, long sequence) {
+    this.receivedSequences.computeIfAbsent(changeLogId, uuid -> new ConcurrentHashMap<>())
+      .merge(name, sequence, Math::max);
+  }
+
+  /**
+   * Starts to record the operations applied to the given database, a snapshot of the database which is streamed from
+   * another node afterwards may not contain them. The recorded operations are applied again after the snapshot by
+   * {@link H2Database#applySnapshot(Iterator, int)}.
+   *
+   * @param name the name of the database
+   */
+  public void recordLiveOperations(String name) {
+    this.liveOperations.computeIfAbsent(name, key -> new H2Database.LiveOperations());
+  }
+
+  public void stopRecordingLiveOperations(String name) {
+    this.liveOperations.remove(name);
+  }
+
+  H2Database.LiveOperations getLiveOperations(String name) {
+    return this.liveOperations.get(name);
+  }
+
   @Override
   public void close() throws Exception {
     super.close();
+    this.replicator.close();
 
     if (this.connection != null) {
       this.connection.close();
@@ -149,7 +254,7 @@ public int executeUpdate(String query, Object... objects) {
     try (PreparedStatement preparedStatement = this.getConnection().prepareStatement(query)) {
       int i = 1;
       for (Object object : objects) {
-        preparedStatement.setString(i++, object.toString());
+        preparedStatement.setString(i++, object == null ? null : object.toString());
       }
 
       return preparedStatement.executeUpdate();
@@ -161,15 +266,51 @@ public int executeUpdate(String query, Object... objects) {
     return -1;
   }
 
+  @Override
+  public int[] executeBatch(String query, Collection<Object[]> parameters) {
+    Preconditions.checkNotNull(query);
+    Preconditions.checkNotNull(parameters);
+
+    if (parameters.isEmpty()) {
+      return new int[0];
+    }
+
+    try (PreparedStatement preparedStatement = this.getConnection().prepareStatement(query)) {
+      for (Object[] objects : parameters) {
+        int i = 1;
+        for (Object object : objects) {
+          preparedStatement.setString(i++, object == null ? null : object.toString());
+        }
+
+        preparedStatement.addBatch();
+      }
+
+      return preparedStatement.executeBatch();
+
+    } catch (SQLException exception) {
+      exception.printStackTrace();
+    }
+
+    return null;
+  }
+
   public <T> T executeQuery(String query, IThrowableCallback<ResultSet, T> callback, Object... objects) {
+    return this.executeQuery(query, 0, callback, objects);
+  }
+
+  @Override
+  public <T> T executeQuery(String query, int fetchSize, IThrowableCallback<ResultSet, T> callback,
+    Object... objects) {
     Preconditions.checkNotNull(query);
     Preconditions.checkNotNull(callback);
     Preconditions.checkNotNull(objects);
 
     try (PreparedStatement preparedStatement = this.getConnection().prepareStatement(query)) {
+      preparedStatement.setFetchSize(fetchSize);
+
       int i = 1;
       for (Object object : objects) {
-        preparedStatement.setString(i++, object.toString());
+        preparedStatement.setString(i++, object == null ? null : object.toString());
       }
 
       try (ResultSet resultSet = preparedStatement.executeQuery()) {
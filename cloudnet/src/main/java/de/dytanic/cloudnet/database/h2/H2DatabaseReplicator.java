@@ -0,0 +1,570 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.dytanic.cloudnet.database.h2;
+
+import de.dytanic.cloudnet.CloudNet;
+import de.dytanic.cloudnet.common.concurrent.ITask;
+import de.dytanic.cloudnet.common.document.gson.JsonDocument;
+import de.dytanic.cloudnet.driver.CloudNetDriver;
+import de.dytanic.cloudnet.driver.database.DatabaseEntryCodec;
+import de.dytanic.cloudnet.driver.network.INetworkChannel;
+import de.dytanic.cloudnet.driver.network.def.PacketConstants;
+import de.dytanic.cloudnet.driver.network.protocol.IPacket;
+import de.dytanic.cloudnet.driver.network.protocol.Packet;
+import de.dytanic.cloudnet.driver.network.protocol.chunk.ChunkedPacketBuilder;
+import de.dytanic.cloudnet.event.database.DatabaseClearEntriesEvent;
+import de.dytanic.cloudnet.event.database.DatabaseDeleteEntryEvent;
+import de.dytanic.cloudnet.event.database.DatabaseInsertEntryEvent;
+import de.dytanic.cloudnet.event.database.DatabaseUpdateEntryEvent;
+import de.dytanic.cloudnet.network.packet.PacketServerH2Database;
+import de.dytanic.cloudnet.network.packet.PacketServerH2Database.OperationType;
+import de.dytanic.cloudnet.network.packet.PacketServerH2DatabaseAcknowledgement;
+import de.dytanic.cloudnet.network.packet.PacketServerH2DatabaseSyncOffer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Replicates the operations on the h2 databases of this node to the other nodes in the cluster. Operations are
+ * appended to the change log and coalesced by their key, the pending operations are sent every few milliseconds as
+ * one numbered batch. The other nodes apply the batches in their order and acknowledge them, nodes which stop
+ * acknowledging are synchronized again from the change log or, if the missed operations are no longer retained, by
+ * streaming the whole databases.
+ */
+public final class H2DatabaseReplicator {
+
+  public static final long FLUSH_INTERVAL_MILLIS = Long
+    .getLong("cloudnet.database.h2.replication.flush-interval", 5);
+  public static final long LAG_TIMEOUT_MILLIS = Long.getLong("cloudnet.database.h2.replication.lag-timeout", 10_000);
+
+  private static final int MAX_BUFFERED_BATCHES = 4096;
+  private static final long SYNC_TIMEOUT_SECONDS = 300;
+
+  private final H2DatabaseProvider databaseProvider;
+  // keeps the batches in their order on the wire without blocking the operations which are published meanwhile
+  private final Object sendLock = new Object();
+
+  private final Map<Map.Entry<String, String>, H2ChangeLog.Operation> pendingOperations = new LinkedHashMap<>();
+  private final Map<INetworkChannel, NodeState> nodeStates = new ConcurrentHashMap<>();
+  private final Map<UUID, SourceState> sourceStates = new ConcurrentHashMap<>();
+
+  private long lastBatch;
+  private ScheduledFuture<?> flushTask;
+
+  public H2DatabaseReplicator(@NotNull H2DatabaseProvider databaseProvider) {
+    this.databaseProvider = databaseProvider;
+  }
+
+  /**
+   * Appends the given operation to the change log and queues it for the next batch. A queued operation of the same key
+   * is replaced, a clear operation replaces all queued operations of the database. Operations on local databases are
+   * ignored.
+   *
+   * @param name     the name of the database
+   * @param type     the type of the operation
+   * @param key      the key of the entry or null if the whole database is affected
+   * @param document the new document of the entry or null if there is none
+   */
+  public synchronized void publish(@NotNull String name, @NotNull OperationType type, @Nullable String key,
+    @Nullable JsonDocument document) {
+    if (this.databaseProvider.isLocalDatabase(name)) {
+      return;
+    }
+
+    H2ChangeLog.Operation operation = this.databaseProvider.getChangeLog().append(name, type, key, document);
+    Map.Entry<String, String> pendingKey = new AbstractMap.SimpleImmutableEntry<>(name, key);
+
+    if (type == OperationType.CLEAR) {
+      this.pendingOperations.keySet().removeIf(entry -> entry.getKey().equals(name));
+    } else {
+      // removed first to move the operation to the end, the batch has to keep the order of the sequences
+      this.pendingOperations.remove(pendingKey);
+    }
+    this.pendingOperations.put(pendingKey, operation);
+
+    if (this.flushTask == null) {
+      this.flushTask = CloudNetDriver.getInstance().getTaskExecutor()
+        .scheduleAtFixedRate(this::flush, FLUSH_INTERVAL_MILLIS, FLUSH_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  /**
+   * Sends the queued operations to all nodes and checks which nodes are lagging behind. The flush task is stopped when
+   * nothing is queued and all nodes are up to date, the next published operation starts it again.
+   */
+  public void flush() {
+    try {
+      synchronized (this.sendLock) {
+        List<H2ChangeLog.Operation> operations = null;
+        long batch = 0;
+
+        synchronized (this) {
+          if (!this.pendingOperations.isEmpty()) {
+            operations = new ArrayList<>(this.pendingOperations.values());
+            this.pendingOperations.clear();
+            batch = ++this.lastBatch;
+          }
+        }
+
+        if (operations != null) {
+          CloudNet.getInstance().getClusterNodeServerProvider().sendPacket(
+            new PacketServerH2Database(this.databaseProvider.getChangeLog().getUniqueId(), batch, operations));
+        }
+      }
+
+      boolean nodesBehind = this.checkNodeStates();
+      synchronized (this) {
+        if (!nodesBehind && this.pendingOperations.isEmpty() && this.flushTask != null) {
+          this.flushTask.cancel(false);
+          this.flushTask = null;
+        }
+      }
+    } catch (Throwable throwable) {
+      throwable.printStackTrace();
+    }
+  }
+
+  private boolean checkNodeStates() {
+    this.nodeStates.keySet().removeIf(channel -> !channel.isActive());
+
+    long lastBatch = this.getLastBatch();
+    long now = System.currentTimeMillis();
+    boolean nodesBehind = false;
+
+    for (INetworkChannel channel : CloudNet.getInstance().getClusterNodeServerProvider().getConnectedChannels()) {
+      NodeState nodeState = this.nodeStates.computeIfAbsent(channel, c -> new NodeState(lastBatch));
+      if (nodeState.synchronizing || nodeState.acknowledgedBatch >= lastBatch) {
+        nodeState.behindSince = 0;
+        nodesBehind |= nodeState.synchronizing;
+        continue;
+      }
+
+      nodesBehind = true;
+      if (nodeState.behindSince == 0) {
+        nodeState.behindSince = now;
+      } else if (now - nodeState.behindSince > LAG_TIMEOUT_MILLIS) {
+        CloudNetDriver.getInstance().getLogger().warning(String.format(
+          "A node did not acknowledge the h2 database operations for %d ms, synchronizing it again",
+          now - nodeState.behindSince));
+        this.synchronize(channel);
+      }
+    }
+
+    return nodesBehind;
+  }
+
+  private synchronized long getLastBatch() {
+    return this.lastBatch;
+  }
+
+  /**
+   * Synchronizes the h2 databases of this node to the node of the given channel. The node receives all operations it
+   * missed from the change log or the whole databases if these operations are no longer retained.
+   *
+   * @param channel the channel of the node to synchronize
+   */
+  public void synchronize(@NotNull INetworkChannel channel) {
+    NodeState nodeState = this.nodeStates.computeIfAbsent(channel, c -> new NodeState(this.getLastBatch()));
+    nodeState.synchronizing = true;
+
+    H2ChangeLog changeLog = this.databaseProvider.getChangeLog();
+    Map<String, Long> sequences = new HashMap<>();
+    Collection<String> deletedDatabases = this.databaseProvider.getDeletedDatabases();
+    long lastBatch;
+
+    // the sequences and the last batch have to match, all later operations are in the following batches
+    synchronized (this) {
+      for (String name : this.databaseProvider.getDatabaseNames()) {
+        if (!this.databaseProvider.isLocalDatabase(name)) {
+          sequences.put(name, changeLog.getSequence(name));
+        }
+      }
+      lastBatch = this.lastBatch;
+    }
+
+    channel.sendQueryAsync(new PacketServerH2DatabaseSyncOffer(changeLog.getUniqueId(), lastBatch, sequences,
+      deletedDatabases))
+      .onComplete(response -> {
+        if (response == null || response == Packet.EMPTY) {
+          nodeState.synchronizing = false;
+          return;
+        }
+
+        Map<String, Long> receivedSequences = PacketServerH2DatabaseSyncOffer.readSequences(response.getBuffer());
+        CloudNet.getInstance().scheduleTask(() -> {
+          try {
+            this.sendDatabases(channel, sequences, receivedSequences);
+          } finally {
+            nodeState.behindSince = 0;
+            nodeState.synchronizing = false;
+          }
+          return null;
+        }).fireExceptionOnFailure();
+      });
+  }
+
+  private void sendDatabases(INetworkChannel channel, Map<String, Long> sequences,
+    Map<String, Long> receivedSequences) throws IOException {
+    H2ChangeLog changeLog = this.databaseProvider.getChangeLog();
+    List<H2ChangeLog.Operation> replayedOperations = new ArrayList<>();
+
+    for (Map.Entry<String, Long> entry : sequences.entrySet()) {
+      long receivedSequence = receivedSequences.getOrDefault(entry.getKey(), -1L);
+      List<H2ChangeLog.Operation> operations = receivedSequence < 0 ? null
+        : changeLog.getOperationsAfter(entry.getKey(), receivedSequence);
+
+      if (operations != null) {
+        // the node only missed some operations which are still in the change log
+        replayedOperations.addAll(operations);
+        continue;
+      }
+
+      try (InputStream inputStream = DatabaseEntryCodec
+        .encode(this.databaseProvider.getDatabase(entry.getKey()).stream())) {
+        ChunkedPacketBuilder builder = ChunkedPacketBuilder
+          .newBuilder(PacketConstants.CLUSTER_H2_DATABASE_CHUNK_SYNC_CHANNEL, inputStream)
+          .header(JsonDocument.newDocument("name", entry.getKey())
+            .append("changeLogId", changeLog.getUniqueId())
+            .append("sequence", entry.getValue()))
+          .target(channel)
+          .window(ChunkedPacketBuilder.DEFAULT_WINDOW);
+
+        // the replayed operations may only be applied after the database was written completely
+        ITask<IPacket> task = channel.registerQueryResponseHandler(builder.uniqueId());
+        builder.complete();
+        task.get(SYNC_TIMEOUT_SECONDS, TimeUnit.SECONDS, null);
+      }
+    }
+
+    channel.sendPacket(
+      new PacketServerH2Database(changeLog.getUniqueId(), PacketServerH2Database.REPLAY_BATCH, replayedOperations));
+  }
+
+  public void handleAcknowledgement(@NotNull INetworkChannel channel, @NotNull UUID changeLogId, long batch) {
+    if (changeLogId.equals(this.databaseProvider.getChangeLog().getUniqueId())) {
+      NodeState nodeState = this.nodeStates.get(channel);
+      if (nodeState != null) {
+        nodeState.acknowledge(batch);
+      }
+    }
+  }
+
+  /**
+   * Synchronizes the node of the given channel again without waiting for the lag timeout, the node dropped batches it
+   * couldn't buffer anymore.
+   *
+   * @param channel     the channel of the node which requested the synchronization
+   * @param changeLogId the unique id of the change log the node received the batches from
+   */
+  public void handleResyncRequest(@NotNull INetworkChannel channel, @NotNull UUID changeLogId) {
+    if (changeLogId.equals(this.databaseProvider.getChangeLog().getUniqueId())) {
+      NodeState nodeState = this.nodeStates.get(channel);
+      if (nodeState == null || !nodeState.synchronizing) {
+        CloudNet.getInstance().scheduleTask(() -> {
+          this.synchronize(channel);
+          return null;
+        }).fireExceptionOnFailure();
+      }
+    }
+  }
+
+  /**
+   * Prepares the synchronization from the change log with the given id. All batches up to the given batch are replaced
+   * by the databases and operations which are sent for the synchronization, later batches are only applied after
+   * them.
+   *
+   * The operations applied to the offered databases are recorded until the synchronization is done, so that they
+   * survive the databases which are streamed.
+   *
+   * @param changeLogId the unique id of the change log of the other node
+   * @param lastBatch   the last batch of the other node which is covered by the synchronization
+   * @param names       the names of the databases offered by the other node
+   */
+  public void handleSyncOffer(@NotNull UUID changeLogId, long lastBatch, @NotNull Collection<String> names) {
+    SourceState sourceState = this.sourceStates.computeIfAbsent(changeLogId, uuid -> new SourceState());
+    synchronized (sourceState) {
+      sourceState.prepareSynchronization(lastBatch);
+
+      // a previous synchronization which never completed is replaced by this one
+      this.stopRecordingLiveOperations(sourceState);
+      for (String name : names) {
+        this.databaseProvider.recordLiveOperations(name);
+      }
+      sourceState.offeredDatabases.addAll(names);
+    }
+  }
+
+  private void stopRecordingLiveOperations(SourceState sourceState) {
+    for (String name : sourceState.offeredDatabases) {
+      this.databaseProvider.stopRecordingLiveOperations(name);
+    }
+    sourceState.offeredDatabases.clear();
+  }
+
+  /**
+   * Applies the given batch of another node if all batches before it were applied, otherwise the batch is buffered
+   * until the missing ones arrive.
+   *
+   * @param channel     the channel of the other node
+   * @param changeLogId the unique id of the change log of the other node
+   * @param batch       the number of the batch or {@link PacketServerH2Database#REPLAY_BATCH}
+   * @param operations  the operations of the batch
+   */
+  public void handleBatch(@NotNull INetworkChannel channel, @NotNull UUID changeLogId, long batch,
+    @NotNull List<H2ChangeLog.Operation> operations) {
+    SourceState sourceState = this.sourceStates.computeIfAbsent(changeLogId, uuid -> new SourceState());
+    boolean requestResync = false;
+    long acknowledgedBatch;
+
+    synchronized (sourceState) {
+      if (batch == PacketServerH2Database.REPLAY_BATCH) {
+        // all streamed databases are written, the databases which weren't streamed need no recording either
+        this.stopRecordingLiveOperations(sourceState);
+        this.applyOperations(changeLogId, operations);
+        sourceState.completeSynchronization();
+      } else if (!sourceState.buffer(batch, operations)) {
+        // the dropped batches can only be restored by synchronizing this node again
+        requestResync = sourceState.requestResync();
+      }
+
+      for (List<H2ChangeLog.Operation> nextOperations : sourceState.pollReadyBatches()) {
+        this.applyOperations(changeLogId, nextOperations);
+      }
+      acknowledgedBatch = sourceState.isAwaitingReplay() ? -1 : sourceState.getAppliedBatch();
+    }
+
+    if (requestResync) {
+      channel.sendPacket(PacketServerH2DatabaseAcknowledgement.resync(changeLogId));
+    }
+    if (acknowledgedBatch >= 0) {
+      channel.sendPacket(new PacketServerH2DatabaseAcknowledgement(changeLogId, acknowledgedBatch));
+    }
+  }
+
+  private void applyOperations(UUID changeLogId, List<H2ChangeLog.Operation> operations) {
+    String upsertName = null;
+    Map<String, JsonDocument> upserts = new HashMap<>();
+
+    for (H2ChangeLog.Operation operation : operations) {
+      // operations which are already contained in a synchronized database are skipped
+      if (operation.getSequence() <= this.databaseProvider.getReceivedSequence(changeLogId, operation.getName())) {
+        continue;
+      }
+
+      boolean upsert = operation.getType() == OperationType.INSERT || operation.getType() == OperationType.UPDATE;
+      if (upsertName != null && (!upsert || !upsertName.equals(operation.getName()))) {
+        this.writeUpserts(upsertName, upserts);
+        upserts.clear();
+        upsertName = null;
+      }
+
+      H2Database database = this.databaseProvider.getDatabase(operation.getName());
+      switch (operation.getType()) {
+        case INSERT:
+          CloudNetDriver.getInstance().getEventManager()
+            .callEvent(new DatabaseInsertEntryEvent(database, operation.getKey(), operation.getDocument()));
+          break;
+        case UPDATE:
+          CloudNetDriver.getInstance().getEventManager()
+            .callEvent(new DatabaseUpdateEntryEvent(database, operation.getKey(), operation.getDocument()));
+          break;
+        case DELETE:
+          CloudNetDriver.getInstance().getEventManager()
+            .callEvent(new DatabaseDeleteEntryEvent(database, operation.getKey()));
+          database.delete0(operation.getKey());
+          break;
+        case CLEAR:
+          CloudNetDriver.getInstance().getEventManager().callEvent(new DatabaseClearEntriesEvent(database));
+          database.clear0();
+          break;
+        default:
+          break;
+      }
+
+      if (upsert) {
+        upsertName = operation.getName();
+        upserts.put(operation.getKey(), operation.getDocument());
+      } else {
+        CloudNet.getInstance().getDatabaseSubscriptionManager().invalidate(operation.getName(), operation.getKey());
+      }
+      this.databaseProvider.updateReceivedSequence(changeLogId, operation.getName(), operation.getSequence());
+    }
+
+    if (upsertName != null) {
+      this.writeUpserts(upsertName, upserts);
+    }
+  }
+
+  private void writeUpserts(String name, Map<String, JsonDocument> upserts) {
+    this.databaseProvider.getDatabase(name).insertOrUpdateBatch(upserts);
+
+    // the subscribers may only fetch the entries again after they were written
+    for (String key : upserts.keySet()) {
+      CloudNet.getInstance().getDatabaseSubscriptionManager().invalidate(name, key);
+    }
+  }
+
+  public synchronized void close() {
+    if (this.flushTask != null) {
+      this.flushTask.cancel(false);
+      this.flushTask = null;
+    }
+  }
+
+  /**
+   * The replication state of another node as seen by the node sending the batches.
+   */
+  static final class NodeState {
+
+    private volatile long acknowledgedBatch;
+    private volatile long behindSince;
+    private volatile boolean synchronizing;
+
+    NodeState(long acknowledgedBatch) {
+      this.acknowledgedBatch = acknowledgedBatch;
+    }
+
+    synchronized void acknowledge(long batch) {
+      // acknowledgements may overtake each other, an older one must not move the node back
+      if (batch > this.acknowledgedBatch) {
+        this.acknowledgedBatch = batch;
+        this.behindSince = 0;
+      }
+    }
+
+    long getAcknowledgedBatch() {
+      return this.acknowledgedBatch;
+    }
+  }
+
+  /**
+   * The replication state of another node as seen by the node receiving its batches. Batches are applied in their
+   * order, batches which arrive too early are buffered until the missing ones arrive.
+   */
+  static final class SourceState {
+
+    private final TreeMap<Long, List<H2ChangeLog.Operation>> bufferedBatches = new TreeMap<>();
+    private final Collection<String> offeredDatabases = new ArrayList<>();
+    private final int maxBufferedBatches;
+
+    private long expectedBatch = -1;
+    private boolean awaitingReplay;
+    private boolean resyncRequested;
+
+    SourceState() {
+      this(MAX_BUFFERED_BATCHES);
+    }
+
+    SourceState(int maxBufferedBatches) {
+      this.maxBufferedBatches = maxBufferedBatches;
+    }
+
+    /**
+     * Buffers the given batch until all batches before it are applied.
+     *
+     * @param batch      the number of the batch
+     * @param operations the operations of the batch
+     * @return false if too many batches are buffered, all buffered batches are dropped in that case
+     */
+    boolean buffer(long batch, List<H2ChangeLog.Operation> operations) {
+      if (this.expectedBatch < 0) {
+        this.expectedBatch = batch;
+      }
+      if (batch < this.expectedBatch) {
+        return true;
+      }
+
+      this.bufferedBatches.put(batch, operations);
+      if (this.bufferedBatches.size() > this.maxBufferedBatches) {
+        this.bufferedBatches.clear();
+        return false;
+      }
+      return true;
+    }
+
+    /**
+     * Removes the buffered batches which directly follow the last applied batch.
+     *
+     * @return the operations of the batches in their order, the batches count as applied afterwards
+     */
+    List<List<H2ChangeLog.Operation>> pollReadyBatches() {
+      List<List<H2ChangeLog.Operation>> batches = new ArrayList<>();
+      if (this.awaitingReplay) {
+        return batches;
+      }
+
+      List<H2ChangeLog.Operation> operations;
+      while ((operations = this.bufferedBatches.remove(this.expectedBatch)) != null) {
+        batches.add(operations);
+        this.expectedBatch++;
+      }
+      return batches;
+    }
+
+    /**
+     * Prepares a synchronization which covers all batches up to the given one, these batches are dropped.
+     *
+     * @param lastBatch the last batch which is covered by the synchronization
+     */
+    void prepareSynchronization(long lastBatch) {
+      this.expectedBatch = lastBatch + 1;
+      this.awaitingReplay = true;
+      this.resyncRequested = false;
+      this.bufferedBatches.headMap(this.expectedBatch).clear();
+    }
+
+    void completeSynchronization() {
+      this.awaitingReplay = false;
+    }
+
+    /**
+     * Marks that a synchronization was requested from the other node.
+     *
+     * @return false if it was already requested and the synchronization didn't start yet
+     */
+    boolean requestResync() {
+      boolean requested = !this.resyncRequested;
+      this.resyncRequested = true;
+      return requested;
+    }
+
+    boolean isAwaitingReplay() {
+      return this.awaitingReplay;
+    }
+
+    long getAppliedBatch() {
+      return this.expectedBatch - 1;
+    }
+
+    int getBufferedBatches() {
+      return this.bufferedBatches.size();
+    }
+  }
+}
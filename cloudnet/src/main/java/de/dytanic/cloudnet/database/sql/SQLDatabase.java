@@ -17,35 +17,63 @@
 package de.dytanic.cloudnet.database.sql;
 
 import com.google.common.base.Preconditions;
+import com.google.gson.JsonElement;
 import de.dytanic.cloudnet.common.concurrent.ITask;
 import de.dytanic.cloudnet.common.concurrent.IThrowableCallback;
 import de.dytanic.cloudnet.common.concurrent.ListenableTask;
 import de.dytanic.cloudnet.common.document.gson.JsonDocument;
 import de.dytanic.cloudnet.database.IDatabase;
 import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
-import java.util.WeakHashMap;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
 import java.util.function.BiConsumer;
 import java.util.function.BiPredicate;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 public abstract class SQLDatabase implements IDatabase {
 
   protected static final String TABLE_COLUMN_KEY = "Name";
   protected static final String TABLE_COLUMN_VALUE = "Document";
+  protected static final String TABLE_COLUMN_INDEX_PREFIX = "Index_";
+  protected static final int INDEX_VALUE_MAX_LENGTH = 255;
+  /**
+   * The value of an index column for documents without an indexable value for the field. No json value is empty, so it
+   * never matches a lookup, but unlike null it marks the row as already indexed.
+   */
+  protected static final String NO_INDEX_VALUE = "";
+
+  private static final int INDEX_FILL_PAGE_SIZE = Integer.getInteger("cloudnet.database.index.page-size", 512);
+
+  // the encoded column name of the longest field has to fit into the 64 characters of a mysql column name
+  private static final Pattern INDEX_FIELD_PATTERN = Pattern.compile("[A-Za-z0-9_]{1,29}");
 
   protected final SQLDatabaseProvider databaseProvider;
   protected final String name;
 
   protected final ExecutorService executorService;
 
+  /**
+   * The lower-case names of all fields which have an index column in the table of this database.
+   */
+  protected volatile List<String> indexedFields;
+
   public SQLDatabase(SQLDatabaseProvider databaseProvider, String name, ExecutorService executorService) {
     Preconditions.checkNotNull(databaseProvider);
     Preconditions.checkNotNull(name);
@@ -58,6 +86,7 @@ public SQLDatabase(SQLDatabaseProvider databaseProvider, String name, ExecutorSe
     databaseProvider
       .executeUpdate(String.format("CREATE TABLE IF NOT EXISTS `%s` (%s VARCHAR(64) PRIMARY KEY, %s TEXT);",
         name, TABLE_COLUMN_KEY, TABLE_COLUMN_VALUE));
+    this.indexedFields = this.readIndexedFields();
   }
 
   @Override
@@ -84,43 +113,96 @@ public boolean insert(String key, JsonDocument document) {
       this.databaseProvider.getDatabaseHandler().handleInsert(this, key, document);
     }
 
-    return this.insertOrUpdate(key, document);
+    return this.handleWritten(this.insertOrUpdate(key, document), key);
+  }
+
+  @Override
+  public boolean update(String key, JsonDocument document) {
+    Preconditions.checkNotNull(key);
+    Preconditions.checkNotNull(document);
+
+    if (this.databaseProvider.getDatabaseHandler() != null) {
+      this.databaseProvider.getDatabaseHandler().handleUpdate(this, key, document);
+    }
+
+    return this.handleWritten(this.insertOrUpdate(key, document), key);
   }
 
-  public boolean insert0(String key, JsonDocument document) {
+  public boolean insertOrUpdate(String key, JsonDocument document) {
     Preconditions.checkNotNull(key);
     Preconditions.checkNotNull(document);
 
+    List<String> indexedFields = this.indexedFields;
     return this.databaseProvider.executeUpdate(
-      "INSERT INTO `" + this.name + "` (" + TABLE_COLUMN_KEY + "," + TABLE_COLUMN_VALUE + ") VALUES (?, ?);",
-      key, document.toString()
+      this.createUpsertQuery(this.getColumns(indexedFields)),
+      this.createRow(key, document, indexedFields)
     ) != -1;
   }
 
   @Override
-  public boolean update(String key, JsonDocument document) {
-    Preconditions.checkNotNull(key);
-    Preconditions.checkNotNull(document);
+  public boolean insertBatch(Map<String, JsonDocument> documents) {
+    Preconditions.checkNotNull(documents);
 
     if (this.databaseProvider.getDatabaseHandler() != null) {
-      this.databaseProvider.getDatabaseHandler().handleUpdate(this, key, document);
+      for (Map.Entry<String, JsonDocument> entry : documents.entrySet()) {
+        this.databaseProvider.getDatabaseHandler().handleInsert(this, entry.getKey(), entry.getValue());
+      }
     }
 
-    return this.insertOrUpdate(key, document);
+    boolean success = this.insertOrUpdateBatch(documents);
+    for (String key : documents.keySet()) {
+      this.handleWritten(success, key);
+    }
+    return success;
   }
 
-  public boolean update0(String key, JsonDocument document) {
-    return this.databaseProvider.executeUpdate(
-      "UPDATE `" + this.name + "` SET " + TABLE_COLUMN_VALUE + "=? WHERE " + TABLE_COLUMN_KEY + "=?",
-      document.toString(), key
-    ) != -1;
+  public boolean insertOrUpdateBatch(Map<String, JsonDocument> documents) {
+    Preconditions.checkNotNull(documents);
+
+    List<String> indexedFields = this.indexedFields;
+    Collection<Object[]> rows = new ArrayList<>(documents.size());
+
+    for (Map.Entry<String, JsonDocument> entry : documents.entrySet()) {
+      Preconditions.checkNotNull(entry.getKey());
+      Preconditions.checkNotNull(entry.getValue());
+
+      rows.add(this.createRow(entry.getKey(), entry.getValue(), indexedFields));
+    }
+
+    return this.databaseProvider.executeBatch(this.createUpsertQuery(this.getColumns(indexedFields)), rows) != null;
   }
 
-  public boolean insertOrUpdate(String key, JsonDocument document) {
-    Preconditions.checkNotNull(key);
-    Preconditions.checkNotNull(document);
+  /**
+   * Creates the query which inserts a row into the table of this database or replaces the row with the same key if
+   * there is one, all in a single statement.
+   *
+   * @param columns the columns of the row, the first one is always the key column
+   * @return the upsert query for the dialect of the provider
+   */
+  protected abstract String createUpsertQuery(List<String> columns);
+
+  private List<String> getColumns(List<String> indexedFields) {
+    List<String> columns = new ArrayList<>(indexedFields.size() + 2);
+    columns.add(TABLE_COLUMN_KEY);
+    columns.add(TABLE_COLUMN_VALUE);
+
+    for (String indexedField : indexedFields) {
+      columns.add(getIndexColumn(indexedField));
+    }
+
+    return columns;
+  }
+
+  private Object[] createRow(String key, JsonDocument document, List<String> indexedFields) {
+    Object[] row = new Object[indexedFields.size() + 2];
+    row[0] = key;
+    row[1] = document.toString();
 
-    return this.contains(key) ? this.update0(key, document) : this.insert0(key, document);
+    for (int i = 0; i < indexedFields.size(); i++) {
+      row[i + 2] = this.getIndexColumnValue(document, indexedFields.get(i));
+    }
+
+    return row;
   }
 
   @Override
@@ -142,7 +224,7 @@ public boolean delete(String key) {
       this.databaseProvider.getDatabaseHandler().handleDelete(this, key);
     }
 
-    return this.delete0(key);
+    return this.handleWritten(this.delete0(key), key);
   }
 
   public boolean delete0(String key) {
@@ -168,6 +250,11 @@ public List<JsonDocument> get(String fieldName, Object fieldValue) {
     Preconditions.checkNotNull(fieldName);
     Preconditions.checkNotNull(fieldValue);
 
+    String indexValue = this.getIndexLookupValue(fieldName, JsonDocument.GSON.toJsonTree(fieldValue));
+    if (indexValue != null) {
+      return this.get(new JsonDocument(fieldName, fieldValue));
+    }
+
     return this.databaseProvider.executeQuery(
       String.format("SELECT %s FROM `%s` WHERE %s LIKE ?", TABLE_COLUMN_VALUE, this.name, TABLE_COLUMN_VALUE),
       resultSet -> {
@@ -178,7 +265,7 @@ public List<JsonDocument> get(String fieldName, Object fieldValue) {
 
         return jsonDocuments;
       },
-      "%\"" + fieldName + "\":" + JsonDocument.GSON.toJson(fieldValue) + "%"
+      "%\"" + fieldName + "\":" + JsonDocument.COMPACT_GSON.toJson(fieldValue) + "%"
     );
   }
 
@@ -200,8 +287,15 @@ public List<JsonDocument> get(JsonDocument filters) {
       while (iterator.hasNext()) {
         item = iterator.next();
 
-        stringBuilder.append(TABLE_COLUMN_VALUE).append(" LIKE ?");
-        collection.add("%\"" + item + "\":" + filters.get(item).toString() + "%");
+        // use the index column if there is one, the indexed lookup is an equality check instead of a table scan
+        String indexValue = this.getIndexLookupValue(item, filters.get(item));
+        if (indexValue != null) {
+          stringBuilder.append(getIndexColumn(item)).append(" = ?");
+          collection.add(indexValue);
+        } else {
+          stringBuilder.append(TABLE_COLUMN_VALUE).append(" LIKE ?");
+          collection.add("%\"" + item + "\":" + filters.get(item).toString() + "%");
+        }
 
         if (iterator.hasNext()) {
           stringBuilder.append(" and ");
@@ -224,89 +318,217 @@ public List<JsonDocument> get(JsonDocument filters) {
   }
 
   @Override
-  public Collection<String> keys() {
-    return this.databaseProvider.executeQuery(
-      String.format("SELECT %s FROM `%s`", TABLE_COLUMN_KEY, this.name),
-      resultSet -> {
-        Collection<String> keys = new ArrayList<>();
-        while (resultSet.next()) {
-          keys.add(resultSet.getString(TABLE_COLUMN_KEY));
+  public boolean createIndex(String fieldName) {
+    Preconditions.checkNotNull(fieldName);
+    Preconditions.checkArgument(INDEX_FIELD_PATTERN.matcher(fieldName).matches(), "Invalid field name %s", fieldName);
+
+    String column = getIndexColumn(fieldName);
+
+    synchronized (this) {
+      if (!this.indexedFields.contains(fieldName)) {
+        if (this.databaseProvider.executeUpdate(String.format("ALTER TABLE `%s` ADD %s VARCHAR(%d)",
+          this.name, column, INDEX_VALUE_MAX_LENGTH)) == -1) {
+          return false;
+        }
+        if (this.databaseProvider.executeUpdate(String.format("CREATE INDEX `%s_%s` ON `%s` (%s)",
+          this.name, column, this.name, column)) == -1) {
+          return false;
         }
 
-        return keys;
+        List<String> indexedFields = new ArrayList<>(this.indexedFields);
+        indexedFields.add(fieldName);
+        this.indexedFields = Collections.unmodifiableList(indexedFields);
       }
-    );
+    }
+
+    this.fillIndexColumn(fieldName, column);
+    return true;
+  }
+
+  /**
+   * Fills the index column of all documents written before the index existed, page by page in key order. Every written
+   * row gets a non-null index value (see {@link #NO_INDEX_VALUE}), so only rows which were never processed are null.
+   * This makes the check cheap once the column is filled and lets the next call complete an interrupted attempt.
+   *
+   * @param field  the name of the indexed field
+   * @param column the name of the index column
+   */
+  private void fillIndexColumn(String field, String column) {
+    String firstPageQuery = String.format("SELECT %s, %s FROM `%s` WHERE %s IS NULL ORDER BY %s LIMIT %d",
+      TABLE_COLUMN_KEY, TABLE_COLUMN_VALUE, this.name, column, TABLE_COLUMN_KEY, INDEX_FILL_PAGE_SIZE);
+    String nextPageQuery = String.format("SELECT %s, %s FROM `%s` WHERE %s IS NULL AND %s > ? ORDER BY %s LIMIT %d",
+      TABLE_COLUMN_KEY, TABLE_COLUMN_VALUE, this.name, column, TABLE_COLUMN_KEY, TABLE_COLUMN_KEY,
+      INDEX_FILL_PAGE_SIZE);
+    String updateQuery = String.format("UPDATE `%s` SET %s = ? WHERE %s = ?", this.name, column, TABLE_COLUMN_KEY);
+
+    IThrowableCallback<ResultSet, List<Object[]>> reader = resultSet -> {
+      List<Object[]> rows = new ArrayList<>();
+      while (resultSet.next()) {
+        JsonDocument document = JsonDocument.newDocument(resultSet.getString(TABLE_COLUMN_VALUE));
+        rows.add(new Object[]{this.getIndexColumnValue(document, field), resultSet.getString(TABLE_COLUMN_KEY)});
+      }
+      return rows;
+    };
+
+    String lastKey = null;
+    while (true) {
+      List<Object[]> rows = lastKey == null
+        ? this.databaseProvider.executeQuery(firstPageQuery, reader)
+        : this.databaseProvider.executeQuery(nextPageQuery, reader, lastKey);
+      if (rows == null || rows.isEmpty()) {
+        return;
+      }
+
+      this.databaseProvider.executeBatch(updateQuery, rows);
+      if (rows.size() < INDEX_FILL_PAGE_SIZE) {
+        return;
+      }
+      lastKey = (String) rows.get(rows.size() - 1)[1];
+    }
   }
 
-  @Override
-  public Collection<JsonDocument> documents() {
-    return this.databaseProvider.executeQuery(
-      String.format("SELECT %s FROM `%s`", TABLE_COLUMN_VALUE, this.name),
+  protected List<String> readIndexedFields() {
+    List<String> indexedFields = this.databaseProvider.executeQuery(
+      String.format("SELECT * FROM `%s` WHERE 1 = 0", this.name),
       resultSet -> {
-        Collection<JsonDocument> documents = new ArrayList<>();
-        while (resultSet.next()) {
-          documents.add(JsonDocument.newDocument(resultSet.getString(TABLE_COLUMN_VALUE)));
+        List<String> fields = new ArrayList<>();
+
+        ResultSetMetaData metaData = resultSet.getMetaData();
+        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+          String column = metaData.getColumnName(i);
+          if (column.regionMatches(true, 0, TABLE_COLUMN_INDEX_PREFIX, 0, TABLE_COLUMN_INDEX_PREFIX.length())) {
+            fields.add(decodeIndexField(column.substring(TABLE_COLUMN_INDEX_PREFIX.length()).toLowerCase(Locale.ROOT)));
+          }
         }
 
-        return documents;
+        return fields;
       }
     );
+
+    return indexedFields == null ? Collections.emptyList() : Collections.unmodifiableList(indexedFields);
+  }
+
+  /**
+   * Gets the name of the index column of the given field. Column names are case-insensitive in sql, so an upper-case
+   * letter of the field is written as an underscore followed by the lower-case letter and an underscore is doubled.
+   * This keeps the field names case-sensitive, just like the keys of the documents.
+   *
+   * @param field the name of the indexed field
+   * @return the name of the index column
+   */
+  protected static String getIndexColumn(String field) {
+    StringBuilder column = new StringBuilder(TABLE_COLUMN_INDEX_PREFIX);
+    for (char c : field.toCharArray()) {
+      if (c == '_') {
+        column.append("__");
+      } else if (c >= 'A' && c <= 'Z') {
+        column.append('_').append((char) (c + ('a' - 'A')));
+      } else {
+        column.append(c);
+      }
+    }
+    return column.toString();
+  }
+
+  private static String decodeIndexField(String column) {
+    StringBuilder field = new StringBuilder(column.length());
+    for (int i = 0; i < column.length(); i++) {
+      char c = column.charAt(i);
+      if (c == '_' && i + 1 < column.length()) {
+        char next = column.charAt(++i);
+        field.append(next == '_' ? '_' : (char) (next - ('a' - 'A')));
+      } else {
+        field.append(c);
+      }
+    }
+    return field.toString();
+  }
+
+  @Nullable
+  protected String extractIndexValue(JsonDocument document, String field) {
+    JsonElement element = document.get(field);
+    return element == null ? null : this.toIndexValue(element);
+  }
+
+  @NotNull
+  protected String getIndexColumnValue(JsonDocument document, String field) {
+    String value = this.extractIndexValue(document, field);
+    return value == null ? NO_INDEX_VALUE : value;
+  }
+
+  @Nullable
+  protected String getIndexLookupValue(String fieldName, JsonElement value) {
+    return this.indexedFields.contains(fieldName) ? this.toIndexValue(value) : null;
+  }
+
+  @Nullable
+  private String toIndexValue(JsonElement element) {
+    String value = element.toString();
+    // values which don't fit into the index column are not indexed, lookups for them fall back to a scan
+    return value.length() <= INDEX_VALUE_MAX_LENGTH ? value : null;
   }
 
   @Override
-  public Map<String, JsonDocument> entries() {
+  public Collection<String> keys() {
     return this.databaseProvider.executeQuery(
-      String.format("SELECT * FROM `%s`", this.name),
+      String.format("SELECT %s FROM `%s`", TABLE_COLUMN_KEY, this.name),
       resultSet -> {
-        Map<String, JsonDocument> map = new WeakHashMap<>();
+        Collection<String> keys = new ArrayList<>();
         while (resultSet.next()) {
-          map.put(resultSet.getString(TABLE_COLUMN_KEY),
-            JsonDocument.newDocument(resultSet.getString(TABLE_COLUMN_VALUE)));
+          keys.add(resultSet.getString(TABLE_COLUMN_KEY));
         }
 
-        return map;
+        return keys;
       }
     );
   }
 
   @Override
-  public Map<String, JsonDocument> filter(BiPredicate<String, JsonDocument> predicate) {
-    Preconditions.checkNotNull(predicate);
+  public Collection<JsonDocument> documents() {
+    Collection<JsonDocument> documents = new ArrayList<>();
+    this.iterate((key, document) -> documents.add(document));
+    return documents;
+  }
 
-    return this.databaseProvider.executeQuery(
-      String.format("SELECT * FROM `%s`", this.name),
-      resultSet -> {
-        Map<String, JsonDocument> map = new HashMap<>();
-        while (resultSet.next()) {
-          String key = resultSet.getString(TABLE_COLUMN_KEY);
-          JsonDocument document = JsonDocument.newDocument(resultSet.getString(TABLE_COLUMN_VALUE));
+  @Override
+  public Map<String, JsonDocument> entries() {
+    Map<String, JsonDocument> map = new HashMap<>();
+    this.iterate(map::put);
+    return map;
+  }
 
-          if (predicate.test(key, document)) {
-            map.put(key, document);
-          }
-        }
+  @Override
+  public Map<String, JsonDocument> filter(BiPredicate<String, JsonDocument> predicate) {
+    Preconditions.checkNotNull(predicate);
 
-        return map;
+    Map<String, JsonDocument> map = new HashMap<>();
+    this.iterate((key, document) -> {
+      if (predicate.test(key, document)) {
+        map.put(key, document);
       }
-    );
+    });
+
+    return map;
   }
 
   @Override
   public void iterate(BiConsumer<String, JsonDocument> consumer) {
     Preconditions.checkNotNull(consumer);
 
-    this.databaseProvider.executeQuery(
-      String.format("SELECT * FROM `%s`", this.name),
-      (IThrowableCallback<ResultSet, Void>) resultSet -> {
-        while (resultSet.next()) {
-          String key = resultSet.getString(TABLE_COLUMN_KEY);
-          JsonDocument document = JsonDocument.newDocument(resultSet.getString(TABLE_COLUMN_VALUE));
-          consumer.accept(key, document);
-        }
+    try (Stream<Map.Entry<String, JsonDocument>> stream = this.stream()) {
+      stream.forEach(entry -> consumer.accept(entry.getKey(), entry.getValue()));
+    }
+  }
 
-        return null;
-      }
-    );
+  @Override
+  @NotNull
+  public Stream<Map.Entry<String, JsonDocument>> stream(int pageSize) {
+    Preconditions.checkArgument(pageSize > 0, "Page size has to be positive");
+
+    KeysetCursor cursor = new KeysetCursor(pageSize);
+    return StreamSupport
+      .stream(Spliterators.spliteratorUnknownSize(cursor, Spliterator.ORDERED | Spliterator.NONNULL), false)
+      .onClose(cursor::close);
   }
 
   @Override
@@ -315,6 +537,14 @@ public void clear() {
       this.databaseProvider.getDatabaseHandler().handleClear(this);
     }
     this.clear0();
+    this.handleWritten(true, null);
+  }
+
+  private boolean handleWritten(boolean success, String key) {
+    if (success && this.databaseProvider.getDatabaseHandler() != null) {
+      this.databaseProvider.getDatabaseHandler().handleWritten(this, key);
+    }
+    return success;
   }
 
   public void clear0() {
@@ -332,6 +562,12 @@ public ITask<Boolean> insertAsync(String key, JsonDocument document) {
     return this.schedule(() -> this.update(key, document));
   }
 
+  @Override
+  @NotNull
+  public ITask<Boolean> insertBatchAsync(Map<String, JsonDocument> documents) {
+    return this.schedule(() -> this.insertBatch(documents));
+  }
+
   @Override
   @NotNull
   public ITask<Boolean> containsAsync(String key) {
@@ -362,6 +598,12 @@ public ITask<List<JsonDocument>> getAsync(JsonDocument filters) {
     return this.schedule(() -> this.get(filters));
   }
 
+  @Override
+  @NotNull
+  public ITask<Boolean> createIndexAsync(String fieldName) {
+    return this.schedule(() -> this.createIndex(fieldName));
+  }
+
   @Override
   @NotNull
   public ITask<Collection<String>> keysAsync() {
@@ -395,6 +637,12 @@ public ITask<Void> iterateAsync(BiConsumer<String, JsonDocument> consumer) {
     });
   }
 
+  @Override
+  @NotNull
+  public ITask<Stream<Map.Entry<String, JsonDocument>>> streamAsync(int pageSize) {
+    return this.schedule(() -> this.stream(pageSize));
+  }
+
   @Override
   @NotNull
   public ITask<Void> clearAsync() {
@@ -434,4 +682,87 @@ private <T> ITask<T> schedule(Callable<T> callable) {
     return task;
   }
 
+  /**
+   * Iterates over the table of this database in pages, each page is loaded by a separate query starting after the last
+   * key of the previous page. No connection is held between the pages, so an abandoned cursor doesn't leak anything.
+   */
+  private final class KeysetCursor implements Iterator<Map.Entry<String, JsonDocument>> {
+
+    private final int pageSize;
+
+    private Iterator<Map.Entry<String, JsonDocument>> page = Collections.emptyIterator();
+    private String lastKey;
+    private boolean exhausted;
+    private volatile boolean closed;
+
+    private KeysetCursor(int pageSize) {
+      this.pageSize = pageSize;
+    }
+
+    @Override
+    public boolean hasNext() {
+      while (!this.page.hasNext()) {
+        if (this.exhausted || this.closed) {
+          return false;
+        }
+
+        this.fetchPage();
+      }
+
+      return true;
+    }
+
+    @Override
+    public Map.Entry<String, JsonDocument> next() {
+      if (!this.hasNext()) {
+        throw new NoSuchElementException();
+      }
+
+      return this.page.next();
+    }
+
+    private void fetchPage() {
+      String query = this.lastKey == null
+        ? String.format("SELECT %s, %s FROM `%s` ORDER BY %s LIMIT %d",
+        TABLE_COLUMN_KEY, TABLE_COLUMN_VALUE, SQLDatabase.this.name, TABLE_COLUMN_KEY, this.pageSize)
+        : String.format("SELECT %s, %s FROM `%s` WHERE %s > ? ORDER BY %s LIMIT %d",
+          TABLE_COLUMN_KEY, TABLE_COLUMN_VALUE, SQLDatabase.this.name, TABLE_COLUMN_KEY, TABLE_COLUMN_KEY,
+          this.pageSize);
+
+      List<Map.Entry<String, JsonDocument>> entries = SQLDatabase.this.databaseProvider.executeQuery(
+        query,
+        this.pageSize,
+        resultSet -> {
+          List<Map.Entry<String, JsonDocument>> result = new ArrayList<>(this.pageSize);
+          while (resultSet.next()) {
+            result.add(new AbstractMap.SimpleImmutableEntry<>(resultSet.getString(TABLE_COLUMN_KEY),
+              JsonDocument.newDocument(resultSet.getString(TABLE_COLUMN_VALUE))));
+          }
+
+          return result;
+        },
+        this.lastKey == null ? new Object[0] : new Object[]{this.lastKey}
+      );
+
+      if (entries == null) {
+        // a missing page would silently truncate the stream, the caller has to notice the incomplete entries
+        throw new IllegalStateException(String.format("Unable to read the next page of database %s after key %s",
+          SQLDatabase.this.name, this.lastKey));
+      }
+      if (entries.size() < this.pageSize) {
+        this.exhausted = true;
+      }
+
+      if (!entries.isEmpty()) {
+        this.lastKey = entries.get(entries.size() - 1).getKey();
+        this.page = entries.iterator();
+      }
+    }
+
+    private void close() {
+      this.closed = true;
+      this.page = Collections.emptyIterator();
+    }
+  }
+
 }
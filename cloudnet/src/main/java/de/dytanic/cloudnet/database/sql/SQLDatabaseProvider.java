@@ -24,6 +24,7 @@
 import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.Map;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -79,4 +80,25 @@ public void close() throws Exception {
 
   public abstract <T> T executeQuery(String query, IThrowableCallback<ResultSet, T> callback, Object... objects);
 
+  /**
+   * Executes the given query with a hint for the driver how many rows should be fetched from the database at once.
+   *
+   * @param query     the query to execute
+   * @param fetchSize the amount of rows to fetch at once, 0 to use the default of the driver
+   * @param callback  the callback handling the result of the query
+   * @param objects   the parameters of the query
+   * @return the result of the callback or null if the query failed
+   */
+  public abstract <T> T executeQuery(String query, int fetchSize, IThrowableCallback<ResultSet, T> callback,
+    Object... objects);
+
+  /**
+   * Executes the given update query once for each of the given parameter rows as one jdbc batch.
+   *
+   * @param query      the query to execute
+   * @param parameters the parameters of each execution
+   * @return the update counts of the executions or null if the batch failed
+   */
+  public abstract int[] executeBatch(String query, Collection<Object[]> parameters);
+
 }
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.dytanic.cloudnet.event.service;
+
+import de.dytanic.cloudnet.driver.event.events.DriverEvent;
+import de.dytanic.cloudnet.driver.service.ServiceInfoSnapshot;
+import java.util.Collection;
+
+/**
+ * This event is called once for every batch of console lines read from a service on this node, it won't be called in
+ * the cluster. The lines of a batch were read from the same stream of the process at once.
+ */
+public final class CloudServiceConsoleLogReceiveEntriesEvent extends DriverEvent {
+
+  private final ServiceInfoSnapshot serviceInfoSnapshot;
+
+  private final Collection<String> messages;
+
+  private final boolean errorMessages;
+
+  public CloudServiceConsoleLogReceiveEntriesEvent(ServiceInfoSnapshot serviceInfoSnapshot,
+    Collection<String> messages, boolean errorMessages) {
+    this.serviceInfoSnapshot = serviceInfoSnapshot;
+    this.messages = messages;
+    this.errorMessages = errorMessages;
+  }
+
+  @Override
+  public boolean isShowDebug() {
+    return false;
+  }
+
+  public ServiceInfoSnapshot getServiceInfoSnapshot() {
+    return this.serviceInfoSnapshot;
+  }
+
+  public Collection<String> getMessages() {
+    return this.messages;
+  }
+
+  public boolean isErrorMessages() {
+    return this.errorMessages;
+  }
+
+}
@@ -18,11 +18,8 @@
 
 import com.google.common.base.Preconditions;
 import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-import com.google.gson.internal.bind.TypeAdapters;
 import de.dytanic.cloudnet.CloudNet;
 import de.dytanic.cloudnet.common.document.gson.JsonDocument;
-import de.dytanic.cloudnet.common.document.gson.JsonDocumentTypeAdapter;
 import de.dytanic.cloudnet.driver.network.http.HttpResponseCode;
 import de.dytanic.cloudnet.driver.network.http.IHttpContext;
 import de.dytanic.cloudnet.driver.network.http.MethodHttpHandlerAdapter;
@@ -31,10 +28,7 @@
 
 public abstract class V1HttpHandler extends MethodHttpHandlerAdapter {
 
-  protected static final Gson GSON = new GsonBuilder().registerTypeAdapterFactory(TypeAdapters.newTypeHierarchyFactory(
-    JsonDocument.class,
-    new JsonDocumentTypeAdapter()
-  )).serializeNulls().disableHtmlEscaping().create();
+  protected static final Gson GSON = JsonDocument.COMPACT_GSON;
 
   protected static final V1HttpSession HTTP_SESSION = new V1HttpSession();
 
@@ -65,7 +59,6 @@ protected IHttpContext send400Response(IHttpContext context, String reason) {
       .header("Content-Type", "application/json")
       .body(new JsonDocument("success", false).append("reason", reason).toByteArray())
       .context()
-      .closeAfter(true)
       .cancelNext()
     ;
 
@@ -79,7 +72,6 @@ protected IHttpContext send403Response(IHttpContext context, String reason) {
       .header("Content-Type", "application/json")
       .body(new JsonDocument("success", true).append("reason", reason).toByteArray())
       .context()
-      .closeAfter(true)
       .cancelNext()
     ;
 
@@ -103,7 +95,6 @@ protected IHttpContext sendOptions(IHttpContext context, String allowedMethods)
       .header("Access-Control-Allow-Methods", allowedMethods)
       .header("Access-Control-Max-Age", "3600")
       .context()
-      .closeAfter(true)
     ;
 
     return context;
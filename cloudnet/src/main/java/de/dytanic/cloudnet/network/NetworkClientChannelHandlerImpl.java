@@ -46,6 +46,7 @@ public void handleChannelInitialize(INetworkChannel channel) {
       new JsonDocument("clusterNode", CloudNet.getInstance().getConfig().getIdentity())
         .append("clusterId", CloudNet.getInstance().getConfig().getClusterConfig().getClusterId())
         .append("secondNodeConnection", connectionWhichSendRequest.incrementAndGet() > 1)
+        .append("serviceInfoDeltas", true)
     ));
 
     CloudNetDriver.optionalInstance().ifPresent(
@@ -101,8 +101,8 @@ private void closeAsCloudService(ICloudService cloudService, INetworkChannel cha
       .replace("%clientAddress%", channel.getClientAddress().getHost() + ":" + channel.getClientAddress().getPort())
     );
 
-    CloudNet.getInstance().sendAll(new PacketClientServerServiceInfoPublisher(cloudService.getServiceInfoSnapshot(),
-      PacketClientServerServiceInfoPublisher.PublisherType.DISCONNECTED));
+    CloudNet.getInstance().getCloudServiceManager().publishServiceUpdate(
+      PacketClientServerServiceInfoPublisher.PublisherType.DISCONNECTED, cloudService.getServiceInfoSnapshot());
   }
 
   private boolean inWhitelist(INetworkChannel channel) {
@@ -22,6 +22,7 @@
 import de.dytanic.cloudnet.driver.CloudNetDriver;
 import de.dytanic.cloudnet.driver.channel.ChannelMessage;
 import de.dytanic.cloudnet.driver.network.INetworkChannel;
+import de.dytanic.cloudnet.driver.network.def.PacketConstants;
 import de.dytanic.cloudnet.driver.network.protocol.IPacket;
 import de.dytanic.cloudnet.driver.network.protocol.IPacketListener;
 import de.dytanic.cloudnet.driver.network.protocol.Packet;
@@ -40,6 +41,14 @@ public PacketServerChannelMessageListener(boolean redirectToCluster) {
 
   @Override
   public void handle(INetworkChannel channel, IPacket packet) {
+    if (packet.getChannel() == PacketConstants.CHANNEL_MESSAGING_BATCH_CHANNEL) {
+      NodeMessenger messenger = (NodeMessenger) CloudNetDriver.getInstance().getMessenger();
+      for (ChannelMessage message : packet.getBuffer().readObjectCollection(ChannelMessage.class)) {
+        messenger.sendChannelMessage(message, !this.redirectToCluster);
+      }
+      return;
+    }
+
     ChannelMessage message = packet.getBuffer().readObject(ChannelMessage.class);
     boolean query = packet.getBuffer().readBoolean();
 
@@ -50,6 +50,8 @@ public final class PacketClientAuthorizationListener implements IPacketListener
   public void handle(INetworkChannel channel, IPacket packet) throws Exception {
     if (packet.getHeader().contains("authorization") && packet.getHeader().contains("credentials")) {
       JsonDocument credentials = packet.getHeader().getDocument("credentials");
+      // older clients are not able to read binary headers and will not send this property
+      boolean binaryHeaders = packet.getHeader().getBoolean("binaryHeaders");
 
       switch (packet.getHeader().get("authorization", PacketClientAuthorization.PacketAuthorizationType.class)) {
         case NODE_TO_NODE:
@@ -63,10 +65,15 @@ public void handle(INetworkChannel channel, IPacket packet) throws Exception {
               .getNodeServers()) {
               if (clusterNodeServer.isAcceptableConnection(channel, clusterNode.getUniqueId())) {
                 this.getCloudNet().registerClusterPacketRegistryListeners(channel.getPacketRegistry(), false);
+                // older nodes have no listener for the delta channel and need the full snapshots
+                boolean serviceInfoDeltas = credentials.getBoolean("serviceInfoDeltas");
 
-                channel.sendPacket(new PacketServerAuthorizationResponse(true, "successful"));
+                channel.sendPacket(
+                  new PacketServerAuthorizationResponse(true, "successful", binaryHeaders, serviceInfoDeltas));
+                channel.setBinaryHeaders(binaryHeaders);
                 channel.sendPacket(new PacketServerSetGlobalLogLevel(CloudNet.getInstance().getLogger().getLevel()));
 
+                clusterNodeServer.setServiceInfoDeltas(serviceInfoDeltas);
                 clusterNodeServer.setChannel(channel);
                 CloudNetDriver.getInstance().getEventManager()
                   .callEvent(new NetworkChannelAuthClusterNodeSuccessEvent(clusterNodeServer, channel));
@@ -99,8 +106,11 @@ public void handle(INetworkChannel channel, IPacket packet) throws Exception {
               cloudService.getServiceId().getTaskServiceId() == serviceId.getTaskServiceId() &&
               cloudService.getServiceId().getNodeUniqueId().equals(serviceId.getNodeUniqueId())) {
               //- packet channel registry
+              PacketServerChannelMessageListener channelMessageListener = new PacketServerChannelMessageListener(true);
               channel.getPacketRegistry()
-                .addListener(PacketConstants.CHANNEL_MESSAGING_CHANNEL, new PacketServerChannelMessageListener(true));
+                .addListener(PacketConstants.CHANNEL_MESSAGING_CHANNEL, channelMessageListener);
+              channel.getPacketRegistry()
+                .addListener(PacketConstants.CHANNEL_MESSAGING_BATCH_CHANNEL, channelMessageListener);
               channel.getPacketRegistry().addListener(PacketConstants.INTERNAL_WRAPPER_TO_NODE_INFO_CHANNEL,
                 new PacketClientServiceInfoUpdateListener());
 
@@ -118,7 +128,8 @@ public void handle(INetworkChannel channel, IPacket packet) throws Exception {
 
               //-
 
-              channel.sendPacket(new PacketServerAuthorizationResponse(true, "successful"));
+              channel.sendPacket(new PacketServerAuthorizationResponse(true, "successful", binaryHeaders));
+              channel.setBinaryHeaders(binaryHeaders);
               channel.sendPacket(new PacketServerSetGlobalLogLevel(CloudNet.getInstance().getLogger().getLevel()));
 
               cloudService.setNetworkChannel(channel);
@@ -137,9 +148,8 @@ public void handle(INetworkChannel channel, IPacket packet) throws Exception {
                   channel.getClientAddress().getHost() + ":" + channel.getClientAddress().getPort())
               );
 
-              this.getCloudNet().sendAll(
-                new PacketClientServerServiceInfoPublisher(cloudService.getServiceInfoSnapshot(),
-                  PacketClientServerServiceInfoPublisher.PublisherType.CONNECTED));
+              this.getCloudNet().getCloudServiceManager().publishServiceUpdate(
+                PacketClientServerServiceInfoPublisher.PublisherType.CONNECTED, cloudService.getServiceInfoSnapshot());
               return;
             }
           }
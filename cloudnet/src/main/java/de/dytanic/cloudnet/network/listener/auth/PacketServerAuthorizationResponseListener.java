@@ -35,6 +35,8 @@ public final class PacketServerAuthorizationResponseListener implements IPacketL
   public void handle(INetworkChannel channel, IPacket packet) {
     if (packet.getHeader().contains("access")) {
       if (packet.getHeader().getBoolean("access")) {
+        channel.setBinaryHeaders(packet.getHeader().getBoolean("binaryHeaders"));
+
         for (NetworkClusterNode node : CloudNet.getInstance().getConfig().getClusterConfig().getNodes()) {
           for (HostAndPort hostAndPort : node.getListeners()) {
             if (hostAndPort.getPort() == channel.getServerAddress().getPort() &&
@@ -46,6 +48,7 @@ public void handle(INetworkChannel channel, IPacket packet) {
                 .findFirst().orElse(null);
 
               if (nodeServer != null && nodeServer.isAcceptableConnection(channel, node.getUniqueId())) {
+                nodeServer.setServiceInfoDeltas(packet.getHeader().getBoolean("serviceInfoDeltas"));
                 nodeServer.setChannel(channel);
                 ClusterUtils.sendSetupInformationPackets(channel);
 
@@ -17,61 +17,30 @@
 package de.dytanic.cloudnet.network.listener.cluster;
 
 import de.dytanic.cloudnet.CloudNet;
-import de.dytanic.cloudnet.database.h2.H2Database;
 import de.dytanic.cloudnet.database.h2.H2DatabaseProvider;
-import de.dytanic.cloudnet.driver.CloudNetDriver;
 import de.dytanic.cloudnet.driver.network.INetworkChannel;
 import de.dytanic.cloudnet.driver.network.protocol.IPacket;
 import de.dytanic.cloudnet.driver.network.protocol.IPacketListener;
-import de.dytanic.cloudnet.event.database.DatabaseClearEntriesEvent;
-import de.dytanic.cloudnet.event.database.DatabaseDeleteEntryEvent;
-import de.dytanic.cloudnet.event.database.DatabaseInsertEntryEvent;
-import de.dytanic.cloudnet.event.database.DatabaseUpdateEntryEvent;
 import de.dytanic.cloudnet.network.packet.PacketServerH2Database;
+import java.util.UUID;
 
 public final class PacketServerH2DatabaseListener implements IPacketListener {
 
   @Override
   public void handle(INetworkChannel channel, IPacket packet) {
-    if (packet.getHeader().contains("operationType") && packet.getHeader().contains("name")) {
-      if (CloudNet.getInstance().getDatabaseProvider() instanceof H2DatabaseProvider) {
-        H2Database database = (H2Database) CloudNet.getInstance().getDatabaseProvider()
-          .getDatabase(packet.getHeader().getString("name"));
+    if (CloudNet.getInstance().getDatabaseProvider() instanceof H2DatabaseProvider) {
+      H2DatabaseProvider databaseProvider = (H2DatabaseProvider) CloudNet.getInstance().getDatabaseProvider();
 
-        switch (packet.getHeader().get("operationType", PacketServerH2Database.OperationType.class)) {
-          case INSERT:
-            if (packet.getHeader().contains("key") && packet.getHeader().contains("document")) {
-              CloudNetDriver.getInstance().getEventManager().callEvent(
-                new DatabaseInsertEntryEvent(database, packet.getHeader().getString("key"),
-                  packet.getHeader().getDocument("document"))
-              );
-              database.insertOrUpdate(packet.getHeader().getString("key"), packet.getHeader().getDocument("document"));
-            }
-            break;
-          case UPDATE:
-            if (packet.getHeader().contains("key") && packet.getHeader().contains("document")) {
-              CloudNetDriver.getInstance().getEventManager().callEvent(
-                new DatabaseUpdateEntryEvent(database, packet.getHeader().getString("key"),
-                  packet.getHeader().getDocument("document"))
-              );
-              database.insertOrUpdate(packet.getHeader().getString("key"), packet.getHeader().getDocument("document"));
-            }
-            break;
-          case DELETE:
-            if (packet.getHeader().contains("key")) {
-              CloudNetDriver.getInstance().getEventManager().callEvent(
-                new DatabaseDeleteEntryEvent(database, packet.getHeader().getString("key"))
-              );
-              database.delete0(packet.getHeader().getString("key"));
-            }
-            break;
-          case CLEAR:
-            CloudNetDriver.getInstance().getEventManager().callEvent(new DatabaseClearEntriesEvent(database));
-            database.clear0();
-            break;
-          default:
-            break;
-        }
+      if (packet.getHeader().contains("batch")) {
+        UUID changeLogId = packet.getBuffer().readUUID();
+        databaseProvider.getReplicator().handleBatch(channel, changeLogId, packet.getHeader().getLong("batch"),
+          PacketServerH2Database.readOperations(packet.getBuffer()));
+      } else if (packet.getHeader().contains("acknowledgedBatch")) {
+        databaseProvider.getReplicator().handleAcknowledgement(channel,
+          packet.getHeader().get("changeLogId", UUID.class), packet.getHeader().getLong("acknowledgedBatch"));
+      } else if (packet.getHeader().getBoolean("resync")) {
+        databaseProvider.getReplicator()
+          .handleResyncRequest(channel, packet.getHeader().get("changeLogId", UUID.class));
       }
     }
   }
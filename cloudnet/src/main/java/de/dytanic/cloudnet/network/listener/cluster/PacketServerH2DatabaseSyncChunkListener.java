@@ -0,0 +1,65 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.dytanic.cloudnet.network.listener.cluster;
+
+import de.dytanic.cloudnet.CloudNet;
+import de.dytanic.cloudnet.common.document.gson.JsonDocument;
+import de.dytanic.cloudnet.database.h2.H2Database;
+import de.dytanic.cloudnet.database.h2.H2DatabaseProvider;
+import de.dytanic.cloudnet.driver.database.DatabaseEntryCodec;
+import de.dytanic.cloudnet.driver.network.protocol.Packet;
+import de.dytanic.cloudnet.driver.network.protocol.chunk.listener.CachedChunkedPacketListener;
+import de.dytanic.cloudnet.driver.network.protocol.chunk.listener.ChunkedPacketSession;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+import org.jetbrains.annotations.NotNull;
+
+public final class PacketServerH2DatabaseSyncChunkListener extends CachedChunkedPacketListener {
+
+  private static final int INSERT_BATCH_SIZE = 512;
+
+  @Override
+  protected void handleComplete(@NotNull ChunkedPacketSession session, @NotNull InputStream inputStream)
+    throws IOException {
+    if (!(CloudNet.getInstance().getDatabaseProvider() instanceof H2DatabaseProvider)) {
+      inputStream.close();
+      session.getChannel().sendPacket(Packet.createResponseFor(session.getFirstPacket()));
+      return;
+    }
+
+    H2DatabaseProvider databaseProvider = (H2DatabaseProvider) CloudNet.getInstance().getDatabaseProvider();
+    H2Database database = databaseProvider.getDatabase(session.getHeader().getString("name"));
+
+    // operations applied while the database was streamed are replayed after the snapshot was written
+    try (Stream<Map.Entry<String, JsonDocument>> entries = DatabaseEntryCodec.decode(inputStream)) {
+      database.applySnapshot(entries.iterator(), INSERT_BATCH_SIZE);
+    }
+
+    databaseProvider.updateReceivedSequence(
+      session.getHeader().get("changeLogId", UUID.class),
+      database.getName(),
+      session.getHeader().getLong("sequence")
+    );
+    CloudNet.getInstance().getDatabaseSubscriptionManager().invalidate(database.getName(), null);
+
+    // the other node waits for the database to be written before it sends the missed operations
+    session.getChannel().sendPacket(Packet.createResponseFor(session.getFirstPacket()));
+  }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.dytanic.cloudnet.network.listener.cluster;
+
+import de.dytanic.cloudnet.CloudNet;
+import de.dytanic.cloudnet.database.h2.H2DatabaseProvider;
+import de.dytanic.cloudnet.driver.network.INetworkChannel;
+import de.dytanic.cloudnet.driver.network.protocol.IPacket;
+import de.dytanic.cloudnet.driver.network.protocol.IPacketListener;
+import de.dytanic.cloudnet.driver.network.protocol.Packet;
+import de.dytanic.cloudnet.driver.serialization.ProtocolBuffer;
+import de.dytanic.cloudnet.network.packet.PacketServerH2DatabaseSyncOffer;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+public final class PacketServerH2DatabaseSyncOfferListener implements IPacketListener {
+
+  @Override
+  public void handle(INetworkChannel channel, IPacket packet) {
+    if (CloudNet.getInstance().getDatabaseProvider() instanceof H2DatabaseProvider && packet.getHeader()
+      .contains("syncOffer")) {
+      H2DatabaseProvider databaseProvider = (H2DatabaseProvider) CloudNet.getInstance().getDatabaseProvider();
+
+      UUID changeLogId = packet.getBuffer().readUUID();
+      long lastBatch = packet.getBuffer().readVarLong();
+      Map<String, Long> offeredSequences = PacketServerH2DatabaseSyncOffer.readSequences(packet.getBuffer());
+      Collection<String> deletedDatabases = packet.getBuffer().readStringCollection();
+      databaseProvider.getReplicator().handleSyncOffer(changeLogId, lastBatch, offeredSequences.keySet());
+
+      // databases which are only unknown to the other node may still be needed, only deleted ones are dropped
+      for (String name : deletedDatabases) {
+        if (offeredSequences.keySet().stream().noneMatch(name::equalsIgnoreCase)) {
+          databaseProvider.deleteDatabase(name);
+        }
+      }
+
+      // the other node sends the operations after the received sequences or the whole database if it's unknown
+      Map<String, Long> receivedSequences = new HashMap<>(offeredSequences.size());
+      for (String name : offeredSequences.keySet()) {
+        receivedSequences.put(name, databaseProvider.getReceivedSequence(changeLogId, name));
+      }
+
+      channel.sendPacket(Packet.createResponseFor(packet,
+        PacketServerH2DatabaseSyncOffer.writeSequences(ProtocolBuffer.create(), receivedSequences)));
+    }
+  }
+}
@@ -19,16 +19,24 @@
 import de.dytanic.cloudnet.CloudNet;
 import de.dytanic.cloudnet.common.language.LanguageManager;
 import de.dytanic.cloudnet.driver.network.INetworkChannel;
+import de.dytanic.cloudnet.driver.network.def.PacketConstants;
 import de.dytanic.cloudnet.driver.network.def.packet.PacketClientServerServiceInfoPublisher;
 import de.dytanic.cloudnet.driver.network.protocol.IPacket;
 import de.dytanic.cloudnet.driver.network.protocol.IPacketListener;
+import de.dytanic.cloudnet.driver.serialization.ProtocolBuffer;
 import de.dytanic.cloudnet.driver.service.ServiceInfoSnapshot;
 import de.dytanic.cloudnet.service.ICloudService;
+import de.dytanic.cloudnet.service.ICloudServiceManager;
 
 public final class PacketServerServiceInfoPublisherListener implements IPacketListener {
 
   @Override
   public void handle(INetworkChannel channel, IPacket packet) {
+    if (packet.getChannel() == PacketConstants.CLUSTER_SERVICE_INFO_DELTA_CHANNEL) {
+      this.handleDelta(channel, packet.getBuffer());
+      return;
+    }
+
     packet.getBuffer().markReaderIndex();
 
     ServiceInfoSnapshot serviceInfoSnapshot = packet.getBuffer().readObject(ServiceInfoSnapshot.class);
@@ -43,6 +51,24 @@ public void handle(INetworkChannel channel, IPacket packet) {
     }
   }
 
+  private void handleDelta(INetworkChannel channel, ProtocolBuffer buffer) {
+    ICloudServiceManager cloudServiceManager = CloudNet.getInstance().getCloudServiceManager();
+    // the other node requested the full snapshot of one of our services
+    if (buffer.readBoolean()) {
+      cloudServiceManager.handleServiceUpdateResync(channel, buffer.readUUID());
+      return;
+    }
+
+    PacketClientServerServiceInfoPublisher.PublisherType publisherType =
+      buffer.readEnumConstant(PacketClientServerServiceInfoPublisher.PublisherType.class);
+    ServiceInfoSnapshot serviceInfoSnapshot = cloudServiceManager.applyServiceUpdateDelta(channel, buffer);
+
+    if (serviceInfoSnapshot != null && cloudServiceManager.handleServiceUpdate(publisherType, serviceInfoSnapshot)) {
+      this.publishMessageIfNecessary(publisherType, serviceInfoSnapshot);
+      this.sendUpdateToAllServices(new PacketClientServerServiceInfoPublisher(serviceInfoSnapshot, publisherType));
+    }
+  }
+
   private void publishMessageIfNecessary(PacketClientServerServiceInfoPublisher.PublisherType type,
     ServiceInfoSnapshot snapshot) {
     switch (type) {
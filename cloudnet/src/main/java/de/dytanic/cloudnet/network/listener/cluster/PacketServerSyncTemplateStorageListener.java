@@ -22,10 +22,13 @@
 import de.dytanic.cloudnet.driver.network.INetworkChannel;
 import de.dytanic.cloudnet.driver.network.protocol.IPacket;
 import de.dytanic.cloudnet.driver.network.protocol.IPacketListener;
+import de.dytanic.cloudnet.driver.network.protocol.Packet;
 import de.dytanic.cloudnet.driver.serialization.ProtocolBuffer;
 import de.dytanic.cloudnet.driver.service.ServiceTemplate;
 import de.dytanic.cloudnet.driver.template.TemplateStorage;
 import de.dytanic.cloudnet.template.ClusterSynchronizedTemplateStorage;
+import de.dytanic.cloudnet.template.TemplateManifest;
+import java.util.Collection;
 
 public class PacketServerSyncTemplateStorageListener implements IPacketListener {
 
@@ -65,6 +68,16 @@ public void handle(INetworkChannel channel, IPacket packet) throws Exception {
         storage.deleteFileWithoutSynchronization(template, buffer.readString());
         break;
 
+      case GET_TEMPLATE_MANIFEST_DIFF:
+        TemplateManifest manifest = buffer.readObject(TemplateManifest.class);
+        TemplateManifest localManifest = storage.supportsManifests() ? storage.createManifest(template) : null;
+
+        Collection<String> changedFiles = localManifest == null
+          ? manifest.getFiles().keySet()
+          : localManifest.getChangedFiles(manifest);
+        channel.sendPacket(Packet.createResponseFor(packet, ProtocolBuffer.create().writeStringCollection(changedFiles)));
+        break;
+
       default:
         throw new IllegalStateException("Unexpected value: " + requestType);
     }
@@ -72,6 +72,7 @@ public void handle(INetworkChannel channel, IPacket packet) {
           if (permissionManagement.needsDatabaseSync()) {
             permissionManagement.addGroupWithoutClusterSyncAsync(permissionGroup);
           } else {
+            permissionManagement.invalidateCompiledPermissions();
             permissionManagement.getCachedPermissionGroups().put(permissionGroup.getName(), permissionGroup);
           }
         }
@@ -98,6 +99,7 @@ public void handle(INetworkChannel channel, IPacket packet) {
           if (permissionManagement.needsDatabaseSync()) {
             permissionManagement.setGroupsWithoutClusterSyncAsync(permissionGroups);
           } else {
+            permissionManagement.invalidateCompiledPermissions();
             permissionManagement.getCachedPermissionGroups().clear();
             permissionGroups
               .forEach(group -> permissionManagement.getCachedPermissionGroups().put(group.getName(), group));
@@ -142,6 +144,7 @@ public void handle(INetworkChannel channel, IPacket packet) {
           if (permissionManagement.needsDatabaseSync()) {
             permissionManagement.deleteGroupWithoutClusterSyncAsync(permissionGroup);
           } else {
+            permissionManagement.invalidateCompiledPermissions();
             permissionManagement.getCachedPermissionGroups().remove(permissionGroup.getName());
           }
         }
@@ -156,6 +159,7 @@ public void handle(INetworkChannel channel, IPacket packet) {
           if (permissionManagement.needsDatabaseSync()) {
             permissionManagement.updateGroupWithoutClusterSyncAsync(permissionGroup);
           } else {
+            permissionManagement.invalidateCompiledPermissions();
             permissionManagement.getCachedPermissionGroups().put(permissionGroup.getName(), permissionGroup);
           }
         }
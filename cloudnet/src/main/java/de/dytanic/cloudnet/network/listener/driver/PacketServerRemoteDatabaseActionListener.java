@@ -21,13 +21,16 @@
 import de.dytanic.cloudnet.database.AbstractDatabaseProvider;
 import de.dytanic.cloudnet.driver.api.RemoteDatabaseRequestType;
 import de.dytanic.cloudnet.driver.database.Database;
+import de.dytanic.cloudnet.driver.database.DatabaseEntryCodec;
 import de.dytanic.cloudnet.driver.network.INetworkChannel;
 import de.dytanic.cloudnet.driver.network.protocol.IPacket;
 import de.dytanic.cloudnet.driver.network.protocol.IPacketListener;
 import de.dytanic.cloudnet.driver.network.protocol.Packet;
 import de.dytanic.cloudnet.driver.serialization.ProtocolBuffer;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.stream.Stream;
 
 public class PacketServerRemoteDatabaseActionListener implements IPacketListener {
 
@@ -92,6 +95,18 @@ public void handle(INetworkChannel channel, IPacket packet) throws Exception {
       }
       break;
 
+      case DATABASE_INSERT_BATCH: {
+        int size = buffer.readVarInt();
+        Map<String, JsonDocument> documents = new LinkedHashMap<>(size);
+        for (int i = 0; i < size; i++) {
+          documents.put(buffer.readString(), buffer.readJsonDocument());
+        }
+
+        boolean success = database.insertBatch(documents);
+        channel.sendPacket(Packet.createResponseFor(packet, ProtocolBuffer.create().writeBoolean(success)));
+      }
+      break;
+
       case DATABASE_UPDATE: {
         boolean success = database.update(buffer.readString(), buffer.readJsonDocument());
         channel.sendPacket(Packet.createResponseFor(packet, ProtocolBuffer.create().writeBoolean(success)));
@@ -110,6 +125,13 @@ public void handle(INetworkChannel channel, IPacket packet) throws Exception {
       }
       break;
 
+      case DATABASE_STREAM: {
+        Stream<Map.Entry<String, JsonDocument>> entries = database.stream(buffer.readVarInt());
+        // the entries are read page by page while the chunks are sent, the input stream is closed by the transfer
+        channel.sendChunkedPacketsResponse(packet.getUniqueId(), JsonDocument.EMPTY, DatabaseEntryCodec.encode(entries));
+      }
+      break;
+
       case DATABASE_CONTAINS: {
         boolean contains = database.contains(buffer.readString());
         channel.sendPacket(Packet.createResponseFor(packet, ProtocolBuffer.create().writeBoolean(contains)));
@@ -156,12 +178,30 @@ public void handle(INetworkChannel channel, IPacket packet) throws Exception {
       }
       break;
 
+      case DATABASE_CREATE_INDEX: {
+        boolean success = database.createIndex(buffer.readString());
+        channel.sendPacket(Packet.createResponseFor(packet, ProtocolBuffer.create().writeBoolean(success)));
+      }
+      break;
+
       case DATABASE_COUNT_DOCUMENTS: {
         long count = database.getDocumentsCount();
         channel.sendPacket(Packet.createResponseFor(packet, ProtocolBuffer.create().writeLong(count)));
       }
       break;
 
+      case DATABASE_SUBSCRIBE: {
+        CloudNet.getInstance().getDatabaseSubscriptionManager().subscribe(channel, database.getName());
+        channel.sendPacket(Packet.createResponseFor(packet));
+      }
+      break;
+
+      case DATABASE_UNSUBSCRIBE: {
+        CloudNet.getInstance().getDatabaseSubscriptionManager().unsubscribe(channel, database.getName());
+        channel.sendPacket(Packet.createResponseFor(packet));
+      }
+      break;
+
       case DATABASE_CLOSE: {
         database.close();
         channel.sendPacket(Packet.createResponseFor(packet));
@@ -23,7 +23,17 @@
 public final class PacketServerAuthorizationResponse extends Packet {
 
   public PacketServerAuthorizationResponse(boolean access, String text) {
-    super(PacketConstants.INTERNAL_AUTHORIZATION_CHANNEL, new JsonDocument("access", access).append("text", text),
+    this(access, text, false);
+  }
+
+  public PacketServerAuthorizationResponse(boolean access, String text, boolean binaryHeaders) {
+    this(access, text, binaryHeaders, false);
+  }
+
+  public PacketServerAuthorizationResponse(boolean access, String text, boolean binaryHeaders,
+    boolean serviceInfoDeltas) {
+    super(PacketConstants.INTERNAL_AUTHORIZATION_CHANNEL, new JsonDocument("access", access).append("text", text)
+      .append("binaryHeaders", binaryHeaders).append("serviceInfoDeltas", serviceInfoDeltas),
       Packet.EMPTY_PACKET_BYTE_ARRAY);
   }
 }
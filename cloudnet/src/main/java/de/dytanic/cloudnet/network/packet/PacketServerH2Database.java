@@ -17,17 +17,58 @@
 package de.dytanic.cloudnet.network.packet;
 
 import de.dytanic.cloudnet.common.document.gson.JsonDocument;
+import de.dytanic.cloudnet.database.h2.H2ChangeLog;
 import de.dytanic.cloudnet.driver.network.def.PacketConstants;
 import de.dytanic.cloudnet.driver.network.protocol.Packet;
+import de.dytanic.cloudnet.driver.serialization.ProtocolBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
 
 public final class PacketServerH2Database extends Packet {
 
-  public PacketServerH2Database(OperationType operationType, String name, String key, JsonDocument document) {
-    super(PacketConstants.INTERNAL_H2_DATABASE_UPDATE_MODULE, new JsonDocument("operationType", operationType)
-        .append("name", name)
-        .append("key", key)
-        .append("document", document),
-      new byte[0]);
+  /**
+   * The batch number of operations which are replayed from the change log to a single node during its synchronization.
+   */
+  public static final long REPLAY_BATCH = -1;
+
+  public PacketServerH2Database(UUID changeLogId, long batch, Collection<H2ChangeLog.Operation> operations) {
+    super(PacketConstants.INTERNAL_H2_DATABASE_UPDATE_MODULE, new JsonDocument("batch", batch),
+      writeOperations(ProtocolBuffer.create().writeUUID(changeLogId), operations));
+  }
+
+  private static ProtocolBuffer writeOperations(ProtocolBuffer buffer, Collection<H2ChangeLog.Operation> operations) {
+    buffer.writeVarInt(operations.size());
+    for (H2ChangeLog.Operation operation : operations) {
+      buffer.writeString(operation.getName());
+      buffer.writeVarLong(operation.getSequence());
+      buffer.writeEnumConstant(operation.getType());
+      buffer.writeOptionalString(operation.getKey());
+      buffer.writeBoolean(operation.getDocument() != null);
+      if (operation.getDocument() != null) {
+        buffer.writeJsonDocument(operation.getDocument());
+      }
+    }
+
+    return buffer;
+  }
+
+  public static List<H2ChangeLog.Operation> readOperations(ProtocolBuffer buffer) {
+    int size = buffer.readVarInt();
+    List<H2ChangeLog.Operation> operations = new ArrayList<>(size);
+
+    for (int i = 0; i < size; i++) {
+      operations.add(new H2ChangeLog.Operation(
+        buffer.readString(),
+        buffer.readVarLong(),
+        buffer.readEnumConstant(OperationType.class),
+        buffer.readOptionalString(),
+        buffer.readBoolean() ? buffer.readJsonDocument() : null
+      ));
+    }
+
+    return operations;
   }
 
   public enum OperationType {
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.dytanic.cloudnet.network.packet;
+
+import de.dytanic.cloudnet.common.document.gson.JsonDocument;
+import de.dytanic.cloudnet.driver.network.def.PacketConstants;
+import de.dytanic.cloudnet.driver.network.protocol.Packet;
+import java.util.UUID;
+
+public final class PacketServerH2DatabaseAcknowledgement extends Packet {
+
+  public PacketServerH2DatabaseAcknowledgement(UUID changeLogId, long acknowledgedBatch) {
+    super(PacketConstants.INTERNAL_H2_DATABASE_UPDATE_MODULE,
+      new JsonDocument("changeLogId", changeLogId).append("acknowledgedBatch", acknowledgedBatch), new byte[0]);
+  }
+
+  private PacketServerH2DatabaseAcknowledgement(UUID changeLogId) {
+    super(PacketConstants.INTERNAL_H2_DATABASE_UPDATE_MODULE,
+      new JsonDocument("changeLogId", changeLogId).append("resync", true), new byte[0]);
+  }
+
+  /**
+   * Creates a packet which requests a synchronization of the databases from the node with the given change log.
+   *
+   * @param changeLogId the unique id of the change log of the other node
+   * @return the created packet
+   */
+  public static PacketServerH2DatabaseAcknowledgement resync(UUID changeLogId) {
+    return new PacketServerH2DatabaseAcknowledgement(changeLogId);
+  }
+}
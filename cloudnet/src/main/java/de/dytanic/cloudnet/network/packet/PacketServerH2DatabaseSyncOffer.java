@@ -0,0 +1,56 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.dytanic.cloudnet.network.packet;
+
+import de.dytanic.cloudnet.common.document.gson.JsonDocument;
+import de.dytanic.cloudnet.driver.network.def.PacketConstants;
+import de.dytanic.cloudnet.driver.network.protocol.Packet;
+import de.dytanic.cloudnet.driver.serialization.ProtocolBuffer;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+public final class PacketServerH2DatabaseSyncOffer extends Packet {
+
+  public PacketServerH2DatabaseSyncOffer(UUID changeLogId, long lastBatch, Map<String, Long> sequences,
+    Collection<String> deletedDatabases) {
+    super(PacketConstants.INTERNAL_H2_DATABASE_UPDATE_MODULE, new JsonDocument("syncOffer", true),
+      writeSequences(ProtocolBuffer.create().writeUUID(changeLogId).writeVarLong(lastBatch), sequences)
+        .writeStringCollection(deletedDatabases));
+  }
+
+  public static ProtocolBuffer writeSequences(ProtocolBuffer buffer, Map<String, Long> sequences) {
+    buffer.writeVarInt(sequences.size());
+    for (Map.Entry<String, Long> entry : sequences.entrySet()) {
+      buffer.writeString(entry.getKey()).writeLong(entry.getValue());
+    }
+
+    return buffer;
+  }
+
+  public static Map<String, Long> readSequences(ProtocolBuffer buffer) {
+    int size = buffer.readVarInt();
+    Map<String, Long> sequences = new HashMap<>(size);
+
+    for (int i = 0; i < size; i++) {
+      sequences.put(buffer.readString(), buffer.readLong());
+    }
+
+    return sequences;
+  }
+}
@@ -27,6 +27,7 @@
 import de.dytanic.cloudnet.common.document.gson.JsonDocument;
 import de.dytanic.cloudnet.common.io.FileUtils;
 import de.dytanic.cloudnet.database.AbstractDatabaseProvider;
+import de.dytanic.cloudnet.database.h2.H2DatabaseProvider;
 import de.dytanic.cloudnet.driver.database.Database;
 import de.dytanic.cloudnet.driver.permission.DefaultSynchronizedPermissionManagement;
 import de.dytanic.cloudnet.driver.permission.IPermissionGroup;
@@ -40,12 +41,12 @@
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
 import java.util.concurrent.Callable;
-import java.util.concurrent.CountDownLatch;
 import java.util.stream.Collectors;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -54,20 +55,41 @@ public class DefaultDatabasePermissionManagement extends ClusterSynchronizedPerm
   DefaultSynchronizedPermissionManagement {
 
   private static final String DATABASE_USERS_NAME = "cloudnet_permission_users";
+  private static final String DATABASE_USERS_NAME_INDEX_NAME = "cloudnet_permission_users_name_index";
+  private static final String DATABASE_USERS_GROUP_INDEX_NAME = "cloudnet_permission_users_group_index";
 
   private final Path file = Paths.get(System.getProperty("cloudnet.permissions.json.path", "local/permissions.json"));
 
   private final Callable<AbstractDatabaseProvider> databaseProviderCallable;
+  private final PermissionUserIndex userIndex;
   private IPermissionManagementHandler permissionManagementHandler;
 
   public DefaultDatabasePermissionManagement(Callable<AbstractDatabaseProvider> databaseProviderCallable) {
     this.databaseProviderCallable = databaseProviderCallable;
+    this.userIndex = new PermissionUserIndex(
+      () -> this.getDatabaseProvider().getDatabase(DATABASE_USERS_NAME_INDEX_NAME),
+      () -> this.getDatabaseProvider().getDatabase(DATABASE_USERS_GROUP_INDEX_NAME));
   }
 
   @Override
   public void init() {
     FileUtils.createDirectoryReported(this.file.getParent());
     this.loadGroups();
+
+    AbstractDatabaseProvider databaseProvider = this.getDatabaseProvider();
+    if (databaseProvider instanceof H2DatabaseProvider) {
+      // every node maintains its indexes on its own, replicating them would only double the writes
+      H2DatabaseProvider h2DatabaseProvider = (H2DatabaseProvider) databaseProvider;
+      h2DatabaseProvider.addLocalDatabase(DATABASE_USERS_NAME_INDEX_NAME);
+      h2DatabaseProvider.addLocalDatabase(DATABASE_USERS_GROUP_INDEX_NAME);
+      h2DatabaseProvider.addSnapshotListener(name -> {
+        if (name.equalsIgnoreCase(DATABASE_USERS_NAME)) {
+          this.userIndex.reindex(this.getDatabase());
+        }
+      });
+    }
+
+    this.userIndex.init(this.getDatabase());
   }
 
   @Override
@@ -76,7 +98,10 @@ public ITask<IPermissionUser> addUserWithoutClusterSyncAsync(IPermissionUser per
 
     CompletableTask<IPermissionUser> task = new CompletableTask<>();
     this.getDatabase().insertAsync(permissionUser.getUniqueId().toString(), new JsonDocument(permissionUser))
-      .onComplete(success -> task.complete(permissionUser))
+      .onComplete(success -> {
+        this.userIndex.update(permissionUser);
+        task.complete(permissionUser);
+      })
       .onCancelled(booleanITask -> task.cancel(true))
       .onFailure(throwable -> task.complete(null));
     this.permissionUserCache.put(permissionUser.getUniqueId(), permissionUser);
@@ -87,11 +112,15 @@ public ITask<IPermissionUser> addUserWithoutClusterSyncAsync(IPermissionUser per
   @Override
   public ITask<Void> updateUserWithoutClusterSyncAsync(IPermissionUser permissionUser) {
     Preconditions.checkNotNull(permissionUser);
+    this.invalidateCompiledPermissions(permissionUser);
 
     CompletableTask<Void> task = new NullCompletableTask<>();
 
     this.getDatabase().updateAsync(permissionUser.getUniqueId().toString(), new JsonDocument(permissionUser))
-      .onComplete(success -> task.call())
+      .onComplete(success -> {
+        this.userIndex.update(permissionUser);
+        task.call();
+      })
       .onCancelled(booleanITask -> task.call())
       .onFailure(throwable -> task.call());
     this.permissionUserCache.put(permissionUser.getUniqueId(), permissionUser);
@@ -102,9 +131,13 @@ public ITask<Void> updateUserWithoutClusterSyncAsync(IPermissionUser permissionU
   @Override
   public ITask<Boolean> deleteUserWithoutClusterSyncAsync(IPermissionUser permissionUser) {
     Preconditions.checkNotNull(permissionUser);
+    this.invalidateCompiledPermissions(permissionUser);
 
     this.permissionUserCache.invalidate(permissionUser.getUniqueId());
-    return this.getDatabase().deleteAsync(permissionUser.getUniqueId().toString());
+    return this.getDatabase().deleteAsync(permissionUser.getUniqueId().toString()).map(success -> {
+      this.userIndex.remove(permissionUser.getUniqueId());
+      return success;
+    });
   }
 
   @Override
@@ -195,6 +228,12 @@ public boolean containsUser(@NotNull UUID uniqueId) {
   public @NotNull ITask<List<IPermissionUser>> getUsersAsync(@NotNull String name) {
     Preconditions.checkNotNull(name);
 
+    if (this.userIndex.isReady()) {
+      return this.userIndex.getUsersByNameAsync(name).map(uniqueIds -> this.loadUsers(uniqueIds, true).stream()
+        .filter(permissionUser -> name.equals(permissionUser.getName()))
+        .collect(Collectors.toList()));
+    }
+
     return this.getDatabase().getAsync("name", name)
       .map(documents -> documents.stream().map(document -> {
         IPermissionUser permissionUser = document.toInstanceOf(PermissionUser.TYPE);
@@ -236,27 +275,21 @@ public boolean containsUser(@NotNull UUID uniqueId) {
   public ITask<Void> setUsersWithoutClusterSyncAsync(Collection<? extends IPermissionUser> users) {
     Preconditions.checkNotNull(users);
 
-    CompletableTask<Void> task = new NullCompletableTask<>();
-    this.getDatabase().clearAsync().onComplete($ -> {
-      CountDownLatch latch = new CountDownLatch(users.size());
-
-      for (IPermissionUser permissionUser : users) {
-        if (permissionUser != null) {
-          this.getDatabase().insertAsync(permissionUser.getUniqueId().toString(), new JsonDocument(permissionUser))
-            .onComplete(success -> latch.countDown())
-            .onFailure(throwable -> latch.countDown())
-            .onCancelled($1 -> latch.countDown());
-        }
-      }
-
-      try {
-        latch.await();
-      } catch (InterruptedException exception) {
-        exception.printStackTrace();
+    Map<String, JsonDocument> documents = new HashMap<>(users.size());
+    for (IPermissionUser permissionUser : users) {
+      if (permissionUser != null) {
+        documents.put(permissionUser.getUniqueId().toString(), new JsonDocument(permissionUser));
       }
+    }
 
-      task.call();
-    });
+    CompletableTask<Void> task = new NullCompletableTask<>();
+    this.getDatabase().clearAsync().onComplete($ -> this.getDatabase().insertBatchAsync(documents)
+      .onComplete($1 -> {
+        this.userIndex.rebuild(users);
+        task.call();
+      })
+      .onFailure($1 -> task.call())
+      .onCancelled($1 -> task.call()));
     return task;
   }
 
@@ -264,6 +297,12 @@ public ITask<Void> setUsersWithoutClusterSyncAsync(Collection<? extends IPermiss
   public @NotNull ITask<Collection<IPermissionUser>> getUsersByGroupAsync(@NotNull String group) {
     Preconditions.checkNotNull(group);
 
+    if (this.userIndex.isReady()) {
+      return this.userIndex.getUsersByGroupAsync(group).map(uniqueIds -> this.loadUsers(uniqueIds, false).stream()
+        .filter(permissionUser -> permissionUser.inGroup(group))
+        .collect(Collectors.toList()));
+    }
+
     Collection<IPermissionUser> permissionUsers = new ArrayList<>();
     ITask<Collection<IPermissionUser>> task = new ListenableTask<>(() -> permissionUsers);
 
@@ -285,6 +324,32 @@ public ITask<Void> setUsersWithoutClusterSyncAsync(Collection<? extends IPermiss
     return task;
   }
 
+  private List<IPermissionUser> loadUsers(Collection<UUID> uniqueIds, boolean updateUsers) {
+    List<IPermissionUser> permissionUsers = new ArrayList<>(uniqueIds.size());
+
+    for (UUID uniqueId : uniqueIds) {
+      IPermissionUser permissionUser = this.permissionUserCache.getIfPresent(uniqueId);
+      if (permissionUser == null) {
+        JsonDocument document = this.getDatabase().get(uniqueId.toString());
+        if (document == null) {
+          continue;
+        }
+
+        permissionUser = document.toInstanceOf(PermissionUser.TYPE);
+        if (updateUsers) {
+          this.permissionUserCache.put(uniqueId, permissionUser);
+        }
+      }
+
+      if (this.testPermissionUser(permissionUser) && updateUsers) {
+        this.updateUser(permissionUser);
+      }
+      permissionUsers.add(permissionUser);
+    }
+
+    return permissionUsers;
+  }
+
   @Override
   public @NotNull ITask<IPermissionGroup> addGroupAsync(@NotNull String role, int potency) {
     return this.addGroupAsync(new PermissionGroup(role, potency));
@@ -300,6 +365,7 @@ public ITask<Void> setUsersWithoutClusterSyncAsync(Collection<? extends IPermiss
   @Override
   public ITask<IPermissionGroup> addGroupWithoutClusterSyncAsync(IPermissionGroup permissionGroup) {
     Preconditions.checkNotNull(permissionGroup);
+    this.invalidateCompiledPermissions();
 
     this.permissionGroupCache.put(permissionGroup.getName(), permissionGroup);
     this.saveGroups();
@@ -310,6 +376,7 @@ public ITask<IPermissionGroup> addGroupWithoutClusterSyncAsync(IPermissionGroup
   @Override
   public ITask<Void> updateGroupWithoutClusterSyncAsync(IPermissionGroup permissionGroup) {
     Preconditions.checkNotNull(permissionGroup);
+    this.invalidateCompiledPermissions();
 
     this.permissionGroupCache.put(permissionGroup.getName(), permissionGroup);
     this.saveGroups();
@@ -320,6 +387,7 @@ public ITask<Void> updateGroupWithoutClusterSyncAsync(IPermissionGroup permissio
   @Override
   public ITask<Void> deleteGroupWithoutClusterSyncAsync(String group) {
     Preconditions.checkNotNull(group);
+    this.invalidateCompiledPermissions();
 
     this.permissionGroupCache.invalidate(group);
     this.saveGroups();
@@ -423,6 +491,7 @@ public Collection<IPermissionGroup> getGroups() {
   @Override
   public ITask<Void> setGroupsWithoutClusterSyncAsync(Collection<? extends IPermissionGroup> groups) {
     Preconditions.checkNotNull(groups);
+    this.invalidateCompiledPermissions();
 
     this.permissionGroupLocks.clear();
     this.permissionGroupCache.invalidateAll();
@@ -444,6 +513,7 @@ public boolean needsDatabaseSync() {
   @Override
   public boolean reload() {
     this.loadGroups();
+    this.invalidateCompiledPermissions();
 
     if (this.permissionManagementHandler != null) {
       this.permissionManagementHandler.handleReloaded(this);
@@ -0,0 +1,298 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.dytanic.cloudnet.permission;
+
+import com.google.common.util.concurrent.Striped;
+import de.dytanic.cloudnet.common.concurrent.ITask;
+import de.dytanic.cloudnet.common.document.gson.JsonDocument;
+import de.dytanic.cloudnet.driver.database.Database;
+import de.dytanic.cloudnet.driver.permission.IPermissionUser;
+import de.dytanic.cloudnet.driver.permission.PermissionUser;
+import de.dytanic.cloudnet.driver.permission.PermissionUserGroupInfo;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Reverse indexes of the permission user database. The name index database holds one entry per user with the
+ * lowercased name and the group index database holds one entry per group membership of a user, both pointing to the
+ * unique id of the user. Every entry contains all fields indexed in its database, so the indexes are filled once and
+ * are never scanned again when they are declared on startup. This lets users be found by their name or group without
+ * scanning and deserializing all users.
+ * <p>
+ * Existing user databases are indexed once in the background, until then {@link #isReady()} is false and the lookups
+ * have to fall back to a scan of the users. The index databases are maintained by every node on its own, they are never
+ * replicated.
+ */
+final class PermissionUserIndex {
+
+  // the state is kept in the name index, its empty name never matches a lowercased user name
+  private static final String STATE_KEY = "state";
+  private static final int VERSION = 2;
+
+  private static final String FIELD_UNIQUE_ID = "uniqueId";
+  private static final String FIELD_NAME = "name";
+  private static final String FIELD_GROUP = "group";
+
+  private static final int BATCH_SIZE = Integer.getInteger("cloudnet.permissions.index.batch-size", 1000);
+
+  // the entries of a user are read before they are replaced, concurrent updates of the same user must not interleave
+  private final Striped<Lock> userLocks = Striped.lock(64);
+
+  private final Supplier<Database> nameDatabaseSupplier;
+  private final Supplier<Database> groupDatabaseSupplier;
+  private volatile boolean ready;
+
+  public PermissionUserIndex(@NotNull Supplier<Database> nameDatabaseSupplier,
+    @NotNull Supplier<Database> groupDatabaseSupplier) {
+    this.nameDatabaseSupplier = nameDatabaseSupplier;
+    this.groupDatabaseSupplier = groupDatabaseSupplier;
+  }
+
+  /**
+   * Declares the indexes of the index databases and starts indexing the given user database if this wasn't done yet.
+   *
+   * @param userDatabase the database holding the permission users
+   */
+  public void init(@NotNull Database userDatabase) {
+    Database nameDatabase = this.getNameDatabase();
+    Database groupDatabase = this.getGroupDatabase();
+    // declaring an index backfills it, which must not block the startup of the node
+    nameDatabase.createIndexAsync(FIELD_NAME).fireExceptionOnFailure();
+    groupDatabase.createIndexAsync(FIELD_UNIQUE_ID).fireExceptionOnFailure();
+    groupDatabase.createIndexAsync(FIELD_GROUP).fireExceptionOnFailure();
+
+    JsonDocument state = nameDatabase.get(STATE_KEY);
+    if (state != null && state.getInt("version") == VERSION) {
+      this.ready = true;
+    } else if (userDatabase.getDocumentsCount() == 0) {
+      this.markReady();
+    } else {
+      userDatabase.streamAsync(BATCH_SIZE).onComplete(this::indexUsers);
+    }
+  }
+
+  /**
+   * Drops all entries of the indexes and indexes the given user database again in the background, for example after it
+   * was replaced by a snapshot of another node.
+   *
+   * @param userDatabase the database holding the permission users
+   */
+  public void reindex(@NotNull Database userDatabase) {
+    this.ready = false;
+    this.getNameDatabase().clear();
+    this.getGroupDatabase().clear();
+
+    userDatabase.streamAsync(BATCH_SIZE).onComplete(this::indexUsers);
+  }
+
+  public boolean isReady() {
+    return this.ready;
+  }
+
+  @NotNull
+  public ITask<Collection<UUID>> getUsersByNameAsync(@NotNull String name) {
+    return this.getNameDatabase().getAsync(FIELD_NAME, name.toLowerCase(Locale.ROOT)).map(this::getUniqueIds);
+  }
+
+  @NotNull
+  public ITask<Collection<UUID>> getUsersByGroupAsync(@NotNull String group) {
+    return this.getGroupDatabase().getAsync(FIELD_GROUP, group.toLowerCase(Locale.ROOT)).map(this::getUniqueIds);
+  }
+
+  /**
+   * Writes the entries of the given user and removes the entries of groups the user is no longer in.
+   *
+   * @param permissionUser the added or updated user
+   */
+  public void update(@NotNull IPermissionUser permissionUser) {
+    Lock lock = this.userLocks.get(permissionUser.getUniqueId());
+    lock.lock();
+    try {
+      this.update0(permissionUser);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void update0(IPermissionUser permissionUser) {
+    String uniqueId = permissionUser.getUniqueId().toString();
+
+    JsonDocument nameEntry = this.createNameEntry(permissionUser);
+    if (nameEntry == null) {
+      this.getNameDatabase().delete(uniqueId);
+    } else {
+      this.getNameDatabase().insert(uniqueId, nameEntry);
+    }
+
+    Database groupDatabase = this.getGroupDatabase();
+    Map<String, JsonDocument> groupEntries = this.createGroupEntries(permissionUser);
+
+    for (JsonDocument entry : groupDatabase.get(FIELD_UNIQUE_ID, uniqueId)) {
+      String key = this.getGroupKey(entry);
+      if (key != null && !groupEntries.containsKey(key)) {
+        groupDatabase.delete(key);
+      }
+    }
+
+    groupDatabase.insertBatch(groupEntries);
+  }
+
+  public void remove(@NotNull UUID uniqueId) {
+    Lock lock = this.userLocks.get(uniqueId);
+    lock.lock();
+    try {
+      this.getNameDatabase().delete(uniqueId.toString());
+
+      Database groupDatabase = this.getGroupDatabase();
+      for (JsonDocument entry : groupDatabase.get(FIELD_UNIQUE_ID, uniqueId.toString())) {
+        String key = this.getGroupKey(entry);
+        if (key != null) {
+          groupDatabase.delete(key);
+        }
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Replaces all entries of the indexes with the entries of the given users.
+   *
+   * @param permissionUsers all users in the user database
+   */
+  public void rebuild(@NotNull Collection<? extends IPermissionUser> permissionUsers) {
+    this.getNameDatabase().clear();
+    this.getGroupDatabase().clear();
+
+    IndexBatch batch = new IndexBatch();
+    for (IPermissionUser permissionUser : permissionUsers) {
+      if (permissionUser != null) {
+        batch.add(permissionUser);
+      }
+    }
+
+    batch.flush();
+    this.markReady();
+  }
+
+  private void indexUsers(Stream<Map.Entry<String, JsonDocument>> users) {
+    IndexBatch batch = new IndexBatch();
+
+    try (Stream<Map.Entry<String, JsonDocument>> stream = users) {
+      stream.forEach(entry -> batch.add(entry.getValue().toInstanceOf(PermissionUser.TYPE)));
+    }
+
+    batch.flush();
+    this.markReady();
+  }
+
+  private void markReady() {
+    this.getNameDatabase().insert(STATE_KEY, JsonDocument.newDocument(FIELD_NAME, "").append("version", VERSION));
+    this.ready = true;
+  }
+
+  private Collection<UUID> getUniqueIds(List<JsonDocument> entries) {
+    Collection<UUID> uniqueIds = new ArrayList<>(entries.size());
+
+    for (JsonDocument entry : entries) {
+      String uniqueId = entry.getString(FIELD_UNIQUE_ID);
+      if (uniqueId != null) {
+        uniqueIds.add(UUID.fromString(uniqueId));
+      }
+    }
+    return uniqueIds;
+  }
+
+  private @Nullable JsonDocument createNameEntry(IPermissionUser permissionUser) {
+    String name = permissionUser.getName();
+    if (name == null) {
+      return null;
+    }
+
+    return JsonDocument.newDocument(FIELD_UNIQUE_ID, permissionUser.getUniqueId().toString())
+      .append(FIELD_NAME, name.toLowerCase(Locale.ROOT));
+  }
+
+  private Map<String, JsonDocument> createGroupEntries(IPermissionUser permissionUser) {
+    String uniqueId = permissionUser.getUniqueId().toString();
+    Map<String, JsonDocument> entries = new HashMap<>();
+
+    for (PermissionUserGroupInfo groupInfo : permissionUser.getGroups()) {
+      String group = groupInfo.getGroup().toLowerCase(Locale.ROOT);
+      entries.put(uniqueId + ':' + group,
+        JsonDocument.newDocument(FIELD_UNIQUE_ID, uniqueId).append(FIELD_GROUP, group));
+    }
+
+    return entries;
+  }
+
+  private @Nullable String getGroupKey(JsonDocument entry) {
+    String uniqueId = entry.getString(FIELD_UNIQUE_ID);
+    String group = entry.getString(FIELD_GROUP);
+    return uniqueId == null || group == null ? null : uniqueId + ':' + group;
+  }
+
+  private Database getNameDatabase() {
+    return this.nameDatabaseSupplier.get();
+  }
+
+  private Database getGroupDatabase() {
+    return this.groupDatabaseSupplier.get();
+  }
+
+  /**
+   * Collects the entries of indexed users and writes them in batches to the index databases.
+   */
+  private final class IndexBatch {
+
+    private final Map<String, JsonDocument> nameEntries = new HashMap<>();
+    private final Map<String, JsonDocument> groupEntries = new HashMap<>();
+
+    public void add(IPermissionUser permissionUser) {
+      JsonDocument nameEntry = PermissionUserIndex.this.createNameEntry(permissionUser);
+      if (nameEntry != null) {
+        this.nameEntries.put(permissionUser.getUniqueId().toString(), nameEntry);
+      }
+      this.groupEntries.putAll(PermissionUserIndex.this.createGroupEntries(permissionUser));
+
+      if (this.nameEntries.size() >= BATCH_SIZE || this.groupEntries.size() >= BATCH_SIZE) {
+        this.flush();
+      }
+    }
+
+    public void flush() {
+      if (!this.nameEntries.isEmpty()) {
+        PermissionUserIndex.this.getNameDatabase().insertBatch(this.nameEntries);
+        this.nameEntries.clear();
+      }
+      if (!this.groupEntries.isEmpty()) {
+        PermissionUserIndex.this.getGroupDatabase().insertBatch(this.groupEntries);
+        this.groupEntries.clear();
+      }
+    }
+  }
+}
@@ -23,6 +23,7 @@
 import de.dytanic.cloudnet.common.concurrent.ITask;
 import de.dytanic.cloudnet.driver.CloudNetDriver;
 import de.dytanic.cloudnet.driver.channel.ChannelMessage;
+import de.dytanic.cloudnet.driver.channel.ChannelMessageBatcher;
 import de.dytanic.cloudnet.driver.channel.ChannelMessageSender;
 import de.dytanic.cloudnet.driver.channel.ChannelMessageTarget;
 import de.dytanic.cloudnet.driver.event.events.channel.ChannelMessageReceiveEvent;
@@ -42,9 +43,11 @@
 public class NodeMessenger extends DefaultMessenger implements CloudMessenger {
 
   private final CloudNet cloudNet;
+  private final ChannelMessageBatcher batcher;
 
   public NodeMessenger(CloudNet cloudNet) {
     this.cloudNet = cloudNet;
+    this.batcher = new ChannelMessageBatcher(cloudNet.getTaskExecutor());
   }
 
   public Collection<ChannelMessageTargetChannel> getTargetChannels(ChannelMessageSender sender,
@@ -196,6 +199,13 @@ public void sendChannelMessage(@NotNull ChannelMessage channelMessage, boolean s
       return;
     }
 
+    if (channelMessage.isBatched()) {
+      for (ChannelMessageTargetChannel channel : channels) {
+        this.batcher.enqueue(channel.getChannel(), channelMessage);
+      }
+      return;
+    }
+
     IPacket packet = new PacketClientServerChannelMessage(channelMessage, false);
     for (ChannelMessageTargetChannel channel : channels) {
       channel.getChannel().sendPacket(packet);
@@ -254,6 +264,10 @@ public void sendChannelMessage(@NotNull ChannelMessage channelMessage, boolean s
     return task;
   }
 
+  public ChannelMessageBatcher getBatcher() {
+    return this.batcher;
+  }
+
   public static class ChannelMessageTargetChannel {
 
     private final INetworkChannel channel;
@@ -22,13 +22,12 @@
 import de.dytanic.cloudnet.driver.provider.service.GeneralCloudServiceProvider;
 import de.dytanic.cloudnet.driver.service.ServiceEnvironmentType;
 import de.dytanic.cloudnet.driver.service.ServiceInfoSnapshot;
+import de.dytanic.cloudnet.driver.service.ServiceInfoSnapshotIndex;
 import de.dytanic.cloudnet.driver.service.ServiceLifeCycle;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.UUID;
-import java.util.stream.Collectors;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -49,10 +48,7 @@ public Collection<UUID> getServicesAsUniqueId() {
   @Nullable
   @Override
   public ServiceInfoSnapshot getCloudServiceByName(@NotNull String name) {
-    return this.cloudNet.getCloudServiceManager().getGlobalServiceInfoSnapshots().values().stream()
-      .filter(serviceInfoSnapshot -> serviceInfoSnapshot.getServiceId().getName().equalsIgnoreCase(name))
-      .findFirst()
-      .orElse(null);
+    return this.getServiceIndex().getByName(name);
   }
 
   @Override
@@ -62,37 +58,28 @@ public Collection<ServiceInfoSnapshot> getCloudServices() {
 
   @Override
   public Collection<ServiceInfoSnapshot> getStartedCloudServices() {
-    return this.getCloudServices().stream()
-      .filter(serviceInfoSnapshot -> serviceInfoSnapshot.getLifeCycle() == ServiceLifeCycle.RUNNING)
-      .collect(Collectors.toList());
+    return this.getServiceIndex().getByLifeCycle(ServiceLifeCycle.RUNNING);
   }
 
   @Override
   public Collection<ServiceInfoSnapshot> getCloudServices(@NotNull String taskName) {
     Preconditions.checkNotNull(taskName);
 
-    return this.getCloudServices().stream()
-      .filter(snapshot -> snapshot.getServiceId().getTaskName().equalsIgnoreCase(taskName))
-      .collect(Collectors.toList());
+    return this.getServiceIndex().getByTask(taskName);
   }
 
   @Override
   public Collection<ServiceInfoSnapshot> getCloudServices(@NotNull ServiceEnvironmentType environment) {
     Preconditions.checkNotNull(environment);
 
-    return this.getCloudServices().stream()
-      .filter(snapshot -> snapshot.getServiceId().getEnvironment() == environment)
-      .collect(Collectors.toList());
+    return this.getServiceIndex().getByEnvironment(environment);
   }
 
   @Override
   public Collection<ServiceInfoSnapshot> getCloudServicesByGroup(@NotNull String group) {
     Preconditions.checkNotNull(group);
 
-    return this.cloudNet.getCloudServiceManager().getGlobalServiceInfoSnapshots().values()
-      .stream()
-      .filter(serviceInfoSnapshot -> Arrays.asList(serviceInfoSnapshot.getConfiguration().getGroups()).contains(group))
-      .collect(Collectors.toList());
+    return this.getServiceIndex().getByGroup(group);
   }
 
   @Nullable
@@ -112,32 +99,18 @@ public int getServicesCount() {
   public int getServicesCountByGroup(@NotNull String group) {
     Preconditions.checkNotNull(group);
 
-    int amount = 0;
-
-    for (ServiceInfoSnapshot serviceInfoSnapshot : this.cloudNet.getCloudServiceManager()
-      .getGlobalServiceInfoSnapshots().values()) {
-      if (Arrays.asList(serviceInfoSnapshot.getConfiguration().getGroups()).contains(group)) {
-        amount++;
-      }
-    }
-
-    return amount;
+    return this.getServiceIndex().countByGroup(group);
   }
 
   @Override
   public int getServicesCountByTask(@NotNull String taskName) {
     Preconditions.checkNotNull(taskName);
 
-    int amount = 0;
-
-    for (ServiceInfoSnapshot serviceInfoSnapshot : this.cloudNet.getCloudServiceManager()
-      .getGlobalServiceInfoSnapshots().values()) {
-      if (serviceInfoSnapshot.getServiceId().getTaskName().equals(taskName)) {
-        amount++;
-      }
-    }
+    return this.getServiceIndex().countByTask(taskName);
+  }
 
-    return amount;
+  private ServiceInfoSnapshotIndex getServiceIndex() {
+    return this.cloudNet.getCloudServiceManager().getGlobalServiceInfoSnapshotIndex();
   }
 
   @Override
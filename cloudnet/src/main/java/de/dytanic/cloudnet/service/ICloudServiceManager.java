@@ -17,9 +17,12 @@
 package de.dytanic.cloudnet.service;
 
 import de.dytanic.cloudnet.common.concurrent.ITask;
+import de.dytanic.cloudnet.driver.network.INetworkChannel;
 import de.dytanic.cloudnet.driver.network.def.packet.PacketClientServerServiceInfoPublisher;
+import de.dytanic.cloudnet.driver.serialization.ProtocolBuffer;
 import de.dytanic.cloudnet.driver.service.ServiceConfiguration;
 import de.dytanic.cloudnet.driver.service.ServiceInfoSnapshot;
+import de.dytanic.cloudnet.driver.service.ServiceInfoSnapshotIndex;
 import java.io.File;
 import java.nio.file.Path;
 import java.util.Collection;
@@ -47,12 +50,59 @@ public interface ICloudServiceManager {
   @NotNull
   Path getPersistentServicesDirectoryPath();
 
+  /**
+   * Gets the snapshots of all services in the cluster. The returned map can't be modified, the snapshots are changed by
+   * {@link #handleServiceUpdate(PacketClientServerServiceInfoPublisher.PublisherType, ServiceInfoSnapshot)}.
+   *
+   * @return the snapshots of all services mapped by their unique id.
+   */
   @NotNull
   Map<UUID, ServiceInfoSnapshot> getGlobalServiceInfoSnapshots();
 
+  /**
+   * Gets the snapshots of all services in the cluster indexed by their name, task, groups, environment and lifecycle.
+   * The index is updated together with {@link #getGlobalServiceInfoSnapshots()}.
+   *
+   * @return the index of the snapshots of all services.
+   */
+  @NotNull
+  ServiceInfoSnapshotIndex getGlobalServiceInfoSnapshotIndex();
+
   boolean handleServiceUpdate(@NotNull PacketClientServerServiceInfoPublisher.PublisherType type,
     @NotNull ServiceInfoSnapshot snapshot);
 
+  /**
+   * Publishes the given snapshot to all local services and all other nodes in the cluster. The local services receive
+   * the full snapshot, the nodes only the fields which changed since the last publication of the same service.
+   *
+   * @param type     the type of the publication.
+   * @param snapshot the snapshot to publish.
+   */
+  @ApiStatus.Internal
+  void publishServiceUpdate(@NotNull PacketClientServerServiceInfoPublisher.PublisherType type,
+    @NotNull ServiceInfoSnapshot snapshot);
+
+  /**
+   * Applies a service info delta sent by another node to the known snapshot of the service. If the delta cannot be
+   * applied because a previous one is missing, a resync is requested from the sender through the given channel.
+   *
+   * @param channel the channel the delta was received from.
+   * @param buffer  the buffer of the delta, positioned after the publisher type.
+   * @return the updated snapshot or {@code null} if the delta was dropped.
+   */
+  @Nullable
+  @ApiStatus.Internal
+  ServiceInfoSnapshot applyServiceUpdateDelta(@NotNull INetworkChannel channel, @NotNull ProtocolBuffer buffer);
+
+  /**
+   * Sends the last published snapshot of the given local service completely to a node which requested a resync.
+   *
+   * @param channel  the channel of the node which requested the resync.
+   * @param uniqueId the unique id of the service to resync.
+   */
+  @ApiStatus.Internal
+  void handleServiceUpdateResync(@NotNull INetworkChannel channel, @NotNull UUID uniqueId);
+
   @NotNull
   Map<UUID, ICloudService> getCloudServices();
 
@@ -16,7 +16,11 @@
 
 package de.dytanic.cloudnet.service;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Queue;
+import org.jetbrains.annotations.ApiStatus;
 
 public interface IServiceConsoleLogCache {
 
@@ -24,6 +28,20 @@ public interface IServiceConsoleLogCache {
 
   Queue<String> getCachedLogMessages();
 
+  /**
+   * Gets the latest console lines of the service, which may contain more lines than the cache keeps in memory if the
+   * console output is spooled into log files.
+   *
+   * @param lines the maximum amount of lines to get
+   * @return the latest console lines, the oldest line first
+   */
+  default Collection<String> getLogMessages(int lines) {
+    List<String> messages = new ArrayList<>(this.getCachedLogMessages());
+    return messages.subList(Math.max(0, messages.size() - lines), messages.size());
+  }
+
+  @Deprecated
+  @ApiStatus.ScheduledForRemoval
   IServiceConsoleLogCache update();
 
   boolean isAutoPrintReceivedInput();
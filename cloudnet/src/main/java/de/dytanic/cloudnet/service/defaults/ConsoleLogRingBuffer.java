@@ -0,0 +1,84 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.dytanic.cloudnet.service.defaults;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+
+/**
+ * A fixed size buffer of the latest console lines of a service, which overwrites the oldest line once it's full. This
+ * class is not thread safe.
+ */
+final class ConsoleLogRingBuffer {
+
+  private String[] lines;
+  private int head;
+  private int size;
+
+  ConsoleLogRingBuffer(int capacity) {
+    this.lines = new String[Math.max(1, capacity)];
+  }
+
+  void add(String line) {
+    this.lines[(this.head + this.size) % this.lines.length] = line;
+
+    if (this.size < this.lines.length) {
+      this.size++;
+    } else {
+      this.head = (this.head + 1) % this.lines.length;
+    }
+  }
+
+  /**
+   * Changes the capacity of this buffer, keeping the latest lines which fit into the new capacity.
+   *
+   * @param capacity the new capacity of this buffer
+   */
+  void resize(int capacity) {
+    capacity = Math.max(1, capacity);
+    if (capacity == this.lines.length) {
+      return;
+    }
+
+    String[] lines = new String[capacity];
+    int size = Math.min(this.size, capacity);
+    for (int i = 0; i < size; i++) {
+      lines[i] = this.lines[(this.head + this.size - size + i) % this.lines.length];
+    }
+
+    this.lines = lines;
+    this.head = 0;
+    this.size = size;
+  }
+
+  Queue<String> toQueue() {
+    Queue<String> queue = new ArrayDeque<>(this.size);
+    for (int i = 0; i < this.size; i++) {
+      queue.add(this.lines[(this.head + i) % this.lines.length]);
+    }
+    return queue;
+  }
+
+  int size() {
+    return this.size;
+  }
+
+  int capacity() {
+    return this.lines.length;
+  }
+
+}
@@ -209,8 +209,8 @@ public void updateServiceInfoSnapshot(@NotNull ServiceInfoSnapshot serviceInfoSn
     this.getCloudServiceManager()
       .handleServiceUpdate(PacketClientServerServiceInfoPublisher.PublisherType.UPDATE, serviceInfoSnapshot);
 
-    CloudNet.getInstance().sendAll(new PacketClientServerServiceInfoPublisher(serviceInfoSnapshot,
-      PacketClientServerServiceInfoPublisher.PublisherType.UPDATE));
+    this.getCloudServiceManager()
+      .publishServiceUpdate(PacketClientServerServiceInfoPublisher.PublisherType.UPDATE, serviceInfoSnapshot);
   }
 
   @Override
@@ -307,8 +307,8 @@ protected void postStart() {
     this.lifeCycle = ServiceLifeCycle.RUNNING;
     this.serviceInfoSnapshot.setLifeCycle(ServiceLifeCycle.RUNNING);
 
-    CloudNet.getInstance().sendAll(new PacketClientServerServiceInfoPublisher(this.serviceInfoSnapshot,
-      PacketClientServerServiceInfoPublisher.PublisherType.STARTED));
+    this.getCloudServiceManager()
+      .publishServiceUpdate(PacketClientServerServiceInfoPublisher.PublisherType.STARTED, this.serviceInfoSnapshot);
 
     super.handler.handlePostStart(this);
   }
@@ -343,8 +343,8 @@ protected void postStop(int exitValue) {
 
     this.serviceInfoSnapshot = this.createServiceInfoSnapshot(ServiceLifeCycle.STOPPED);
 
-    CloudNet.getInstance().sendAll(new PacketClientServerServiceInfoPublisher(this.serviceInfoSnapshot,
-      PacketClientServerServiceInfoPublisher.PublisherType.STOPPED));
+    this.getCloudServiceManager()
+      .publishServiceUpdate(PacketClientServerServiceInfoPublisher.PublisherType.STOPPED, this.serviceInfoSnapshot);
 
     super.handler.handlePostStop(this, exitValue);
   }
@@ -377,8 +377,8 @@ protected void postDelete(boolean sendUpdate) {
 
     if (sendUpdate) {
       CloudNet.getInstance().publishNetworkClusterNodeInfoSnapshotUpdate();
-      CloudNet.getInstance().sendAll(new PacketClientServerServiceInfoPublisher(this.getServiceInfoSnapshot(),
-        PacketClientServerServiceInfoPublisher.PublisherType.UNREGISTER));
+      this.getCloudServiceManager().publishServiceUpdate(
+        PacketClientServerServiceInfoPublisher.PublisherType.UNREGISTER, this.getServiceInfoSnapshot());
     }
 
     super.handler.handlePostDelete(this);
@@ -18,6 +18,7 @@
 
 import com.google.common.base.Preconditions;
 import de.dytanic.cloudnet.CloudNet;
+import de.dytanic.cloudnet.cluster.IClusterNodeServer;
 import de.dytanic.cloudnet.cluster.NodeServer;
 import de.dytanic.cloudnet.common.concurrent.CompletedTask;
 import de.dytanic.cloudnet.common.concurrent.ITask;
@@ -31,16 +32,21 @@
 import de.dytanic.cloudnet.driver.event.events.service.CloudServiceStartEvent;
 import de.dytanic.cloudnet.driver.event.events.service.CloudServiceStopEvent;
 import de.dytanic.cloudnet.driver.event.events.service.CloudServiceUnregisterEvent;
+import de.dytanic.cloudnet.driver.network.INetworkChannel;
 import de.dytanic.cloudnet.driver.network.def.packet.PacketClientServerServiceInfoPublisher;
+import de.dytanic.cloudnet.driver.network.protocol.IPacket;
+import de.dytanic.cloudnet.driver.serialization.ProtocolBuffer;
 import de.dytanic.cloudnet.driver.service.GroupConfiguration;
 import de.dytanic.cloudnet.driver.service.ServiceConfiguration;
 import de.dytanic.cloudnet.driver.service.ServiceDeployment;
 import de.dytanic.cloudnet.driver.service.ServiceId;
 import de.dytanic.cloudnet.driver.service.ServiceInfoSnapshot;
+import de.dytanic.cloudnet.driver.service.ServiceInfoSnapshotIndex;
 import de.dytanic.cloudnet.driver.service.ServiceLifeCycle;
 import de.dytanic.cloudnet.driver.service.ServiceRemoteInclusion;
 import de.dytanic.cloudnet.driver.service.ServiceTemplate;
 import de.dytanic.cloudnet.event.service.CloudServiceCreateEvent;
+import de.dytanic.cloudnet.network.packet.PacketServerServiceInfoDelta;
 import de.dytanic.cloudnet.service.ICloudService;
 import de.dytanic.cloudnet.service.ICloudServiceFactory;
 import de.dytanic.cloudnet.service.ICloudServiceManager;
@@ -84,6 +90,8 @@ public final class DefaultCloudServiceManager implements ICloudServiceManager {
 
   private final Lock globalServicesUpdateLock = new ReentrantLock();
   private final Map<UUID, ServiceInfoSnapshot> globalServiceInfoSnapshots = new ConcurrentHashMap<>();
+  private final ServiceInfoSnapshotIndex globalServiceInfoSnapshotIndex = new ServiceInfoSnapshotIndex();
+  private final ServiceInfoSnapshotDeltaCodec serviceInfoDeltaCodec = new ServiceInfoSnapshotDeltaCodec();
 
   private final Map<UUID, ICloudService> cloudServices = new ConcurrentHashMap<>();
   private final Map<String, ICloudServiceFactory> cloudServiceFactories = new ConcurrentHashMap<>();
@@ -92,7 +100,6 @@ public DefaultCloudServiceManager() {
     CloudNet.getInstance().getTaskExecutor().scheduleAtFixedRate(() -> {
       try {
         this.stopDeadServices();
-        this.updateServiceLogs();
       } catch (Throwable throwable) {
         CloudNet.getInstance().getLogger().error("Exception while ticking the cloud service manager", throwable);
       }
@@ -142,11 +149,15 @@ private ICloudService createCloudServiceSync(@NotNull ServiceConfiguration servi
 
       if (timeoutMillis == null || timeoutMillis >= System.currentTimeMillis()) {
         this.cloudServices.put(cloudService.getServiceId().getUniqueId(), cloudService);
-        this.globalServiceInfoSnapshots
-          .put(cloudService.getServiceId().getUniqueId(), cloudService.getServiceInfoSnapshot());
-
-        CloudNet.getInstance().sendAll(new PacketClientServerServiceInfoPublisher(cloudService.getServiceInfoSnapshot(),
-          PacketClientServerServiceInfoPublisher.PublisherType.REGISTER));
+        try {
+          this.globalServicesUpdateLock.lock();
+          this.putGlobalServiceInfoSnapshot(cloudService.getServiceInfoSnapshot());
+        } finally {
+          this.globalServicesUpdateLock.unlock();
+        }
+
+        this.publishServiceUpdate(PacketClientServerServiceInfoPublisher.PublisherType.REGISTER,
+          cloudService.getServiceInfoSnapshot());
         CloudNet.getInstance().publishNetworkClusterNodeInfoSnapshotUpdate();
       } else {
         cloudService.delete(false);
@@ -278,10 +289,8 @@ public Collection<Integer> getReservedTaskIds(@NotNull String task) {
     Preconditions.checkNotNull(task);
 
     Collection<Integer> taskIdList = new ArrayList<>();
-    for (ServiceInfoSnapshot serviceInfoSnapshot : this.globalServiceInfoSnapshots.values()) {
-      if (serviceInfoSnapshot.getServiceId().getTaskName().equalsIgnoreCase(task)) {
-        taskIdList.add(serviceInfoSnapshot.getServiceId().getTaskServiceId());
-      }
+    for (ServiceInfoSnapshot serviceInfoSnapshot : this.globalServiceInfoSnapshotIndex.getByTask(task)) {
+      taskIdList.add(serviceInfoSnapshot.getServiceId().getTaskServiceId());
     }
 
     return taskIdList;
@@ -376,7 +385,12 @@ public Path getPersistentServicesDirectoryPath() {
 
   @Override
   public @NotNull Map<UUID, ServiceInfoSnapshot> getGlobalServiceInfoSnapshots() {
-    return this.globalServiceInfoSnapshots;
+    return Collections.unmodifiableMap(this.globalServiceInfoSnapshots);
+  }
+
+  @Override
+  public @NotNull ServiceInfoSnapshotIndex getGlobalServiceInfoSnapshotIndex() {
+    return this.globalServiceInfoSnapshotIndex;
   }
 
   @Override
@@ -421,6 +435,40 @@ public boolean handleServiceUpdate(PacketClientServerServiceInfoPublisher.@NotNu
     }
   }
 
+  @Override
+  public void publishServiceUpdate(PacketClientServerServiceInfoPublisher.@NotNull PublisherType type,
+    @NotNull ServiceInfoSnapshot snapshot) {
+    IPacket packet = new PacketClientServerServiceInfoPublisher(snapshot, type);
+    for (ICloudService cloudService : this.cloudServices.values()) {
+      if (cloudService.getNetworkChannel() != null) {
+        cloudService.getNetworkChannel().sendPacket(packet);
+      }
+    }
+
+    this.serviceInfoDeltaCodec.publish(type, snapshot, delta -> {
+      IPacket deltaPacket = new PacketServerServiceInfoDelta(delta);
+      // nodes which didn't announce the delta channel during the authorization still receive the full snapshot
+      for (IClusterNodeServer nodeServer : CloudNet.getInstance().getClusterNodeServerProvider().getNodeServers()) {
+        nodeServer.saveSendPacket(nodeServer.isServiceInfoDeltas() ? deltaPacket : packet);
+      }
+    });
+  }
+
+  @Override
+  public @Nullable ServiceInfoSnapshot applyServiceUpdateDelta(@NotNull INetworkChannel channel,
+    @NotNull ProtocolBuffer buffer) {
+    return this.serviceInfoDeltaCodec.decode(buffer, this.globalServiceInfoSnapshots::get,
+      uniqueId -> channel.sendPacket(PacketServerServiceInfoDelta.resync(uniqueId)));
+  }
+
+  @Override
+  public void handleServiceUpdateResync(@NotNull INetworkChannel channel, @NotNull UUID uniqueId) {
+    ProtocolBuffer snapshot = this.serviceInfoDeltaCodec.encodeResync(uniqueId);
+    if (snapshot != null) {
+      channel.sendPacket(new PacketServerServiceInfoDelta(snapshot));
+    }
+  }
+
   @ApiStatus.Internal
   public void prepareServiceConfiguration(NodeServer server, ServiceConfiguration configuration) {
     Preconditions.checkArgument(CloudNet.getInstance().isMainThread(), "Async service pre-prepare");
@@ -450,16 +498,18 @@ private boolean doServiceUpdate(PacketClientServerServiceInfoPublisher.Publisher
           break;
         case UNREGISTER:
           this.globalServiceInfoSnapshots.remove(snapshot.getServiceId().getUniqueId());
+          this.globalServiceInfoSnapshotIndex.remove(snapshot.getServiceId().getUniqueId());
+          this.serviceInfoDeltaCodec.forget(snapshot.getServiceId().getUniqueId());
           CloudNetDriver.getInstance().getEventManager().callEvent(new CloudServiceUnregisterEvent(snapshot));
           return true;
         default:
           return false;
       }
 
-      this.globalServiceInfoSnapshots.put(snapshot.getServiceId().getUniqueId(), snapshot);
+      this.putGlobalServiceInfoSnapshot(snapshot);
       return true;
     } else if (type == PacketClientServerServiceInfoPublisher.PublisherType.REGISTER) {
-      this.globalServiceInfoSnapshots.put(snapshot.getServiceId().getUniqueId(), snapshot);
+      this.putGlobalServiceInfoSnapshot(snapshot);
       CloudNetDriver.getInstance().getEventManager().callEvent(new CloudServiceRegisterEvent(snapshot));
       return true;
     } else {
@@ -467,6 +517,12 @@ private boolean doServiceUpdate(PacketClientServerServiceInfoPublisher.Publisher
     }
   }
 
+  private void putGlobalServiceInfoSnapshot(ServiceInfoSnapshot snapshot) {
+    // the map and the index are only changed while holding the update lock, so they always contain the same snapshots
+    this.globalServiceInfoSnapshots.put(snapshot.getServiceId().getUniqueId(), snapshot);
+    this.globalServiceInfoSnapshotIndex.put(snapshot);
+  }
+
   private void stopDeadServices() {
     for (ICloudService cloudService : this.cloudServices.values()) {
       if (!cloudService.isAlive()) {
@@ -474,10 +530,4 @@ private void stopDeadServices() {
       }
     }
   }
-
-  private void updateServiceLogs() {
-    for (ICloudService cloudService : this.cloudServices.values()) {
-      cloudService.getServiceConsoleLogCache().update();
-    }
-  }
 }
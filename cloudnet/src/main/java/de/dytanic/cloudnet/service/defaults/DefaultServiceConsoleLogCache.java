@@ -19,122 +19,209 @@
 import de.dytanic.cloudnet.CloudNet;
 import de.dytanic.cloudnet.common.logging.LogLevel;
 import de.dytanic.cloudnet.driver.CloudNetDriver;
+import de.dytanic.cloudnet.driver.event.IEventManager;
 import de.dytanic.cloudnet.driver.service.ServiceEnvironmentType;
-import de.dytanic.cloudnet.driver.service.ServiceLifeCycle;
+import de.dytanic.cloudnet.driver.service.ServiceInfoSnapshot;
+import de.dytanic.cloudnet.event.service.CloudServiceConsoleLogReceiveEntriesEvent;
 import de.dytanic.cloudnet.event.service.CloudServiceConsoleLogReceiveEntryEvent;
 import de.dytanic.cloudnet.service.ICloudService;
 import de.dytanic.cloudnet.service.IServiceConsoleLogCache;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.Queue;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.jetbrains.annotations.NotNull;
 
+/**
+ * Caches the latest console lines of a service. The output of the process is read by one reader thread per stream,
+ * every chunk read from a stream is handled as one batch of lines.
+ */
 public final class DefaultServiceConsoleLogCache implements IServiceConsoleLogCache {
 
-  private final Queue<String> cachedLogMessages = new ConcurrentLinkedQueue<>();
-
-  private final byte[] buffer = new byte[1024];
+  private static final long READER_STACK_SIZE = 128 * 1024;
 
-  private final StringBuffer stringBuffer = new StringBuffer();
+  private static final boolean SPOOL_ENABLED = Boolean.getBoolean("cloudnet.service.console.spool");
+  private static final Path SPOOL_DIRECTORY = Paths
+    .get(System.getProperty("cloudnet.service.console.spool.path", "local/logs/services"));
+  private static final long SPOOL_MAX_FILE_SIZE = Long.getLong("cloudnet.service.console.spool.file-size", 1 << 20);
+  private static final int SPOOL_MAX_FILES = Integer.getInteger("cloudnet.service.console.spool.files", 4);
 
+  private final ConsoleLogRingBuffer cachedLogMessages = new ConsoleLogRingBuffer(
+    CloudNet.getInstance().getConfig().getMaxServiceConsoleLogCacheSize());
+  private final AtomicInteger activeReaders = new AtomicInteger();
 
   private final ICloudService cloudService;
+  private final ServiceConsoleLogSpool spool;
 
-
-  private boolean autoPrintReceivedInput;
-  private boolean screenEnabled;
-
-
-  private int len;
+  private volatile boolean autoPrintReceivedInput;
+  private volatile boolean screenEnabled;
 
   public DefaultServiceConsoleLogCache(ICloudService cloudService) {
     this.cloudService = cloudService;
+    this.spool = SPOOL_ENABLED ? new ServiceConsoleLogSpool(SPOOL_DIRECTORY, cloudService.getServiceId().getName(),
+      SPOOL_MAX_FILE_SIZE, SPOOL_MAX_FILES) : null;
   }
 
-  @Override
-  public synchronized IServiceConsoleLogCache update() {
-    if (this.cloudService.getLifeCycle() == ServiceLifeCycle.RUNNING && this.cloudService.isAlive()
-      && this.cloudService.getProcess() != null) {
-      this.readStream(this.cloudService.getProcess().getInputStream(), false);
-      this.readStream(this.cloudService.getProcess().getErrorStream(),
-        CloudNet.getInstance().getConfig().isPrintErrorStreamLinesFromServices());
-    }
-    return this;
+  /**
+   * Starts reading the output and error stream of the given process until the process exits.
+   *
+   * @param process the process of the service
+   */
+  public void startReading(@NotNull Process process) {
+    this.startReader(process.getInputStream(), false, "output");
+    this.startReader(process.getErrorStream(), true, "error");
   }
 
-  private synchronized void readStream(InputStream inputStream, boolean printErrorIntoConsole) {
-    try {
-      while (inputStream.available() > 0 && (this.len = inputStream.read(this.buffer, 0, this.buffer.length)) != -1) {
-        this.stringBuffer.append(new String(this.buffer, 0, this.len, StandardCharsets.UTF_8));
-      }
+  private void startReader(InputStream inputStream, boolean errorStream, String streamName) {
+    this.activeReaders.incrementAndGet();
 
-      String stringText = this.stringBuffer.toString();
-      if (!stringText.contains("\n") && !stringText.contains("\r")) {
-        return;
-      }
+    Thread readerThread = new Thread(null, () -> this.readStream(inputStream, errorStream),
+      this.cloudService.getServiceId().getName() + " console " + streamName + " reader", READER_STACK_SIZE);
+    readerThread.setDaemon(true);
+    readerThread.start();
+  }
 
-      for (String input : stringText.split("\r")) {
-        for (String text : input.split("\n")) {
-          if (!text.trim().isEmpty()) {
-            this.addCachedItem(text, printErrorIntoConsole);
+  private void readStream(InputStream inputStream, boolean errorStream) {
+    char[] buffer = new char[8192];
+    StringBuilder currentLine = new StringBuilder();
+
+    try (Reader reader = new InputStreamReader(inputStream, StandardCharsets.UTF_8)) {
+      int length;
+      while ((length = reader.read(buffer)) != -1) {
+        List<String> lines = new ArrayList<>();
+
+        for (int i = 0; i < length; i++) {
+          char c = buffer[i];
+          if (c == '\n' || c == '\r') {
+            if (currentLine.length() > 0) {
+              lines.add(currentLine.toString());
+              currentLine.setLength(0);
+            }
+          } else {
+            currentLine.append(c);
           }
         }
-      }
 
-      this.stringBuffer.setLength(0);
+        if (!lines.isEmpty()) {
+          this.handleLines(lines, errorStream);
+        }
+      }
+    } catch (IOException ignored) {
+      // the stream was closed because the process exited
+    } finally {
+      // the last line of a crashing process often has no line break but is the most useful one
+      if (currentLine.length() > 0) {
+        this.handleLines(Collections.singletonList(currentLine.toString()), errorStream);
+      }
 
-    } catch (Exception ignored) {
-      this.stringBuffer.setLength(0);
+      if (this.activeReaders.decrementAndGet() == 0 && this.spool != null) {
+        try {
+          this.spool.close();
+        } catch (IOException exception) {
+          exception.printStackTrace();
+        }
+      }
     }
   }
 
-  private void addCachedItem(String text, boolean printErrorIntoConsole) {
-    if (text == null) {
-      return;
-    }
+  private void handleLines(Collection<String> lines, boolean errorStream) {
     ServiceEnvironmentType environment = this.cloudService.getServiceConfiguration().getProcessConfig()
       .getEnvironment();
-    String trimmedText = text.trim();
-    if (!environment.getIgnoredConsoleLines().isEmpty() && environment.getIgnoredConsoleLines().contains(trimmedText)) {
+
+    List<String> acceptedLines = new ArrayList<>(lines.size());
+    for (String line : lines) {
+      String trimmedLine = line.trim();
+      if (!trimmedLine.isEmpty() && !environment.getIgnoredConsoleLines().contains(trimmedLine)) {
+        acceptedLines.add(line);
+      }
+    }
+
+    if (acceptedLines.isEmpty()) {
       return;
     }
 
-    while (this.cachedLogMessages.size() >= CloudNet.getInstance().getConfig().getMaxServiceConsoleLogCacheSize()) {
-      this.cachedLogMessages.poll();
+    synchronized (this.cachedLogMessages) {
+      this.cachedLogMessages.resize(CloudNet.getInstance().getConfig().getMaxServiceConsoleLogCacheSize());
+      for (String line : acceptedLines) {
+        this.cachedLogMessages.add(line);
+      }
+    }
+
+    if (this.spool != null) {
+      try {
+        this.spool.write(acceptedLines);
+      } catch (IOException exception) {
+        exception.printStackTrace();
+      }
     }
 
-    this.cachedLogMessages.offer(text);
+    boolean printErrorIntoConsole = errorStream && CloudNet.getInstance().getConfig()
+      .isPrintErrorStreamLinesFromServices();
+    ServiceInfoSnapshot serviceInfoSnapshot = this.cloudService.getServiceInfoSnapshot();
+    IEventManager eventManager = CloudNetDriver.getInstance().getEventManager();
+
+    eventManager.callEvent(
+      new CloudServiceConsoleLogReceiveEntriesEvent(serviceInfoSnapshot, acceptedLines, printErrorIntoConsole));
+    // the event per line is only created for the listeners which still use it
+    boolean callEntryEvents = eventManager.hasListeners(CloudServiceConsoleLogReceiveEntryEvent.class);
 
-    CloudNetDriver.getInstance().getEventManager().callEvent(
-      new CloudServiceConsoleLogReceiveEntryEvent(this.cloudService.getServiceInfoSnapshot(), text,
-        printErrorIntoConsole));
+    for (String line : acceptedLines) {
+      if (callEntryEvents) {
+        eventManager.callEvent(
+          new CloudServiceConsoleLogReceiveEntryEvent(serviceInfoSnapshot, line, printErrorIntoConsole));
+      }
 
-    if (this.autoPrintReceivedInput || this.screenEnabled || printErrorIntoConsole) {
-      CloudNetDriver.getInstance().getLogger().log((printErrorIntoConsole ? LogLevel.WARNING : LogLevel.INFO),
-        "[" + this.cloudService.getServiceId().getName() + "] " + text);
+      if (this.autoPrintReceivedInput || this.screenEnabled || printErrorIntoConsole) {
+        CloudNetDriver.getInstance().getLogger().log((printErrorIntoConsole ? LogLevel.WARNING : LogLevel.INFO),
+          "[" + this.cloudService.getServiceId().getName() + "] " + line);
+      }
     }
   }
 
-  public Queue<String> getCachedLogMessages() {
-    return this.cachedLogMessages;
+  /**
+   * @deprecated the console output is read continuously since the process was started, so this does nothing
+   */
+  @Override
+  @Deprecated
+  public IServiceConsoleLogCache update() {
+    return this;
   }
 
-  public byte[] getBuffer() {
-    return this.buffer;
+  /**
+   * Gets a copy of the cached console lines of the service, the oldest line first.
+   */
+  @Override
+  public Queue<String> getCachedLogMessages() {
+    synchronized (this.cachedLogMessages) {
+      return this.cachedLogMessages.toQueue();
+    }
   }
 
-  public StringBuffer getStringBuffer() {
-    return this.stringBuffer;
+  @Override
+  public Collection<String> getLogMessages(int lines) {
+    if (this.spool != null) {
+      try {
+        return this.spool.readLastLines(lines);
+      } catch (IOException exception) {
+        exception.printStackTrace();
+      }
+    }
+    return IServiceConsoleLogCache.super.getLogMessages(lines);
   }
 
   public ICloudService getCloudService() {
     return this.cloudService;
   }
 
-  public int getLen() {
-    return this.len;
-  }
-
   public boolean isAutoPrintReceivedInput() {
     return this.autoPrintReceivedInput;
   }
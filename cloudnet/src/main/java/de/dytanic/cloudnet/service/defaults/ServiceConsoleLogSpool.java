@@ -0,0 +1,129 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.dytanic.cloudnet.service.defaults;
+
+import de.dytanic.cloudnet.common.io.FileUtils;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Writes the console lines of a service into rotating log files, so that more lines can be read than the log cache
+ * keeps in memory.
+ */
+final class ServiceConsoleLogSpool implements Closeable {
+
+  private final Path directory;
+  private final String name;
+  private final long maxFileSize;
+  private final int maxFiles;
+
+  private BufferedWriter writer;
+  private long fileSize;
+
+  ServiceConsoleLogSpool(Path directory, String name, long maxFileSize, int maxFiles) {
+    this.directory = directory;
+    this.name = name;
+    this.maxFileSize = maxFileSize;
+    this.maxFiles = Math.max(1, maxFiles);
+  }
+
+  synchronized void write(Collection<String> lines) throws IOException {
+    if (this.writer == null) {
+      FileUtils.createDirectoryReported(this.directory);
+
+      Path file = this.getFile(0);
+      this.fileSize = Files.exists(file) ? Files.size(file) : 0;
+      this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+        StandardOpenOption.APPEND);
+    }
+
+    for (String line : lines) {
+      this.writer.write(line);
+      this.writer.newLine();
+      this.fileSize += line.length() + 1;
+    }
+    this.writer.flush();
+
+    if (this.fileSize >= this.maxFileSize) {
+      this.rotate();
+    }
+  }
+
+  /**
+   * Reads the latest lines of the spooled log files.
+   *
+   * @param count the maximum amount of lines to read
+   * @return the latest lines, the oldest line first
+   */
+  synchronized List<String> readLastLines(int count) throws IOException {
+    if (this.writer != null) {
+      this.writer.flush();
+    }
+
+    Deque<String> lines = new ArrayDeque<>(count);
+    for (int i = 0; i < this.maxFiles && lines.size() < count; i++) {
+      Path file = this.getFile(i);
+      if (Files.notExists(file)) {
+        // the current file doesn't exist directly after a rotation
+        continue;
+      }
+
+      List<String> fileLines = Files.readAllLines(file, StandardCharsets.UTF_8);
+      for (int j = fileLines.size() - 1; j >= 0 && lines.size() < count; j--) {
+        lines.addFirst(fileLines.get(j));
+      }
+    }
+
+    return new ArrayList<>(lines);
+  }
+
+  private void rotate() throws IOException {
+    this.close();
+
+    Files.deleteIfExists(this.getFile(this.maxFiles - 1));
+    for (int i = this.maxFiles - 2; i >= 0; i--) {
+      Path file = this.getFile(i);
+      if (Files.exists(file)) {
+        Files.move(file, this.getFile(i + 1), StandardCopyOption.REPLACE_EXISTING);
+      }
+    }
+  }
+
+  private Path getFile(int index) {
+    return this.directory.resolve(index == 0 ? this.name + ".log" : this.name + "." + index + ".log");
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    if (this.writer != null) {
+      this.writer.close();
+      this.writer = null;
+    }
+  }
+
+}
@@ -0,0 +1,314 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.dytanic.cloudnet.service.defaults;
+
+import com.google.gson.JsonElement;
+import de.dytanic.cloudnet.common.document.gson.JsonDocument;
+import de.dytanic.cloudnet.driver.network.HostAndPort;
+import de.dytanic.cloudnet.driver.network.def.packet.PacketClientServerServiceInfoPublisher.PublisherType;
+import de.dytanic.cloudnet.driver.serialization.ProtocolBuffer;
+import de.dytanic.cloudnet.driver.serialization.SerializableObject;
+import de.dytanic.cloudnet.driver.service.ProcessSnapshot;
+import de.dytanic.cloudnet.driver.service.ServiceConfiguration;
+import de.dytanic.cloudnet.driver.service.ServiceInfoSnapshot;
+import de.dytanic.cloudnet.driver.service.ServiceLifeCycle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Encodes the service info snapshots published to the other nodes of the cluster as deltas against the previously
+ * published snapshot of the same service, and applies those deltas on the receiving side. Every delta carries a
+ * per-service sequence number, a receiver which detects a gap drops the delta and requests a full resync instead.
+ */
+final class ServiceInfoSnapshotDeltaCodec {
+
+  private static final int CREATION_TIME = 1;
+  private static final int ADDRESS = 1 << 1;
+  private static final int CONNECTED_TIME = 1 << 2;
+  private static final int LIFE_CYCLE = 1 << 3;
+  private static final int PROCESS_SNAPSHOT = 1 << 4;
+  private static final int CONFIGURATION = 1 << 5;
+  private static final int PROPERTIES = 1 << 6;
+  private static final int FULL = 1 << 7;
+
+  private static final int ALL = CREATION_TIME | ADDRESS | CONNECTED_TIME | LIFE_CYCLE | PROCESS_SNAPSHOT
+    | CONFIGURATION | PROPERTIES | FULL;
+
+  private final Map<UUID, PublishedSnapshot> publishedSnapshots = new ConcurrentHashMap<>();
+  private final Map<UUID, Long> receivedSequences = new ConcurrentHashMap<>();
+  private final Set<UUID> pendingResyncs = ConcurrentHashMap.newKeySet();
+
+  /**
+   * Encodes the given snapshot as delta against the last snapshot published for the same service. The first
+   * publication of a service and every {@link PublisherType#REGISTER} carry the full snapshot. The target is called
+   * while holding the lock of the service, so deltas of the same service are always sent in sequence order.
+   *
+   * @param type     the type of the publication.
+   * @param snapshot the snapshot to publish.
+   * @param target   the target to send the encoded delta to.
+   */
+  public void publish(@NotNull PublisherType type, @NotNull ServiceInfoSnapshot snapshot,
+    @NotNull Consumer<ProtocolBuffer> target) {
+    UUID uniqueId = snapshot.getServiceId().getUniqueId();
+
+    PublishedSnapshot published;
+    if (type == PublisherType.REGISTER) {
+      published = new PublishedSnapshot();
+      this.publishedSnapshots.put(uniqueId, published);
+    } else {
+      published = this.publishedSnapshots.computeIfAbsent(uniqueId, $ -> new PublishedSnapshot());
+    }
+
+    synchronized (published) {
+      target.accept(published.update(type, snapshot));
+    }
+
+    if (type == PublisherType.UNREGISTER) {
+      this.publishedSnapshots.remove(uniqueId);
+    }
+  }
+
+  /**
+   * Encodes the last published snapshot of the given service completely, used to answer resync requests.
+   *
+   * @param uniqueId the unique id of the service to resync.
+   * @return the encoded snapshot or {@code null} if nothing was published for the service yet.
+   */
+  @Nullable
+  public ProtocolBuffer encodeResync(@NotNull UUID uniqueId) {
+    PublishedSnapshot published = this.publishedSnapshots.get(uniqueId);
+    if (published == null) {
+      return null;
+    }
+
+    synchronized (published) {
+      return published.write(PublisherType.UPDATE, uniqueId, ALL, published.fullProperties(), Collections.emptyList());
+    }
+  }
+
+  /**
+   * Applies the delta in the given buffer to the known snapshot of the service.
+   *
+   * @param buffer    the buffer positioned after the publisher type of the delta.
+   * @param snapshots the lookup for the currently known snapshot of a service.
+   * @param resync    invoked with the unique id of the service if a gap was detected and a resync should be requested.
+   * @return the updated snapshot or {@code null} if the delta could not be applied.
+   */
+  @Nullable
+  public ServiceInfoSnapshot decode(@NotNull ProtocolBuffer buffer,
+    @NotNull Function<UUID, ServiceInfoSnapshot> snapshots, @NotNull Consumer<UUID> resync) {
+    UUID uniqueId = buffer.readUUID();
+    long sequence = buffer.readVarLong();
+    int mask = buffer.readVarInt();
+
+    ServiceInfoSnapshot base = null;
+    if ((mask & FULL) == 0) {
+      base = snapshots.apply(uniqueId);
+      Long previous = this.receivedSequences.get(uniqueId);
+
+      if (base == null || previous == null || previous + 1 != sequence) {
+        // request the resync only once, all further deltas are dropped until the full snapshot arrives
+        if (this.pendingResyncs.add(uniqueId)) {
+          resync.accept(uniqueId);
+        }
+        return null;
+      }
+    }
+
+    long creationTime = (mask & CREATION_TIME) != 0 ? buffer.readLong() : base.getCreationTime();
+    HostAndPort address = (mask & ADDRESS) != 0 ? buffer.readObject(HostAndPort.class) : base.getAddress();
+    HostAndPort connectAddress = (mask & ADDRESS) != 0
+      ? buffer.readObject(HostAndPort.class)
+      : base.getConnectAddress();
+    long connectedTime = (mask & CONNECTED_TIME) != 0 ? buffer.readLong() : base.getConnectedTime();
+    ServiceLifeCycle lifeCycle = (mask & LIFE_CYCLE) != 0
+      ? buffer.readEnumConstant(ServiceLifeCycle.class)
+      : base.getLifeCycle();
+    ProcessSnapshot processSnapshot = (mask & PROCESS_SNAPSHOT) != 0
+      ? buffer.readObject(ProcessSnapshot.class)
+      : base.getProcessSnapshot();
+    ServiceConfiguration configuration = (mask & CONFIGURATION) != 0
+      ? buffer.readObject(ServiceConfiguration.class)
+      : base.getConfiguration();
+
+    JsonDocument properties = base == null ? JsonDocument.newDocument() : base.getProperties().clone();
+    if ((mask & PROPERTIES) != 0) {
+      JsonDocument changed = buffer.readTypedJsonDocument();
+      for (String key : changed) {
+        properties.append(key, changed.get(key));
+      }
+      for (String key : buffer.readStringCollection()) {
+        properties.remove(key);
+      }
+    }
+
+    this.receivedSequences.put(uniqueId, sequence);
+    this.pendingResyncs.remove(uniqueId);
+
+    return new ServiceInfoSnapshot(creationTime, address, connectAddress, connectedTime, lifeCycle, processSnapshot,
+      properties, configuration);
+  }
+
+  public void forget(@NotNull UUID uniqueId) {
+    this.publishedSnapshots.remove(uniqueId);
+    this.receivedSequences.remove(uniqueId);
+    this.pendingResyncs.remove(uniqueId);
+  }
+
+  private static byte[] toBytes(SerializableObject... objects) {
+    ProtocolBuffer buffer = ProtocolBuffer.create();
+    for (SerializableObject object : objects) {
+      buffer.writeObject(object);
+    }
+    return buffer.toArray();
+  }
+
+  private static final class PublishedSnapshot {
+
+    private final Map<String, JsonElement> properties = new HashMap<>();
+
+    private long sequence = -1;
+
+    private long creationTime;
+    private byte[] address;
+    private long connectedTime;
+    private ServiceLifeCycle lifeCycle;
+    private byte[] processSnapshot;
+    private byte[] configuration;
+
+    private ProtocolBuffer update(PublisherType type, ServiceInfoSnapshot snapshot) {
+      int mask = this.sequence == -1 ? ALL : 0;
+
+      if (this.creationTime != snapshot.getCreationTime()) {
+        this.creationTime = snapshot.getCreationTime();
+        mask |= CREATION_TIME;
+      }
+
+      byte[] address = toBytes(snapshot.getAddress(), snapshot.getConnectAddress());
+      if (!Arrays.equals(this.address, address)) {
+        this.address = address;
+        mask |= ADDRESS;
+      }
+
+      if (this.connectedTime != snapshot.getConnectedTime()) {
+        this.connectedTime = snapshot.getConnectedTime();
+        mask |= CONNECTED_TIME;
+      }
+
+      if (this.lifeCycle != snapshot.getLifeCycle()) {
+        this.lifeCycle = snapshot.getLifeCycle();
+        mask |= LIFE_CYCLE;
+      }
+
+      byte[] processSnapshot = toBytes(snapshot.getProcessSnapshot());
+      if (!Arrays.equals(this.processSnapshot, processSnapshot)) {
+        this.processSnapshot = processSnapshot;
+        mask |= PROCESS_SNAPSHOT;
+      }
+
+      byte[] configuration = toBytes(snapshot.getConfiguration());
+      if (!Arrays.equals(this.configuration, configuration)) {
+        this.configuration = configuration;
+        mask |= CONFIGURATION;
+      }
+
+      JsonDocument changedProperties = JsonDocument.newDocument();
+      Collection<String> removedProperties = new ArrayList<>();
+
+      JsonDocument properties = snapshot.getProperties();
+      for (String key : properties) {
+        JsonElement value = properties.get(key);
+        if (!value.equals(this.properties.get(key))) {
+          this.properties.put(key, value.deepCopy());
+          changedProperties.append(key, value);
+        }
+      }
+
+      Iterator<String> iterator = this.properties.keySet().iterator();
+      while (iterator.hasNext()) {
+        String key = iterator.next();
+        if (!properties.contains(key)) {
+          iterator.remove();
+          removedProperties.add(key);
+        }
+      }
+
+      if (changedProperties.size() > 0 || !removedProperties.isEmpty()) {
+        mask |= PROPERTIES;
+      }
+
+      this.sequence++;
+      return this.write(type, snapshot.getServiceId().getUniqueId(), mask, changedProperties, removedProperties);
+    }
+
+    private JsonDocument fullProperties() {
+      JsonDocument properties = JsonDocument.newDocument();
+      for (Map.Entry<String, JsonElement> entry : this.properties.entrySet()) {
+        properties.append(entry.getKey(), entry.getValue());
+      }
+      return properties;
+    }
+
+    private ProtocolBuffer write(PublisherType type, UUID uniqueId, int mask, JsonDocument changedProperties,
+      Collection<String> removedProperties) {
+      ProtocolBuffer buffer = ProtocolBuffer.create();
+
+      buffer.writeBoolean(false);
+      buffer.writeEnumConstant(type);
+      buffer.writeUUID(uniqueId);
+      buffer.writeVarLong(this.sequence);
+      buffer.writeVarInt(mask);
+
+      if ((mask & CREATION_TIME) != 0) {
+        buffer.writeLong(this.creationTime);
+      }
+      if ((mask & ADDRESS) != 0) {
+        buffer.writeBytes(this.address);
+      }
+      if ((mask & CONNECTED_TIME) != 0) {
+        buffer.writeLong(this.connectedTime);
+      }
+      if ((mask & LIFE_CYCLE) != 0) {
+        buffer.writeEnumConstant(this.lifeCycle);
+      }
+      if ((mask & PROCESS_SNAPSHOT) != 0) {
+        buffer.writeBytes(this.processSnapshot);
+      }
+      if ((mask & CONFIGURATION) != 0) {
+        buffer.writeBytes(this.configuration);
+      }
+      if ((mask & PROPERTIES) != 0) {
+        buffer.writeTypedJsonDocument(changedProperties);
+        buffer.writeStringCollection(removedProperties);
+      }
+
+      return buffer;
+    }
+  }
+}
@@ -17,11 +17,14 @@
 package de.dytanic.cloudnet.template;
 
 import de.dytanic.cloudnet.CloudNet;
+import de.dytanic.cloudnet.common.concurrent.ITask;
 import de.dytanic.cloudnet.common.document.gson.JsonDocument;
 import de.dytanic.cloudnet.common.io.FileUtils;
 import de.dytanic.cloudnet.common.stream.MultiOutputStream;
 import de.dytanic.cloudnet.driver.api.DriverAPIRequestType;
+import de.dytanic.cloudnet.driver.network.INetworkChannel;
 import de.dytanic.cloudnet.driver.network.def.PacketConstants;
+import de.dytanic.cloudnet.driver.network.protocol.IPacket;
 import de.dytanic.cloudnet.driver.network.protocol.chunk.ChunkedPacketBuilder;
 import de.dytanic.cloudnet.driver.serialization.ProtocolBuffer;
 import de.dytanic.cloudnet.driver.service.ServiceTemplate;
@@ -33,6 +36,11 @@
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 import org.jetbrains.annotations.NotNull;
@@ -40,6 +48,8 @@
 
 public abstract class ClusterSynchronizedTemplateStorage extends DefaultSyncTemplateStorage {
 
+  private static final long MANIFEST_DIFF_TIMEOUT_SECONDS = 300;
+
   private boolean enabled = true;
 
   public void toggleSynchronization(boolean enabled) {
@@ -70,19 +80,119 @@ private void sendDefault(DriverAPIRequestType requestType, ServiceTemplate templ
 
   private void sendChunks(DriverAPIRequestType requestType, InputStream inputStream, ServiceTemplate template,
     JsonDocument header) throws IOException {
+    this.sendChunks(requestType, inputStream, template, header,
+      CloudNet.getInstance().getClusterNodeServerProvider().getConnectedChannels());
+  }
+
+  private void sendChunks(DriverAPIRequestType requestType, InputStream inputStream, ServiceTemplate template,
+    JsonDocument header, Collection<INetworkChannel> channels) throws IOException {
     ChunkedPacketBuilder.newBuilder(PacketConstants.CLUSTER_TEMPLATE_STORAGE_CHUNK_SYNC_CHANNEL, inputStream)
       .header(header.append("type", requestType).append("template", template))
-      .target(CloudNet.getInstance().getClusterNodeServerProvider().getConnectedChannels())
+      .target(channels)
+      .window(ChunkedPacketBuilder.DEFAULT_WINDOW)
       .complete();
   }
 
+  /**
+   * Sends the manifest of the given template to all connected nodes and transfers the files each node reported as
+   * missing or changed to it.
+   *
+   * @param template the template to synchronize
+   * @return false if this storage doesn't support manifests and the template has to be sent completely
+   * @throws IOException if the changed files cannot be read or sent
+   */
+  private boolean sendChangedFiles(ServiceTemplate template) throws IOException {
+    TemplateManifest manifest = this.supportsManifests() ? this.createManifest(template) : null;
+    if (manifest == null) {
+      return false;
+    }
+
+    Map<INetworkChannel, ITask<IPacket>> diffRequests = new HashMap<>();
+    for (INetworkChannel channel : CloudNet.getInstance().getClusterNodeServerProvider().getConnectedChannels()) {
+      ProtocolBuffer buffer = ProtocolBuffer.create()
+        .writeEnumConstant(DriverAPIRequestType.GET_TEMPLATE_MANIFEST_DIFF)
+        .writeObject(template)
+        .writeObject(manifest);
+      diffRequests.put(channel, channel.sendQueryAsync(new PacketServerSyncTemplateStorage(buffer)));
+    }
+
+    // all queries are in flight already, so one deadline bounds the wait for every node together
+    long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(MANIFEST_DIFF_TIMEOUT_SECONDS);
+    Map<INetworkChannel, Collection<String>> changedFilesByChannel = new HashMap<>();
+    for (Map.Entry<INetworkChannel, ITask<IPacket>> entry : diffRequests.entrySet()) {
+      // the remaining time is at least one millisecond, waiting for 0 milliseconds would block forever
+      long remaining = Math.max(1, deadline - System.currentTimeMillis());
+      IPacket response = entry.getValue().get(remaining, TimeUnit.MILLISECONDS, null);
+      // nodes which didn't answer in time receive the complete template
+      changedFilesByChannel.put(entry.getKey(), response == null
+        ? manifest.getFiles().keySet()
+        : response.getBuffer().readStringCollection());
+    }
+
+    for (Map.Entry<INetworkChannel, Collection<String>> entry : changedFilesByChannel.entrySet()) {
+      Collection<String> changedFiles = entry.getValue();
+      if (!changedFiles.isEmpty()) {
+        try (InputStream inputStream = this.zipFiles(template, changedFiles)) {
+          if (inputStream != null) {
+            this.sendChunks(DriverAPIRequestType.DEPLOY_TEMPLATE_STREAM, inputStream, template,
+              JsonDocument.newDocument(), Collections.singletonList(entry.getKey()));
+          }
+        }
+      }
+    }
+
+    return true;
+  }
+
+  /**
+   * Gets if this storage is able to create manifests of its templates, templates of storages supporting manifests are
+   * synchronized incrementally by only sending the files which changed.
+   *
+   * @return if {@link #createManifest(ServiceTemplate)} and {@link #zipFiles(ServiceTemplate, Collection)} are
+   * implemented by this storage
+   */
+  public boolean supportsManifests() {
+    return false;
+  }
+
+  /**
+   * Creates the manifest of the given template. Implementations should cache the manifest so that only files which
+   * changed since the last call have to be hashed again.
+   *
+   * @param template the template to create the manifest of
+   * @return the manifest of the template or null if this storage doesn't support manifests
+   */
+  public @Nullable TemplateManifest createManifest(@NotNull ServiceTemplate template) {
+    return null;
+  }
+
+  /**
+   * Zips the given files of the template, this is used to transfer the files which changed according to the manifest
+   * of the template to other nodes.
+   *
+   * @param template the template to zip the files of
+   * @param paths    the paths of the files relative to the template directory
+   * @return a stream of the zip or null if this storage doesn't support manifests
+   * @throws IOException if the files cannot be zipped
+   */
+  public @Nullable InputStream zipFiles(@NotNull ServiceTemplate template, @NotNull Collection<String> paths)
+    throws IOException {
+    return null;
+  }
+
   @Override
   public boolean deploy(@NotNull Path directory, @NotNull ServiceTemplate target,
     @Nullable Predicate<Path> fileFilter) {
     if (this.deployWithoutSynchronization(directory, target, fileFilter)) {
       if (this.requiresSynchronization()) {
-        try (InputStream inputStream = FileUtils.zipToStream(directory, fileFilter != null ? fileFilter::test : null)) {
-          this.sendChunks(DriverAPIRequestType.DEPLOY_TEMPLATE_STREAM, inputStream, target, JsonDocument.newDocument());
+        try {
+          if (!this.sendChangedFiles(target)) {
+            try (InputStream inputStream = FileUtils.zipToStream(directory,
+              fileFilter != null ? fileFilter::test : null)) {
+              this.sendChunks(DriverAPIRequestType.DEPLOY_TEMPLATE_STREAM, inputStream, target,
+                JsonDocument.newDocument());
+            }
+          }
         } catch (IOException exception) {
           exception.printStackTrace();
         }
@@ -103,6 +213,20 @@ public boolean deploy(@NotNull InputStream inputStream, @NotNull ServiceTemplate
       return this.deployWithoutSynchronization(inputStream, target);
     }
 
+    if (this.supportsManifests()) {
+      // the template is synchronized using its manifest after the deployment, no need to keep a copy of the stream
+      if (this.deployWithoutSynchronization(inputStream, target)) {
+        try {
+          this.sendChangedFiles(target);
+        } catch (IOException exception) {
+          exception.printStackTrace();
+        }
+        return true;
+      }
+
+      return false;
+    }
+
     Path tempFile = FileUtils.createTempFile();
     try {
       Files.copy(inputStream, tempFile);
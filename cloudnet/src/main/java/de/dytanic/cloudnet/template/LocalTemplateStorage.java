@@ -25,10 +25,12 @@
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
 import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.LinkOption;
 import java.nio.file.Path;
+import java.nio.file.PathMatcher;
 import java.nio.file.Paths;
 import java.nio.file.SimpleFileVisitor;
 import java.nio.file.StandardOpenOption;
@@ -36,8 +38,10 @@
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.zip.ZipInputStream;
@@ -48,6 +52,9 @@ public final class LocalTemplateStorage extends ClusterSynchronizedTemplateStora
 
   public static final String LOCAL_TEMPLATE_STORAGE = "local";
   private final Path storageDirectory;
+  private final Path manifestDirectory;
+
+  private volatile Collection<PathMatcher> linkMatchers = Collections.emptyList();
 
   @Deprecated
   public LocalTemplateStorage(File storageDirectory) {
@@ -56,6 +63,7 @@ public LocalTemplateStorage(File storageDirectory) {
 
   public LocalTemplateStorage(Path storageDirectory) {
     this.storageDirectory = storageDirectory;
+    this.manifestDirectory = storageDirectory.toAbsolutePath().resolveSibling("template-manifests");
     FileUtils.createDirectoryReported(storageDirectory);
   }
 
@@ -97,10 +105,72 @@ public boolean copy(@NotNull ServiceTemplate template, @NotNull Path directory)
     Preconditions.checkNotNull(template);
     Preconditions.checkNotNull(directory);
 
-    FileUtils.copyFilesToDirectory(this.storageDirectory.resolve(template.getTemplatePath()), directory);
+    Path templateDirectory = this.storageDirectory.resolve(template.getTemplatePath());
+    Collection<PathMatcher> linkMatchers = this.linkMatchers;
+
+    if (linkMatchers.isEmpty()) {
+      FileUtils.copyFilesToDirectory(templateDirectory, directory);
+    } else {
+      FileUtils.linkFilesToDirectory(templateDirectory, directory, path -> {
+        Path relativePath = templateDirectory.relativize(path);
+        return linkMatchers.stream().anyMatch(matcher -> matcher.matches(relativePath));
+      });
+    }
+    return true;
+  }
+
+  /**
+   * Sets the glob patterns of the files which are hard linked instead of copied into the directory of a service when
+   * copying a template. The patterns are matched against the path of the files relative to the template directory.
+   * Linked files share their content with the template, so only files which are never written by the services should
+   * be matched, for example {@code plugins/*.jar}. Writing to a linked template file in place changes it in every
+   * running service which was created from the template.
+   *
+   * @param patterns the glob patterns of the files to link, an empty collection to copy all files
+   */
+  public void setLinkPatterns(@NotNull Collection<String> patterns) {
+    this.linkMatchers = patterns.stream()
+      .map(pattern -> FileSystems.getDefault().getPathMatcher("glob:" + pattern))
+      .collect(Collectors.toList());
+  }
+
+  @Override
+  public boolean supportsManifests() {
     return true;
   }
 
+  @Override
+  public synchronized @Nullable TemplateManifest createManifest(@NotNull ServiceTemplate template) {
+    Path manifestFile = this.getManifestFile(template);
+    try {
+      TemplateManifest manifest = TemplateManifest
+        .create(this.storageDirectory.resolve(template.getTemplatePath()), TemplateManifest.read(manifestFile));
+      manifest.write(manifestFile);
+      return manifest;
+    } catch (IOException exception) {
+      exception.printStackTrace();
+      return null;
+    }
+  }
+
+  @Override
+  public @Nullable InputStream zipFiles(@NotNull ServiceTemplate template, @NotNull Collection<String> paths)
+    throws IOException {
+    if (!this.has(template)) {
+      return null;
+    }
+
+    Path directory = this.storageDirectory.resolve(template.getTemplatePath());
+    Set<String> files = new HashSet<>(paths);
+
+    return FileUtils.zipToStream(directory,
+      path -> files.contains(directory.relativize(path).toString().replace('\\', '/')));
+  }
+
+  private @NotNull Path getManifestFile(@NotNull ServiceTemplate template) {
+    return this.manifestDirectory.resolve(template.getTemplatePath() + ".json");
+  }
+
   @Override
   @Nullable
   public InputStream zipTemplate(@NotNull ServiceTemplate template) throws IOException {
@@ -128,6 +198,7 @@ public boolean deleteWithoutSynchronization(@NotNull ServiceTemplate template) {
       return false;
     } else {
       FileUtils.delete(target);
+      FileUtils.deleteFileReported(this.getManifestFile(template));
       return true;
     }
   }
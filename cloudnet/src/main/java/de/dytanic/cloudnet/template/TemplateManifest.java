@@ -0,0 +1,207 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.dytanic.cloudnet.template;
+
+import com.google.common.base.Preconditions;
+import com.google.common.io.BaseEncoding;
+import de.dytanic.cloudnet.common.document.gson.JsonDocument;
+import de.dytanic.cloudnet.driver.serialization.ProtocolBuffer;
+import de.dytanic.cloudnet.driver.serialization.SerializableObject;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A content addressed listing of a template directory which maps the relative path of every file in the template to
+ * the SHA-256 hash of its content. Nodes compare manifests to only transfer the files of a template which changed.
+ */
+public final class TemplateManifest implements SerializableObject {
+
+  private Map<String, Entry> files;
+
+  public TemplateManifest() {
+    this(new HashMap<>());
+  }
+
+  private TemplateManifest(@NotNull Map<String, Entry> files) {
+    this.files = files;
+  }
+
+  /**
+   * Creates the manifest of the given directory. Files which have the same size and modification time as in the
+   * previous manifest of the directory are not hashed again.
+   *
+   * @param directory the directory to create the manifest of
+   * @param previous  the last manifest created for the directory, null if there is none
+   * @return the manifest of the directory
+   * @throws IOException if the directory cannot be read
+   */
+  public static @NotNull TemplateManifest create(@NotNull Path directory, @Nullable TemplateManifest previous)
+    throws IOException {
+    Preconditions.checkNotNull(directory, "directory");
+
+    Map<String, Entry> files = new HashMap<>();
+    if (Files.notExists(directory)) {
+      return new TemplateManifest(files);
+    }
+
+    MessageDigest messageDigest = newMessageDigest();
+    byte[] buffer = new byte[64 * 1024];
+
+    Files.walkFileTree(directory, new SimpleFileVisitor<Path>() {
+      @Override
+      public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) throws IOException {
+        if (attributes.isRegularFile()) {
+          String path = directory.relativize(file).toString().replace('\\', '/');
+          long lastModified = attributes.lastModifiedTime().toMillis();
+
+          Entry entry = previous == null ? null : previous.files.get(path);
+          if (entry == null || entry.size != attributes.size() || entry.lastModified != lastModified) {
+            entry = new Entry(attributes.size(), lastModified, hash(file, messageDigest, buffer));
+          }
+
+          files.put(path, entry);
+        }
+
+        return FileVisitResult.CONTINUE;
+      }
+    });
+
+    return new TemplateManifest(files);
+  }
+
+  /**
+   * Reads a manifest which was written using {@link #write(Path)}.
+   *
+   * @param file the file to read the manifest from
+   * @return the manifest or null if the file doesn't exist or is not readable
+   */
+  public static @Nullable TemplateManifest read(@NotNull Path file) {
+    if (Files.notExists(file)) {
+      return null;
+    }
+
+    TemplateManifest manifest = JsonDocument.newDocument(file).toInstanceOf(TemplateManifest.class);
+    return manifest == null || manifest.files == null ? null : manifest;
+  }
+
+  private static @NotNull String hash(@NotNull Path file, @NotNull MessageDigest messageDigest, byte[] buffer)
+    throws IOException {
+    messageDigest.reset();
+    try (InputStream inputStream = Files.newInputStream(file)) {
+      int read;
+      while ((read = inputStream.read(buffer)) != -1) {
+        messageDigest.update(buffer, 0, read);
+      }
+    }
+
+    return BaseEncoding.base16().lowerCase().encode(messageDigest.digest());
+  }
+
+  private static @NotNull MessageDigest newMessageDigest() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException exception) {
+      throw new IllegalStateException("SHA-256 is not supported by this jvm", exception);
+    }
+  }
+
+  public void write(@NotNull Path file) {
+    JsonDocument.newDocument(this).writeCompact(file);
+  }
+
+  /**
+   * Gets the files of the given manifest which are missing in this manifest or have a different content.
+   *
+   * @param source the manifest of the template to synchronize this template with
+   * @return the relative paths of all files which have to be transferred
+   */
+  public @NotNull Collection<String> getChangedFiles(@NotNull TemplateManifest source) {
+    Collection<String> changedFiles = new ArrayList<>();
+    for (Map.Entry<String, Entry> entry : source.files.entrySet()) {
+      Entry present = this.files.get(entry.getKey());
+      if (present == null || !present.hash.equals(entry.getValue().hash)) {
+        changedFiles.add(entry.getKey());
+      }
+    }
+
+    return changedFiles;
+  }
+
+  public @NotNull Map<String, Entry> getFiles() {
+    return Collections.unmodifiableMap(this.files);
+  }
+
+  @Override
+  public void write(@NotNull ProtocolBuffer buffer) {
+    buffer.writeVarInt(this.files.size());
+    for (Map.Entry<String, Entry> entry : this.files.entrySet()) {
+      buffer.writeString(entry.getKey());
+      buffer.writeVarLong(entry.getValue().size);
+      buffer.writeString(entry.getValue().hash);
+    }
+  }
+
+  @Override
+  public void read(@NotNull ProtocolBuffer buffer) {
+    int size = buffer.readVarInt();
+    this.files = new HashMap<>(size);
+
+    for (int i = 0; i < size; i++) {
+      // the modification time is only meaningful for the node which hashed the file
+      this.files.put(buffer.readString(), new Entry(buffer.readVarLong(), -1, buffer.readString()));
+    }
+  }
+
+  public static final class Entry {
+
+    private final long size;
+    private final long lastModified;
+    private final String hash;
+
+    public Entry(long size, long lastModified, @NotNull String hash) {
+      this.size = size;
+      this.lastModified = lastModified;
+      this.hash = hash;
+    }
+
+    public long getSize() {
+      return this.size;
+    }
+
+    public long getLastModified() {
+      return this.lastModified;
+    }
+
+    public @NotNull String getHash() {
+      return this.hash;
+    }
+  }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.dytanic.cloudnet.database.h2;
+
+import de.dytanic.cloudnet.common.document.gson.JsonDocument;
+import de.dytanic.cloudnet.network.packet.PacketServerH2Database.OperationType;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+
+public final class H2ChangeLogTest {
+
+  @Test
+  public void testOperationsAfter() {
+    H2ChangeLog changeLog = new H2ChangeLog(3);
+
+    Assert.assertEquals(0, changeLog.getSequence("players"));
+    Assert.assertNotNull(changeLog.getOperationsAfter("players", 0));
+    Assert.assertNull(changeLog.getOperationsAfter("players", 1));
+
+    for (int i = 1; i <= 5; i++) {
+      Assert.assertEquals(i,
+        changeLog.append("players", OperationType.INSERT, "key" + i, JsonDocument.newDocument()).getSequence());
+    }
+    changeLog.append("permissions", OperationType.CLEAR, null, null);
+
+    Assert.assertEquals(5, changeLog.getSequence("players"));
+    Assert.assertEquals(1, changeLog.getSequence("permissions"));
+
+    List<H2ChangeLog.Operation> operations = changeLog.getOperationsAfter("players", 3);
+    Assert.assertNotNull(operations);
+    Assert.assertEquals(2, operations.size());
+    Assert.assertEquals("key4", operations.get(0).getKey());
+    Assert.assertEquals(5, operations.get(1).getSequence());
+
+    Assert.assertNotNull(changeLog.getOperationsAfter("players", 2));
+    Assert.assertTrue(changeLog.getOperationsAfter("players", 5).isEmpty());
+    // the first two operations are no longer retained, the database has to be sent completely
+    Assert.assertNull(changeLog.getOperationsAfter("players", 1));
+    Assert.assertNull(changeLog.getOperationsAfter("players", 6));
+  }
+}
@@ -20,9 +20,14 @@
 import de.dytanic.cloudnet.database.AbstractDatabaseProvider;
 import de.dytanic.cloudnet.database.IDatabaseHandler;
 import de.dytanic.cloudnet.driver.database.Database;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Random;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -94,6 +99,196 @@ public void testDatabaseProvider() throws Exception {
     databaseProvider.close();
   }
 
+  @Test
+  public void testIndexedQueries() throws Exception {
+    AbstractDatabaseProvider databaseProvider = new H2DatabaseProvider("build/h2database", false);
+    Assert.assertTrue(databaseProvider.init());
+
+    databaseProvider.deleteDatabase("indexedDatabase");
+    Database database = databaseProvider.getDatabase("indexedDatabase");
+
+    Assert.assertTrue(database.insert("1", new JsonDocument("name", "Albert").append("age", 18)));
+    Assert.assertTrue(database.insert("2", new JsonDocument("name", "Peter").append("age", 20)));
+    Assert.assertTrue(database.insert("3", new JsonDocument("inner", new JsonDocument("name", "Albert"))));
+
+    Assert.assertTrue(database.createIndex("name"));
+    Assert.assertTrue(database.createIndex("name"));
+
+    Assert.assertTrue(database.insert("4", new JsonDocument("name", "Albert").append("age", 20)));
+    Assert.assertTrue(database.update("2", new JsonDocument("name", "Luzifer").append("age", 20)));
+
+    // nested fields are not matched by the index
+    Assert.assertEquals(2, database.get("name", "Albert").size());
+    Assert.assertEquals(1, database.get(new JsonDocument("name", "Albert").append("age", 20)).size());
+    Assert.assertEquals(1, database.get("name", "Luzifer").size());
+    Assert.assertTrue(database.get("name", "Peter").isEmpty());
+
+    // index fields are case-sensitive, just like the lookups without an index
+    Assert.assertTrue(database.insert("5", new JsonDocument("playerName", "Albert")));
+    Assert.assertTrue(database.insert("6", new JsonDocument("playername", "Albert")));
+    Assert.assertEquals(1, database.get("playerName", "Albert").size());
+    Assert.assertTrue(database.createIndex("playerName"));
+    Assert.assertEquals(1, database.get("playerName", "Albert").size());
+
+    // a new instance has to pick up the index from the existing table
+    databaseProvider.close();
+    databaseProvider = new H2DatabaseProvider("build/h2database", false);
+    Assert.assertTrue(databaseProvider.init());
+
+    database = databaseProvider.getDatabase("indexedDatabase");
+    Assert.assertTrue(database.update("4", new JsonDocument("name", "Peter")));
+    Assert.assertEquals(1, database.get("name", "Albert").size());
+    Assert.assertEquals(1, database.get("name", "Peter").size());
+    Assert.assertEquals(1, database.get("playerName", "Albert").size());
+    Assert.assertEquals(1, database.get("playername", "Albert").size());
+
+    databaseProvider.deleteDatabase("indexedDatabase");
+    databaseProvider.close();
+  }
+
+  @Test
+  public void testIndexFillPages() throws Exception {
+    H2DatabaseProvider databaseProvider = new H2DatabaseProvider("build/h2database", false);
+    Assert.assertTrue(databaseProvider.init());
+
+    databaseProvider.deleteDatabase("pagedIndexDatabase");
+    Database database = databaseProvider.getDatabase("pagedIndexDatabase");
+
+    // more documents than fit into one page, every third one without the indexed field
+    Map<String, JsonDocument> documents = new HashMap<>();
+    for (int i = 0; i < 1300; i++) {
+      documents.put(String.valueOf(i), i % 3 == 0 ? new JsonDocument("val", i) : new JsonDocument("name", "N" + i % 2));
+    }
+    Assert.assertTrue(database.insertBatch(documents));
+
+    Assert.assertTrue(database.createIndex("name"));
+    Assert.assertEquals(433, database.get("name", "N0").size());
+    Assert.assertEquals(433, database.get("name", "N1").size());
+
+    // documents without the field are marked as indexed as well, so no row is filled again
+    Assert.assertTrue(database.insert("1300", new JsonDocument("val", 1300)));
+    Assert.assertEquals(0, (int) databaseProvider.executeQuery(
+      "SELECT COUNT(*) FROM `pagedIndexDatabase` WHERE Index_name IS NULL",
+      resultSet -> resultSet.next() ? resultSet.getInt(1) : -1
+    ));
+
+    databaseProvider.deleteDatabase("pagedIndexDatabase");
+    databaseProvider.close();
+  }
+
+  @Test
+  public void testBatchInsert() throws Exception {
+    AbstractDatabaseProvider databaseProvider = new H2DatabaseProvider("build/h2database", false);
+    Assert.assertTrue(databaseProvider.init());
+
+    databaseProvider.deleteDatabase("batchDatabase");
+    Database database = databaseProvider.getDatabase("batchDatabase");
+
+    Map<String, JsonDocument> documents = new HashMap<>();
+    for (int i = 0; i < 50; i++) {
+      documents.put(String.valueOf(i), new JsonDocument("name", i % 2 == 0 ? "Albert" : "Peter").append("val", i));
+    }
+
+    Assert.assertTrue(database.insertBatch(documents));
+    Assert.assertEquals(50, database.getDocumentsCount());
+
+    // existing documents are replaced, the index columns have to follow
+    Assert.assertTrue(database.createIndex("name"));
+    documents.clear();
+    documents.put("0", new JsonDocument("name", "Peter").append("val", 0));
+    documents.put("50", new JsonDocument("name", "Albert").append("val", 50));
+
+    Assert.assertTrue(database.insertBatch(documents));
+    Assert.assertEquals(51, database.getDocumentsCount());
+    Assert.assertEquals(25, database.get("name", "Albert").size());
+    Assert.assertEquals(26, database.get("name", "Peter").size());
+
+    Assert.assertTrue(database.insert("0", new JsonDocument("name", "Luzifer")));
+    Assert.assertTrue(database.update("0", new JsonDocument("name", "Luzifer").append("val", 0)));
+    Assert.assertEquals(51, database.getDocumentsCount());
+    Assert.assertEquals(0, database.get("0").getInt("val"));
+    Assert.assertEquals(1, database.get("name", "Luzifer").size());
+
+    Assert.assertTrue(database.insertBatch(new HashMap<>()));
+
+    databaseProvider.deleteDatabase("batchDatabase");
+    databaseProvider.close();
+  }
+
+  @Test
+  public void testStream() throws Exception {
+    AbstractDatabaseProvider databaseProvider = new H2DatabaseProvider("build/h2database", false);
+    Assert.assertTrue(databaseProvider.init());
+
+    databaseProvider.deleteDatabase("streamDatabase");
+    Database database = databaseProvider.getDatabase("streamDatabase");
+
+    Map<String, JsonDocument> documents = new HashMap<>();
+    for (int i = 0; i < 250; i++) {
+      documents.put(String.format("%03d", i), new JsonDocument("val", i));
+    }
+    Assert.assertTrue(database.insertBatch(documents));
+
+    // the page size doesn't divide the amount of entries to cover a partial last page
+    try (Stream<Map.Entry<String, JsonDocument>> stream = database.stream(100)) {
+      List<Map.Entry<String, JsonDocument>> entries = stream.collect(Collectors.toList());
+
+      Assert.assertEquals(250, entries.size());
+      for (int i = 0; i < entries.size(); i++) {
+        Assert.assertEquals(String.format("%03d", i), entries.get(i).getKey());
+        Assert.assertEquals(i, entries.get(i).getValue().getInt("val"));
+      }
+    }
+
+    try (Stream<Map.Entry<String, JsonDocument>> stream = database.stream(50)) {
+      Assert.assertEquals(10, stream.limit(10).count());
+    }
+
+    Assert.assertEquals(250, database.entries().size());
+    Assert.assertEquals(25, database.filter((key, document) -> document.getInt("val") % 10 == 0).size());
+
+    databaseProvider.deleteDatabase("streamDatabase");
+    databaseProvider.close();
+  }
+
+  @Test
+  public void testApplySnapshot() throws Exception {
+    H2DatabaseProvider databaseProvider = new H2DatabaseProvider("build/h2database", false);
+    Assert.assertTrue(databaseProvider.init());
+
+    databaseProvider.deleteDatabase("snapshotDatabase");
+    H2Database database = databaseProvider.getDatabase("snapshotDatabase");
+    Assert.assertTrue(database.insert("stale", new JsonDocument("val", -1)));
+
+    // operations applied while the snapshot is streamed are not contained in it
+    databaseProvider.recordLiveOperations("snapshotDatabase");
+    Assert.assertTrue(database.insert("live", new JsonDocument("val", 100)));
+    Assert.assertTrue(database.update("1", new JsonDocument("val", 101)));
+    Assert.assertTrue(database.delete("2"));
+
+    Map<String, JsonDocument> snapshot = new HashMap<>();
+    for (int i = 0; i < 5; i++) {
+      snapshot.put(String.valueOf(i), new JsonDocument("val", i));
+    }
+    database.applySnapshot(snapshot.entrySet().iterator(), 2);
+
+    Assert.assertEquals(5, database.getDocumentsCount());
+    Assert.assertFalse(database.contains("stale"));
+    Assert.assertFalse(database.contains("2"));
+    Assert.assertEquals(100, database.get("live").getInt("val"));
+    Assert.assertEquals(101, database.get("1").getInt("val"));
+    Assert.assertEquals(3, database.get("3").getInt("val"));
+
+    // the recording stops with the snapshot, a second one replaces everything
+    Assert.assertTrue(database.insert("later", new JsonDocument("val", 200)));
+    database.applySnapshot(snapshot.entrySet().iterator(), 2);
+    Assert.assertEquals(5, database.getDocumentsCount());
+    Assert.assertFalse(database.contains("later"));
+
+    databaseProvider.deleteDatabase("snapshotDatabase");
+    databaseProvider.close();
+  }
+
   @Override
   public void handleInsert(Database database, String key, JsonDocument document) {
     this.resultString = "foobar";
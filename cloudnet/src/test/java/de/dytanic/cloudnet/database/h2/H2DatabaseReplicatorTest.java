@@ -0,0 +1,112 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.dytanic.cloudnet.database.h2;
+
+import de.dytanic.cloudnet.common.document.gson.JsonDocument;
+import de.dytanic.cloudnet.network.packet.PacketServerH2Database.OperationType;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+
+public final class H2DatabaseReplicatorTest {
+
+  private static List<H2ChangeLog.Operation> batch(long sequence) {
+    return Collections.singletonList(
+      new H2ChangeLog.Operation("players", sequence, OperationType.INSERT, "key" + sequence,
+        JsonDocument.newDocument()));
+  }
+
+  @Test
+  public void testOutOfOrderBatches() {
+    H2DatabaseReplicator.SourceState sourceState = new H2DatabaseReplicator.SourceState();
+
+    Assert.assertTrue(sourceState.buffer(1, batch(1)));
+    Assert.assertEquals(1, sourceState.pollReadyBatches().size());
+    Assert.assertEquals(1, sourceState.getAppliedBatch());
+
+    // batch 2 is missing, the later batches wait for it
+    Assert.assertTrue(sourceState.buffer(4, batch(4)));
+    Assert.assertTrue(sourceState.buffer(3, batch(3)));
+    Assert.assertTrue(sourceState.pollReadyBatches().isEmpty());
+    Assert.assertEquals(1, sourceState.getAppliedBatch());
+
+    Assert.assertTrue(sourceState.buffer(2, batch(2)));
+    List<List<H2ChangeLog.Operation>> batches = sourceState.pollReadyBatches();
+    Assert.assertEquals(3, batches.size());
+    for (int i = 0; i < batches.size(); i++) {
+      Assert.assertEquals(i + 2, batches.get(i).get(0).getSequence());
+    }
+    Assert.assertEquals(4, sourceState.getAppliedBatch());
+    Assert.assertEquals(0, sourceState.getBufferedBatches());
+
+    // a batch which was already applied is ignored
+    Assert.assertTrue(sourceState.buffer(3, batch(3)));
+    Assert.assertTrue(sourceState.pollReadyBatches().isEmpty());
+  }
+
+  @Test
+  public void testBufferOverflow() {
+    H2DatabaseReplicator.SourceState sourceState = new H2DatabaseReplicator.SourceState(2);
+
+    Assert.assertTrue(sourceState.buffer(1, batch(1)));
+    sourceState.pollReadyBatches();
+
+    Assert.assertTrue(sourceState.buffer(3, batch(3)));
+    Assert.assertTrue(sourceState.buffer(4, batch(4)));
+    Assert.assertFalse(sourceState.buffer(5, batch(5)));
+    Assert.assertEquals(0, sourceState.getBufferedBatches());
+
+    // the synchronization is requested once until it starts
+    Assert.assertTrue(sourceState.requestResync());
+    Assert.assertFalse(sourceState.requestResync());
+
+    sourceState.prepareSynchronization(5);
+    Assert.assertTrue(sourceState.isAwaitingReplay());
+    Assert.assertTrue(sourceState.buffer(6, batch(6)));
+    Assert.assertTrue(sourceState.pollReadyBatches().isEmpty());
+
+    sourceState.completeSynchronization();
+    Assert.assertEquals(1, sourceState.pollReadyBatches().size());
+    Assert.assertEquals(6, sourceState.getAppliedBatch());
+    Assert.assertTrue(sourceState.requestResync());
+  }
+
+  @Test
+  public void testAcknowledgementTrimming() {
+    H2DatabaseReplicator.SourceState sourceState = new H2DatabaseReplicator.SourceState();
+
+    Assert.assertTrue(sourceState.buffer(1, batch(1)));
+    sourceState.pollReadyBatches();
+    for (int i = 3; i <= 6; i++) {
+      Assert.assertTrue(sourceState.buffer(i, batch(i)));
+    }
+
+    // the synchronization covers the batches up to 4, only the later ones are kept
+    sourceState.prepareSynchronization(4);
+    Assert.assertEquals(2, sourceState.getBufferedBatches());
+    sourceState.completeSynchronization();
+    Assert.assertEquals(2, sourceState.pollReadyBatches().size());
+    Assert.assertEquals(6, sourceState.getAppliedBatch());
+
+    H2DatabaseReplicator.NodeState nodeState = new H2DatabaseReplicator.NodeState(0);
+    nodeState.acknowledge(6);
+    // an acknowledgement which overtook a later one doesn't move the node back
+    nodeState.acknowledge(4);
+    Assert.assertEquals(6, nodeState.getAcknowledgedBatch());
+  }
+}
@@ -17,15 +17,20 @@
 package de.dytanic.cloudnet.permission;
 
 import de.dytanic.cloudnet.EmptyCloudNetDriver;
+import de.dytanic.cloudnet.common.document.gson.JsonDocument;
 import de.dytanic.cloudnet.common.io.FileUtils;
 import de.dytanic.cloudnet.database.AbstractDatabaseProvider;
 import de.dytanic.cloudnet.database.h2.H2DatabaseProvider;
 import de.dytanic.cloudnet.driver.CloudNetDriver;
+import de.dytanic.cloudnet.driver.database.Database;
 import de.dytanic.cloudnet.driver.permission.IPermissionGroup;
 import de.dytanic.cloudnet.driver.permission.IPermissionManagement;
 import de.dytanic.cloudnet.driver.permission.IPermissionUser;
 import de.dytanic.cloudnet.driver.permission.Permission;
+import de.dytanic.cloudnet.driver.permission.PermissionUser;
 import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 import org.junit.Assert;
 import org.junit.Test;
@@ -90,6 +95,18 @@ public void testFilePermissionManager() throws Exception {
     Assert
       .assertFalse(permissionManagement.hasPermission(permissionUser, "Test_Group", new Permission(permission, 105)));
 
+    // changes made in place without an update call have to be visible as well
+    permissionUser.addPermission(new Permission("test.local", 10));
+    Assert.assertTrue(permissionManagement.hasPermission(permissionUser, "test.local"));
+    permissionUser.removePermission("test.local");
+    Assert.assertFalse(permissionManagement.hasPermission(permissionUser, "test.local"));
+
+    Permission wildcard = new Permission("test.perm*", 10);
+    Assert.assertSame(wildcard, permissionManagement
+      .findHighestPermission(Collections.singleton(wildcard), new Permission("Test.Permission.1234")));
+    Assert.assertNull(permissionManagement
+      .findHighestPermission(Collections.singleton(wildcard), new Permission("other.test.permission")));
+
     permissionUser.addPermission(new Permission("test.permission.1234", 10, 5, TimeUnit.MILLISECONDS));
     Thread.sleep(10);
     Assert.assertTrue(permissionManagement.testPermissionUser(permissionUser));
@@ -178,4 +195,62 @@ public void testFilePermissionManager() throws Exception {
     Assert.assertNull(permissionManagement.getGroup(groupName));
     Assert.assertTrue(permissionUser.checkPassword("1234"));
   }
+
+  @Test
+  public void testUserIndexBackfill() throws Exception {
+    FileUtils.delete(Paths.get("build/h2database_index.mv.db"));
+    FileUtils.delete(Paths.get("build/group_permissions_index.json"));
+
+    AbstractDatabaseProvider databaseProvider = new H2DatabaseProvider("build/h2database_index", false);
+    Assert.assertTrue(databaseProvider.init());
+
+    // users which were stored before the index existed
+    Database userDatabase = databaseProvider.getDatabase("cloudnet_permission_users");
+    for (int i = 0; i < 10; i++) {
+      IPermissionUser permissionUser = new PermissionUser(UUID.randomUUID(), "User" + i, null, 0);
+      if (i % 2 == 0) {
+        permissionUser.addGroup("Even");
+      }
+      userDatabase.insert(permissionUser.getUniqueId().toString(), new JsonDocument(permissionUser));
+    }
+
+    System.setProperty("cloudnet.permissions.json.path", "build/group_permissions_index.json");
+
+    IPermissionManagement permissionManagement = new DefaultDatabasePermissionManagement(() -> databaseProvider);
+    permissionManagement.init();
+
+    CloudNetDriver driver = new EmptyCloudNetDriver() {{
+      setInstance(this);
+    }};
+    driver.setPermissionManagement(permissionManagement);
+
+    Database nameIndexDatabase = databaseProvider.getDatabase("cloudnet_permission_users_name_index");
+    Database groupIndexDatabase = databaseProvider.getDatabase("cloudnet_permission_users_group_index");
+    long timeout = System.currentTimeMillis() + 10000;
+    while (!nameIndexDatabase.contains("state") && System.currentTimeMillis() < timeout) {
+      Thread.sleep(10);
+    }
+
+    // one name entry per user and the state, one group entry per group membership
+    Assert.assertEquals(11, nameIndexDatabase.getDocumentsCount());
+    Assert.assertEquals(5, groupIndexDatabase.getDocumentsCount());
+    Assert.assertEquals(5, permissionManagement.getUsersByGroup("even").size());
+    Assert.assertEquals(1, permissionManagement.getUsers("User3").size());
+    Assert.assertTrue(permissionManagement.getUsers("user3").isEmpty());
+
+    IPermissionUser permissionUser = permissionManagement.getUsers("User3").get(0);
+    permissionUser.addGroup("Even");
+    permissionManagement.updateUser(permissionUser);
+    Assert.assertEquals(6, permissionManagement.getUsersByGroup("Even").size());
+
+    permissionUser.removeGroup("Even");
+    permissionManagement.updateUser(permissionUser);
+    Assert.assertEquals(5, permissionManagement.getUsersByGroup("Even").size());
+
+    permissionManagement.deleteUser(permissionManagement.getUsers("User0").get(0));
+    Assert.assertEquals(4, permissionManagement.getUsersByGroup("Even").size());
+    Assert.assertTrue(permissionManagement.getUsers("User0").isEmpty());
+
+    databaseProvider.close();
+  }
 }
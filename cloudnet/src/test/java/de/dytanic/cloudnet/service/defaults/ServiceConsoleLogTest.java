@@ -0,0 +1,77 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.dytanic.cloudnet.service.defaults;
+
+import de.dytanic.cloudnet.common.io.FileUtils;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.Assert;
+import org.junit.Test;
+
+public final class ServiceConsoleLogTest {
+
+  @Test
+  public void testRingBuffer() {
+    ConsoleLogRingBuffer buffer = new ConsoleLogRingBuffer(3);
+    for (int i = 1; i <= 5; i++) {
+      buffer.add(String.valueOf(i));
+    }
+
+    Assert.assertEquals(Arrays.asList("3", "4", "5"), new ArrayList<>(buffer.toQueue()));
+
+    buffer.resize(2);
+    Assert.assertEquals(Arrays.asList("4", "5"), new ArrayList<>(buffer.toQueue()));
+
+    buffer.resize(4);
+    buffer.add("6");
+    Assert.assertEquals(Arrays.asList("4", "5", "6"), new ArrayList<>(buffer.toQueue()));
+    Assert.assertEquals(4, buffer.capacity());
+  }
+
+  @Test
+  public void testSpoolRotation() throws Exception {
+    Path directory = Paths.get("build/service_console_spool");
+    try {
+      ServiceConsoleLogSpool spool = new ServiceConsoleLogSpool(directory, "Lobby-1", 20, 3);
+
+      // every line takes 4 characters with the line break, so that every file contains 5 lines
+      List<String> lines = IntStream.range(100, 120).mapToObj(String::valueOf).collect(Collectors.toList());
+      for (String line : lines) {
+        spool.write(Arrays.asList(line));
+      }
+
+      Assert.assertTrue(Files.notExists(directory.resolve("Lobby-1.log")));
+      Assert.assertTrue(Files.exists(directory.resolve("Lobby-1.2.log")));
+      Assert.assertTrue(Files.notExists(directory.resolve("Lobby-1.3.log")));
+      Assert.assertEquals(lines.subList(15, 20), spool.readLastLines(5));
+      Assert.assertEquals(lines.subList(10, 20), spool.readLastLines(100));
+
+      spool.write(Arrays.asList("120"));
+      Assert.assertEquals(Arrays.asList("119", "120"), spool.readLastLines(2));
+      spool.close();
+    } finally {
+      FileUtils.delete(directory);
+    }
+  }
+
+}
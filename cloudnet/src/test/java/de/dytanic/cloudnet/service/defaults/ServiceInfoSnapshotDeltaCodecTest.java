@@ -0,0 +1,130 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.dytanic.cloudnet.service.defaults;
+
+import de.dytanic.cloudnet.common.document.gson.JsonDocument;
+import de.dytanic.cloudnet.driver.network.HostAndPort;
+import de.dytanic.cloudnet.driver.network.def.packet.PacketClientServerServiceInfoPublisher.PublisherType;
+import de.dytanic.cloudnet.driver.serialization.ProtocolBuffer;
+import de.dytanic.cloudnet.driver.service.ProcessConfiguration;
+import de.dytanic.cloudnet.driver.service.ProcessSnapshot;
+import de.dytanic.cloudnet.driver.service.ServiceConfiguration;
+import de.dytanic.cloudnet.driver.service.ServiceDeployment;
+import de.dytanic.cloudnet.driver.service.ServiceEnvironmentType;
+import de.dytanic.cloudnet.driver.service.ServiceId;
+import de.dytanic.cloudnet.driver.service.ServiceInfoSnapshot;
+import de.dytanic.cloudnet.driver.service.ServiceLifeCycle;
+import de.dytanic.cloudnet.driver.service.ServiceRemoteInclusion;
+import de.dytanic.cloudnet.driver.service.ServiceTemplate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ServiceInfoSnapshotDeltaCodecTest {
+
+  @Test
+  public void testDeltaUpdates() {
+    ServiceInfoSnapshotDeltaCodec sender = new ServiceInfoSnapshotDeltaCodec();
+    ServiceInfoSnapshotDeltaCodec receiver = new ServiceInfoSnapshotDeltaCodec();
+
+    Map<UUID, ServiceInfoSnapshot> snapshots = new HashMap<>();
+    List<UUID> resyncs = new ArrayList<>();
+
+    ServiceInfoSnapshot snapshot = this.createSnapshot();
+    UUID uniqueId = snapshot.getServiceId().getUniqueId();
+
+    ProtocolBuffer full = this.publish(sender, PublisherType.REGISTER, snapshot);
+    Assert.assertFalse(full.readBoolean());
+    Assert.assertEquals(PublisherType.REGISTER, full.readEnumConstant(PublisherType.class));
+    int fullSize = full.readableBytes();
+
+    ServiceInfoSnapshot received = receiver.decode(full, snapshots::get, resyncs::add);
+    Assert.assertEquals(snapshot, received);
+    snapshots.put(uniqueId, received);
+
+    snapshot.setLifeCycle(ServiceLifeCycle.RUNNING);
+    snapshot.getProperties().append("Online-Count", 5).remove("Motd");
+
+    ProtocolBuffer delta = this.publish(sender, PublisherType.UPDATE, snapshot);
+    Assert.assertFalse(delta.readBoolean());
+    Assert.assertEquals(PublisherType.UPDATE, delta.readEnumConstant(PublisherType.class));
+    Assert.assertTrue(delta.readableBytes() < fullSize / 4);
+
+    received = receiver.decode(delta, snapshots::get, resyncs::add);
+    Assert.assertEquals(snapshot, received);
+    Assert.assertEquals(snapshot.getProperties(), received.getProperties());
+    snapshots.put(uniqueId, received);
+
+    // the receiver misses one update and has to request a resync
+    snapshot.getProperties().append("Online-Count", 6);
+    this.publish(sender, PublisherType.UPDATE, snapshot);
+    snapshot.getProperties().append("Online-Count", 7);
+
+    delta = this.publish(sender, PublisherType.UPDATE, snapshot);
+    delta.readBoolean();
+    delta.readEnumConstant(PublisherType.class);
+
+    Assert.assertNull(receiver.decode(delta, snapshots::get, resyncs::add));
+    Assert.assertEquals(Collections.singletonList(uniqueId), resyncs);
+
+    ProtocolBuffer resync = sender.encodeResync(uniqueId);
+    Assert.assertNotNull(resync);
+    resync.readBoolean();
+    resync.readEnumConstant(PublisherType.class);
+
+    received = receiver.decode(resync, snapshots::get, resyncs::add);
+    Assert.assertEquals(snapshot, received);
+    Assert.assertEquals(snapshot.getProperties(), received.getProperties());
+  }
+
+  private ProtocolBuffer publish(ServiceInfoSnapshotDeltaCodec codec, PublisherType type,
+    ServiceInfoSnapshot snapshot) {
+    AtomicReference<ProtocolBuffer> buffer = new AtomicReference<>();
+    codec.publish(type, snapshot, buffer::set);
+    return buffer.get();
+  }
+
+  private ServiceInfoSnapshot createSnapshot() {
+    return new ServiceInfoSnapshot(
+      12345L,
+      new HostAndPort("127.0.0.1", 25565),
+      -1,
+      ServiceLifeCycle.PREPARED,
+      ProcessSnapshot.empty(),
+      JsonDocument.newDocument("Motd", "A Minecraft Server").append("Online-Count", 0),
+      new ServiceConfiguration(
+        new ServiceId(UUID.randomUUID(), "Node-1", "Lobby", 1, ServiceEnvironmentType.MINECRAFT_SERVER),
+        "jvm",
+        true,
+        false,
+        new String[]{"Lobby", "Global-Server"},
+        new ServiceRemoteInclusion[0],
+        new ServiceTemplate[]{new ServiceTemplate("Lobby", "default", "local", true)},
+        new ServiceDeployment[0],
+        new ProcessConfiguration(ServiceEnvironmentType.MINECRAFT_SERVER, 512, Collections.emptyList()),
+        JsonDocument.newDocument(),
+        44955
+      )
+    );
+  }
+}
@@ -19,9 +19,11 @@
 import de.dytanic.cloudnet.common.io.FileUtils;
 import de.dytanic.cloudnet.driver.service.ServiceTemplate;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Collections;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -56,4 +58,34 @@ public void testTemplateStorage() throws Exception {
     FileUtils.delete(directory);
     Assert.assertFalse(Files.exists(directory));
   }
+
+  @Test
+  public void testLinkedTemplateCopy() throws Exception {
+    Path directory = Paths.get("build/local_template_storage_links");
+    LocalTemplateStorage storage = new LocalTemplateStorage(directory);
+    storage.toggleSynchronization(false);
+    storage.setLinkPatterns(Collections.singletonList("plugins/*.jar"));
+
+    try {
+      Path templateDirectory = directory.resolve("Lobby/default");
+      Files.createDirectories(templateDirectory.resolve("plugins"));
+      Files.write(templateDirectory.resolve("plugins/test.jar"), new byte[]{1, 2, 3});
+      Files.write(templateDirectory.resolve("server.properties"), "motd=test".getBytes(StandardCharsets.UTF_8));
+
+      Path serviceDirectory = directory.resolve("service");
+      // existing files in the service directory have to be replaced by the link
+      Files.createDirectories(serviceDirectory.resolve("plugins"));
+      Files.write(serviceDirectory.resolve("plugins/test.jar"), new byte[]{4});
+
+      Assert.assertTrue(storage.copy(new ServiceTemplate("Lobby", "default", "local"), serviceDirectory));
+
+      Assert.assertArrayEquals(new byte[]{1, 2, 3}, Files.readAllBytes(serviceDirectory.resolve("plugins/test.jar")));
+      Assert.assertTrue(Files.isSameFile(templateDirectory.resolve("plugins/test.jar"),
+        serviceDirectory.resolve("plugins/test.jar")));
+      Assert.assertFalse(Files.isSameFile(templateDirectory.resolve("server.properties"),
+        serviceDirectory.resolve("server.properties")));
+    } finally {
+      FileUtils.delete(directory);
+    }
+  }
 }
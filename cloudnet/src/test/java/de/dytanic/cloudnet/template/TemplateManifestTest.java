@@ -0,0 +1,90 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.dytanic.cloudnet.template;
+
+import de.dytanic.cloudnet.common.io.FileUtils;
+import de.dytanic.cloudnet.driver.serialization.ProtocolBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.Collections;
+import org.junit.Assert;
+import org.junit.Test;
+
+public final class TemplateManifestTest {
+
+  @Test
+  public void testManifestDiff() throws Exception {
+    Path directory = Paths.get("build/template_manifest");
+    try {
+      Files.createDirectories(directory.resolve("plugins"));
+      Files.write(directory.resolve("server.properties"), "motd=test".getBytes(StandardCharsets.UTF_8));
+      Files.write(directory.resolve("plugins/test.jar"), new byte[]{1, 2, 3});
+
+      TemplateManifest manifest = TemplateManifest.create(directory, null);
+      Assert.assertEquals(2, manifest.getFiles().size());
+      Assert.assertTrue(manifest.getFiles().containsKey("plugins/test.jar"));
+      Assert.assertTrue(manifest.getChangedFiles(manifest).isEmpty());
+
+      Files.write(directory.resolve("plugins/test.jar"), new byte[]{1, 2, 3, 4});
+      TemplateManifest changedManifest = TemplateManifest.create(directory, manifest);
+
+      Assert.assertEquals(Collections.singletonList("plugins/test.jar"), manifest.getChangedFiles(changedManifest));
+      Assert.assertEquals(manifest.getFiles().get("server.properties").getHash(),
+        changedManifest.getFiles().get("server.properties").getHash());
+
+      TemplateManifest transferredManifest = ProtocolBuffer.create().writeObject(changedManifest)
+        .readObject(TemplateManifest.class);
+      Assert.assertTrue(changedManifest.getChangedFiles(transferredManifest).isEmpty());
+      Assert.assertEquals(Collections.singletonList("plugins/test.jar"),
+        manifest.getChangedFiles(transferredManifest));
+    } finally {
+      FileUtils.delete(directory);
+    }
+  }
+
+  @Test
+  public void testUnchangedFilesAreNotHashedAgain() throws Exception {
+    Path directory = Paths.get("build/template_manifest_cache");
+    Path manifestFile = Paths.get("build/template_manifest_cache.json");
+    try {
+      Path file = directory.resolve("world/region.mca");
+      Files.createDirectories(file.getParent());
+      Files.write(file, new byte[]{1, 2, 3});
+
+      TemplateManifest manifest = TemplateManifest.create(directory, null);
+      manifest.write(manifestFile);
+
+      // same size and modification time, the cached hash has to be used
+      FileTime lastModified = Files.getLastModifiedTime(file);
+      Files.write(file, new byte[]{3, 2, 1});
+      Files.setLastModifiedTime(file, lastModified);
+
+      TemplateManifest cachedManifest = TemplateManifest.read(manifestFile);
+      Assert.assertNotNull(cachedManifest);
+      Assert.assertEquals(manifest.getFiles().get("world/region.mca").getHash(),
+        TemplateManifest.create(directory, cachedManifest).getFiles().get("world/region.mca").getHash());
+      Assert.assertNotEquals(manifest.getFiles().get("world/region.mca").getHash(),
+        TemplateManifest.create(directory, null).getFiles().get("world/region.mca").getHash());
+    } finally {
+      FileUtils.delete(directory);
+      FileUtils.delete(manifestFile);
+    }
+  }
+}